@@ -39,6 +39,10 @@ public class Inconnuclear {
 	return Inconnuclear.stuffBag;
     }
 
+    public static void logDebugDirectly(final String message) {
+	System.out.println(message);
+    }
+
     public static void logError(final Throwable t) {
 	CommonDialogs.showErrorDialog(Inconnuclear.ERROR_MESSAGE, Inconnuclear.ERROR_TITLE);
 	t.printStackTrace();
@@ -0,0 +1,165 @@
+/*  Inconnuclear: A Dungeon-Diving RPG
+Copyleft (C) 2024-present RetroPipes
+Licensed under MIT. See the LICENSE file for details.
+
+All support is handled via the GitHub repository: https://github.com/retropipes/inconnuclear
+ */
+package org.retropipes.inconnuclear.battle;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.retropipes.inconnuclear.locale.Strings;
+import org.retropipes.inconnuclear.locale.Untranslated;
+
+// Action bars measured from elapsed time; nothing is scheduled unless a battle is running
+public final class BattleClock {
+    public interface Listener {
+	// Called on the clock thread, once each time a bar fills
+	void actionBarFilled(int bar);
+
+	// Called on the clock thread while the clock runs, at most once per refresh period and only when a bar
+	// has moved since the last call
+	void actionBarsAdvanced(int playerValue, int enemyValue);
+    }
+
+    public static final int PLAYER = 0;
+    public static final int ENEMY = 1;
+    private static final int BARS = 2;
+    private static final long NANOS_PER_MILLI = 1000000L;
+    // Repainting the bars faster than the screen refreshes buys nothing
+    private static final long MIN_REFRESH_MILLIS = 16L;
+    private static final long IDLE_SECONDS = 30L;
+    // Shared by every battle; its one thread exits once no battle has needed it for a while
+    private static final ScheduledThreadPoolExecutor SCHEDULER = BattleClock.createScheduler();
+
+    private static ScheduledThreadPoolExecutor createScheduler() {
+	final var scheduler = new ScheduledThreadPoolExecutor(1, task -> {
+	    final var thread = new Thread(task, Strings.untranslated(Untranslated.BATTLE_CLOCK_NAME));
+	    thread.setDaemon(true);
+	    return thread;
+	});
+	scheduler.setKeepAliveTime(BattleClock.IDLE_SECONDS, TimeUnit.SECONDS);
+	scheduler.allowCoreThreadTimeOut(true);
+	scheduler.setRemoveOnCancelPolicy(true);
+	return scheduler;
+    }
+
+    // Fields
+    private final long[] started;
+    private final int[] lengths;
+    // Values last passed to the listener, so full or stalled bars are not repainted every period
+    private final int[] reported;
+    private final ScheduledFuture<?>[] fills;
+    private ScheduledFuture<?> refresher;
+    private Listener listener;
+    private long tickNanos;
+    private boolean running;
+
+    // Constructors
+    public BattleClock() {
+	this.started = new long[BattleClock.BARS];
+	this.lengths = new int[BattleClock.BARS];
+	this.reported = new int[BattleClock.BARS];
+	this.fills = new ScheduledFuture<?>[BattleClock.BARS];
+	this.tickNanos = BattleClock.NANOS_PER_MILLI;
+    }
+
+    private void fill(final int bar) {
+	Listener target;
+	synchronized (this) {
+	    // A reset may have landed just as this fired
+	    if (!this.running || !this.isFull(bar)) {
+		return;
+	    }
+	    target = this.listener;
+	}
+	target.actionBarFilled(bar);
+    }
+
+    public synchronized int getValue(final int bar) {
+	final var ticks = (System.nanoTime() - this.started[bar]) / this.tickNanos;
+	return (int) Math.min(this.lengths[bar], ticks);
+    }
+
+    public synchronized boolean isFull(final int bar) {
+	return this.getValue(bar) >= this.lengths[bar];
+    }
+
+    public synchronized boolean isRunning() {
+	return this.running;
+    }
+
+    private void refresh() {
+	Listener target;
+	int playerValue;
+	int enemyValue;
+	synchronized (this) {
+	    if (!this.running) {
+		return;
+	    }
+	    target = this.listener;
+	    playerValue = this.getValue(BattleClock.PLAYER);
+	    enemyValue = this.getValue(BattleClock.ENEMY);
+	    if (playerValue == this.reported[BattleClock.PLAYER] && enemyValue == this.reported[BattleClock.ENEMY]) {
+		return;
+	    }
+	    this.reported[BattleClock.PLAYER] = playerValue;
+	    this.reported[BattleClock.ENEMY] = enemyValue;
+	}
+	target.actionBarsAdvanced(playerValue, enemyValue);
+    }
+
+    // Empties a bar; it fills again length ticks from now
+    public synchronized void reset(final int bar) {
+	this.started[bar] = System.nanoTime();
+	if (this.running) {
+	    this.scheduleFill(bar);
+	}
+    }
+
+    private void scheduleFill(final int bar) {
+	if (this.fills[bar] != null) {
+	    this.fills[bar].cancel(false);
+	}
+	final var due = this.started[bar] + this.lengths[bar] * this.tickNanos - System.nanoTime();
+	this.fills[bar] = BattleClock.SCHEDULER.schedule(() -> this.fill(bar), Math.max(0L, due),
+		TimeUnit.NANOSECONDS);
+    }
+
+    // Starts both bars empty; a tick is tickMillis long, and a bar fills after length ticks
+    public synchronized void start(final Listener clockListener, final int tickMillis, final int playerLength,
+	    final int enemyLength) {
+	this.stop();
+	this.listener = clockListener;
+	this.tickNanos = Math.max(1, tickMillis) * BattleClock.NANOS_PER_MILLI;
+	this.lengths[BattleClock.PLAYER] = Math.max(0, playerLength);
+	this.lengths[BattleClock.ENEMY] = Math.max(0, enemyLength);
+	this.running = true;
+	final var now = System.nanoTime();
+	for (var bar = 0; bar < BattleClock.BARS; bar++) {
+	    this.started[bar] = now;
+	    // No value matches, so the first refresh always reports
+	    this.reported[bar] = -1;
+	    this.scheduleFill(bar);
+	}
+	final var period = Math.max(tickMillis, BattleClock.MIN_REFRESH_MILLIS);
+	this.refresher = BattleClock.SCHEDULER.scheduleWithFixedDelay(this::refresh, 0L, period,
+		TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+	this.running = false;
+	for (var bar = 0; bar < BattleClock.BARS; bar++) {
+	    if (this.fills[bar] != null) {
+		this.fills[bar].cancel(false);
+		this.fills[bar] = null;
+	    }
+	}
+	if (this.refresher != null) {
+	    this.refresher.cancel(false);
+	    this.refresher = null;
+	}
+    }
+}
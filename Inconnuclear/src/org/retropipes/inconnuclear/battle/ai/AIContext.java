@@ -11,13 +11,11 @@ import java.awt.Point;
 import org.retropipes.inconnuclear.battle.BattleCharacter;
 import org.retropipes.inconnuclear.creature.Creature;
 import org.retropipes.inconnuclear.dungeon.base.DungeonBase;
-import org.retropipes.inconnuclear.loader.image.gameobject.ObjectImageId;
-import org.retropipes.inconnuclear.locale.Layer;
+import org.retropipes.inconnuclear.dungeon.base.PathFinder;
 
 public class AIContext {
     private static final int MINIMUM_RADIUS = 1;
     private static final int MAXIMUM_RADIUS = 16;
-    private static final int NOTHING_THERE = -1;
     private static final int AP_COST = 1;
 
     // Static method
@@ -25,17 +23,25 @@ public class AIContext {
 	return AIContext.AP_COST;
     }
 
+    private static int clampRadius(final int radius) {
+	return Math.max(AIContext.MINIMUM_RADIUS, Math.min(AIContext.MAXIMUM_RADIUS, radius));
+    }
+
     private final BattleCharacter battleCharacter;
     private final Creature creature;
     private final int myTeam;
-    private final int[][] creatureLocations;
+    private final int arenaRows;
+    private final int arenaColumns;
+    private BattleOccupancy occupancy;
+    private PathFinder paths;
 
     // Constructor
     public AIContext(final BattleCharacter bc, final int rows, final int columns) {
 	this.battleCharacter = bc;
 	this.creature = bc.getCreature();
 	this.myTeam = bc.getTeamID();
-	this.creatureLocations = new int[rows][columns];
+	this.arenaRows = rows;
+	this.arenaColumns = columns;
     }
 
     public BattleCharacter getCharacter() {
@@ -46,78 +52,58 @@ public class AIContext {
 	return this.creature;
     }
 
+    // A context nobody shares an occupancy with gets its own, on first use
+    public BattleOccupancy getOccupancy() {
+	if (this.occupancy == null) {
+	    this.occupancy = new BattleOccupancy(this.arenaRows, this.arenaColumns);
+	}
+	return this.occupancy;
+    }
+
     public Point isEnemyNearby() {
 	return this.isEnemyNearby(1, 1);
     }
 
     public Point isEnemyNearby(final int minRadius, final int maxRadius) {
-	var fMinR = minRadius;
-	var fMaxR = maxRadius;
-	if (fMaxR > AIContext.MAXIMUM_RADIUS) {
-	    fMaxR = AIContext.MAXIMUM_RADIUS;
-	}
-	if (fMaxR < AIContext.MINIMUM_RADIUS) {
-	    fMaxR = AIContext.MINIMUM_RADIUS;
-	}
-	if (fMinR > AIContext.MAXIMUM_RADIUS) {
-	    fMinR = AIContext.MAXIMUM_RADIUS;
-	}
-	if (fMinR < AIContext.MINIMUM_RADIUS) {
-	    fMinR = AIContext.MINIMUM_RADIUS;
-	}
-	final var x = this.battleCharacter.getX();
-	final var y = this.battleCharacter.getY();
-	int u, v;
-	for (u = x - fMaxR; u <= x + fMaxR; u++) {
-	    for (v = y - fMaxR; v <= y + fMaxR; v++) {
-		if (Math.abs(u - x) < fMinR && Math.abs(v - y) < fMinR) {
-		    continue;
-		}
-		try {
-		    if (this.creatureLocations[u][v] != -1 && this.creatureLocations[u][v] != this.myTeam) {
-			return new Point(u - x, v - y);
-		    }
-		} catch (final ArrayIndexOutOfBoundsException aioob) {
-		    // Ignore
-		}
-	    }
-	}
-	return null;
+	return this.getOccupancy().nearestEnemy(this.battleCharacter.getX(), this.battleCharacter.getY(), this.myTeam,
+		AIContext.clampRadius(minRadius), AIContext.clampRadius(maxRadius));
     }
 
     public Point runAway() {
-	final var fMinR = AIContext.MAXIMUM_RADIUS;
-	final var fMaxR = AIContext.MAXIMUM_RADIUS;
+	final var there = this.getOccupancy().nearestEnemy(this.battleCharacter.getX(), this.battleCharacter.getY(),
+		this.myTeam, AIContext.MAXIMUM_RADIUS, AIContext.MAXIMUM_RADIUS);
+	if (there == null) {
+	    return null;
+	}
+	// One step directly away from the enemy
+	return new Point(-Integer.signum(there.x), -Integer.signum(there.y));
+    }
+
+    // Makes this context read from an occupancy shared by the whole battle
+    public void shareOccupancy(final BattleOccupancy shared) {
+	this.occupancy = shared;
+    }
+
+    // Makes this context walk around the arena's walls rather than straight at its target
+    public void sharePaths(final PathFinder arenaPaths) {
+	this.paths = arenaPaths;
+    }
+
+    // First step of the shortest walk to the battler at offset there; straight at it when no walk is known
+    public Point stepToward(final Point there) {
 	final var x = this.battleCharacter.getX();
 	final var y = this.battleCharacter.getY();
-	int u, v;
-	for (u = x - fMaxR; u <= x + fMaxR; u++) {
-	    for (v = y - fMaxR; v <= y + fMaxR; v++) {
-		if (Math.abs(u - x) < fMinR && Math.abs(v - y) < fMinR) {
-		    continue;
-		}
-		try {
-		    if (this.creatureLocations[u][v] != -1 && this.creatureLocations[u][v] != this.myTeam) {
-			return new Point(u + x, v + y);
-		    }
-		} catch (final ArrayIndexOutOfBoundsException aioob) {
-		    // Ignore
-		}
+	if (this.paths != null) {
+	    // Arenas have no wraparound, since walking off the edge is fleeing
+	    final var step = this.paths.nextStep(x, y, x + there.x, y + there.y, 0, false, false);
+	    if (step != PathFinder.NO_STEP) {
+		return new Point(PathFinder.stepRow(step), PathFinder.stepColumn(step));
 	    }
 	}
-	return null;
+	return new Point(Integer.signum(there.x), Integer.signum(there.y));
     }
 
     public void updateContext(final DungeonBase arena) {
-	for (var x = 0; x < this.creatureLocations.length; x++) {
-	    for (var y = 0; y < this.creatureLocations[x].length; y++) {
-		final var obj = arena.getCell(x, y, 0, Layer.STATUS.ordinal());
-		if (obj.getIdValue() == ObjectImageId._CREATURE.ordinal()) {
-		    this.creatureLocations[x][y] = obj.getTeamID();
-		} else {
-		    this.creatureLocations[x][y] = AIContext.NOTHING_THERE;
-		}
-	    }
-	}
+	this.getOccupancy().rebuild(arena);
     }
 }
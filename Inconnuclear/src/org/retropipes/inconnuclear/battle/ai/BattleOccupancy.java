@@ -0,0 +1,156 @@
+/*  Inconnuclear: A Dungeon-Diving RPG
+Copyleft (C) 2024-present RetroPipes
+Licensed under MIT. See the LICENSE file for details.
+
+All support is handled via the GitHub repository: https://github.com/retropipes/inconnuclear
+ */
+package org.retropipes.inconnuclear.battle.ai;
+
+import java.awt.Point;
+import java.util.Arrays;
+
+import org.retropipes.inconnuclear.dungeon.base.DungeonBase;
+import org.retropipes.inconnuclear.loader.image.gameobject.ObjectImageId;
+import org.retropipes.inconnuclear.locale.Layer;
+
+// Where every battler in one battle stands, shared by all their AI contexts and kept current as battlers
+// move, die or flee; queries look at the battlers, never at the whole arena
+public final class BattleOccupancy {
+    static final int NOTHING_THERE = -1;
+    private static final int INITIAL_CAPACITY = 4;
+
+    // Fields
+    private final int[][] slots;
+    private int[] xs;
+    private int[] ys;
+    private int[] teams;
+    private int count;
+
+    // Constructors
+    public BattleOccupancy(final int rows, final int columns) {
+	this.slots = new int[rows][columns];
+	for (final int[] row : this.slots) {
+	    Arrays.fill(row, BattleOccupancy.NOTHING_THERE);
+	}
+	this.xs = new int[BattleOccupancy.INITIAL_CAPACITY];
+	this.ys = new int[BattleOccupancy.INITIAL_CAPACITY];
+	this.teams = new int[BattleOccupancy.INITIAL_CAPACITY];
+	this.count = 0;
+    }
+
+    // Puts a battler of the given team at x, y, replacing whatever stood there
+    public void add(final int x, final int y, final int teamID) {
+	if (!this.contains(x, y)) {
+	    return;
+	}
+	final var slot = this.slots[x][y];
+	if (slot != BattleOccupancy.NOTHING_THERE) {
+	    this.teams[slot] = teamID;
+	    return;
+	}
+	if (this.count == this.xs.length) {
+	    final var capacity = this.count * 2;
+	    this.xs = Arrays.copyOf(this.xs, capacity);
+	    this.ys = Arrays.copyOf(this.ys, capacity);
+	    this.teams = Arrays.copyOf(this.teams, capacity);
+	}
+	this.xs[this.count] = x;
+	this.ys[this.count] = y;
+	this.teams[this.count] = teamID;
+	this.slots[x][y] = this.count;
+	this.count++;
+    }
+
+    public void clear() {
+	for (var i = 0; i < this.count; i++) {
+	    this.slots[this.xs[i]][this.ys[i]] = BattleOccupancy.NOTHING_THERE;
+	}
+	this.count = 0;
+    }
+
+    private boolean contains(final int x, final int y) {
+	return x >= 0 && x < this.slots.length && y >= 0 && y < this.slots[x].length;
+    }
+
+    public int getBattlerCount() {
+	return this.count;
+    }
+
+    public void move(final int fromX, final int fromY, final int toX, final int toY) {
+	if (!this.contains(fromX, fromY) || this.slots[fromX][fromY] == BattleOccupancy.NOTHING_THERE) {
+	    return;
+	}
+	final var teamID = this.teams[this.slots[fromX][fromY]];
+	this.remove(fromX, fromY);
+	this.remove(toX, toY);
+	this.add(toX, toY, teamID);
+    }
+
+    // Offset to the closest battler not on teamID whose distance in moves from x, y is within the radii;
+    // ties go to the smaller row offset, then the smaller column offset
+    public Point nearestEnemy(final int x, final int y, final int teamID, final int minRadius, final int maxRadius) {
+	var found = false;
+	var bestDistance = 0;
+	var bestX = 0;
+	var bestY = 0;
+	for (var i = 0; i < this.count; i++) {
+	    if (this.teams[i] == teamID) {
+		continue;
+	    }
+	    final var dx = this.xs[i] - x;
+	    final var dy = this.ys[i] - y;
+	    final var distance = Math.max(Math.abs(dx), Math.abs(dy));
+	    if (distance < minRadius || distance > maxRadius) {
+		continue;
+	    }
+	    if (!found || distance < bestDistance || distance == bestDistance
+		    && (dx < bestX || dx == bestX && dy < bestY)) {
+		found = true;
+		bestDistance = distance;
+		bestX = dx;
+		bestY = dy;
+	    }
+	}
+	return found ? new Point(bestX, bestY) : null;
+    }
+
+    // Full rescan of the arena's creatures, for battles that do not report moves as they happen
+    public void rebuild(final DungeonBase arena) {
+	this.clear();
+	for (var x = 0; x < this.slots.length; x++) {
+	    for (var y = 0; y < this.slots[x].length; y++) {
+		final var obj = arena.getCell(x, y, 0, Layer.STATUS.ordinal());
+		if (obj.getIdValue() == ObjectImageId._CREATURE.ordinal()) {
+		    this.add(x, y, obj.getTeamID());
+		}
+	    }
+	}
+    }
+
+    public void remove(final int x, final int y) {
+	if (!this.contains(x, y)) {
+	    return;
+	}
+	final var slot = this.slots[x][y];
+	if (slot == BattleOccupancy.NOTHING_THERE) {
+	    return;
+	}
+	this.slots[x][y] = BattleOccupancy.NOTHING_THERE;
+	this.count--;
+	if (slot != this.count) {
+	    // Fill the hole with the last entry
+	    this.xs[slot] = this.xs[this.count];
+	    this.ys[slot] = this.ys[this.count];
+	    this.teams[slot] = this.teams[this.count];
+	    this.slots[this.xs[slot]][this.ys[slot]] = slot;
+	}
+    }
+
+    public int teamAt(final int x, final int y) {
+	if (!this.contains(x, y)) {
+	    return BattleOccupancy.NOTHING_THERE;
+	}
+	final var slot = this.slots[x][y];
+	return slot == BattleOccupancy.NOTHING_THERE ? BattleOccupancy.NOTHING_THERE : this.teams[slot];
+    }
+}
@@ -8,8 +8,8 @@ package org.retropipes.inconnuclear.battle.ai.map;
 
 import java.awt.Point;
 
-import org.retropipes.diane.random.RandomRange;
 import org.retropipes.inconnuclear.battle.ai.AIContext;
+import org.retropipes.inconnuclear.utility.GameRandom;
 
 class CommonMapAIParts {
     // Constants
@@ -18,8 +18,7 @@ class CommonMapAIParts {
     static final int SPELL_INDEX_HEAL = 1;
 
     static boolean check(final AIContext ac, final int effChance) {
-	final var random = new RandomRange(1, 100);
-	final var chance = random.generate();
+	final var chance = GameRandom.current().nextInt(1, 100);
 	if (chance > effChance) {
 	    // Not acting
 	    return false;
@@ -11,7 +11,10 @@ import org.retropipes.inconnuclear.settings.Settings;
 
 public final class MapAIPicker {
     public static MapAI getNextRoutine() {
-	final var difficulty = Settings.getGameDifficulty();
+	return MapAIPicker.getNextRoutine(Settings.getGameDifficulty());
+    }
+
+    public static MapAI getNextRoutine(final GameDifficulty difficulty) {
 	if (difficulty == GameDifficulty.VERY_EASY) {
 	    return new VeryEasyMapAI();
 	}
@@ -6,9 +6,9 @@ All support is handled via the GitHub repository: https://github.com/retropipes/
  */
 package org.retropipes.inconnuclear.battle.ai.map;
 
-import org.retropipes.diane.random.RandomRange;
 import org.retropipes.inconnuclear.battle.BattleAction;
 import org.retropipes.inconnuclear.battle.ai.AIContext;
+import org.retropipes.inconnuclear.utility.GameRandom;
 
 class VeryEasyMapAI extends MapAI {
     private static final int CAST_SPELL_CHANCE = 5;
@@ -18,13 +18,11 @@ class VeryEasyMapAI extends MapAI {
     private static final int MAX_VISION = 2;
     private static final int FLEE_CHANCE = 40;
     // Fields
-    private final RandomRange randMove;
     private int failedMoveAttempts;
     private int[] roundsRemaining;
 
     // Constructor
     public VeryEasyMapAI() {
-	this.randMove = new RandomRange(-1, 1);
 	this.failedMoveAttempts = 0;
     }
 
@@ -60,12 +58,12 @@ class VeryEasyMapAI extends MapAI {
 	    final var awayDir = ac.runAway();
 	    if (awayDir == null) {
 		// Wander randomly
-		this.moveX = this.randMove.generate();
-		this.moveY = this.randMove.generate();
+		this.moveX = GameRandom.current().nextInt(-1, 1);
+		this.moveY = GameRandom.current().nextInt(-1, 1);
 		// Don't attack self
 		while (this.moveX == 0 && this.moveY == 0) {
-		    this.moveX = this.randMove.generate();
-		    this.moveY = this.randMove.generate();
+		    this.moveX = GameRandom.current().nextInt(-1, 1);
+		    this.moveY = GameRandom.current().nextInt(-1, 1);
 		}
 	    } else {
 		this.moveX = awayDir.x;
@@ -86,8 +84,7 @@ class VeryEasyMapAI extends MapAI {
 			return BattleAction.END_TURN;
 		    }
 		    // Last move failed, try to move around object
-		    final var randTurn = new RandomRange(0, 1);
-		    final var rt = randTurn.generate();
+		    final var rt = GameRandom.current().nextInt(0, 1);
 		    if (rt == 0) {
 			there = CommonMapAIParts.turnRight45(this.moveX, this.moveY);
 		    } else {
@@ -96,8 +93,9 @@ class VeryEasyMapAI extends MapAI {
 		    this.moveX = there.x;
 		    this.moveY = there.y;
 		} else {
-		    this.moveX = (int) Math.signum(there.x);
-		    this.moveY = (int) Math.signum(there.y);
+		    there = ac.stepToward(there);
+		    this.moveX = there.x;
+		    this.moveY = there.y;
 		}
 		break;
 	    }
@@ -108,12 +106,12 @@ class VeryEasyMapAI extends MapAI {
 	}
 	if (there == null) {
 	    // Wander randomly
-	    this.moveX = this.randMove.generate();
-	    this.moveY = this.randMove.generate();
+	    this.moveX = GameRandom.current().nextInt(-1, 1);
+	    this.moveY = GameRandom.current().nextInt(-1, 1);
 	    // Don't attack self
 	    while (this.moveX == 0 && this.moveY == 0) {
-		this.moveX = this.randMove.generate();
-		this.moveY = this.randMove.generate();
+		this.moveX = GameRandom.current().nextInt(-1, 1);
+		this.moveY = GameRandom.current().nextInt(-1, 1);
 	    }
 	}
 	return BattleAction.MOVE;
@@ -132,8 +130,7 @@ class VeryEasyMapAI extends MapAI {
     }
 
     private boolean spellCheck(final AIContext ac) {
-	final var random = new RandomRange(1, 100);
-	final var chance = random.generate();
+	final var chance = GameRandom.current().nextInt(1, 100);
 	if (chance > VeryEasyMapAI.CAST_SPELL_CHANCE) {
 	    // Not casting a spell
 	    return false;
@@ -144,8 +141,7 @@ class VeryEasyMapAI extends MapAI {
 	    return false;
 	}
 	// Select a random spell to cast
-	final var randomSpell = new RandomRange(0, maxIndex);
-	final var randomSpellID = randomSpell.generate();
+	final var randomSpellID = GameRandom.current().nextInt(0, maxIndex);
 	// Healing spell was selected - is healing needed?
 	if (randomSpellID == CommonMapAIParts.SPELL_INDEX_HEAL && ac.getCharacter().getCreature()
 		.getCurrentHP() > ac.getCharacter().getCreature().getMaximumHP() * VeryEasyMapAI.HEAL_THRESHOLD / 100) {
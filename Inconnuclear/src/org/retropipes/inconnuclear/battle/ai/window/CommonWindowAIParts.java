@@ -6,16 +6,15 @@ All support is handled via the GitHub repository: https://github.com/retropipes/
  */
 package org.retropipes.inconnuclear.battle.ai.window;
 
-import org.retropipes.diane.random.RandomRange;
 import org.retropipes.inconnuclear.creature.Creature;
+import org.retropipes.inconnuclear.utility.GameRandom;
 
 class CommonWindowAIParts {
     // Constants
     static final int SPELL_INDEX_HEAL = 1;
 
     static boolean check(final int effChance) {
-	final var random = new RandomRange(1, 100);
-	final var chance = random.generate();
+	final var chance = GameRandom.current().nextInt(1, 100);
 	if (chance <= effChance) {
 	    return true;
 	}
@@ -6,9 +6,9 @@ All support is handled via the GitHub repository: https://github.com/retropipes/
  */
 package org.retropipes.inconnuclear.battle.ai.window;
 
-import org.retropipes.diane.random.RandomRange;
 import org.retropipes.inconnuclear.battle.BattleAction;
 import org.retropipes.inconnuclear.creature.Creature;
+import org.retropipes.inconnuclear.utility.GameRandom;
 
 public class EasyWindowAI extends WindowAI {
     private static final int CAST_SPELL_CHANCE = 10;
@@ -58,14 +58,12 @@ public class EasyWindowAI extends WindowAI {
     }
 
     private boolean spellCheck(final Creature c) {
-	final var random = new RandomRange(1, 100);
-	final var chance = random.generate();
+	final var chance = GameRandom.current().nextInt(1, 100);
 	if (chance <= EasyWindowAI.CAST_SPELL_CHANCE) {
 	    final var maxIndex = CommonWindowAIParts.getMaxCastIndex(c);
 	    if (maxIndex > -1) {
 		// Select a random spell to cast
-		final var randomSpell = new RandomRange(0, maxIndex);
-		final var randomSpellID = randomSpell.generate();
+		final var randomSpellID = GameRandom.current().nextInt(0, maxIndex);
 		// Healing spell was selected - is healing needed?
 		if ((randomSpellID == CommonWindowAIParts.SPELL_INDEX_HEAL)
 			&& (c.getCurrentHP() > c.getMaximumHP() * EasyWindowAI.HEAL_THRESHOLD / 100)) {
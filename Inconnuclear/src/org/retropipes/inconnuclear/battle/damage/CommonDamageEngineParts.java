@@ -6,7 +6,7 @@ All support is handled via the GitHub repository: https://github.com/retropipes/
  */
 package org.retropipes.inconnuclear.battle.damage;
 
-import org.retropipes.diane.random.RandomRange;
+import org.retropipes.inconnuclear.utility.GameRandom;
 
 class CommonDamageEngineParts {
     static final int MULTIPLIER_DIVIDE = 100000;
@@ -16,16 +16,16 @@ class CommonDamageEngineParts {
     static final double FAITH_MULT_START = 1.0;
 
     static int chance() {
-	return new RandomRange(CommonDamageEngineParts.MIN_CHANCE, CommonDamageEngineParts.MAX_CHANCE).generate();
+	return GameRandom.current().nextInt(CommonDamageEngineParts.MIN_CHANCE, CommonDamageEngineParts.MAX_CHANCE);
     }
 
     static boolean didSpecial(final int aSpecial) {
-	final var rSpecial = new RandomRange(0, 10000).generate();
+	final var rSpecial = GameRandom.current().nextInt(0, 10000);
 	return rSpecial < aSpecial;
     }
 
     static int fumbleDamage(final int power) {
-	return new RandomRange(1, Math.max(1, power / 100)).generate();
+	return GameRandom.current().nextInt(1, Math.max(1, power / 100));
     }
 
     private CommonDamageEngineParts() {
@@ -12,7 +12,10 @@ import org.retropipes.inconnuclear.settings.Settings;
 
 public abstract class DamageEngine {
     public static DamageEngine getEnemyInstance() {
-	final var difficulty = Settings.getGameDifficulty();
+	return DamageEngine.getEnemyInstance(Settings.getGameDifficulty());
+    }
+
+    public static DamageEngine getEnemyInstance(final GameDifficulty difficulty) {
 	return switch (difficulty) {
 	case GameDifficulty.VERY_EASY -> new VeryHardDamageEngine();
 	case GameDifficulty.EASY -> new HardDamageEngine();
@@ -24,7 +27,10 @@ public abstract class DamageEngine {
     }
 
     public static DamageEngine getPlayerInstance() {
-	final var difficulty = Settings.getGameDifficulty();
+	return DamageEngine.getPlayerInstance(Settings.getGameDifficulty());
+    }
+
+    public static DamageEngine getPlayerInstance(final GameDifficulty difficulty) {
 	return switch (difficulty) {
 	case GameDifficulty.VERY_EASY -> new VeryEasyDamageEngine();
 	case GameDifficulty.EASY -> new EasyDamageEngine();
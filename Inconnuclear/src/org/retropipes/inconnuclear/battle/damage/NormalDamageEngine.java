@@ -6,9 +6,9 @@ All support is handled via the GitHub repository: https://github.com/retropipes/
  */
 package org.retropipes.inconnuclear.battle.damage;
 
-import org.retropipes.diane.random.RandomRange;
 import org.retropipes.inconnuclear.creature.Creature;
 import org.retropipes.inconnuclear.creature.StatConstants;
+import org.retropipes.inconnuclear.utility.GameRandom;
 
 class NormalDamageEngine extends DamageEngine {
     private static final int MULTIPLIER_MIN = 7500;
@@ -69,13 +69,14 @@ class NormalDamageEngine extends DamageEngine {
 	// Hit
 	this.missed = false;
 	this.dodged = false;
-	RandomRange rDamage;
+	int multiplier;
 	if (this.crit) {
-	    rDamage = new RandomRange(NormalDamageEngine.MULTIPLIER_MIN_CRIT, NormalDamageEngine.MULTIPLIER_MAX_CRIT);
+	    multiplier = GameRandom.current().nextInt(NormalDamageEngine.MULTIPLIER_MIN_CRIT,
+		    NormalDamageEngine.MULTIPLIER_MAX_CRIT);
 	} else {
-	    rDamage = new RandomRange(NormalDamageEngine.MULTIPLIER_MIN, NormalDamageEngine.MULTIPLIER_MAX);
+	    multiplier = GameRandom.current().nextInt(NormalDamageEngine.MULTIPLIER_MIN,
+		    NormalDamageEngine.MULTIPLIER_MAX);
 	}
-	final var multiplier = rDamage.generate();
 	return (int) (rawDamage * multiplier / CommonDamageEngineParts.MULTIPLIER_DIVIDE);
     }
 
@@ -6,9 +6,9 @@ All support is handled via the GitHub repository: https://github.com/retropipes/
  */
 package org.retropipes.inconnuclear.battle.damage;
 
-import org.retropipes.diane.random.RandomRange;
 import org.retropipes.inconnuclear.creature.Creature;
 import org.retropipes.inconnuclear.creature.StatConstants;
+import org.retropipes.inconnuclear.utility.GameRandom;
 
 class VeryEasyDamageEngine extends DamageEngine {
     private static final int MULTIPLIER_MIN = 9000;
@@ -69,14 +69,14 @@ class VeryEasyDamageEngine extends DamageEngine {
 	// Hit
 	this.missed = false;
 	this.dodged = false;
-	RandomRange rDamage;
+	int multiplier;
 	if (this.crit) {
-	    rDamage = new RandomRange(VeryEasyDamageEngine.MULTIPLIER_MIN_CRIT,
+	    multiplier = GameRandom.current().nextInt(VeryEasyDamageEngine.MULTIPLIER_MIN_CRIT,
 		    VeryEasyDamageEngine.MULTIPLIER_MAX_CRIT);
 	} else {
-	    rDamage = new RandomRange(VeryEasyDamageEngine.MULTIPLIER_MIN, VeryEasyDamageEngine.MULTIPLIER_MAX);
+	    multiplier = GameRandom.current().nextInt(VeryEasyDamageEngine.MULTIPLIER_MIN,
+		    VeryEasyDamageEngine.MULTIPLIER_MAX);
 	}
-	final var multiplier = rDamage.generate();
 	return (int) (rawDamage * multiplier / CommonDamageEngineParts.MULTIPLIER_DIVIDE);
     }
 
@@ -6,9 +6,9 @@ All support is handled via the GitHub repository: https://github.com/retropipes/
  */
 package org.retropipes.inconnuclear.battle.damage;
 
-import org.retropipes.diane.random.RandomRange;
 import org.retropipes.inconnuclear.creature.Creature;
 import org.retropipes.inconnuclear.creature.StatConstants;
+import org.retropipes.inconnuclear.utility.GameRandom;
 
 class VeryHardDamageEngine extends DamageEngine {
     private static final int MULTIPLIER_MIN = 6000;
@@ -69,14 +69,14 @@ class VeryHardDamageEngine extends DamageEngine {
 	// Hit
 	this.missed = false;
 	this.dodged = false;
-	RandomRange rDamage;
+	int multiplier;
 	if (this.crit) {
-	    rDamage = new RandomRange(VeryHardDamageEngine.MULTIPLIER_MIN_CRIT,
+	    multiplier = GameRandom.current().nextInt(VeryHardDamageEngine.MULTIPLIER_MIN_CRIT,
 		    VeryHardDamageEngine.MULTIPLIER_MAX_CRIT);
 	} else {
-	    rDamage = new RandomRange(VeryHardDamageEngine.MULTIPLIER_MIN, VeryHardDamageEngine.MULTIPLIER_MAX);
+	    multiplier = GameRandom.current().nextInt(VeryHardDamageEngine.MULTIPLIER_MIN,
+		    VeryHardDamageEngine.MULTIPLIER_MAX);
 	}
-	final var multiplier = rDamage.generate();
 	return (int) (rawDamage * multiplier / CommonDamageEngineParts.MULTIPLIER_DIVIDE);
     }
 
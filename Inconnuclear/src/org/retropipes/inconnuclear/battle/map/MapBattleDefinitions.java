@@ -8,6 +8,7 @@ package org.retropipes.inconnuclear.battle.map;
 
 import org.retropipes.inconnuclear.battle.BattleCharacter;
 import org.retropipes.inconnuclear.battle.ai.AIContext;
+import org.retropipes.inconnuclear.battle.ai.BattleOccupancy;
 import org.retropipes.inconnuclear.dungeon.base.DungeonBase;
 
 public class MapBattleDefinitions {
@@ -17,6 +18,7 @@ public class MapBattleDefinitions {
     private final BattleCharacter[] battlers;
     private final AIContext[] aiContexts;
     private DungeonBase battleMap;
+    private BattleOccupancy occupancy;
     private int battlerCount;
 
     // Constructors
@@ -29,6 +31,11 @@ public class MapBattleDefinitions {
     public boolean addBattler(final BattleCharacter battler) {
 	if (this.battlerCount < MapBattleDefinitions.MAX_BATTLERS) {
 	    this.battlers[this.battlerCount] = battler;
+	    this.aiContexts[this.battlerCount] = battler.getAIContext();
+	    if (this.occupancy != null) {
+		battler.getAIContext().shareOccupancy(this.occupancy);
+		battler.getAIContext().sharePaths(this.battleMap.getPathFinder());
+	    }
 	    this.battlerCount++;
 	    return true;
 	}
@@ -102,6 +109,10 @@ public class MapBattleDefinitions {
 	return this.battlers;
     }
 
+    public BattleOccupancy getOccupancy() {
+	return this.occupancy;
+    }
+
     public void resetBattlers() {
 	for (final BattleCharacter battler : this.battlers) {
 	    if (battler != null && battler.getCreature().isAlive()) {
@@ -128,7 +139,14 @@ public class MapBattleDefinitions {
 	this.activeCharacter = bc;
     }
 
+    // Also starts an empty occupancy for the arena, and shares it and the arena's paths with every battler's AI
+    // context
     public void setBattleDungeonBase(final DungeonBase bMap) {
 	this.battleMap = bMap;
+	this.occupancy = new BattleOccupancy(bMap.getRows(), bMap.getColumns());
+	for (var x = 0; x < this.battlerCount; x++) {
+	    this.aiContexts[x].shareOccupancy(this.occupancy);
+	    this.aiContexts[x].sharePaths(bMap.getPathFinder());
+	}
     }
 }
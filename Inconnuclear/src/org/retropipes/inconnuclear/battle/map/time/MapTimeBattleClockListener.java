@@ -6,20 +6,43 @@ All support is handled via the GitHub repository: https://github.com/retropipes/
  */
 package org.retropipes.inconnuclear.battle.map.time;
 
-import java.util.TimerTask;
+import javax.swing.SwingUtilities;
 
 import org.retropipes.diane.Diane;
-import org.retropipes.inconnuclear.Inconnuclear;
-import org.retropipes.inconnuclear.StuffBag;
+import org.retropipes.inconnuclear.battle.BattleClock;
 import org.retropipes.inconnuclear.battle.BattleResult;
+import org.retropipes.inconnuclear.loader.sound.SoundLoader;
+import org.retropipes.inconnuclear.loader.sound.Sounds;
 
-class MapTimeBattleEnemyTask extends TimerTask {
+class MapTimeBattleClockListener implements BattleClock.Listener {
     private final MapTimeBattleLogic logic;
 
-    public MapTimeBattleEnemyTask(MapTimeBattleLogic mapTimeBattleLogic) {
+    public MapTimeBattleClockListener(MapTimeBattleLogic mapTimeBattleLogic) {
 	this.logic = mapTimeBattleLogic;
     }
 
+    @Override
+    public void actionBarFilled(final int bar) {
+	// Either side's turn touches Swing, so both run on the event thread, not the clock's
+	SwingUtilities.invokeLater(() -> {
+	    try {
+		if (bar == BattleClock.ENEMY) {
+		    this.enemyAct();
+		} else {
+		    SoundLoader.playSound(Sounds.PLAYER_UP);
+		    this.logic.battleGUI.turnEventHandlersOn();
+		}
+	    } catch (final Throwable t) {
+		Diane.handleError(t);
+	    }
+	});
+    }
+
+    @Override
+    public void actionBarsAdvanced(final int playerValue, final int enemyValue) {
+	SwingUtilities.invokeLater(() -> this.logic.battleGUI.showActionBarValues(playerValue, enemyValue));
+    }
+
     private void enemyAct() {
 	final var gui = this.logic.battleGUI;
 	// Do Enemy Actions
@@ -38,24 +61,4 @@ class MapTimeBattleEnemyTask extends TimerTask {
 	    this.logic.doResult();
 	}
     }
-
-    @Override
-    public void run() {
-	try {
-	    final var app = Inconnuclear.getStuffBag();
-	    if (app.getMode() == StuffBag.STATUS_BATTLE) {
-		final var gui = this.logic.battleGUI;
-		if (!gui.isEnemyActionBarFull()) {
-		    gui.updateEnemyActionBarValue();
-		    if (gui.isEnemyActionBarFull()) {
-			this.enemyAct();
-		    }
-		} else {
-		    this.enemyAct();
-		}
-	    }
-	} catch (final Throwable t) {
-	    Diane.handleError(t);
-	}
-    }
-}
\ No newline at end of file
+}
@@ -21,20 +21,20 @@ import javax.swing.JProgressBar;
 import javax.swing.KeyStroke;
 import javax.swing.WindowConstants;
 
-import org.retropipes.diane.asset.image.ImageCompositor;
 import org.retropipes.diane.drawgrid.DrawGrid;
 import org.retropipes.inconnuclear.Inconnuclear;
 import org.retropipes.inconnuclear.battle.BattleCharacter;
+import org.retropipes.inconnuclear.battle.BattleClock;
 import org.retropipes.inconnuclear.battle.map.MapBattleDraw;
 import org.retropipes.inconnuclear.battle.map.MapBattleEffects;
 import org.retropipes.inconnuclear.battle.map.MapBattleStats;
 import org.retropipes.inconnuclear.battle.map.MapBattleViewingWindowManager;
 import org.retropipes.inconnuclear.dungeon.base.DungeonBase;
+import org.retropipes.inconnuclear.dungeon.gameobject.CompositeTileCache;
 import org.retropipes.inconnuclear.dungeon.gameobject.GameObject;
 import org.retropipes.inconnuclear.loader.image.gameobject.ObjectImageId;
 import org.retropipes.inconnuclear.loader.image.gameobject.ObjectImageLoader;
 import org.retropipes.inconnuclear.locale.Layer;
-import org.retropipes.inconnuclear.locale.Strings;
 
 class MapTimeBattleGUI {
     private static final int MAX_TEXT = 1000;
@@ -49,9 +49,11 @@ class MapTimeBattleGUI {
     private DrawGrid drawGrid;
     boolean eventHandlersOn;
     private JButton spell, steal, drain, item;
+    private final BattleClock clock;
 
     // Constructors
-    MapTimeBattleGUI() {
+    MapTimeBattleGUI(final BattleClock battleClock) {
+	this.clock = battleClock;
 	this.vwMgr = new MapBattleViewingWindowManager();
 	this.bs = new MapBattleStats();
 	this.be = new MapBattleEffects();
@@ -82,14 +84,6 @@ class MapTimeBattleGUI {
 	}
     }
 
-    boolean isEnemyActionBarFull() {
-	return this.enemyActionBar.getValue() == this.enemyActionBar.getMaximum();
-    }
-
-    boolean isPlayerActionBarFull() {
-	return this.myActionBar.getValue() == this.myActionBar.getMaximum();
-    }
-
     void redrawBattle(final DungeonBase battleMap) {
 	// Draw the battle, if it is visible
 	if (this.battleFrame.isVisible()) {
@@ -106,10 +100,7 @@ class MapTimeBattleGUI {
 		    try {
 			final var obj1 = battleMap.getCell(y, x, 0, Layer.GROUND.ordinal());
 			final var obj2 = battleMap.getCell(y, x, 0, Layer.OBJECT.ordinal());
-			final var icon1 = obj1.getImage();
-			final var icon2 = obj2.getImage();
-			final var cacheName = Strings.compositeCacheName(obj1.getCacheName(), obj2.getCacheName());
-			final var img = ImageCompositor.composite(cacheName, icon1, icon2);
+			final var img = CompositeTileCache.composite(obj1, obj2);
 			this.drawGrid.setImageCell(img, xFix, yFix);
 		    } catch (final ArrayIndexOutOfBoundsException ae) {
 			final var wall = new GameObject(ObjectImageId.WALL);
@@ -136,12 +127,7 @@ class MapTimeBattleGUI {
 		yFix = x - yView;
 		final var obj1 = battleMap.getCell(y, x, 0, Layer.GROUND.ordinal());
 		final var obj2 = battleMap.getCell(y, x, 0, Layer.OBJECT.ordinal());
-		final var icon1 = obj1.getImage();
-		final var icon2 = obj2.getImage();
-		final var icon3 = obj3.getImage();
-		final var cacheName = Strings.compositeCacheName(obj1.getCacheName(), obj2.getCacheName(),
-			obj3.getCacheName());
-		final var img = ImageCompositor.composite(cacheName, icon1, icon2, icon3);
+		final var img = CompositeTileCache.composite(obj1, obj2, obj3);
 		this.drawGrid.setImageCell(img, xFix, yFix);
 		this.battlePane.repaint();
 	    } catch (final ArrayIndexOutOfBoundsException ae) {
@@ -154,11 +140,12 @@ class MapTimeBattleGUI {
     }
 
     void resetEnemyActionBar() {
-	this.enemyActionBar.setValue(0);
+	this.clock.reset(BattleClock.ENEMY);
     }
 
     void resetPlayerActionBar() {
-	this.myActionBar.setValue(0);
+	this.turnEventHandlersOff();
+	this.clock.reset(BattleClock.PLAYER);
     }
 
     void setMaxEnemyActionBarValue(final int max) {
@@ -252,6 +239,11 @@ class MapTimeBattleGUI {
 	this.battleFrame.addKeyListener(handler);
     }
 
+    void showActionBarValues(final int playerValue, final int enemyValue) {
+	this.myActionBar.setValue(playerValue);
+	this.enemyActionBar.setValue(enemyValue);
+    }
+
     void showBattle() {
 	this.battleFrame.setVisible(true);
 	this.battleFrame.setJMenuBar(Inconnuclear.getStuffBag().getMenus().getMainMenuBar());
@@ -273,14 +265,6 @@ class MapTimeBattleGUI {
 	this.item.setEnabled(true);
     }
 
-    void updateEnemyActionBarValue() {
-	this.enemyActionBar.setValue(this.enemyActionBar.getValue() + 1);
-    }
-
-    void updatePlayerActionBarValue() {
-	this.myActionBar.setValue(this.myActionBar.getValue() + 1);
-    }
-
     void updateStatsAndEffects(final BattleCharacter active) {
 	this.bs.updateStats(active);
 	this.be.updateEffects(active);
@@ -7,17 +7,16 @@ All support is handled via the GitHub repository: https://github.com/retropipes/
 package org.retropipes.inconnuclear.battle.map.time;
 
 import java.io.IOException;
-import java.util.Timer;
 
 import javax.swing.JOptionPane;
 
 import org.retropipes.diane.gui.dialog.CommonDialogs;
-import org.retropipes.diane.random.RandomRange;
 import org.retropipes.inconnuclear.Inconnuclear;
 import org.retropipes.inconnuclear.StuffBag;
 import org.retropipes.inconnuclear.battle.Battle;
 import org.retropipes.inconnuclear.battle.BattleAction;
 import org.retropipes.inconnuclear.battle.BattleCharacter;
+import org.retropipes.inconnuclear.battle.BattleClock;
 import org.retropipes.inconnuclear.battle.BattleResult;
 import org.retropipes.inconnuclear.battle.ai.AIContext;
 import org.retropipes.inconnuclear.battle.ai.map.AutoMapAI;
@@ -41,6 +40,7 @@ import org.retropipes.inconnuclear.loader.sound.Sounds;
 import org.retropipes.inconnuclear.locale.Layer;
 import org.retropipes.inconnuclear.locale.Music;
 import org.retropipes.inconnuclear.settings.Settings;
+import org.retropipes.inconnuclear.utility.GameRandom;
 import org.retropipes.inconnuclear.utility.InvalidDungeonException;
 
 public class MapTimeBattleLogic extends Battle {
@@ -61,15 +61,13 @@ public class MapTimeBattleLogic extends Battle {
     private BattleCharacter enemy;
     private AIContext myContext;
     private AIContext enemyContext;
-    private final Timer battleTimer;
+    private final BattleClock battleClock;
 
     // Constructors
     public MapTimeBattleLogic() {
-	this.battleGUI = new MapTimeBattleGUI();
+	this.battleClock = new BattleClock();
+	this.battleGUI = new MapTimeBattleGUI(this.battleClock);
 	this.auto = new AutoMapAI();
-	this.battleTimer = new Timer();
-	this.battleTimer.schedule(new MapTimeBattlePlayerTask(this), 0, MapTimeBattleSpeed.getSpeed());
-	this.battleTimer.schedule(new MapTimeBattleEnemyTask(this), 0, MapTimeBattleSpeed.getSpeed());
     }
 
     private boolean areTeamEnemiesAlive(final int teamID) {
@@ -129,6 +127,8 @@ public class MapTimeBattleLogic extends Battle {
 
     @Override
     public void battleDone() {
+	// Stop the action bars
+	this.battleClock.stop();
 	// Leave Battle
 	this.hideBattle();
 	Inconnuclear.getStuffBag().setMode(StuffBag.STATUS_GAME);
@@ -306,8 +306,11 @@ public class MapTimeBattleLogic extends Battle {
 	// Reset Inactive Indicators and Action Counters
 	this.bd.resetBattlers();
 	// Set Action Bars
-	this.battleGUI.setMaxPlayerActionBarValue(PartyManager.getParty().getLeader().getActionBarSpeed());
-	this.battleGUI.setMaxEnemyActionBarValue(this.enemy.getCreature().getActionBarSpeed());
+	final var playerBar = PartyManager.getParty().getLeader().getActionBarSpeed();
+	final var enemyBar = this.enemy.getCreature().getActionBarSpeed();
+	this.battleGUI.setMaxPlayerActionBarValue(playerBar);
+	this.battleGUI.setMaxEnemyActionBarValue(enemyBar);
+	this.battleGUI.turnEventHandlersOff();
 	// Set Character Locations
 	this.setCharacterLocations();
 	// Clear status message
@@ -319,6 +322,8 @@ public class MapTimeBattleLogic extends Battle {
 	this.showBattle();
 	this.updateStatsAndEffects();
 	this.redrawBattle();
+	this.battleClock.start(new MapTimeBattleClockListener(this), MapTimeBattleSpeed.getSpeed(), playerBar,
+		enemyBar);
     }
 
     @Override
@@ -460,8 +465,7 @@ public class MapTimeBattleLogic extends Battle {
 	    return false;
 	} else if (drainChance >= 100) {
 	    // Succeeded, unless target has 0 MP
-	    final var drained = new RandomRange(0, activeEnemy.getCurrentMP());
-	    drainAmount = drained.generate();
+	    drainAmount = GameRandom.current().nextInt(0, activeEnemy.getCurrentMP());
 	    if (drainAmount == 0) {
 		this.setStatusMessage(this.me.getName() + " tries to drain, but no MP is left to drain!");
 		return false;
@@ -472,12 +476,10 @@ public class MapTimeBattleLogic extends Battle {
 		    this.me.getName() + " tries to drain, and successfully drains " + drainAmount + " MP!");
 	    return true;
 	} else {
-	    final var chance = new RandomRange(0, 100);
-	    final var randomChance = chance.generate();
+	    final var randomChance = GameRandom.current().nextInt(0, 100);
 	    if (randomChance <= drainChance) {
 		// Succeeded
-		final var drained = new RandomRange(0, activeEnemy.getCurrentMP());
-		drainAmount = drained.generate();
+		drainAmount = GameRandom.current().nextInt(0, activeEnemy.getCurrentMP());
 		if (drainAmount == 0) {
 		    this.setStatusMessage(this.me.getName() + " tries to drain, but no MP is left to drain!");
 		    return false;
@@ -520,8 +522,7 @@ public class MapTimeBattleLogic extends Battle {
 	    return false;
 	} else if (drainChance >= 100) {
 	    // Succeeded, unless target has 0 MP
-	    final var drained = new RandomRange(0, activeEnemy.getCurrentMP());
-	    drainAmount = drained.generate();
+	    drainAmount = GameRandom.current().nextInt(0, activeEnemy.getCurrentMP());
 	    if (drainAmount == 0) {
 		this.setStatusMessage(this.enemy.getName() + " tries to drain, but no MP is left to drain!");
 		return false;
@@ -532,12 +533,10 @@ public class MapTimeBattleLogic extends Battle {
 		    this.enemy.getName() + " tries to drain, and successfully drains " + drainAmount + " MP!");
 	    return true;
 	} else {
-	    final var chance = new RandomRange(0, 100);
-	    final var randomChance = chance.generate();
+	    final var randomChance = GameRandom.current().nextInt(0, 100);
 	    if (randomChance <= drainChance) {
 		// Succeeded
-		final var drained = new RandomRange(0, activeEnemy.getCurrentMP());
-		drainAmount = drained.generate();
+		drainAmount = GameRandom.current().nextInt(0, activeEnemy.getCurrentMP());
 		if (drainAmount == 0) {
 		    this.setStatusMessage(this.enemy.getName() + " tries to drain, but no MP is left to drain!");
 		    return false;
@@ -575,8 +574,7 @@ public class MapTimeBattleLogic extends Battle {
 	    return false;
 	} else if (stealChance >= 100) {
 	    // Succeeded, unless target has 0 Gold
-	    final var stole = new RandomRange(0, activeEnemy.getGold());
-	    stealAmount = stole.generate();
+	    stealAmount = GameRandom.current().nextInt(0, activeEnemy.getGold());
 	    if (stealAmount == 0) {
 		this.setStatusMessage(this.enemy.getName() + " tries to steal, but no Gold is left to steal!");
 		return false;
@@ -586,12 +584,10 @@ public class MapTimeBattleLogic extends Battle {
 		    this.enemy.getName() + " tries to steal, and successfully steals " + stealAmount + " gold!");
 	    return true;
 	} else {
-	    final var chance = new RandomRange(0, 100);
-	    final var randomChance = chance.generate();
+	    final var randomChance = GameRandom.current().nextInt(0, 100);
 	    if (randomChance <= stealChance) {
 		// Succeeded, unless target has 0 Gold
-		final var stole = new RandomRange(0, activeEnemy.getGold());
-		stealAmount = stole.generate();
+		stealAmount = GameRandom.current().nextInt(0, activeEnemy.getGold());
 		if (stealAmount == 0) {
 		    this.setStatusMessage(this.enemy.getName() + " tries to steal, but no Gold is left to steal!");
 		    return false;
@@ -780,6 +776,7 @@ public class MapTimeBattleLogic extends Battle {
 		    // Remove character from battle
 		    this.battleMap.setCell(new GameObject(ObjectImageId.EMPTY), this.me.getX(), this.me.getY(), 0,
 			    Layer.OBJECT.ordinal());
+		    this.bd.getOccupancy().remove(this.me.getX(), this.me.getY());
 		}
 	    }
 	} else if (this.enemy != null && this.enemy.isActive()) {
@@ -819,6 +816,7 @@ public class MapTimeBattleLogic extends Battle {
 		// Remove character from battle
 		this.battleMap.setCell(new GameObject(ObjectImageId.EMPTY), this.enemy.getX(), this.enemy.getY(), 0,
 			Layer.OBJECT.ordinal());
+		this.bd.getOccupancy().remove(this.enemy.getX(), this.enemy.getY());
 	    }
 	}
     }
@@ -832,42 +830,42 @@ public class MapTimeBattleLogic extends Battle {
 	// Destroy old GUI
 	this.battleGUI.getOutputFrame().dispose();
 	// Create new GUI
-	this.battleGUI = new MapTimeBattleGUI();
+	this.battleGUI = new MapTimeBattleGUI(this.battleClock);
     }
 
     private void setCharacterLocations() {
-	final var randX = new RandomRange(0, this.battleMap.getRows() - 1);
-	final var randY = new RandomRange(0, this.battleMap.getColumns() - 1);
 	int rx, ry;
 	// Set Player Location
 	if ((this.me != null)
 		&& (this.me.isActive() && this.me.getCreature().getX() == -1 && this.me.getCreature().getY() == -1)) {
-	    rx = randX.generate();
-	    ry = randY.generate();
+	    rx = GameRandom.current().nextInt(0, this.battleMap.getRows() - 1);
+	    ry = GameRandom.current().nextInt(0, this.battleMap.getColumns() - 1);
 	    var obj = this.battleMap.getCell(rx, ry, 0, Layer.OBJECT.ordinal());
 	    while (obj.isSolid()) {
-		rx = randX.generate();
-		ry = randY.generate();
+		rx = GameRandom.current().nextInt(0, this.battleMap.getRows() - 1);
+		ry = GameRandom.current().nextInt(0, this.battleMap.getColumns() - 1);
 		obj = this.battleMap.getCell(rx, ry, 0, Layer.OBJECT.ordinal());
 	    }
 	    this.me.setX(rx);
 	    this.me.setY(ry);
 	    this.battleMap.setCell(this.me.getTile(), rx, ry, 0, Layer.OBJECT.ordinal());
+	    this.bd.getOccupancy().add(rx, ry, this.me.getTeamID());
 	}
 	// Set Enemy Location
 	if ((this.enemy != null) && (this.enemy.isActive() && this.enemy.getCreature().getX() == -1
 		&& this.enemy.getCreature().getY() == -1)) {
-	    rx = randX.generate();
-	    ry = randY.generate();
+	    rx = GameRandom.current().nextInt(0, this.battleMap.getRows() - 1);
+	    ry = GameRandom.current().nextInt(0, this.battleMap.getColumns() - 1);
 	    var obj = this.battleMap.getCell(rx, ry, 0, Layer.OBJECT.ordinal());
 	    while (obj.isSolid()) {
-		rx = randX.generate();
-		ry = randY.generate();
+		rx = GameRandom.current().nextInt(0, this.battleMap.getRows() - 1);
+		ry = GameRandom.current().nextInt(0, this.battleMap.getColumns() - 1);
 		obj = this.battleMap.getCell(rx, ry, 0, Layer.OBJECT.ordinal());
 	    }
 	    this.enemy.setX(rx);
 	    this.enemy.setY(ry);
 	    this.battleMap.setCell(this.enemy.getTile(), rx, ry, 0, Layer.OBJECT.ordinal());
+	    this.bd.getOccupancy().add(rx, ry, this.enemy.getTeamID());
 	}
     }
 
@@ -907,8 +905,7 @@ public class MapTimeBattleLogic extends Battle {
 	    return false;
 	} else if (stealChance >= 100) {
 	    // Succeeded, unless target has 0 Gold
-	    final var stole = new RandomRange(0, activeEnemy.getGold());
-	    stealAmount = stole.generate();
+	    stealAmount = GameRandom.current().nextInt(0, activeEnemy.getGold());
 	    if (stealAmount == 0) {
 		this.setStatusMessage(this.me.getName() + " tries to steal, but no Gold is left to steal!");
 		return false;
@@ -918,12 +915,10 @@ public class MapTimeBattleLogic extends Battle {
 		    this.me.getName() + " tries to steal, and successfully steals " + stealAmount + " gold!");
 	    return true;
 	} else {
-	    final var chance = new RandomRange(0, 100);
-	    final var randomChance = chance.generate();
+	    final var randomChance = GameRandom.current().nextInt(0, 100);
 	    if (randomChance <= stealChance) {
 		// Succeeded, unless target has 0 Gold
-		final var stole = new RandomRange(0, activeEnemy.getGold());
-		stealAmount = stole.generate();
+		stealAmount = GameRandom.current().nextInt(0, activeEnemy.getGold());
 		if (stealAmount == 0) {
 		    this.setStatusMessage(this.me.getName() + " tries to steal, but no Gold is left to steal!");
 		    return false;
@@ -939,11 +934,6 @@ public class MapTimeBattleLogic extends Battle {
 	}
     }
 
-    private void updateAllAIContexts() {
-	this.myContext.updateContext(this.battleMap);
-	this.enemyContext.updateContext(this.battleMap);
-    }
-
     @Override
     public boolean updatePosition(final int x, final int y) {
 	var theEnemy = this.enemy;
@@ -959,7 +949,6 @@ public class MapTimeBattleLogic extends Battle {
 	    final boolean updateView) {
 	final var isPlayer = active.getTeamID() == Creature.TEAM_PARTY;
 	final var stepSound = isPlayer ? Sounds.WALK_5 : Sounds.WALK_6;
-	this.updateAllAIContexts();
 	var px = active.getX();
 	var py = active.getY();
 	final var m = this.battleMap;
@@ -1094,6 +1083,7 @@ public class MapTimeBattleLogic extends Battle {
 		    }
 		}
 		m.setCell(active.getTile().getSavedObject(), px, py, 0, Layer.OBJECT.ordinal());
+		this.bd.getOccupancy().move(px, py, px + x, py + y);
 		active.offsetX(x);
 		active.offsetY(y);
 		px += x;
@@ -1138,6 +1128,7 @@ public class MapTimeBattleLogic extends Battle {
 		    bc.deactivate();
 		    // Remove character from battle
 		    m.setCell(new GameObject(ObjectImageId.EMPTY), bc.getX(), bc.getY(), 0, Layer.OBJECT.ordinal());
+		    this.bd.getOccupancy().remove(bc.getX(), bc.getY());
 		}
 		// Handle self death
 		if (!active.getCreature().isAlive()) {
@@ -1148,6 +1139,7 @@ public class MapTimeBattleLogic extends Battle {
 		    // Remove character from battle
 		    m.setCell(new GameObject(ObjectImageId.EMPTY), active.getX(), active.getY(), 0,
 			    Layer.OBJECT.ordinal());
+		    this.bd.getOccupancy().remove(active.getX(), active.getY());
 		}
 	    } else {
 		// Move Failed
@@ -1178,6 +1170,7 @@ public class MapTimeBattleLogic extends Battle {
 	    active.deactivate();
 	    // Remove character from battle
 	    m.setCell(new GameObject(ObjectImageId.EMPTY), active.getX(), active.getY(), 0, Layer.OBJECT.ordinal());
+	    this.bd.getOccupancy().remove(active.getX(), active.getY());
 	    // End Turn
 	    this.endTurn();
 	    this.updateStatsAndEffects();
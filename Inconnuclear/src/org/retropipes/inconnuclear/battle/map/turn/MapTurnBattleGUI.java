@@ -16,7 +16,6 @@ import javax.swing.JComponent;
 import javax.swing.JLabel;
 import javax.swing.KeyStroke;
 
-import org.retropipes.diane.asset.image.ImageCompositor;
 import org.retropipes.diane.drawgrid.DrawGrid;
 import org.retropipes.diane.gui.MainContent;
 import org.retropipes.diane.gui.MainWindow;
@@ -27,10 +26,10 @@ import org.retropipes.inconnuclear.battle.map.MapBattleDraw;
 import org.retropipes.inconnuclear.battle.map.MapBattleEffects;
 import org.retropipes.inconnuclear.battle.map.MapBattleStats;
 import org.retropipes.inconnuclear.battle.map.MapBattleViewingWindowManager;
+import org.retropipes.inconnuclear.dungeon.gameobject.CompositeTileCache;
 import org.retropipes.inconnuclear.dungeon.gameobject.GameObject;
 import org.retropipes.inconnuclear.loader.image.gameobject.ObjectImageId;
 import org.retropipes.inconnuclear.locale.Layer;
-import org.retropipes.inconnuclear.locale.Strings;
 
 class MapTurnBattleGUI {
     private static final int MAX_TEXT = 1000;
@@ -91,10 +90,7 @@ class MapTurnBattleGUI {
 		    try {
 			final var lgobj = bd.getBattleDungeonBase().getCell(y, x, 0, Layer.GROUND.ordinal());
 			final var ugobj = bd.getBattleDungeonBase().getCell(y, x, 0, Layer.OBJECT.ordinal());
-			final var lgimg = lgobj.getImage();
-			final var ugimg = ugobj.getImage();
-			final var cacheName = Strings.compositeCacheName(lgobj.getCacheName(), ugobj.getCacheName());
-			final var img = ImageCompositor.composite(cacheName, lgimg, ugimg);
+			final var img = CompositeTileCache.composite(lgobj, ugobj);
 			this.drawGrid.setImageCell(img, xFix, yFix);
 		    } catch (final ArrayIndexOutOfBoundsException ae) {
 			final var wall = new GameObject(ObjectImageId.WALL);
@@ -117,11 +113,7 @@ class MapTurnBattleGUI {
 		yFix = x - yView;
 		final var lgobj = bd.getBattleDungeonBase().getCell(y, x, 0, Layer.GROUND.ordinal());
 		final var ugobj = bd.getBattleDungeonBase().getCell(y, x, 0, Layer.OBJECT.ordinal());
-		final var lgimg = lgobj.getImage();
-		final var ugimg = ugobj.getImage();
-		final var o3img = obj3.getImage();
-		final var cacheName = Strings.compositeCacheName(lgobj.getCacheName(), ugobj.getCacheName());
-		final var img = ImageCompositor.composite(cacheName, lgimg, ugimg, o3img);
+		final var img = CompositeTileCache.composite(lgobj, ugobj, obj3);
 		this.drawGrid.setImageCell(img, xFix, yFix);
 		this.battlePane.repaint();
 	    } catch (final ArrayIndexOutOfBoundsException ae) {
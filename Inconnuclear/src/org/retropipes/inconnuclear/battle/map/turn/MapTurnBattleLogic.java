@@ -9,7 +9,6 @@ package org.retropipes.inconnuclear.battle.map.turn;
 import java.io.IOException;
 
 import org.retropipes.diane.gui.dialog.CommonDialogs;
-import org.retropipes.diane.random.RandomRange;
 import org.retropipes.inconnuclear.Inconnuclear;
 import org.retropipes.inconnuclear.StuffBag;
 import org.retropipes.inconnuclear.battle.Battle;
@@ -38,6 +37,7 @@ import org.retropipes.inconnuclear.loader.sound.Sounds;
 import org.retropipes.inconnuclear.locale.Layer;
 import org.retropipes.inconnuclear.locale.Music;
 import org.retropipes.inconnuclear.settings.Settings;
+import org.retropipes.inconnuclear.utility.GameRandom;
 import org.retropipes.inconnuclear.utility.InvalidDungeonException;
 
 public class MapTurnBattleLogic extends Battle {
@@ -513,8 +513,7 @@ public class MapTurnBattleLogic extends Battle {
 	}
 	if (drainChance >= 100) {
 	    // Succeeded, unless target has 0 MP
-	    final var drained = new RandomRange(0, activeEnemy.getCurrentMP());
-	    drainAmount = drained.generate();
+	    drainAmount = GameRandom.current().nextInt(0, activeEnemy.getCurrentMP());
 	    if (drainAmount == 0) {
 		this.setStatusMessage(
 			this.bd.getActiveCharacter().getName() + " tries to drain, but no MP is left to drain!");
@@ -526,16 +525,14 @@ public class MapTurnBattleLogic extends Battle {
 		    + drainAmount + " MP!");
 	    return true;
 	}
-	final var chance = new RandomRange(0, 100);
-	final var randomChance = chance.generate();
+	final var randomChance = GameRandom.current().nextInt(0, 100);
 	if (randomChance > drainChance) {
 	    // Failed
 	    this.setStatusMessage(this.bd.getActiveCharacter().getName() + " tries to drain, but fails!");
 	    return false;
 	}
 	// Succeeded
-	final var drained = new RandomRange(0, activeEnemy.getCurrentMP());
-	drainAmount = drained.generate();
+	drainAmount = GameRandom.current().nextInt(0, activeEnemy.getCurrentMP());
 	if (drainAmount == 0) {
 	    this.setStatusMessage(
 		    this.bd.getActiveCharacter().getName() + " tries to drain, but no MP is left to drain!");
@@ -708,6 +705,7 @@ public class MapTurnBattleLogic extends Battle {
 	// Remove character from battle
 	this.bd.getBattleDungeonBase().setCell(new GameObject(ObjectImageId.EMPTY), activeBC.getX(), activeBC.getY(), 0,
 		Layer.STATUS.ordinal());
+	this.bd.getOccupancy().remove(activeBC.getX(), activeBC.getY());
 	if (this.bd.getActiveCharacter().getName().equals(activeBC.getName())) {
 	    // Active character died, end turn
 	    this.endTurn();
@@ -831,26 +829,25 @@ public class MapTurnBattleLogic extends Battle {
     }
 
     private void setCharacterLocations() {
-	final var randX = new RandomRange(0, this.bd.getBattleDungeonBase().getRows() - 1);
-	final var randY = new RandomRange(0, this.bd.getBattleDungeonBase().getColumns() - 1);
 	int rx, ry;
 	// Set Character Locations
 	for (var x = 0; x < this.bd.getBattlers().length; x++) {
 	    if (this.bd.getBattlers()[x] != null && this.bd.getBattlers()[x].isActive()
 		    && this.bd.getBattlers()[x].getCreature().getX() == -1
 		    && this.bd.getBattlers()[x].getCreature().getY() == -1) {
-		rx = randX.generate();
-		ry = randY.generate();
+		rx = GameRandom.current().nextInt(0, this.bd.getBattleDungeonBase().getRows() - 1);
+		ry = GameRandom.current().nextInt(0, this.bd.getBattleDungeonBase().getColumns() - 1);
 		var obj = this.bd.getBattleDungeonBase().getCell(rx, ry, 0, Layer.STATUS.ordinal());
 		while (obj.isSolid()) {
-		    rx = randX.generate();
-		    ry = randY.generate();
+		    rx = GameRandom.current().nextInt(0, this.bd.getBattleDungeonBase().getRows() - 1);
+		    ry = GameRandom.current().nextInt(0, this.bd.getBattleDungeonBase().getColumns() - 1);
 		    obj = this.bd.getBattleDungeonBase().getCell(rx, ry, 0, Layer.STATUS.ordinal());
 		}
 		this.bd.getBattlers()[x].setX(rx);
 		this.bd.getBattlers()[x].setY(ry);
 		this.bd.getBattleDungeonBase().setCell(this.bd.getBattlers()[x].getTile(), rx, ry, 0,
 			Layer.STATUS.ordinal());
+		this.bd.getOccupancy().add(rx, ry, this.bd.getBattlers()[x].getTeamID());
 	    }
 	}
     }
@@ -943,8 +940,7 @@ public class MapTurnBattleLogic extends Battle {
 	}
 	if (stealChance >= 100) {
 	    // Succeeded, unless target has 0 Gold
-	    final var stole = new RandomRange(0, activeEnemy.getGold());
-	    stealAmount = stole.generate();
+	    stealAmount = GameRandom.current().nextInt(0, activeEnemy.getGold());
 	    if (stealAmount == 0) {
 		this.setStatusMessage(
 			this.bd.getActiveCharacter().getName() + " tries to steal, but no Gold is left to steal!");
@@ -955,16 +951,14 @@ public class MapTurnBattleLogic extends Battle {
 		    + stealAmount + " gold!");
 	    return true;
 	}
-	final var chance = new RandomRange(0, 100);
-	final var randomChance = chance.generate();
+	final var randomChance = GameRandom.current().nextInt(0, 100);
 	if (randomChance > stealChance) {
 	    // Failed
 	    this.setStatusMessage(this.bd.getActiveCharacter().getName() + " tries to steal, but fails!");
 	    return false;
 	}
 	// Succeeded, unless target has 0 Gold
-	final var stole = new RandomRange(0, activeEnemy.getGold());
-	stealAmount = stole.generate();
+	stealAmount = GameRandom.current().nextInt(0, activeEnemy.getGold());
 	if (stealAmount == 0) {
 	    this.setStatusMessage(
 		    this.bd.getActiveCharacter().getName() + " tries to steal, but no Gold is left to steal!");
@@ -980,15 +974,6 @@ public class MapTurnBattleLogic extends Battle {
 	this.battleGUI.turnEventHandlersOn();
     }
 
-    private void updateAllAIContexts() {
-	for (var x = 0; x < this.bd.getBattlers().length; x++) {
-	    // Update all AI Contexts
-	    if (this.bd.getBattlers()[x] != null && this.bd.getBattlerAIContexts()[x] != null) {
-		this.bd.getBattlerAIContexts()[x].updateContext(this.bd.getBattleDungeonBase());
-	    }
-	}
-    }
-
     @Override
     public boolean updatePosition(final int x, final int y) {
 	final var activeTID = this.bd.getActiveCharacter().getTeamID();
@@ -1004,7 +989,6 @@ public class MapTurnBattleLogic extends Battle {
     private boolean updatePositionInternal(final int x, final int y, final boolean useAP,
 	    final BattleCharacter activeBC, final BattleCharacter theEnemy, final DamageEngine activeDE) {
 	final var active = activeBC.getCreature();
-	this.updateAllAIContexts();
 	var px = activeBC.getX();
 	var py = activeBC.getY();
 	final var m = this.bd.getBattleDungeonBase();
@@ -1039,6 +1023,7 @@ public class MapTurnBattleLogic extends Battle {
 	    activeBC.deactivate();
 	    // Remove character from battle
 	    m.setCell(new GameObject(ObjectImageId.EMPTY), activeBC.getX(), activeBC.getY(), 0, Layer.STATUS.ordinal());
+	    this.bd.getOccupancy().remove(activeBC.getX(), activeBC.getY());
 	    // End Turn
 	    this.endTurn();
 	    this.updateStatsAndEffects();
@@ -1176,6 +1161,7 @@ public class MapTurnBattleLogic extends Battle {
 		}
 	    }
 	    m.setCell(activeBC.getTile().getSavedObject(), px, py, 0, Layer.STATUS.ordinal());
+	    this.bd.getOccupancy().move(px, py, px + x, py + y);
 	    activeBC.offsetX(x);
 	    activeBC.offsetY(y);
 	    px += x;
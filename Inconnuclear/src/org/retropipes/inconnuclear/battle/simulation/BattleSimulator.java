@@ -0,0 +1,188 @@
+/*  Inconnuclear: A Dungeon-Diving RPG
+Copyleft (C) 2024-present RetroPipes
+Licensed under MIT. See the LICENSE file for details.
+
+All support is handled via the GitHub repository: https://github.com/retropipes/inconnuclear
+ */
+package org.retropipes.inconnuclear.battle.simulation;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+import org.retropipes.inconnuclear.battle.BattleCharacter;
+import org.retropipes.inconnuclear.battle.ai.BattleOccupancy;
+import org.retropipes.inconnuclear.battle.ai.map.MapAIPicker;
+import org.retropipes.inconnuclear.creature.Creature;
+import org.retropipes.inconnuclear.creature.GameDifficulty;
+import org.retropipes.inconnuclear.dungeon.base.DungeonBase;
+import org.retropipes.inconnuclear.dungeon.base.PathFinder;
+import org.retropipes.inconnuclear.locale.Layer;
+import org.retropipes.inconnuclear.utility.GameRandom;
+
+// Runs AI-versus-AI map battles with no GUI, in parallel, and tallies the outcomes for balancing
+public final class BattleSimulator {
+    // Runs a range of chunks by halving it until each task holds one chunk
+    private static final class FightTask extends RecursiveAction {
+	private static final long serialVersionUID = 1L;
+	// Fields
+	private final transient BattleSimulator simulator;
+	private final GameDifficulty difficulty;
+	private final int[] counts;
+	private final long[] seeds;
+	private final transient SimulationReport[] tallies;
+	private final int from;
+	private final int to;
+
+	// Constructors
+	FightTask(final BattleSimulator owner, final GameDifficulty gameDifficulty, final int[] chunkCounts,
+		final long[] chunkSeeds, final SimulationReport[] out, final int start, final int end) {
+	    this.simulator = owner;
+	    this.difficulty = gameDifficulty;
+	    this.counts = chunkCounts;
+	    this.seeds = chunkSeeds;
+	    this.tallies = out;
+	    this.from = start;
+	    this.to = end;
+	}
+
+	@Override
+	protected void compute() {
+	    if (this.to - this.from == 1) {
+		// Each task writes only its own slot, so no locking is needed
+		this.tallies[this.from] = this.simulator.runChunk(this.difficulty, this.counts[this.from],
+			this.seeds[this.from]);
+		return;
+	    }
+	    final var mid = this.from + this.to >>> 1;
+	    ForkJoinTask.invokeAll(
+		    new FightTask(this.simulator, this.difficulty, this.counts, this.seeds, this.tallies, this.from,
+			    mid),
+		    new FightTask(this.simulator, this.difficulty, this.counts, this.seeds, this.tallies, mid,
+			    this.to));
+	}
+    }
+
+    // Fights per task; small enough to balance across threads, large enough to dwarf the task overhead
+    private static final int FIGHTS_PER_TASK = 1024;
+
+    // Fields
+    private final boolean[][] open;
+    private final int[] openCells;
+    private final Function<GameDifficulty, Creature> partyFactory;
+    private final Function<GameDifficulty, Creature> enemyFactory;
+
+    // Constructors
+    // The factories are called from pool threads, and must build a fresh creature each time, rolling
+    // through GameRandom for runs to repeat
+    public BattleSimulator(final DungeonBase arena, final Function<GameDifficulty, Creature> party,
+	    final Function<GameDifficulty, Creature> enemy) {
+	final var rows = arena.getRows();
+	final var cols = arena.getColumns();
+	// The arena is read once, here, so the workers never touch it
+	this.open = new boolean[rows][cols];
+	final var cells = new int[rows * cols];
+	var count = 0;
+	for (var x = 0; x < rows; x++) {
+	    for (var y = 0; y < cols; y++) {
+		final var cell = arena.getCell(x, y, 0, Layer.STATUS.ordinal());
+		// The top left corner is off limits in real battles too
+		if (cell != null && !cell.isSolid() && (x != 0 || y != 0)) {
+		    this.open[x][y] = true;
+		    cells[count] = x * cols + y;
+		    count++;
+		}
+	    }
+	}
+	if (count < 2) {
+	    throw new IllegalArgumentException("Arena has " + count + " open cells, but needs at least 2");
+	}
+	this.openCells = new int[count];
+	System.arraycopy(cells, 0, this.openCells, 0, count);
+	this.partyFactory = party;
+	this.enemyFactory = enemy;
+    }
+
+    private BattleCharacter enlist(final Function<GameDifficulty, Creature> factory,
+	    final GameDifficulty difficulty) {
+	final var bc = new BattleCharacter(factory.apply(difficulty), this.open.length, this.open[0].length);
+	bc.setAI(MapAIPicker.getNextRoutine(difficulty));
+	return bc;
+    }
+
+    // Each chunk gets its own: a path finder's search queue and flow fields are shared scratch space, so one
+    // is not safe to use from more than one thread
+    private PathFinder pathsThrough() {
+	final var paths = new PathFinder(this.open.length, this.open[0].length, 1);
+	for (var x = 0; x < this.open.length; x++) {
+	    for (var y = 0; y < this.open[x].length; y++) {
+		if (!this.open[x][y]) {
+		    paths.setBlocked(x, y, 0, true);
+		}
+	    }
+	}
+	return paths;
+    }
+
+    // Fights the given number of battles at one difficulty; the same seed always gives the same fights,
+    // however many threads the pool has
+    public SimulationReport run(final GameDifficulty difficulty, final int fights, final long seed) {
+	final var report = new SimulationReport(difficulty);
+	if (fights <= 0) {
+	    return report;
+	}
+	final var startTime = System.nanoTime();
+	final var chunks = (fights + BattleSimulator.FIGHTS_PER_TASK - 1) / BattleSimulator.FIGHTS_PER_TASK;
+	final var counts = new int[chunks];
+	// Seeds are drawn up front, in order, so no chunk depends on when another one ran
+	final var seeds = new long[chunks];
+	final var source = new SplittableRandom(seed);
+	for (var i = 0; i < chunks; i++) {
+	    counts[i] = Math.min(BattleSimulator.FIGHTS_PER_TASK, fights - i * BattleSimulator.FIGHTS_PER_TASK);
+	    seeds[i] = source.nextLong();
+	}
+	final var tallies = new SimulationReport[chunks];
+	ForkJoinPool.commonPool().invoke(new FightTask(this, difficulty, counts, seeds, tallies, 0, chunks));
+	for (final SimulationReport tally : tallies) {
+	    report.merge(tally);
+	}
+	report.setElapsedNanos(System.nanoTime() - startTime);
+	return report;
+    }
+
+    // One report per difficulty, in GameDifficulty order
+    public SimulationReport[] runAll(final int fightsPerDifficulty, final long seed) {
+	final var difficulties = GameDifficulty.values();
+	final var reports = new SimulationReport[difficulties.length];
+	final var source = new SplittableRandom(seed);
+	for (var d = 0; d < difficulties.length; d++) {
+	    reports[d] = this.run(difficulties[d], fightsPerDifficulty, source.nextLong());
+	}
+	return reports;
+    }
+
+    SimulationReport runChunk(final GameDifficulty difficulty, final int fights, final long seed) {
+	final var tally = new SimulationReport(difficulty);
+	final var random = new GameRandom(seed);
+	// Reused by every fight in the chunk; clearing it costs only the battlers it holds
+	final var occupancy = new BattleOccupancy(this.open.length, this.open[0].length);
+	// Likewise the paths; they stay on this thread, since their scratch buffers are not thread-safe
+	final var paths = this.pathsThrough();
+	// Creatures, AIs and damage rolls all draw from the thread's generator, so the chunk seeds it;
+	// the thread may be the caller's, helping out, so its own generator is put back afterwards
+	final var previous = GameRandom.install(random);
+	try {
+	    for (var f = 0; f < fights; f++) {
+		final var party = this.enlist(this.partyFactory, difficulty);
+		final var enemy = this.enlist(this.enemyFactory, difficulty);
+		new SimulatedBattle(this.open, this.openCells, occupancy, paths, party, enemy, difficulty, random,
+			tally).fight();
+	    }
+	} finally {
+	    GameRandom.install(previous);
+	}
+	return tally;
+    }
+}
@@ -0,0 +1,307 @@
+/*  Inconnuclear: A Dungeon-Diving RPG
+Copyleft (C) 2024-present RetroPipes
+Licensed under MIT. See the LICENSE file for details.
+
+All support is handled via the GitHub repository: https://github.com/retropipes/inconnuclear
+ */
+package org.retropipes.inconnuclear.battle.simulation;
+
+import org.retropipes.inconnuclear.battle.BattleAction;
+import org.retropipes.inconnuclear.battle.BattleCharacter;
+import org.retropipes.inconnuclear.battle.BattleResult;
+import org.retropipes.inconnuclear.battle.ai.AIContext;
+import org.retropipes.inconnuclear.battle.ai.BattleOccupancy;
+import org.retropipes.inconnuclear.battle.damage.DamageEngine;
+import org.retropipes.inconnuclear.creature.GameDifficulty;
+import org.retropipes.inconnuclear.creature.StatConstants;
+import org.retropipes.inconnuclear.creature.spell.SpellCaster;
+import org.retropipes.inconnuclear.dungeon.base.PathFinder;
+import org.retropipes.inconnuclear.utility.GameRandom;
+
+// One map battle between two AI-driven characters, following MapTurnBattleLogic's rules with no GUI, sound or delays
+final class SimulatedBattle {
+    private static final int STEAL_ACTION_POINTS = 3;
+    private static final int DRAIN_ACTION_POINTS = 3;
+    private static final int MAX_CHANCE = 100;
+    // A real battle can go on forever; a simulated one is scored a draw at this point
+    private static final int MAX_ROUNDS = 500;
+    // Backstop for an AI that never ends its turn
+    private static final int MAX_ACTIONS_PER_TURN = 256;
+
+    private static int agilityOf(final BattleCharacter bc) {
+	return (int) bc.getCreature().getEffectedStat(StatConstants.STAT_AGILITY);
+    }
+
+    private static boolean isAdjacent(final int x1, final int y1, final int x2, final int y2) {
+	return Math.abs(x1 - x2) <= 1 && Math.abs(y1 - y2) <= 1;
+    }
+
+    private static boolean isAt(final BattleCharacter bc, final int x, final int y) {
+	return bc.isActive() && bc.getX() == x && bc.getY() == y;
+    }
+
+    // Fields
+    private final boolean[][] open;
+    private final int[] openCells;
+    private final BattleOccupancy occupancy;
+    private final PathFinder paths;
+    private final BattleCharacter party;
+    private final BattleCharacter enemy;
+    private final DamageEngine partyEngine;
+    private final DamageEngine enemyEngine;
+    private final GameRandom random;
+    private final SimulationReport report;
+    private BattleResult result;
+
+    // Constructors
+    SimulatedBattle(final boolean[][] openArena, final int[] openArenaCells, final BattleOccupancy arenaOccupancy,
+	    final PathFinder arenaPaths, final BattleCharacter partyBC, final BattleCharacter enemyBC,
+	    final GameDifficulty difficulty, final GameRandom rng, final SimulationReport tally) {
+	this.open = openArena;
+	this.openCells = openArenaCells;
+	this.occupancy = arenaOccupancy;
+	this.paths = arenaPaths;
+	this.party = partyBC;
+	this.enemy = enemyBC;
+	this.partyEngine = DamageEngine.getPlayerInstance(difficulty);
+	this.enemyEngine = DamageEngine.getEnemyInstance(difficulty);
+	this.random = rng;
+	this.report = tally;
+	this.result = BattleResult.IN_PROGRESS;
+    }
+
+    private boolean castSpell(final BattleCharacter active) {
+	if (active.getSpellsLeft() <= 0) {
+	    return false;
+	}
+	final var success = SpellCaster.castSpellQuietly(active.getAI().getSpellToCast(), active.getCreature(),
+		this.foeOf(active).getCreature());
+	if (success) {
+	    active.modifySpells(1);
+	}
+	return success;
+    }
+
+    private void checkResult() {
+	final var partyAlive = this.party.getCreature().isAlive();
+	final var enemyAlive = this.enemy.getCreature().isAlive();
+	if (!partyAlive && !enemyAlive) {
+	    this.result = BattleResult.DRAW;
+	} else if (!enemyAlive) {
+	    this.result = BattleResult.WON;
+	} else if (!partyAlive) {
+	    this.result = BattleResult.LOST;
+	} else if (!this.party.isActive()) {
+	    this.result = BattleResult.FLED;
+	} else if (!this.enemy.isActive()) {
+	    this.result = BattleResult.ENEMY_FLED;
+	}
+    }
+
+    private boolean drain(final BattleCharacter active) {
+	if (active.getActionsLeft() <= 0) {
+	    return false;
+	}
+	active.modifyAP(SimulatedBattle.DRAIN_ACTION_POINTS);
+	final var foe = this.foeOf(active).getCreature();
+	if (this.random.nextInt(0, SimulatedBattle.MAX_CHANCE) > StatConstants.CHANCE_DRAIN) {
+	    return false;
+	}
+	final var amount = this.random.nextInt(0, foe.getCurrentMP());
+	if (amount == 0) {
+	    return false;
+	}
+	foe.offsetCurrentMP(-amount);
+	active.getCreature().offsetCurrentMP(amount);
+	return true;
+    }
+
+    private void endRound() {
+	if (this.result != BattleResult.IN_PROGRESS) {
+	    return;
+	}
+	this.party.resetAll();
+	this.enemy.resetAll();
+	this.maintainEffects(this.party);
+	this.maintainEffects(this.enemy);
+	this.checkResult();
+	if (this.party.isActive()) {
+	    this.party.getAI().newRoundHook();
+	}
+	if (this.enemy.isActive()) {
+	    this.enemy.getAI().newRoundHook();
+	}
+    }
+
+    void fight() {
+	this.party.resetLocation();
+	this.enemy.resetLocation();
+	this.occupancy.clear();
+	this.party.getAIContext().shareOccupancy(this.occupancy);
+	this.enemy.getAIContext().shareOccupancy(this.occupancy);
+	this.party.getAIContext().sharePaths(this.paths);
+	this.enemy.getAIContext().sharePaths(this.paths);
+	this.place(this.party);
+	this.place(this.enemy);
+	var rounds = 0;
+	while (this.result == BattleResult.IN_PROGRESS && rounds < SimulatedBattle.MAX_ROUNDS) {
+	    rounds++;
+	    // The faster battler acts first, and the party wins ties
+	    final var partyFirst = SimulatedBattle.agilityOf(this.party) >= SimulatedBattle.agilityOf(this.enemy);
+	    this.takeTurn(partyFirst ? this.party : this.enemy);
+	    this.takeTurn(partyFirst ? this.enemy : this.party);
+	    this.endRound();
+	}
+	final var outcome = this.result == BattleResult.IN_PROGRESS ? BattleResult.DRAW : this.result;
+	this.report.recordFight(outcome, rounds);
+    }
+
+    private BattleCharacter foeOf(final BattleCharacter bc) {
+	return bc == this.party ? this.enemy : this.party;
+    }
+
+    private void handleDeath(final BattleCharacter bc) {
+	if (bc.isActive()) {
+	    this.vacate(bc);
+	    bc.deactivate();
+	}
+	bc.getCreature().stripAllEffects();
+    }
+
+    private void maintainEffects(final BattleCharacter bc) {
+	if (!bc.isActive()) {
+	    return;
+	}
+	final var creature = bc.getCreature();
+	creature.useEffects();
+	creature.cullInactiveEffects();
+	if (!creature.isAlive()) {
+	    this.handleDeath(bc);
+	}
+    }
+
+    private boolean move(final BattleCharacter active, final int dx, final int dy) {
+	final var x = active.getX() + dx;
+	final var y = active.getY() + dy;
+	if (x < 0 || y < 0 || x >= this.open.length || y >= this.open[x].length) {
+	    // Walking off the arena is fleeing
+	    this.vacate(active);
+	    active.deactivate();
+	    this.checkResult();
+	    return true;
+	}
+	final var foe = this.foeOf(active);
+	if (SimulatedBattle.isAt(foe, x, y)) {
+	    if (active.getAttacksLeft() <= 0) {
+		return false;
+	    }
+	    active.modifyAttacks(1);
+	    this.strike(active, foe);
+	    return true;
+	}
+	if (dx == 0 && dy == 0 || !this.open[x][y] || active.getActionsLeft() < AIContext.getAPCost()) {
+	    return false;
+	}
+	// Stepping out of a foe's reach gives it a free attack
+	if (foe.isActive() && SimulatedBattle.isAdjacent(active.getX(), active.getY(), foe.getX(), foe.getY())
+		&& !SimulatedBattle.isAdjacent(x, y, foe.getX(), foe.getY())) {
+	    this.strike(foe, active);
+	    if (!active.isActive()) {
+		return true;
+	    }
+	}
+	this.vacate(active);
+	active.offsetX(dx);
+	active.offsetY(dy);
+	this.occupy(active);
+	active.modifyAP(AIContext.getAPCost());
+	return true;
+    }
+
+    private void occupy(final BattleCharacter bc) {
+	this.occupancy.add(bc.getX(), bc.getY(), bc.getTeamID());
+    }
+
+    private void place(final BattleCharacter bc) {
+	final var columns = this.open[0].length;
+	int x;
+	int y;
+	do {
+	    final var cell = this.openCells[this.random.nextInt(0, this.openCells.length - 1)];
+	    x = cell / columns;
+	    y = cell % columns;
+	} while (SimulatedBattle.isAt(this.foeOf(bc), x, y));
+	bc.setX(x);
+	bc.setY(y);
+	this.occupy(bc);
+    }
+
+    private boolean steal(final BattleCharacter active) {
+	if (active.getActionsLeft() <= 0) {
+	    return false;
+	}
+	active.modifyAP(SimulatedBattle.STEAL_ACTION_POINTS);
+	final var foe = this.foeOf(active).getCreature();
+	if (this.random.nextInt(0, SimulatedBattle.MAX_CHANCE) > StatConstants.CHANCE_STEAL) {
+	    return false;
+	}
+	final var amount = this.random.nextInt(0, foe.getGold());
+	if (amount == 0) {
+	    return false;
+	}
+	active.getCreature().offsetGold(amount);
+	return true;
+    }
+
+    private void strike(final BattleCharacter attacker, final BattleCharacter defender) {
+	final var side = attacker == this.party ? SimulationReport.PARTY : SimulationReport.ENEMY;
+	final var engine = attacker == this.party ? this.partyEngine : this.enemyEngine;
+	final var amount = engine.computeDamage(defender.getCreature(), attacker.getCreature());
+	if (engine.weaponFumble()) {
+	    attacker.getCreature().doDamage(amount);
+	} else if (amount < 0) {
+	    attacker.getCreature().doDamage(-amount);
+	} else {
+	    defender.getCreature().doDamage(amount);
+	    this.report.recordHit(side, amount);
+	}
+	if (!defender.getCreature().isAlive()) {
+	    this.handleDeath(defender);
+	}
+	if (!attacker.getCreature().isAlive()) {
+	    this.handleDeath(attacker);
+	}
+	this.checkResult();
+    }
+
+    private void takeTurn(final BattleCharacter active) {
+	final var ai = active.getAI();
+	for (var step = 0; step < SimulatedBattle.MAX_ACTIONS_PER_TURN; step++) {
+	    if (this.result != BattleResult.IN_PROGRESS || !active.isActive()) {
+		return;
+	    }
+	    boolean success;
+	    switch (ai.getNextAction(active.getAIContext())) {
+	    case BattleAction.MOVE:
+		success = this.move(active, ai.getMoveX(), ai.getMoveY());
+		break;
+	    case BattleAction.CAST_SPELL:
+		success = this.castSpell(active);
+		break;
+	    case BattleAction.DRAIN:
+		success = this.drain(active);
+		break;
+	    case BattleAction.STEAL:
+		success = this.steal(active);
+		break;
+	    default:
+		return;
+	    }
+	    ai.setLastResult(success);
+	}
+    }
+
+    private void vacate(final BattleCharacter bc) {
+	this.occupancy.remove(bc.getX(), bc.getY());
+    }
+}
@@ -0,0 +1,132 @@
+/*  Inconnuclear: A Dungeon-Diving RPG
+Copyleft (C) 2024-present RetroPipes
+Licensed under MIT. See the LICENSE file for details.
+
+All support is handled via the GitHub repository: https://github.com/retropipes/inconnuclear
+ */
+package org.retropipes.inconnuclear.battle.simulation;
+
+import org.retropipes.inconnuclear.battle.BattleResult;
+import org.retropipes.inconnuclear.creature.GameDifficulty;
+
+public final class SimulationReport {
+    public static final int PARTY = 0;
+    public static final int ENEMY = 1;
+    // Bucket 0 holds misses; bucket n holds hits of 2^(n-1) up to 2^n - 1
+    public static final int DAMAGE_BUCKETS = Integer.SIZE;
+    private static final long NANOS_PER_SECOND = 1000000000L;
+
+    private static int bucketOf(final int damage) {
+	return Integer.SIZE - Integer.numberOfLeadingZeros(Math.max(0, damage));
+    }
+
+    // Fields
+    private final GameDifficulty difficulty;
+    private final long[] results;
+    private final long[][] damage;
+    private final long[] hits;
+    private final long[] damageDealt;
+    private long fights;
+    private long rounds;
+    private long elapsedNanos;
+
+    // Constructors
+    SimulationReport(final GameDifficulty gameDifficulty) {
+	this.difficulty = gameDifficulty;
+	this.results = new long[BattleResult.values().length];
+	this.damage = new long[2][SimulationReport.DAMAGE_BUCKETS];
+	this.hits = new long[2];
+	this.damageDealt = new long[2];
+    }
+
+    public double getAverageDamage(final int side) {
+	return this.hits[side] == 0L ? 0.0 : (double) this.damageDealt[side] / this.hits[side];
+    }
+
+    public double getAverageRounds() {
+	return this.fights == 0L ? 0.0 : (double) this.rounds / this.fights;
+    }
+
+    // Hits by the given side, counted into the power-of-two buckets described by DAMAGE_BUCKETS
+    public long[] getDamageHistogram(final int side) {
+	return this.damage[side].clone();
+    }
+
+    public GameDifficulty getDifficulty() {
+	return this.difficulty;
+    }
+
+    public long getElapsedNanos() {
+	return this.elapsedNanos;
+    }
+
+    public long getFights() {
+	return this.fights;
+    }
+
+    public double getFightsPerSecond() {
+	return this.elapsedNanos == 0L ? 0.0
+		: (double) this.fights * SimulationReport.NANOS_PER_SECOND / this.elapsedNanos;
+    }
+
+    public long getResultCount(final BattleResult result) {
+	return this.results[result.ordinal()];
+    }
+
+    // Share of fights the party won outright
+    public double getWinRate() {
+	if (this.fights == 0L) {
+	    return 0.0;
+	}
+	return (double) (this.getResultCount(BattleResult.WON) + this.getResultCount(BattleResult.PERFECT))
+		/ this.fights;
+    }
+
+    void merge(final SimulationReport other) {
+	for (var r = 0; r < this.results.length; r++) {
+	    this.results[r] += other.results[r];
+	}
+	for (var side = 0; side < this.damage.length; side++) {
+	    for (var b = 0; b < SimulationReport.DAMAGE_BUCKETS; b++) {
+		this.damage[side][b] += other.damage[side][b];
+	    }
+	    this.hits[side] += other.hits[side];
+	    this.damageDealt[side] += other.damageDealt[side];
+	}
+	this.fights += other.fights;
+	this.rounds += other.rounds;
+    }
+
+    void recordFight(final BattleResult result, final int fightRounds) {
+	this.results[result.ordinal()]++;
+	this.fights++;
+	this.rounds += fightRounds;
+    }
+
+    void recordHit(final int side, final int amount) {
+	this.damage[side][SimulationReport.bucketOf(amount)]++;
+	this.hits[side]++;
+	this.damageDealt[side] += Math.max(0, amount);
+    }
+
+    void setElapsedNanos(final long nanos) {
+	this.elapsedNanos = nanos;
+    }
+
+    @Override
+    public String toString() {
+	final var out = new StringBuilder();
+	out.append(this.difficulty).append(": ").append(this.fights).append(" fights, ");
+	out.append(String.format("%.2f%% won, %.2f rounds, ", this.getWinRate() * 100.0, this.getAverageRounds()));
+	out.append(String.format("%.1f / %.1f average damage, %.0f fights/s",
+		this.getAverageDamage(SimulationReport.PARTY), this.getAverageDamage(SimulationReport.ENEMY),
+		this.getFightsPerSecond()));
+	for (final BattleResult result : BattleResult.values()) {
+	    final var count = this.getResultCount(result);
+	    if (count != 0L && result != BattleResult.WON) {
+		out.append(", ").append(result).append(' ').append(count);
+	    }
+	}
+	return out.toString();
+    }
+}
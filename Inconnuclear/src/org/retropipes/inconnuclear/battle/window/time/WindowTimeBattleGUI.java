@@ -22,6 +22,7 @@ import javax.swing.JTextArea;
 import javax.swing.KeyStroke;
 
 import org.retropipes.diane.asset.image.BufferedImageIcon;
+import org.retropipes.inconnuclear.battle.BattleClock;
 import org.retropipes.inconnuclear.loader.image.ui.UiImageId;
 import org.retropipes.inconnuclear.loader.image.ui.UiImageLoader;
 
@@ -32,9 +33,11 @@ public class WindowTimeBattleGUI {
     private final JTextArea messageArea;
     private final JProgressBar myActionBar, enemyActionBar;
     private final JButton attack, flee, spell, steal, drain, item, done;
+    private final BattleClock clock;
 
     // Constructor
-    public WindowTimeBattleGUI() {
+    public WindowTimeBattleGUI(final BattleClock battleClock) {
+	this.clock = battleClock;
 	// Initialize GUI
 	this.battleFrame = new JFrame("Battle");
 	final Image iconlogo = UiImageLoader.load(UiImageId.ICONLOGO);
@@ -181,19 +184,20 @@ public class WindowTimeBattleGUI {
     }
 
     public final boolean isEnemyActionBarFull() {
-	return this.enemyActionBar.getValue() == this.enemyActionBar.getMaximum();
+	return this.clock.isFull(BattleClock.ENEMY);
     }
 
     public final boolean isPlayerActionBarFull() {
-	return this.myActionBar.getValue() == this.myActionBar.getMaximum();
+	return this.clock.isFull(BattleClock.PLAYER);
     }
 
     public final void resetEnemyActionBar() {
-	this.enemyActionBar.setValue(0);
+	this.clock.reset(BattleClock.ENEMY);
     }
 
     public final void resetPlayerActionBar() {
-	this.myActionBar.setValue(0);
+	this.disableActionButtons();
+	this.clock.reset(BattleClock.PLAYER);
     }
 
     public final void setMaxEnemyActionBarValue(final int max) {
@@ -210,16 +214,13 @@ public class WindowTimeBattleGUI {
 	this.messageArea.setText(this.messageArea.getText() + s + "\n");
     }
 
+    final void showActionBarValues(final int playerValue, final int enemyValue) {
+	this.myActionBar.setValue(playerValue);
+	this.enemyActionBar.setValue(enemyValue);
+    }
+
     final void stripExtraNewLine() {
 	final var currText = this.messageArea.getText();
 	this.messageArea.setText(currText.substring(0, currText.length() - 1));
     }
-
-    public final void updateEnemyActionBarValue() {
-	this.enemyActionBar.setValue(this.enemyActionBar.getValue() + 1);
-    }
-
-    public final void updatePlayerActionBarValue() {
-	this.myActionBar.setValue(this.myActionBar.getValue() + 1);
-    }
 }
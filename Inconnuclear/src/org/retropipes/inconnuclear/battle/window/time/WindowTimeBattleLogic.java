@@ -6,15 +6,14 @@ All support is handled via the GitHub repository: https://github.com/retropipes/
  */
 package org.retropipes.inconnuclear.battle.window.time;
 
-import java.util.Timer;
-import java.util.TimerTask;
+import javax.swing.SwingUtilities;
 
-import org.retropipes.diane.random.RandomRange;
 import org.retropipes.inconnuclear.Inconnuclear;
 import org.retropipes.inconnuclear.StuffBag;
 import org.retropipes.inconnuclear.battle.Battle;
 import org.retropipes.inconnuclear.battle.BattleAction;
 import org.retropipes.inconnuclear.battle.BattleCharacter;
+import org.retropipes.inconnuclear.battle.BattleClock;
 import org.retropipes.inconnuclear.battle.BattleResult;
 import org.retropipes.inconnuclear.battle.damage.DamageEngine;
 import org.retropipes.inconnuclear.battle.types.BattleType;
@@ -31,13 +30,37 @@ import org.retropipes.inconnuclear.creature.spell.SpellCaster;
 import org.retropipes.inconnuclear.loader.sound.SoundLoader;
 import org.retropipes.inconnuclear.loader.sound.Sounds;
 import org.retropipes.inconnuclear.settings.Settings;
+import org.retropipes.inconnuclear.utility.GameRandom;
 
 public class WindowTimeBattleLogic extends Battle {
-    private class EnemyTask extends TimerTask {
-	public EnemyTask() {
+    private class ClockListener implements BattleClock.Listener {
+	public ClockListener() {
 	    // Do nothing
 	}
 
+	@Override
+	public void actionBarFilled(final int bar) {
+	    // Either side's turn touches Swing, so both run on the event thread, not the clock's
+	    SwingUtilities.invokeLater(() -> {
+		try {
+		    if (bar == BattleClock.ENEMY) {
+			this.enemyAct();
+		    } else {
+			SoundLoader.playSound(Sounds.PLAYER_UP);
+			WindowTimeBattleLogic.this.battleGUI.enableActionButtons();
+		    }
+		} catch (final Throwable t) {
+		    Inconnuclear.logError(t);
+		}
+	    });
+	}
+
+	@Override
+	public void actionBarsAdvanced(final int playerValue, final int enemyValue) {
+	    final var gui = WindowTimeBattleLogic.this.battleGUI;
+	    SwingUtilities.invokeLater(() -> gui.showActionBarValues(playerValue, enemyValue));
+	}
+
 	private void enemyAct() {
 	    final var logic = WindowTimeBattleLogic.this;
 	    final var gui = logic.battleGUI;
@@ -62,56 +85,6 @@ public class WindowTimeBattleLogic extends Battle {
 		gui.battleFrame.pack();
 	    }
 	}
-
-	@Override
-	public void run() {
-	    try {
-		final var app = Inconnuclear.getStuffBag();
-		final var b = app.getBattle();
-		if (app.getMode() == StuffBag.STATUS_BATTLE && b instanceof WindowTimeBattleLogic) {
-		    final var logic = WindowTimeBattleLogic.this;
-		    final var gui = logic.battleGUI;
-		    if (!gui.isEnemyActionBarFull()) {
-			gui.updateEnemyActionBarValue();
-			if (gui.isEnemyActionBarFull()) {
-			    this.enemyAct();
-			}
-		    }
-		}
-	    } catch (final Throwable t) {
-		Inconnuclear.logError(t);
-	    }
-	}
-    }
-
-    private class PlayerTask extends TimerTask {
-	public PlayerTask() {
-	    // Do nothing
-	}
-
-	@Override
-	public void run() {
-	    try {
-		final var app = Inconnuclear.getStuffBag();
-		final var b = app.getBattle();
-		if (app.getMode() == StuffBag.STATUS_BATTLE && b instanceof WindowTimeBattleLogic) {
-		    final var logic = WindowTimeBattleLogic.this;
-		    final var gui = logic.battleGUI;
-		    if (!gui.isPlayerActionBarFull()) {
-			gui.disableActionButtons();
-			gui.updatePlayerActionBarValue();
-			if (gui.isPlayerActionBarFull()) {
-			    SoundLoader.playSound(Sounds.PLAYER_UP);
-			    gui.enableActionButtons();
-			}
-		    } else {
-			gui.enableActionButtons();
-		    }
-		}
-	    } catch (final Throwable t) {
-		Inconnuclear.logError(t);
-	    }
-	}
     }
 
     private static final int BASE_RUN_CHANCE = 80;
@@ -130,26 +103,25 @@ public class WindowTimeBattleLogic extends Battle {
     private final DamageEngine pde;
     private final DamageEngine ede;
     WindowTimeBattleGUI battleGUI;
-    private final Timer battleTimer;
+    private final BattleClock battleClock;
 
     // Constructor
     public WindowTimeBattleLogic() {
 	// Initialize Battle Parameters
 	this.pde = DamageEngine.getPlayerInstance();
 	this.ede = DamageEngine.getEnemyInstance();
-	this.battleTimer = new Timer();
-	this.battleTimer.schedule(new PlayerTask(), 0, WindowTimeBattleSpeed.getSpeed());
-	this.battleTimer.schedule(new EnemyTask(), 0, WindowTimeBattleSpeed.getSpeed());
+	this.battleClock = new BattleClock();
 	this.damage = 0;
 	this.stealAmount = 0;
 	this.enemyDidDamage = false;
 	this.playerDidDamage = false;
 	// Initialize GUI
-	this.battleGUI = new WindowTimeBattleGUI();
+	this.battleGUI = new WindowTimeBattleGUI(this.battleClock);
     }
 
     @Override
     public final void battleDone() {
+	this.battleClock.stop();
 	this.battleGUI.getOutputFrame().setVisible(false);
 	final var gm = Inconnuclear.getStuffBag().getGame();
 	gm.showOutput();
@@ -354,13 +326,12 @@ public class WindowTimeBattleLogic extends Battle {
 	    this.enemy = this.enemyBC.getCreature();
 	    this.enemy.healAndRegenerateFully();
 	    this.enemy.loadCreature();
-	    this.battleGUI.setMaxPlayerActionBarValue(PartyManager.getParty().getLeader().getActionBarSpeed());
-	    this.battleGUI.setMaxEnemyActionBarValue(this.enemy.getActionBarSpeed());
 	    this.enemyDidDamage = false;
 	    this.playerDidDamage = false;
 	    this.setResult(BattleResult.IN_PROGRESS);
 	    this.battleGUI.initBattle(this.enemy.getImage());
 	    this.firstUpdateMessageArea();
+	    this.startActionBars();
 	} catch (final Throwable t) {
 	    Inconnuclear.logError(t);
 	}
@@ -403,6 +374,7 @@ public class WindowTimeBattleLogic extends Battle {
 	    this.setResult(BattleResult.IN_PROGRESS);
 	    this.battleGUI.initBattle(this.enemy.getImage());
 	    this.firstUpdateMessageArea();
+	    this.startActionBars();
 	} catch (final Throwable t) {
 	    Inconnuclear.logError(t);
 	}
@@ -424,8 +396,7 @@ public class WindowTimeBattleLogic extends Battle {
 	    success = this.castSpell();
 	    break;
 	case BattleAction.FLEE:
-	    final var rf = new RandomRange(0, 100);
-	    final var runChance = rf.generate();
+	    final var runChance = GameRandom.current().nextInt(0, 100);
 	    if (runChance <= this.computeRunChance()) {
 		// Success
 		this.setResult(BattleResult.FLED);
@@ -540,6 +511,8 @@ public class WindowTimeBattleLogic extends Battle {
 		break;
 	    }
 	}
+	// Nothing fills while the result is shown
+	this.battleClock.stop();
 	// Cleanup
 	this.battleGUI.doResultCleanup();
 	playerCharacter.stripAllEffects();
@@ -558,12 +531,10 @@ public class WindowTimeBattleLogic extends Battle {
     public final boolean drain() {
 	final var playerCharacter = PartyManager.getParty().getLeader();
 	final var drainChance = StatConstants.CHANCE_DRAIN;
-	final var chance = new RandomRange(0, 100);
-	final var randomChance = chance.generate();
+	final var randomChance = GameRandom.current().nextInt(0, 100);
 	if (randomChance <= drainChance) {
 	    // Succeeded
-	    final var drained = new RandomRange(0, this.enemy.getCurrentMP());
-	    final var drainAmount = drained.generate();
+	    final var drainAmount = GameRandom.current().nextInt(0, this.enemy.getCurrentMP());
 	    this.enemy.offsetCurrentMP(-drainAmount);
 	    playerCharacter.offsetCurrentMP(drainAmount);
 	    return true;
@@ -593,8 +564,7 @@ public class WindowTimeBattleLogic extends Battle {
 		    PartyManager.getParty().getLeader());
 	    break;
 	case BattleAction.FLEE:
-	    final var rf = new RandomRange(0, 100);
-	    final var runChance = rf.generate();
+	    final var runChance = GameRandom.current().nextInt(0, 100);
 	    if (runChance <= this.computeEnemyRunChance()) {
 		// Success
 		this.setResult(BattleResult.ENEMY_FLED);
@@ -625,8 +595,7 @@ public class WindowTimeBattleLogic extends Battle {
 	    enemyGotJump = false;
 	} else {
 	    // Equal, decide randomly
-	    final var jump = new RandomRange(0, 1);
-	    final var whoFirst = jump.generate();
+	    final var whoFirst = GameRandom.current().nextInt(0, 1);
 	    if (whoFirst == 1) {
 		// Enemy acts first!
 		enemyGotJump = true;
@@ -718,7 +687,7 @@ public class WindowTimeBattleLogic extends Battle {
 	// Destroy old GUI
 	this.battleGUI.getOutputFrame().dispose();
 	// Create new GUI
-	this.battleGUI = new WindowTimeBattleGUI();
+	this.battleGUI = new WindowTimeBattleGUI(this.battleClock);
     }
 
     @Override
@@ -731,16 +700,24 @@ public class WindowTimeBattleLogic extends Battle {
 	this.battleGUI.setStatusMessage(s);
     }
 
+    // Both bars start empty, and the action buttons wait for the player's to fill
+    private void startActionBars() {
+	final var playerBar = PartyManager.getParty().getLeader().getActionBarSpeed();
+	final var enemyBar = this.enemy.getActionBarSpeed();
+	this.battleGUI.setMaxPlayerActionBarValue(playerBar);
+	this.battleGUI.setMaxEnemyActionBarValue(enemyBar);
+	this.battleGUI.disableActionButtons();
+	this.battleClock.start(new ClockListener(), WindowTimeBattleSpeed.getSpeed(), playerBar, enemyBar);
+    }
+
     @Override
     public final boolean steal() {
 	final var playerCharacter = PartyManager.getParty().getLeader();
 	final var stealChance = StatConstants.CHANCE_STEAL;
-	final var chance = new RandomRange(0, 100);
-	final var randomChance = chance.generate();
+	final var randomChance = GameRandom.current().nextInt(0, 100);
 	if (randomChance <= stealChance) {
 	    // Succeeded
-	    final var stole = new RandomRange(0, this.enemy.getGold());
-	    this.stealAmount = stole.generate();
+	    this.stealAmount = GameRandom.current().nextInt(0, this.enemy.getGold());
 	    playerCharacter.offsetGold(this.stealAmount);
 	    return true;
 	}
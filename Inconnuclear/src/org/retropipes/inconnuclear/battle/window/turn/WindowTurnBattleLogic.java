@@ -6,7 +6,6 @@ All support is handled via the GitHub repository: https://github.com/retropipes/
  */
 package org.retropipes.inconnuclear.battle.window.turn;
 
-import org.retropipes.diane.random.RandomRange;
 import org.retropipes.inconnuclear.Inconnuclear;
 import org.retropipes.inconnuclear.StuffBag;
 import org.retropipes.inconnuclear.battle.Battle;
@@ -28,6 +27,7 @@ import org.retropipes.inconnuclear.creature.spell.SpellCaster;
 import org.retropipes.inconnuclear.loader.sound.SoundLoader;
 import org.retropipes.inconnuclear.loader.sound.Sounds;
 import org.retropipes.inconnuclear.settings.Settings;
+import org.retropipes.inconnuclear.utility.GameRandom;
 
 public class WindowTurnBattleLogic extends Battle {
     private static final int BASE_RUN_CHANCE = 80;
@@ -334,8 +334,7 @@ public class WindowTurnBattleLogic extends Battle {
 	    success = this.castSpell();
 	    break;
 	case BattleAction.FLEE:
-	    final var rf = new RandomRange(0, 100);
-	    final var runChance = rf.generate();
+	    final var runChance = GameRandom.current().nextInt(0, 100);
 	    if (runChance <= this.computeRunChance()) {
 		// Success
 		this.setResult(BattleResult.FLED);
@@ -465,12 +464,10 @@ public class WindowTurnBattleLogic extends Battle {
     public final boolean drain() {
 	final var playerCharacter = PartyManager.getParty().getLeader();
 	final var drainChance = StatConstants.CHANCE_DRAIN;
-	final var chance = new RandomRange(0, 100);
-	final var randomChance = chance.generate();
+	final var randomChance = GameRandom.current().nextInt(0, 100);
 	if (randomChance <= drainChance) {
 	    // Succeeded
-	    final var drained = new RandomRange(0, this.enemy.getCurrentMP());
-	    final var drainAmount = drained.generate();
+	    final var drainAmount = GameRandom.current().nextInt(0, this.enemy.getCurrentMP());
 	    this.enemy.offsetCurrentMP(-drainAmount);
 	    playerCharacter.offsetCurrentMP(drainAmount);
 	    return true;
@@ -500,8 +497,7 @@ public class WindowTurnBattleLogic extends Battle {
 		    PartyManager.getParty().getLeader());
 	    break;
 	case BattleAction.FLEE:
-	    final var rf = new RandomRange(0, 100);
-	    final var runChance = rf.generate();
+	    final var runChance = GameRandom.current().nextInt(0, 100);
 	    if (runChance <= this.computeEnemyRunChance()) {
 		// Success
 		this.setResult(BattleResult.ENEMY_FLED);
@@ -532,8 +528,7 @@ public class WindowTurnBattleLogic extends Battle {
 	    enemyGotJump = false;
 	} else {
 	    // Equal, decide randomly
-	    final var jump = new RandomRange(0, 1);
-	    final var whoFirst = jump.generate();
+	    final var whoFirst = GameRandom.current().nextInt(0, 1);
 	    if (whoFirst == 1) {
 		// Enemy acts first!
 		enemyGotJump = true;
@@ -642,12 +637,10 @@ public class WindowTurnBattleLogic extends Battle {
     public final boolean steal() {
 	final var playerCharacter = PartyManager.getParty().getLeader();
 	final var stealChance = StatConstants.CHANCE_STEAL;
-	final var chance = new RandomRange(0, 100);
-	final var randomChance = chance.generate();
+	final var randomChance = GameRandom.current().nextInt(0, 100);
 	if (randomChance <= stealChance) {
 	    // Succeeded
-	    final var stole = new RandomRange(0, this.enemy.getGold());
-	    this.stealAmount = stole.generate();
+	    this.stealAmount = GameRandom.current().nextInt(0, this.enemy.getGold());
 	    playerCharacter.offsetGold(this.stealAmount);
 	    return true;
 	}
@@ -11,12 +11,12 @@ import java.util.Objects;
 
 import org.retropipes.diane.asset.image.BufferedImageIcon;
 import org.retropipes.diane.polytable.PolyTable;
-import org.retropipes.diane.random.RandomRange;
 import org.retropipes.inconnuclear.creature.effect.Effect;
 import org.retropipes.inconnuclear.creature.item.ItemInventory;
 import org.retropipes.inconnuclear.creature.spell.SpellBook;
 import org.retropipes.inconnuclear.locale.GameString;
 import org.retropipes.inconnuclear.locale.Strings;
+import org.retropipes.inconnuclear.utility.GameRandom;
 
 public abstract class Creature {
     private static int ACTION_CAP = 1;
@@ -862,8 +862,8 @@ public abstract class Creature {
     private final void setStat(final int stat, final int value) {
 	int dynValue;
 	if (this.stats[stat].getDynamism() != 0) {
-	    final var r = new RandomRange(-this.stats[stat].getDynamism(), this.stats[stat].getDynamism());
-	    dynValue = value + r.generate();
+	    dynValue = value + GameRandom.current().nextInt(-this.stats[stat].getDynamism(),
+		    this.stats[stat].getDynamism());
 	} else {
 	    dynValue = value;
 	}
@@ -7,13 +7,13 @@ All support is handled via the GitHub repository: https://github.com/retropipes/
 package org.retropipes.inconnuclear.creature.monster;
 
 import org.retropipes.diane.asset.image.BufferedImageIcon;
-import org.retropipes.diane.random.RandomRange;
 import org.retropipes.inconnuclear.creature.Creature;
 import org.retropipes.inconnuclear.creature.GameDifficulty;
 import org.retropipes.inconnuclear.creature.party.PartyManager;
 import org.retropipes.inconnuclear.creature.spell.SpellBook;
 import org.retropipes.inconnuclear.loader.image.monster.MonsterImageLoader;
 import org.retropipes.inconnuclear.locale.Strings;
+import org.retropipes.inconnuclear.utility.GameRandom;
 
 public class FinalBossMonster extends Monster {
     // Fields
@@ -80,16 +80,14 @@ public class FinalBossMonster extends Monster {
 
     private int getInitialAgility() {
 	final var min = this.getMinimumStatForDifficulty();
-	final var r = new RandomRange(min,
+	return GameRandom.current().nextInt(min,
 		Math.max(this.getLevel() * this.getStatMultiplierForDifficulty(), min));
-	return r.generate();
     }
 
     private int getInitialBlock() {
 	final var min = this.getMinimumStatForDifficulty();
-	final var r = new RandomRange(min,
+	return GameRandom.current().nextInt(min,
 		Math.max(this.getLevel() * this.getStatMultiplierForDifficulty(), min));
-	return r.generate();
     }
 
     @Override
@@ -99,30 +97,26 @@ public class FinalBossMonster extends Monster {
 
     private int getInitialIntelligence() {
 	final var min = this.getMinimumStatForDifficulty();
-	final var r = new RandomRange(min,
+	return GameRandom.current().nextInt(min,
 		Math.max(this.getLevel() * this.getStatMultiplierForDifficulty(), min));
-	return r.generate();
     }
 
     private int getInitialLuck() {
 	final var min = this.getMinimumStatForDifficulty();
-	final var r = new RandomRange(min,
+	return GameRandom.current().nextInt(min,
 		Math.max(this.getLevel() * this.getStatMultiplierForDifficulty(), min));
-	return r.generate();
     }
 
     private int getInitialStrength() {
 	final var min = this.getMinimumStatForDifficulty();
-	final var r = new RandomRange(min,
+	return GameRandom.current().nextInt(min,
 		Math.max(this.getLevel() * this.getStatMultiplierForDifficulty(), min));
-	return r.generate();
     }
 
     private int getInitialVitality() {
 	final var min = this.getMinimumStatForDifficulty();
-	final var r = new RandomRange(min,
+	return GameRandom.current().nextInt(min,
 		Math.max(this.getLevel() * this.getStatMultiplierForDifficulty(), min));
-	return r.generate();
     }
 
     @Override
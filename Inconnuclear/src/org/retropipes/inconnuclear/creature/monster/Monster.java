@@ -8,11 +8,11 @@ package org.retropipes.inconnuclear.creature.monster;
 
 import java.util.Objects;
 
-import org.retropipes.diane.random.RandomRange;
 import org.retropipes.inconnuclear.creature.Creature;
 import org.retropipes.inconnuclear.creature.GameDifficulty;
 import org.retropipes.inconnuclear.creature.party.PartyManager;
 import org.retropipes.inconnuclear.creature.spell.SpellBook;
+import org.retropipes.inconnuclear.utility.GameRandom;
 
 public abstract class Monster extends Creature {
     protected static final double MINIMUM_EXPERIENCE_RANDOM_VARIANCE = -5.0 / 2.0;
@@ -43,7 +43,7 @@ public abstract class Monster extends Creature {
     }
 
     protected void configureDefaults() {
-	this.monID = RandomRange.generate(0, 99);
+	this.monID = GameRandom.current().nextInt(0, 99);
 	final var zoneID = PartyManager.getParty().getZone();
 	this.type = Monsters.getType(zoneID, this.monID);
     }
@@ -68,8 +68,7 @@ public abstract class Monster extends Creature {
 	final var tough = this.getToughness();
 	final var min = tough * Monster.PERFECT_GOLD_MIN;
 	final var max = tough * Monster.PERFECT_GOLD_MAX;
-	final var r = new RandomRange(min, max);
-	return (int) (r.generate() * this.adjustForLevelDifference());
+	return (int) (GameRandom.current().nextInt(min, max) * this.adjustForLevelDifference());
     }
 
     @Override
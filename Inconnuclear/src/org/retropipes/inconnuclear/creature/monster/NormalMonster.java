@@ -7,12 +7,11 @@ All support is handled via the GitHub repository: https://github.com/retropipes/
 package org.retropipes.inconnuclear.creature.monster;
 
 import org.retropipes.diane.asset.image.BufferedImageIcon;
-import org.retropipes.diane.random.RandomLongRange;
-import org.retropipes.diane.random.RandomRange;
 import org.retropipes.inconnuclear.creature.GameDifficulty;
 import org.retropipes.inconnuclear.creature.item.ItemPrices;
 import org.retropipes.inconnuclear.creature.party.PartyManager;
 import org.retropipes.inconnuclear.loader.image.monster.MonsterImageLoader;
+import org.retropipes.inconnuclear.utility.GameRandom;
 
 class NormalMonster extends Monster {
     // Constants
@@ -72,24 +71,22 @@ class NormalMonster extends Monster {
     }
 
     private int getInitialAgility() {
-	final var r = new RandomRange(1, Math.max(this.getLevel() * this.getStatMultiplierForDifficulty(), 1));
-	return r.generate();
+	return GameRandom.current().nextInt(1, Math.max(this.getLevel() * this.getStatMultiplierForDifficulty(), 1));
     }
 
     private int getInitialBlock() {
-	final var r = new RandomRange(0, this.getLevel() * this.getStatMultiplierForDifficulty());
-	return r.generate();
+	return GameRandom.current().nextInt(0, this.getLevel() * this.getStatMultiplierForDifficulty());
     }
 
     private long getInitialExperience() {
 	int minvar, maxvar;
 	minvar = (int) (this.getLevel() * Monster.MINIMUM_EXPERIENCE_RANDOM_VARIANCE);
 	maxvar = (int) (this.getLevel() * Monster.MAXIMUM_EXPERIENCE_RANDOM_VARIANCE);
-	final var r = new RandomLongRange(minvar, maxvar);
 	final var expbase = PartyManager.getParty().getPartyMaxToNextLevel();
 	final long factor = this.getBattlesToNextLevel();
 	return (int) (expbase / factor
-		+ r.generate() * this.adjustForLevelDifference() * this.getExpMultiplierForDifficulty());
+		+ GameRandom.current().nextLong(minvar, maxvar) * this.adjustForLevelDifference()
+		* this.getExpMultiplierForDifficulty());
     }
 
     private int getInitialGold() {
@@ -98,8 +95,8 @@ class NormalMonster extends Monster {
 	final var factor = this.getBattlesToNextLevel();
 	final var min = 0;
 	final var max = needed / factor * 2;
-	final var r = new RandomRange(min, max);
-	return (int) (r.generate() * this.adjustForLevelDifference() * this.getGoldMultiplierForDifficulty());
+	return (int) (GameRandom.current().nextInt(min, max) * this.adjustForLevelDifference()
+		* this.getGoldMultiplierForDifficulty());
     }
 
     @Override
@@ -109,23 +106,19 @@ class NormalMonster extends Monster {
     }
 
     private int getInitialIntelligence() {
-	final var r = new RandomRange(0, this.getLevel() * this.getStatMultiplierForDifficulty());
-	return r.generate();
+	return GameRandom.current().nextInt(0, this.getLevel() * this.getStatMultiplierForDifficulty());
     }
 
     private int getInitialLuck() {
-	final var r = new RandomRange(0, this.getLevel() * this.getStatMultiplierForDifficulty());
-	return r.generate();
+	return GameRandom.current().nextInt(0, this.getLevel() * this.getStatMultiplierForDifficulty());
     }
 
     private int getInitialStrength() {
-	final var r = new RandomRange(1, Math.max(this.getLevel() * this.getStatMultiplierForDifficulty(), 1));
-	return r.generate();
+	return GameRandom.current().nextInt(1, Math.max(this.getLevel() * this.getStatMultiplierForDifficulty(), 1));
     }
 
     private int getInitialVitality() {
-	final var r = new RandomRange(1, Math.max(this.getLevel() * this.getStatMultiplierForDifficulty(), 1));
-	return r.generate();
+	return GameRandom.current().nextInt(1, Math.max(this.getLevel() * this.getStatMultiplierForDifficulty(), 1));
     }
 
     @Override
@@ -7,6 +7,7 @@ All support is handled via the GitHub repository: https://github.com/retropipes/
 package org.retropipes.inconnuclear.creature.spell;
 
 import org.retropipes.diane.gui.dialog.CommonDialogs;
+import org.retropipes.inconnuclear.creature.BattleTarget;
 import org.retropipes.inconnuclear.creature.Creature;
 import org.retropipes.inconnuclear.creature.party.PartyManager;
 import org.retropipes.inconnuclear.loader.sound.SoundLoader;
@@ -15,6 +16,18 @@ public class SpellCaster {
     // Fields
     private static boolean NO_SPELLS_FLAG = false;
 
+    private static void applySpell(final Spell cast, final Creature caster, final Creature target) {
+	caster.drain(cast.getCost());
+	final var b = cast.getEffect();
+	b.resetEffect();
+	if (target.isEffectActive(b)) {
+	    target.extendEffect(b, b.getInitialRounds());
+	} else {
+	    b.restoreEffect();
+	    target.applyEffect(b);
+	}
+    }
+
     public static boolean castSpell(final Spell cast, final Creature caster, final Creature enemy) {
 	if (cast == null) {
 	    return false;
@@ -25,20 +38,20 @@ public class SpellCaster {
 	    // Not enough MP
 	    return false;
 	}
-	// Cast Spell
-	caster.drain(cost);
-	final var b = cast.getEffect();
 	// Play spell's associated sound effect, if it has one
 	final var snd = cast.getSound();
 	SoundLoader.playSound(snd);
-	b.resetEffect();
-	final var target = SpellCaster.resolveTarget(cast, caster.getTeamID(), enemy);
-	if (target.isEffectActive(b)) {
-	    target.extendEffect(b, b.getInitialRounds());
-	} else {
-	    b.restoreEffect();
-	    target.applyEffect(b);
+	// Cast Spell
+	SpellCaster.applySpell(cast, caster, SpellCaster.resolveTarget(cast, caster.getTeamID(), enemy));
+	return true;
+    }
+
+    // Casts with no sound, and targets the caster or foe directly instead of the party leader
+    public static boolean castSpellQuietly(final Spell cast, final Creature caster, final Creature foe) {
+	if (cast == null || caster.getCurrentMP() < cast.getCost()) {
+	    return false;
 	}
+	SpellCaster.applySpell(cast, caster, cast.getTarget() == BattleTarget.SELF ? caster : foe);
 	return true;
     }
 
@@ -0,0 +1,214 @@
+/*  Inconnuclear: A Dungeon-Diving RPG
+Copyleft (C) 2024-present RetroPipes
+Licensed under MIT. See the LICENSE file for details.
+
+All support is handled via the GitHub repository: https://github.com/retropipes/inconnuclear
+ */
+package org.retropipes.inconnuclear.dungeon;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import org.retropipes.inconnuclear.dungeon.base.DungeonCellStorage;
+import org.retropipes.inconnuclear.dungeon.gameobject.GameObject;
+import org.retropipes.inconnuclear.loader.image.gameobject.ObjectImageId;
+import org.retropipes.inconnuclear.locale.ErrorString;
+import org.retropipes.inconnuclear.locale.Strings;
+import org.retropipes.inconnuclear.utility.FileFormats;
+
+// Level file layout: magic, format version, then each grid as its shape followed by
+// (run length, ordinal + 1) varint pairs in storage order, 0 standing for an empty cell
+final class CompactLevelFormat {
+    // "INCL", which no XML level file can start with
+    private static final int MAGIC = 0x494E434C;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Room for a run and a code at 5 bytes per varint
+    private static final int MAX_PAIR_BYTES = 10;
+    private static final ObjectImageId[] IDS = ObjectImageId.values();
+    // Columns, rows, floors, layers
+    private static final int RANK = 4;
+
+    private static int codeOf(final GameObject obj) {
+	if (obj == null) {
+	    return 0;
+	}
+	return obj.getId().ordinal() + 1;
+    }
+
+    private static void decode(final FileChannel channel, final ByteBuffer buffer, final DungeonCellStorage storage,
+	    final int total) throws IOException {
+	var pos = 0;
+	while (pos < total) {
+	    final var run = CompactLevelFormat.readVarint(channel, buffer);
+	    final var code = CompactLevelFormat.readVarint(channel, buffer);
+	    if (run <= 0 || run > total - pos || code > CompactLevelFormat.IDS.length) {
+		throw new IOException(Strings.error(ErrorString.UNKNOWN_FILE_FORMAT));
+	    }
+	    if (code != 0) {
+		final var id = CompactLevelFormat.IDS[code - 1];
+		final var obj = GameObject.shared(id);
+		if (obj.isShared()) {
+		    storage.fillRun(obj, pos, run);
+		} else {
+		    // Stateful types need an instance per cell
+		    storage.fillRun(obj, pos, 1);
+		    for (var i = 1; i < run; i++) {
+			storage.fillRun(GameObject.shared(id), pos + i, 1);
+		    }
+		}
+	    }
+	    pos += run;
+	}
+    }
+
+    private static void encode(final FileChannel channel, final ByteBuffer buffer, final DungeonCellStorage storage)
+	    throws IOException {
+	final var shape = storage.getShape();
+	CompactLevelFormat.ensure(channel, buffer, (shape.length + 1) * CompactLevelFormat.MAX_PAIR_BYTES);
+	CompactLevelFormat.putVarint(buffer, shape.length);
+	var total = 1;
+	for (final int dim : shape) {
+	    CompactLevelFormat.putVarint(buffer, dim);
+	    total *= dim;
+	}
+	final var loc = new int[shape.length];
+	var runCode = -1;
+	var run = 0;
+	for (var i = 0; i < total; i++) {
+	    final var code = CompactLevelFormat.codeOf(storage.getCell(loc));
+	    if (code != runCode && run > 0) {
+		CompactLevelFormat.ensure(channel, buffer, CompactLevelFormat.MAX_PAIR_BYTES);
+		CompactLevelFormat.putVarint(buffer, run);
+		CompactLevelFormat.putVarint(buffer, runCode);
+		run = 0;
+	    }
+	    runCode = code;
+	    run++;
+	    var d = 0;
+	    while (d < shape.length && ++loc[d] == shape[d]) {
+		loc[d] = 0;
+		d++;
+	    }
+	}
+	if (run > 0) {
+	    CompactLevelFormat.ensure(channel, buffer, CompactLevelFormat.MAX_PAIR_BYTES);
+	    CompactLevelFormat.putVarint(buffer, run);
+	    CompactLevelFormat.putVarint(buffer, runCode);
+	}
+    }
+
+    private static void ensure(final FileChannel channel, final ByteBuffer buffer, final int bytes)
+	    throws IOException {
+	if (buffer.remaining() < bytes) {
+	    CompactLevelFormat.flush(channel, buffer);
+	}
+    }
+
+    private static void fill(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+	buffer.compact();
+	try {
+	    if (channel.read(buffer) < 0) {
+		// Truncated file
+		throw new IOException(Strings.error(ErrorString.UNKNOWN_FILE_FORMAT));
+	    }
+	} finally {
+	    buffer.flip();
+	}
+    }
+
+    private static void flush(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+	buffer.flip();
+	while (buffer.hasRemaining()) {
+	    channel.write(buffer);
+	}
+	buffer.clear();
+    }
+
+    static boolean isCompact(final File file) throws IOException {
+	try (var channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+	    final var header = ByteBuffer.allocate(Integer.BYTES);
+	    while (header.hasRemaining() && channel.read(header) >= 0) {
+		// Keep reading until the magic is in
+	    }
+	    return !header.hasRemaining() && header.getInt(0) == CompactLevelFormat.MAGIC;
+	}
+    }
+
+    private static void putVarint(final ByteBuffer buffer, final int value) {
+	var rest = value;
+	while ((rest & ~0x7F) != 0) {
+	    buffer.put((byte) (rest & 0x7F | 0x80));
+	    rest >>>= 7;
+	}
+	buffer.put((byte) rest);
+    }
+
+    // Returns the level grid and the saved state grid, in that order
+    static DungeonCellStorage[] read(final File file) throws IOException {
+	try (var channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+	    final var buffer = ByteBuffer.allocate(CompactLevelFormat.BUFFER_SIZE);
+	    buffer.flip();
+	    while (buffer.remaining() < Integer.BYTES + 1) {
+		CompactLevelFormat.fill(channel, buffer);
+	    }
+	    if (buffer.getInt() != CompactLevelFormat.MAGIC
+		    || !FileFormats.isFormatVersionValidGeneration8(buffer.get())) {
+		throw new IOException(Strings.error(ErrorString.UNKNOWN_FILE_FORMAT));
+	    }
+	    final var grids = new DungeonCellStorage[2];
+	    for (var g = 0; g < grids.length; g++) {
+		final var rank = CompactLevelFormat.readVarint(channel, buffer);
+		if (rank != CompactLevelFormat.RANK) {
+		    throw new IOException(Strings.error(ErrorString.UNKNOWN_FILE_FORMAT));
+		}
+		final var shape = new int[rank];
+		var total = 1L;
+		for (var d = 0; d < shape.length; d++) {
+		    shape[d] = CompactLevelFormat.readVarint(channel, buffer);
+		    total *= shape[d];
+		}
+		if (total <= 0 || total > Integer.MAX_VALUE) {
+		    throw new IOException(Strings.error(ErrorString.UNKNOWN_FILE_FORMAT));
+		}
+		grids[g] = DungeonCellStorage.create(shape);
+		CompactLevelFormat.decode(channel, buffer, grids[g], (int) total);
+	    }
+	    return grids;
+	}
+    }
+
+    private static int readVarint(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+	var value = 0;
+	for (var shift = 0; shift < Integer.SIZE; shift += 7) {
+	    if (!buffer.hasRemaining()) {
+		CompactLevelFormat.fill(channel, buffer);
+	    }
+	    final var b = buffer.get();
+	    value |= (b & 0x7F) << shift;
+	    if (b >= 0) {
+		return value;
+	    }
+	}
+	throw new IOException(Strings.error(ErrorString.UNKNOWN_FILE_FORMAT));
+    }
+
+    static void write(final File file, final DungeonCellStorage data, final DungeonCellStorage savedState)
+	    throws IOException {
+	try (var channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+		StandardOpenOption.TRUNCATE_EXISTING)) {
+	    final var buffer = ByteBuffer.allocate(CompactLevelFormat.BUFFER_SIZE);
+	    buffer.putInt(CompactLevelFormat.MAGIC);
+	    buffer.put((byte) FileFormats.DUNGEON_LATEST);
+	    CompactLevelFormat.encode(channel, buffer, data);
+	    CompactLevelFormat.encode(channel, buffer, savedState);
+	    CompactLevelFormat.flush(channel, buffer);
+	}
+    }
+
+    private CompactLevelFormat() {
+	// Do nothing
+    }
+}
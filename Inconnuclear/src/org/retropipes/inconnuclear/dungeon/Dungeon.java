@@ -20,12 +20,17 @@ import org.retropipes.diane.fileio.DataMode;
 import org.retropipes.diane.fileio.utility.FileUtilities;
 import org.retropipes.diane.random.RandomLongRange;
 import org.retropipes.inconnuclear.Inconnuclear;
+import org.retropipes.inconnuclear.dungeon.base.DungeonAddressing;
 import org.retropipes.inconnuclear.dungeon.base.DungeonBase;
+import org.retropipes.inconnuclear.dungeon.base.DungeonCellStorage;
 import org.retropipes.inconnuclear.dungeon.base.DungeonDataBase;
 import org.retropipes.inconnuclear.dungeon.base.HistoryStatus;
+import org.retropipes.inconnuclear.dungeon.base.PathFinder;
 import org.retropipes.inconnuclear.dungeon.gameobject.GameObject;
 import org.retropipes.inconnuclear.files.AbstractPrefixIO;
+import org.retropipes.inconnuclear.files.AbstractSourceIO;
 import org.retropipes.inconnuclear.files.AbstractSuffixIO;
+import org.retropipes.inconnuclear.loader.image.gameobject.ObjectImageId;
 import org.retropipes.inconnuclear.locale.DialogString;
 import org.retropipes.inconnuclear.locale.Difficulty;
 import org.retropipes.inconnuclear.locale.ErrorString;
@@ -36,11 +41,13 @@ import org.retropipes.inconnuclear.locale.Untranslated;
 import org.retropipes.inconnuclear.settings.Settings;
 import org.retropipes.inconnuclear.utility.DirectionRotator;
 import org.retropipes.inconnuclear.utility.FileFormats;
+import org.retropipes.inconnuclear.utility.GameRandom;
 
 public class Dungeon extends DungeonBase {
     // Properties
     private DungeonData dungeonData;
     private DungeonData clipboard;
+    private DungeonAddressing addressing;
     private DungeonLevelInfo activeLevelInfo;
     private int levelCount;
     private int startLevel;
@@ -50,24 +57,33 @@ public class Dungeon extends DungeonBase {
     private String basePath;
     private AbstractPrefixIO prefixHandler;
     private AbstractSuffixIO suffixHandler;
+    private AbstractSourceIO sourceHandler;
     private String musicFilename;
     private boolean moveShootAllowed;
+    private long gameSeed;
+    private int xmlLevelVersion;
     private final ArrayList<DungeonLevelInfo> levelInfoData;
     private ArrayList<String> levelInfoList;
+    private final DungeonLevelCache levelCache;
 
     // Constructors
     public Dungeon() throws IOException {
 	this.dungeonData = null;
 	this.clipboard = null;
+	this.addressing = null;
 	this.levelCount = 0;
 	this.activeLevel = 0;
 	this.activeEra = 0;
 	this.prefixHandler = null;
 	this.suffixHandler = null;
+	this.sourceHandler = null;
 	this.musicFilename = "null";
 	this.moveShootAllowed = false;
+	this.gameSeed = GameRandom.newGameSeed();
+	this.xmlLevelVersion = FileFormats.DUNGEON_XML_LATEST;
 	this.levelInfoData = new ArrayList<>();
 	this.levelInfoList = new ArrayList<>();
+	this.levelCache = new DungeonLevelCache(this, DungeonBase.ERA_COUNT);
 	final var random = new RandomLongRange(0, Long.MAX_VALUE).generate();
 	final var randomID = Long.toHexString(random);
 	this.basePath = System.getProperty(Strings.untranslated(Untranslated.TEMP_DIR)) + File.separator
@@ -85,69 +101,105 @@ public class Dungeon extends DungeonBase {
 	    return false;
 	}
 	if (this.dungeonData != null) {
-	    try (var writer = this.getLevelWriter()) {
-		// Save old level
-		this.writeDungeonLevel(writer);
-		writer.close();
-	    } catch (final IOException io) {
-		// Ignore
-	    }
+	    // Save old level
+	    this.levelCache.store(this.activeLevel, this.activeEra, this.dungeonData);
 	}
 	// Add all eras for the new level
-	final var saveEra = this.activeEra;
-	this.dungeonData = new DungeonData(rows, cols, floors);
+	final var newLevel = this.levelCount;
 	for (var e = 0; e < DungeonBase.ERA_COUNT; e++) {
-	    this.switchEra(e);
-	    this.dungeonData = new DungeonData();
+	    final var eraData = new DungeonData(rows, cols, floors);
+	    this.levelCache.store(newLevel, e, eraData);
+	    if (e == this.activeEra) {
+		this.dungeonData = eraData;
+	    }
 	}
-	this.switchEra(saveEra);
 	// Clean up
 	this.levelCount++;
-	this.activeLevel = this.levelCount - 1;
+	this.activeLevel = newLevel;
 	this.levelInfoData.add(new DungeonLevelInfo());
 	this.levelInfoList.add(this.generateCurrentLevelInfo());
 	return true;
     }
 
+    // Appends the levels in order, each with its start set, and leaves the first of them active
+    @Override
+    public boolean addGeneratedLevels(final GeneratedLevel[] levels) {
+	if (levels.length == 0 || levels.length > DungeonBase.MAX_LEVELS - this.levelCount) {
+	    return false;
+	}
+	if (this.dungeonData != null) {
+	    // Save old level
+	    this.levelCache.store(this.activeLevel, this.activeEra, this.dungeonData);
+	}
+	final var firstLevel = this.levelCount;
+	DungeonData firstData = null;
+	for (final GeneratedLevel level : levels) {
+	    final var cells = level.getCells();
+	    // Columns, rows, floors, layers
+	    final var shape = cells.getShape();
+	    final var newLevel = this.levelCount;
+	    for (var e = 0; e < DungeonBase.ERA_COUNT; e++) {
+		final var eraData = e == this.activeEra ? new DungeonData(cells, cells.copy())
+			: new DungeonData(shape[1], shape[0], shape[2]);
+		this.levelCache.store(newLevel, e, eraData);
+		if (e == this.activeEra && firstData == null) {
+		    firstData = eraData;
+		}
+	    }
+	    final var info = new DungeonLevelInfo();
+	    info.setStartRow(0, level.getStartRow());
+	    info.setStartColumn(0, level.getStartColumn());
+	    info.setStartFloor(0, level.getStartFloor());
+	    this.levelCount++;
+	    this.activeLevel = newLevel;
+	    this.levelInfoData.add(info);
+	    this.levelInfoList.add(this.generateCurrentLevelInfo());
+	}
+	this.activeLevel = firstLevel;
+	this.dungeonData = firstData;
+	return true;
+    }
+
     @Override
     public boolean addLevel() {
 	if (this.levelCount >= DungeonBase.MAX_LEVELS) {
 	    return false;
 	}
 	if (this.dungeonData != null) {
-	    try (var writer = this.getLevelWriter()) {
-		// Save old level
-		this.writeDungeonLevel(writer);
-		writer.close();
-	    } catch (final IOException io) {
-		// Ignore
-	    }
+	    // Save old level
+	    this.levelCache.store(this.activeLevel, this.activeEra, this.dungeonData);
 	}
 	// Add all eras for the new level
-	final var saveEra = this.activeEra;
-	this.dungeonData = new DungeonData();
+	final var newLevel = this.levelCount;
 	for (var e = 0; e < DungeonBase.ERA_COUNT; e++) {
-	    this.switchEra(e);
-	    this.dungeonData = new DungeonData();
+	    final var eraData = new DungeonData();
+	    this.levelCache.store(newLevel, e, eraData);
+	    if (e == this.activeEra) {
+		this.dungeonData = eraData;
+	    }
 	}
-	this.switchEra(saveEra);
 	// Clean up
 	this.levelCount++;
-	this.activeLevel = this.levelCount - 1;
+	this.activeLevel = newLevel;
 	this.levelInfoData.add(new DungeonLevelInfo());
 	this.levelInfoList.add(this.generateCurrentLevelInfo());
 	return true;
     }
 
+    @Override
+    public ArrayList<int[]> animateFloor(final int floor) {
+	return this.dungeonData.animateFloor(floor);
+    }
+
     @Override
     public int checkForMagnetic(final int floor, final int centerX, final int centerY, final Direction dir) {
 	return this.dungeonData.checkForMagnetic(this, floor, centerX, centerY, dir);
     }
 
     @Override
-    public int[] circularScan(final int x, final int y, final int z, final int maxR, final String targetName,
+    public int[] circularScan(final int x, final int y, final int z, final int maxR, final GameObject target,
 	    final boolean moved) {
-	return this.dungeonData.circularScan(this, x, y, z, maxR, targetName, moved);
+	return this.dungeonData.circularScan(this, x, y, z, maxR, target, moved);
     }
 
     @Override
@@ -175,6 +227,13 @@ public class Dungeon extends DungeonBase {
     public Direction computeFinalBossMoveDirection(final int locX, final int locY, final int locZ, final int pi) {
 	final var px = this.getPlayerLocationX(pi);
 	final var py = this.getPlayerLocationY(pi);
+	// Take the shortest walk to the player when there is one
+	final var step = this.getPathFinder().nextStep(locX, locY, px, py, locZ,
+		this.isHorizontalWraparoundEnabled(), this.isVerticalWraparoundEnabled());
+	if (step != PathFinder.NO_STEP) {
+	    return DirectionResolver.resolve(PathFinder.stepRow(step), PathFinder.stepColumn(step));
+	}
+	// Otherwise edge as close as the walls allow
 	final var relX = px - locX;
 	final var relY = py - locY;
 	var moveX = 0;
@@ -248,16 +307,19 @@ public class Dungeon extends DungeonBase {
     @Override
     public void disableHorizontalWraparound() {
 	this.levelInfoData.get(this.activeLevel).disableHorizontalWraparound();
+	this.addressing = null;
     }
 
     @Override
     public void disableThirdDimensionWraparound() {
 	this.levelInfoData.get(this.activeLevel).disableThirdDimensionWraparound();
+	this.addressing = null;
     }
 
     @Override
     public void disableVerticalWraparound() {
 	this.levelInfoData.get(this.activeLevel).disableVerticalWraparound();
+	this.addressing = null;
     }
 
     @Override
@@ -278,16 +340,19 @@ public class Dungeon extends DungeonBase {
     @Override
     public void enableHorizontalWraparound() {
 	this.levelInfoData.get(this.activeLevel).enableHorizontalWraparound();
+	this.addressing = null;
     }
 
     @Override
     public void enableThirdDimensionWraparound() {
 	this.levelInfoData.get(this.activeLevel).enableThirdDimensionWraparound();
+	this.addressing = null;
     }
 
     @Override
     public void enableVerticalWraparound() {
 	this.levelInfoData.get(this.activeLevel).enableVerticalWraparound();
+	this.addressing = null;
     }
 
     @Override
@@ -297,8 +362,8 @@ public class Dungeon extends DungeonBase {
     }
 
     @Override
-    public int[] findObject(final int z, final String targetName) {
-	return this.dungeonData.findObject(this, z, targetName);
+    public int[] findObject(final int z, final ObjectImageId target) {
+	return this.dungeonData.findObject(this, z, target);
     }
 
     @Override
@@ -364,6 +429,23 @@ public class Dungeon extends DungeonBase {
 	return this.activeLevel;
     }
 
+    // Resolved again only when the active level, its size or its wraparound settings change
+    @Override
+    public DungeonAddressing getAddressing() {
+	final var data = this.dungeonData;
+	if (data == null) {
+	    return null;
+	}
+	var mode = this.addressing;
+	if (mode == null || !mode.isFor(data)) {
+	    final var info = this.levelInfoData.get(this.activeLevel);
+	    mode = DungeonAddressing.of(data, info.isHorizontalWraparoundEnabled(), info.isVerticalWraparoundEnabled(),
+		    info.isThirdDimensionWraparoundEnabled());
+	    this.addressing = mode;
+	}
+	return mode;
+    }
+
     @Override
     public String getAuthor() {
 	return this.levelInfoData.get(this.activeLevel).getAuthor();
@@ -379,16 +461,32 @@ public class Dungeon extends DungeonBase {
 	return this.dungeonData.getCell(this, row, col, floor, layer);
     }
 
+    @Override
+    public GameObject getCellOrDefault(final int row, final int col, final int floor, final int layer,
+	    final GameObject fallback) {
+	return this.dungeonData.getCellOrDefault(this, row, col, floor, layer, fallback);
+    }
+
     @Override
     public int getColumns() {
 	return this.dungeonData.getColumns();
     }
 
+    @Override
+    public DungeonDataBase getData() {
+	return this.dungeonData;
+    }
+
     @Override
     public Difficulty getDifficulty() {
 	return this.levelInfoData.get(this.activeLevel).getDifficulty();
     }
 
+    @Override
+    public Difficulty getDifficultyOffset(final int level) {
+	return this.levelInfoData.get(this.activeLevel + level).getDifficulty();
+    }
+
     @Override
     public String getDungeonTempMusicFolder() {
 	return this.basePath + File.pathSeparator + Strings.untranslated(Untranslated.EXTERNAL_MUSIC_TEMP_FOLDER)
@@ -400,6 +498,11 @@ public class Dungeon extends DungeonBase {
 	return this.dungeonData.getFloors();
     }
 
+    @Override
+    public long getGameSeed() {
+	return this.gameSeed;
+    }
+
     @Override
     public String getHint() {
 	return this.levelInfoData.get(this.activeLevel).getHint();
@@ -421,25 +524,11 @@ public class Dungeon extends DungeonBase {
 			+ Strings.fileExtension(FileExtension.LEVEL));
     }
 
-    private DataIOReader getLevelReaderG6() throws IOException {
-	return DataIOFactory.createReader(DataMode.CUSTOM_XML,
-		this.basePath + File.separator + Strings.fileExtension(FileExtension.LEVEL) + this.activeLevel
-			+ Strings.fileExtension(FileExtension.ERA) + this.activeEra
-			+ Strings.fileExtension(FileExtension.LEVEL));
-    }
-
     @Override
     public int getLevels() {
 	return this.levelCount;
     }
 
-    private DataIOWriter getLevelWriter() throws IOException {
-	return DataIOFactory.createWriter(DataMode.CUSTOM_XML,
-		this.basePath + File.separator + Strings.fileExtension(FileExtension.LEVEL) + this.activeLevel
-			+ Strings.fileExtension(FileExtension.ERA) + this.activeEra
-			+ Strings.fileExtension(FileExtension.LEVEL));
-    }
-
     @Override
     public String getMusicFilename() {
 	return this.musicFilename;
@@ -450,6 +539,11 @@ public class Dungeon extends DungeonBase {
 	return this.levelInfoData.get(this.activeLevel).getName();
     }
 
+    @Override
+    public PathFinder getPathFinder() {
+	return this.dungeonData.getPathFinder();
+    }
+
     @Override
     public int getPlayerLocationX(final int pi) {
 	return this.levelInfoData.get(this.activeLevel).getPlayerLocationX(pi);
@@ -470,6 +564,11 @@ public class Dungeon extends DungeonBase {
 	return this.dungeonData.getRows();
     }
 
+    @Override
+    public AbstractSourceIO getSourceHandler() {
+	return this.sourceHandler;
+    }
+
     @Override
     public int getStartColumn(final int pi) {
 	return this.levelInfoData.get(this.activeLevel).getStartColumn(pi);
@@ -525,6 +624,11 @@ public class Dungeon extends DungeonBase {
 	return this.levelInfoData.get(this.activeLevel).isHorizontalWraparoundEnabled();
     }
 
+    @Override
+    public boolean isInBounds(final int row, final int col, final int floor) {
+	return this.dungeonData.isInBounds(this, row, col, floor);
+    }
+
     @Override
     public boolean isMoveShootAllowed() {
 	return this.isMoveShootAllowedGlobally() && this.isMoveShootAllowedThisLevel();
@@ -572,12 +676,12 @@ public class Dungeon extends DungeonBase {
 
     @Override
     public void offsetPlayerLocationY(final int pi, final int newPlayerLocationY) {
-	this.levelInfoData.get(this.activeLevel).offsetPlayerLocationX(pi, newPlayerLocationY);
+	this.levelInfoData.get(this.activeLevel).offsetPlayerLocationY(pi, newPlayerLocationY);
     }
 
     @Override
     public void offsetPlayerLocationZ(final int pi, final int newPlayerLocationZ) {
-	this.levelInfoData.get(this.activeLevel).offsetPlayerLocationX(pi, newPlayerLocationZ);
+	this.levelInfoData.get(this.activeLevel).offsetPlayerLocationZ(pi, newPlayerLocationZ);
     }
 
     @Override
@@ -595,21 +699,36 @@ public class Dungeon extends DungeonBase {
 	this.dungeonData.postBattle(this, m, xLoc, yLoc, player);
     }
 
+    @Override
+    public void prefetchNextLevel(final int[] difficulty) {
+	// The same pick switchToNextLevelWithDifficulty makes, taken from level info so nothing loads
+	for (var level = this.activeLevel + 1; level < this.levelCount; level++) {
+	    if (DungeonBase.isDifficultyEnabled(this.levelInfoData.get(level).getDifficulty(), difficulty)) {
+		this.levelCache.prefetch(level, this.activeEra);
+		return;
+	    }
+	}
+    }
+
     @Override
     public Dungeon readDungeonBase() throws IOException {
 	final var m = new Dungeon();
 	// Attach handlers
 	m.setPrefixHandler(this.prefixHandler);
 	m.setSuffixHandler(this.suffixHandler);
+	m.setSourceHandler(this.sourceHandler);
 	// Make base paths the same
 	m.basePath = this.basePath;
 	var version = -1;
+	final var metafile = new File(m.basePath + File.separator + Strings.fileExtension(FileExtension.METAFILE)
+		+ Strings.fileExtension(FileExtension.LEVEL));
+	m.restoreFromSource(metafile);
 	// Create metafile reader
-	try (DataIOReader metaReader = DataIOFactory.createReader(DataMode.CUSTOM_XML, m.basePath + File.separator
-		+ Strings.fileExtension(FileExtension.METAFILE) + Strings.fileExtension(FileExtension.LEVEL))) {
+	try (DataIOReader metaReader = DataIOFactory.createReader(DataMode.CUSTOM_XML, metafile.getPath())) {
 	    // Read metafile
 	    version = m.readDungeonMetafileVersion(metaReader);
-	    if (FileFormats.isFormatVersionValidGeneration7(version)) {
+	    if (FileFormats.isFormatVersionValidGeneration7(version)
+		    || FileFormats.isFormatVersionValidGeneration8(version)) {
 		m.readDungeonMetafileG7(metaReader, version);
 	    } else if (FileFormats.isFormatVersionValidGeneration6(version)) {
 		m.readDungeonMetafileG6(metaReader, version);
@@ -622,6 +741,8 @@ public class Dungeon extends DungeonBase {
 	} catch (final IOException ioe) {
 	    throw ioe;
 	}
+	// Level files still in XML were written by this version, or by the last XML one if saved since
+	m.xmlLevelVersion = Math.min(version, FileFormats.DUNGEON_XML_LATEST);
 	if (!FileFormats.isLevelListStored(version)) {
 	    // Create data reader
 	    try (var dataReader = m.getLevelReaderG5()) {
@@ -633,21 +754,12 @@ public class Dungeon extends DungeonBase {
 	    // Update level info
 	    m.generateLevelInfoList();
 	} else {
-	    // Create data reader
-	    try (var dataReader = m.getLevelReaderG6()) {
-		// Read data
-		m.readDungeonLevel(dataReader, version);
-	    } catch (final IOException ioe) {
-		throw ioe;
-	    }
+	    // Read data
+	    m.dungeonData = m.readLevel(m.activeLevel, m.activeEra);
 	}
 	return m;
     }
 
-    private void readDungeonLevel(final DataIOReader reader) throws IOException {
-	this.readDungeonLevel(reader, FileFormats.DUNGEON_LATEST);
-    }
-
     private void readDungeonLevel(final DataIOReader reader, final int formatVersion) throws IOException {
 	this.dungeonData = (DungeonData) new DungeonData().readData(this, reader, formatVersion);
 	this.dungeonData.readSavedState(reader, formatVersion);
@@ -688,6 +800,9 @@ public class Dungeon extends DungeonBase {
 	this.startEra = reader.readInt();
 	this.musicFilename = reader.readString();
 	this.moveShootAllowed = reader.readBoolean();
+	if (FileFormats.isGameSeedStored(ver)) {
+	    this.gameSeed = reader.readLong();
+	}
 	for (var l = 0; l < this.levelCount; l++) {
 	    this.levelInfoData.add(DungeonLevelInfo.readLevelInfo(reader));
 	    this.levelInfoList.add(reader.readString());
@@ -706,16 +821,61 @@ public class Dungeon extends DungeonBase {
 	return ver;
     }
 
+    DungeonData readLevel(final int level, final int era) throws IOException {
+	final var file = this.getLevelFile(level, era);
+	this.restoreFromSource(file);
+	if (CompactLevelFormat.isCompact(file)) {
+	    return DungeonData.readCompact(file);
+	}
+	// Levels not rewritten since an older format was loaded are still XML
+	try (var reader = DataIOFactory.createReader(DataMode.CUSTOM_XML, file.getPath())) {
+	    final var data = (DungeonData) new DungeonData().readData(this, reader, this.xmlLevelVersion);
+	    data.readSavedState(reader, this.xmlLevelVersion);
+	    return data;
+	}
+    }
+
+    // Legacy XML levels decode against the active level's settings, so only compact ones can be read early
+    DungeonData readLevelAhead(final int level, final int era) throws IOException {
+	final var file = this.getLevelFile(level, era);
+	this.restoreFromSource(file);
+	if (CompactLevelFormat.isCompact(file)) {
+	    return DungeonData.readCompact(file);
+	}
+	return null;
+    }
+
     @Override
     public void redo() {
 	this.dungeonData.redo(this);
     }
 
+    @Override
+    public void replaceActiveLevel(final DungeonCellStorage cells) {
+	// The new cells are also the state the level restores to
+	this.dungeonData = new DungeonData(cells, cells.copy());
+	this.levelCache.store(this.activeLevel, this.activeEra, this.dungeonData);
+    }
+
     @Override
     protected boolean removeActiveLevel() {
 	if (this.levelCount <= 1 || this.activeLevel < 0 || this.activeLevel > this.levelCount) {
 	    return false;
 	}
+	try {
+	    // Level numbers are about to shift, so everything must be on disk and nothing cached
+	    this.levelCache.clear();
+	    // Entries in the source are keyed by level number too, so pull them all out before the shift
+	    for (var x = 0; x < this.levelCount; x++) {
+		for (var e = 0; e < DungeonBase.ERA_COUNT; e++) {
+		    this.restoreFromSource(this.getLevelFile(x, e));
+		}
+	    }
+	    this.sourceHandler = null;
+	} catch (final IOException io) {
+	    Inconnuclear.logWarningDirectly(io);
+	    return false;
+	}
 	this.dungeonData = null;
 	// Delete all files corresponding to current level
 	for (var e = 0; e < DungeonBase.ERA_COUNT; e++) {
@@ -755,6 +915,7 @@ public class Dungeon extends DungeonBase {
     @Override
     public void resize(final int z, final GameObject nullFill) {
 	this.dungeonData.resize(this, z, nullFill);
+	this.addressing = null;
     }
 
     @Override
@@ -767,6 +928,13 @@ public class Dungeon extends DungeonBase {
 	this.levelInfoData.get(this.activeLevel).restorePlayerLocation();
     }
 
+    // Files of a dungeon opened from a container only reach the folder once asked for
+    private void restoreFromSource(final File file) throws IOException {
+	if (this.sourceHandler != null && !file.exists()) {
+	    this.sourceHandler.restoreFile(file);
+	}
+    }
+
     @Override
     public void save() {
 	this.dungeonData.save(this);
@@ -840,12 +1008,12 @@ public class Dungeon extends DungeonBase {
 
     @Override
     public void setPlayerLocationY(final int pi, final int newPlayerLocationY) {
-	this.levelInfoData.get(this.activeLevel).setPlayerLocationX(pi, newPlayerLocationY);
+	this.levelInfoData.get(this.activeLevel).setPlayerLocationY(pi, newPlayerLocationY);
     }
 
     @Override
     public void setPlayerLocationZ(final int pi, final int newPlayerLocationZ) {
-	this.levelInfoData.get(this.activeLevel).setPlayerLocationX(pi, newPlayerLocationZ);
+	this.levelInfoData.get(this.activeLevel).setPlayerLocationZ(pi, newPlayerLocationZ);
     }
 
     @Override
@@ -858,6 +1026,11 @@ public class Dungeon extends DungeonBase {
 	this.prefixHandler = xph;
     }
 
+    @Override
+    public void setSourceHandler(final AbstractSourceIO xsi) {
+	this.sourceHandler = xsi;
+    }
+
     @Override
     public void setStartColumn(final int pi, final int newStartColumn) {
 	this.levelInfoData.get(this.activeLevel).setStartColumn(pi, newStartColumn);
@@ -897,22 +1070,16 @@ public class Dungeon extends DungeonBase {
     protected void switchInternal(final int level, final int era) {
 	if (this.activeLevel != level || this.activeEra != era || this.dungeonData == null) {
 	    if (this.dungeonData != null) {
-		try (var writer = this.getLevelWriter()) {
-		    // Save old level
-		    this.writeDungeonLevel(writer);
-		    writer.close();
-		} catch (final IOException io) {
-		    // Ignore
-		}
+		// Save old level; the file is written in the background
+		this.levelCache.store(this.activeLevel, this.activeEra, this.dungeonData);
 	    }
 	    this.activeLevel = level;
 	    this.activeEra = era;
-	    try (var reader = this.getLevelReaderG6()) {
+	    try {
 		// Load new level
-		this.readDungeonLevel(reader);
-		reader.close();
+		this.dungeonData = this.levelCache.fetch(level, era);
 	    } catch (final IOException io) {
-		// Ignore
+		Inconnuclear.logWarningDirectly(io);
 	    }
 	}
     }
@@ -958,11 +1125,6 @@ public class Dungeon extends DungeonBase {
 	this.dungeonData.updateMonsterPosition(this, move, xLoc, yLoc, monster, pi);
     }
 
-    @Override
-    public void updateRedoHistory(final HistoryStatus whatIs) {
-	this.dungeonData.updateRedoHistory(whatIs);
-    }
-
     @Override
     public void updateUndoHistory(final HistoryStatus whatIs) {
 	this.dungeonData.updateUndoHistory(whatIs);
@@ -983,19 +1145,11 @@ public class Dungeon extends DungeonBase {
 	} catch (final IOException ioe) {
 	    throw ioe;
 	}
-	// Create data writer
-	try (var dataWriter = this.getLevelWriter()) {
-	    // Write data
-	    this.writeDungeonLevel(dataWriter);
-	} catch (final IOException ioe) {
-	    throw ioe;
-	}
-    }
-
-    private void writeDungeonLevel(final DataIOWriter writer) throws IOException {
-	// Write the level
-	this.dungeonData.writeData(this, writer);
-	this.dungeonData.writeSavedState(writer);
+	// Other levels must be on disk before the folder is packed, and an older
+	// queued write of this level must not land on top of the one below
+	this.levelCache.flush();
+	// Write data
+	this.writeLevel(this.dungeonData, this.activeLevel, this.activeEra);
     }
 
     private void writeDungeonMetafile(final DataIOWriter writer) throws IOException {
@@ -1007,6 +1161,7 @@ public class Dungeon extends DungeonBase {
 	writer.writeInt(this.startEra);
 	writer.writeString(this.musicFilename);
 	writer.writeBoolean(this.moveShootAllowed);
+	writer.writeLong(this.gameSeed);
 	for (var l = 0; l < this.levelCount; l++) {
 	    this.levelInfoData.get(l).writeLevelInfo(writer);
 	    writer.writeString(this.levelInfoList.get(l));
@@ -1015,4 +1170,8 @@ public class Dungeon extends DungeonBase {
 	    this.suffixHandler.writeSuffix(writer);
 	}
     }
-}
\ No newline at end of file
+
+    void writeLevel(final DungeonData data, final int level, final int era) throws IOException {
+	data.writeCompact(this.getLevelFile(level, era));
+    }
+}
@@ -6,21 +6,24 @@ All support is handled via the GitHub repository: https://github.com/retropipes/
  */
 package org.retropipes.inconnuclear.dungeon;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
 
 import org.retropipes.diane.direction.Direction;
 import org.retropipes.diane.direction.DirectionResolver;
 import org.retropipes.diane.fileio.DataIOReader;
 import org.retropipes.diane.fileio.DataIOWriter;
-import org.retropipes.diane.random.RandomRange;
 import org.retropipes.diane.storage.FlagStorage;
 import org.retropipes.inconnuclear.Inconnuclear;
 import org.retropipes.inconnuclear.StuffBag;
 import org.retropipes.inconnuclear.dungeon.base.DungeonBase;
 import org.retropipes.inconnuclear.dungeon.base.DungeonDataBase;
-import org.retropipes.inconnuclear.dungeon.base.DungeonDataStorage;
+import org.retropipes.inconnuclear.dungeon.base.DungeonCellStorage;
 import org.retropipes.inconnuclear.dungeon.base.HistoryStatus;
+import org.retropipes.inconnuclear.dungeon.base.PathFinder;
 import org.retropipes.inconnuclear.dungeon.gameobject.GameObject;
 import org.retropipes.inconnuclear.dungeon.gameobject.Material;
 import org.retropipes.inconnuclear.game.Game;
@@ -30,8 +33,10 @@ import org.retropipes.inconnuclear.loader.sound.Sounds;
 import org.retropipes.inconnuclear.locale.ErrorString;
 import org.retropipes.inconnuclear.locale.Layer;
 import org.retropipes.inconnuclear.locale.Strings;
+import org.retropipes.inconnuclear.settings.Settings;
 import org.retropipes.inconnuclear.utility.DungeonConstants;
 import org.retropipes.inconnuclear.utility.FileFormats;
+import org.retropipes.inconnuclear.utility.GameRandom;
 import org.retropipes.inconnuclear.utility.VisionModes;
 
 public final class DungeonData extends DungeonDataBase {
@@ -39,101 +44,250 @@ public final class DungeonData extends DungeonDataBase {
 	// Inner classes
 	private class HistoryEntry {
 	    // Fields
-	    private final DungeonDataStorage histImage;
 	    private final HistoryStatus histWhatWas;
-
-	    HistoryEntry(final DungeonDataStorage i, final HistoryStatus hww) {
-		this.histImage = i;
-		this.histWhatWas = hww;
-	    }
+	    private int[] locations;
+	    private GameObject[] before;
+	    private GameObject[] after;
+	    private int size;
+	    // Full copy of the grid as it was before this entry; once overflowed, of whichever side is not live
+	    private DungeonCellStorage image;
+	    private long imageBytes;
+	    private boolean overflowed;
 
 	    HistoryEntry(final HistoryEntry source) {
-		this.histImage = source.histImage;
 		this.histWhatWas = source.histWhatWas;
+		this.size = source.size;
+		// An image can be swapped in as the live grid, so copies must not share one
+		this.image = source.image == null ? null : source.image.copy();
+		this.imageBytes = source.imageBytes;
+		this.overflowed = source.overflowed;
+		if (source.locations != null) {
+		    this.locations = Arrays.copyOf(source.locations, source.locations.length);
+		    this.before = Arrays.copyOf(source.before, source.before.length);
+		    this.after = Arrays.copyOf(source.after, source.after.length);
+		}
 	    }
 
-	    public DungeonDataStorage getImage() {
-		return this.histImage;
-	    }
-
-	    public HistoryStatus getWhatWas() {
-		return this.histWhatWas;
-	    }
-	}
-
-	private class HistoryStack {
-	    // Fields
-	    private final ArrayDeque<HistoryEntry> stack;
-
-	    HistoryStack() {
-		this.stack = new ArrayDeque<>();
+	    HistoryEntry(final HistoryStatus hww, final DungeonCellStorage snapshot) {
+		this.histWhatWas = hww;
+		this.locations = new int[ImageUndoEngine.INITIAL_CAPACITY * ImageUndoEngine.LOCATION_SIZE];
+		this.before = new GameObject[ImageUndoEngine.INITIAL_CAPACITY];
+		this.after = new GameObject[ImageUndoEngine.INITIAL_CAPACITY];
+		this.size = 0;
+		this.setImage(snapshot);
+		this.overflowed = false;
+	    }
+
+	    void add(final GameObject oldObj, final GameObject newObj, final int... loc) {
+		if (this.size == this.before.length) {
+		    final var capacity = this.size * 2;
+		    this.locations = Arrays.copyOf(this.locations, capacity * ImageUndoEngine.LOCATION_SIZE);
+		    this.before = Arrays.copyOf(this.before, capacity);
+		    this.after = Arrays.copyOf(this.after, capacity);
+		}
+		System.arraycopy(loc, 0, this.locations, this.size * ImageUndoEngine.LOCATION_SIZE,
+			ImageUndoEngine.LOCATION_SIZE);
+		this.before[this.size] = oldObj;
+		this.after[this.size] = newObj;
+		this.size++;
 	    }
 
-	    HistoryStack(final HistoryStack source) {
-		this.stack = new ArrayDeque<>();
-		for (final HistoryEntry entry : source.stack) {
-		    this.stack.addFirst(new HistoryEntry(entry));
-		}
+	    long cost() {
+		return (long) this.size * ImageUndoEngine.CHANGE_COST + this.imageBytes;
 	    }
 
-	    public boolean isEmpty() {
-		return this.stack.isEmpty();
+	    public HistoryStatus getWhatWas() {
+		return this.histWhatWas;
 	    }
 
-	    public HistoryEntry pop() {
-		return this.stack.removeFirst();
+	    void overflow() {
+		this.overflowed = true;
+		this.locations = null;
+		this.before = null;
+		this.after = null;
+		this.size = 0;
 	    }
 
-	    public void push(final DungeonDataStorage i, final HistoryStatus hww) {
-		final var newEntry = new HistoryEntry(i, hww);
-		this.stack.addFirst(newEntry);
+	    // The image's cost is worked out here once, not every time the entry is weighed
+	    void setImage(final DungeonCellStorage newImage) {
+		this.image = newImage;
+		this.imageBytes = newImage == null ? 0 : ImageUndoEngine.this.imageCost(newImage);
 	    }
 	}
 
+	private static final int LOCATION_SIZE = 4;
+	private static final int INITIAL_CAPACITY = 16;
+	// Rough cost of one recorded change: four ints and two references
+	private static final int CHANGE_COST = 32;
+	private static final int CELL_COST = 8;
+	private static final int SNAPSHOT_INTERVAL = 16;
+	// A snapshot replaces a change set once it touches more than 1/n of the cells
+	private static final int OVERFLOW_DIVISOR = 4;
+
 	// Fields
-	private HistoryStack undoHistory, redoHistory;
+	private final ArrayDeque<HistoryEntry> undoHistory, redoHistory;
+	// Read once per engine; each new level or dungeon gets a new engine, which picks up a changed setting
+	private final long budget;
+	// The live grid and its cell count, kept until undo, redo or a reload swaps in another grid
+	private DungeonCellStorage countedGrid;
+	private long gridCells;
 	private HistoryStatus whatWas;
-	private DungeonDataStorage image;
+	private long usedBytes;
+	private int checkpoints;
+	private boolean replaying;
+	// Set by undo and redo; the next edit starts its own entry instead of joining the one it landed on
+	private boolean detached;
 
 	// Constructors
 	public ImageUndoEngine() {
-	    this.undoHistory = new HistoryStack();
-	    this.redoHistory = new HistoryStack();
-	    this.image = null;
+	    this.undoHistory = new ArrayDeque<>();
+	    this.redoHistory = new ArrayDeque<>();
+	    this.budget = Settings.getUndoMemoryBudget() * 1024L;
 	    this.whatWas = null;
+	    this.usedBytes = 0;
+	    this.checkpoints = 0;
+	    this.replaying = false;
+	    this.detached = false;
 	}
 
 	public ImageUndoEngine(final ImageUndoEngine source) {
-	    this.undoHistory = new HistoryStack(source.undoHistory);
-	    this.redoHistory = new HistoryStack(source.redoHistory);
-	    this.image = source.image;
+	    this.undoHistory = new ArrayDeque<>();
+	    this.redoHistory = new ArrayDeque<>();
+	    for (final HistoryEntry entry : source.undoHistory) {
+		this.undoHistory.addLast(new HistoryEntry(entry));
+	    }
+	    for (final HistoryEntry entry : source.redoHistory) {
+		this.redoHistory.addLast(new HistoryEntry(entry));
+	    }
+	    this.budget = source.budget;
 	    this.whatWas = source.whatWas;
+	    this.usedBytes = source.usedBytes;
+	    this.checkpoints = source.checkpoints;
+	    this.replaying = false;
+	    this.detached = source.detached;
 	}
 
-	public void clearRedoHistory() {
-	    this.redoHistory = new HistoryStack();
+	private void apply(final HistoryEntry entry, final boolean reverse) {
+	    this.replaying = true;
+	    try {
+		if (entry.overflowed) {
+		    // Swap in the stored copy, keeping the current grid for the way back
+		    final var current = DungeonData.this.data;
+		    DungeonData.this.data = entry.image;
+		    DungeonData.this.indexCells();
+		    this.usedBytes -= entry.cost();
+		    entry.setImage(current);
+		    this.usedBytes += entry.cost();
+		    DungeonData.this.setAllDirtyFlags();
+		    return;
+		}
+		final var loc = new int[ImageUndoEngine.LOCATION_SIZE];
+		for (var i = 0; i < entry.size; i++) {
+		    final var index = reverse ? entry.size - 1 - i : i;
+		    System.arraycopy(entry.locations, index * ImageUndoEngine.LOCATION_SIZE, loc, 0,
+			    ImageUndoEngine.LOCATION_SIZE);
+		    DungeonData.this.storeCell(reverse ? entry.before[index] : entry.after[index], loc);
+		    DungeonData.this.dirtyData.setCell(true, loc[0], loc[1], loc[2]);
+		}
+	    } finally {
+		this.replaying = false;
+	    }
 	}
 
-	public void clearUndoHistory() {
-	    this.undoHistory = new HistoryStack();
+	public void clearRedoHistory() {
+	    for (final HistoryEntry entry : this.redoHistory) {
+		this.usedBytes -= entry.cost();
+	    }
+	    this.redoHistory.clear();
 	}
 
-	public DungeonDataStorage getImage() {
-	    return this.image;
+	public void clearUndoHistory() {
+	    for (final HistoryEntry entry : this.undoHistory) {
+		this.usedBytes -= entry.cost();
+	    }
+	    this.undoHistory.clear();
 	}
 
 	public HistoryStatus getWhatWas() {
 	    return this.whatWas;
 	}
 
+	private long gridCells() {
+	    if (this.countedGrid != DungeonData.this.data) {
+		this.countedGrid = DungeonData.this.data;
+		this.gridCells = this.imageCost(this.countedGrid) / ImageUndoEngine.CELL_COST;
+	    }
+	    return this.gridCells;
+	}
+
+	@SuppressWarnings("static-method")
+	private long imageCost(final DungeonCellStorage storage) {
+	    var cells = 1L;
+	    for (final int dim : storage.getShape()) {
+		cells *= dim;
+	    }
+	    return cells * ImageUndoEngine.CELL_COST;
+	}
+
+	public boolean isRecording() {
+	    if (this.replaying) {
+		return false;
+	    }
+	    return this.detached || !this.undoHistory.isEmpty() && !this.undoHistory.peekFirst().overflowed;
+	}
+
+	// Trades the entry's change set for a full image of the grid as it was before the entry
+	private void overflow(final HistoryEntry entry) {
+	    if (entry.image == null) {
+		// No snapshot was taken for this entry, so rebuild one by rolling a copy of the grid back
+		final var image = DungeonData.this.data.copy();
+		final var loc = new int[ImageUndoEngine.LOCATION_SIZE];
+		for (var i = entry.size - 1; i >= 0; i--) {
+		    System.arraycopy(entry.locations, i * ImageUndoEngine.LOCATION_SIZE, loc, 0,
+			    ImageUndoEngine.LOCATION_SIZE);
+		    image.setCell(entry.before[i], loc);
+		}
+		entry.setImage(image);
+		this.usedBytes += entry.imageBytes;
+	    }
+	    this.usedBytes -= (long) entry.size * ImageUndoEngine.CHANGE_COST;
+	    entry.overflow();
+	}
+
+	public void record(final GameObject oldObj, final GameObject newObj, final int... loc) {
+	    if (!this.isRecording()) {
+		return;
+	    }
+	    if (this.detached) {
+		this.updateUndoHistory(this.whatWas);
+	    }
+	    final var entry = this.undoHistory.peekFirst();
+	    if (entry.size >= this.gridCells() / ImageUndoEngine.OVERFLOW_DIVISOR
+		    || (long) entry.size * ImageUndoEngine.CHANGE_COST >= this.budget) {
+		// An image is cheaper to keep than this change set, or the change set alone is over budget
+		this.overflow(entry);
+		this.trim();
+		return;
+	    }
+	    entry.add(oldObj, newObj, loc);
+	    this.usedBytes += ImageUndoEngine.CHANGE_COST;
+	    this.trim();
+	}
+
 	public void redo() {
 	    if (!this.redoHistory.isEmpty()) {
-		final var entry = this.redoHistory.pop();
-		this.image = entry.getImage();
+		final var entry = this.redoHistory.removeFirst();
+		this.apply(entry, false);
 		this.whatWas = entry.getWhatWas();
-	    } else {
-		this.image = null;
-		this.whatWas = null;
+		this.undoHistory.addFirst(entry);
+		this.detached = true;
+	    }
+	}
+
+	private void trim() {
+	    // Drop the oldest entries first, but never the one being recorded
+	    while (this.usedBytes > this.budget && this.undoHistory.size() > 1) {
+		this.usedBytes -= this.undoHistory.removeLast().cost();
 	    }
 	}
 
@@ -148,31 +302,53 @@ public final class DungeonData extends DungeonDataBase {
 	// Public methods
 	public void undo() {
 	    if (!this.undoHistory.isEmpty()) {
-		final var entry = this.undoHistory.pop();
-		this.image = entry.getImage();
+		final var entry = this.undoHistory.removeFirst();
+		this.apply(entry, true);
 		this.whatWas = entry.getWhatWas();
-	    } else {
-		this.image = null;
-		this.whatWas = null;
+		this.redoHistory.addFirst(entry);
+		this.detached = true;
 	    }
 	}
 
-	public void updateRedoHistory(final DungeonDataStorage newImage, final HistoryStatus newWhatWas) {
-	    this.redoHistory.push(newImage, newWhatWas);
+	public void updateUndoHistory(final HistoryStatus newWhatWas) {
+	    // A new action invalidates everything that could be redone
+	    this.clearRedoHistory();
+	    this.detached = false;
+	    DungeonCellStorage snapshot = null;
+	    this.checkpoints++;
+	    if (this.checkpoints % ImageUndoEngine.SNAPSHOT_INTERVAL == 0) {
+		// Kept with the entry, so it can jump straight back to here whatever the size of its change set
+		snapshot = DungeonData.this.data.copy();
+	    }
+	    final var entry = new HistoryEntry(newWhatWas, snapshot);
+	    this.undoHistory.addFirst(entry);
+	    this.usedBytes += entry.cost();
+	    this.trim();
 	}
+    }
+
+    public static final DungeonLock LOCK_OBJECT = new DungeonLock();
 
-	public void updateUndoHistory(final DungeonDataStorage newImage, final HistoryStatus newWhatWas) {
-	    this.undoHistory.push(newImage, newWhatWas);
+    // Keeps whichever of best and (a, b, c) comes first in (a, b, c) order
+    private static int[] firstOf(final int[] best, final int a, final int b, final int c) {
+	if (best == null || a < best[0] || a == best[0] && (b < best[1] || b == best[1] && c < best[2])) {
+	    return new int[] { a, b, c };
 	}
+	return best;
     }
 
-    public static final DungeonLock LOCK_OBJECT = new DungeonLock();
     // Properties
-    private DungeonDataStorage data;
-    private DungeonDataStorage virtualData;
+    private DungeonCellStorage data;
+    private ObjectLocationIndex boundIndex;
+    private ObjectLocationIndex universalIndex;
+    private ObjectLocationIndex typeIndex;
+    private ObjectLocationIndex animatedIndex;
+    private FieldOfView fov;
+    private PathFinder paths;
+    private DungeonCellStorage virtualData;
     private final FlagStorage visionData;
     private FlagStorage dirtyData;
-    private DungeonDataStorage savedState;
+    private DungeonCellStorage savedState;
     private int foundX, foundY;
     private ImageUndoEngine iue;
     private final int visionMode;
@@ -180,16 +356,17 @@ public final class DungeonData extends DungeonDataBase {
 
     // Constructors
     public DungeonData() {
-	this.data = new DungeonDataStorage(DungeonDataBase.MIN_COLUMNS, DungeonDataBase.MIN_ROWS,
+	this.data = DungeonCellStorage.create(DungeonDataBase.MIN_COLUMNS, DungeonDataBase.MIN_ROWS,
 		DungeonDataBase.MIN_FLOORS, Layer.values().length);
-	this.virtualData = new DungeonDataStorage(DungeonDataBase.MIN_COLUMNS, DungeonDataBase.MIN_ROWS,
+	this.indexCells();
+	this.virtualData = DungeonCellStorage.create(DungeonDataBase.MIN_COLUMNS, DungeonDataBase.MIN_ROWS,
 		DungeonDataBase.MIN_FLOORS, DungeonConstants.NUM_VIRTUAL_LAYERS);
 	this.fillVirtual();
 	this.dirtyData = new FlagStorage(DungeonDataBase.MIN_COLUMNS, DungeonDataBase.MIN_ROWS,
 		DungeonDataBase.MIN_FLOORS);
 	this.visionData = new FlagStorage(DungeonDataBase.MIN_COLUMNS, DungeonDataBase.MIN_ROWS,
 		DungeonDataBase.MIN_FLOORS);
-	this.savedState = new DungeonDataStorage(DungeonDataBase.MIN_ROWS, DungeonDataBase.MIN_COLUMNS,
+	this.savedState = DungeonCellStorage.create(DungeonDataBase.MIN_ROWS, DungeonDataBase.MIN_COLUMNS,
 		DungeonDataBase.MIN_FLOORS, Layer.values().length);
 	this.foundX = -1;
 	this.foundY = -1;
@@ -199,11 +376,12 @@ public final class DungeonData extends DungeonDataBase {
     }
 
     public DungeonData(final DungeonData source) {
-	this.data = new DungeonDataStorage(source.data);
-	this.virtualData = new DungeonDataStorage(source.virtualData);
+	this.data = source.data.copy();
+	this.indexCells();
+	this.virtualData = source.virtualData.copy();
 	this.dirtyData = new FlagStorage(source.dirtyData);
 	this.visionData = new FlagStorage(source.visionData);
-	this.savedState = new DungeonDataStorage(source.savedState);
+	this.savedState = source.savedState.copy();
 	this.foundX = source.foundX;
 	this.foundY = source.foundY;
 	this.iue = new ImageUndoEngine(source.iue);
@@ -211,13 +389,46 @@ public final class DungeonData extends DungeonDataBase {
 	this.visionModeExploreRadius = source.visionModeExploreRadius;
     }
 
+    // Takes ownership of decoded grids, whose shape is columns, rows, floors, layers
+    DungeonData(final DungeonCellStorage cells, final DungeonCellStorage saved) {
+	final var shape = cells.getShape();
+	final var cols = shape[0];
+	final var rows = shape[1];
+	final var floors = shape[2];
+	this.data = cells;
+	this.indexCells();
+	this.virtualData = DungeonCellStorage.create(cols, rows, floors, DungeonConstants.NUM_VIRTUAL_LAYERS);
+	this.fillVirtual();
+	this.dirtyData = new FlagStorage(cols, rows, floors);
+	this.visionData = new FlagStorage(cols, rows, floors);
+	this.savedState = saved;
+	this.foundX = -1;
+	this.foundY = -1;
+	this.iue = new ImageUndoEngine();
+	this.visionMode = VisionModes.EXPLORE_AND_LOS;
+	this.visionModeExploreRadius = 2;
+    }
+
+    // Owns only the grids writeCompact reads; no indexes or other views are built, so it is only for writing
+    private DungeonData(final DungeonCellStorage cells, final DungeonCellStorage saved, final int mode,
+	    final int exploreRadius) {
+	this.data = cells;
+	this.savedState = saved;
+	this.visionData = null;
+	this.foundX = -1;
+	this.foundY = -1;
+	this.visionMode = mode;
+	this.visionModeExploreRadius = exploreRadius;
+    }
+
     public DungeonData(final int rows, final int cols, final int floors) {
-	this.data = new DungeonDataStorage(cols, rows, floors, Layer.values().length);
-	this.virtualData = new DungeonDataStorage(cols, rows, floors, DungeonConstants.NUM_VIRTUAL_LAYERS);
+	this.data = DungeonCellStorage.create(cols, rows, floors, Layer.values().length);
+	this.indexCells();
+	this.virtualData = DungeonCellStorage.create(cols, rows, floors, DungeonConstants.NUM_VIRTUAL_LAYERS);
 	this.fillVirtual();
 	this.dirtyData = new FlagStorage(cols, rows, floors);
 	this.visionData = new FlagStorage(cols, rows, floors);
-	this.savedState = new DungeonDataStorage(cols, rows, floors, Layer.values().length);
+	this.savedState = DungeonCellStorage.create(cols, rows, floors, Layer.values().length);
 	this.foundX = -1;
 	this.foundY = -1;
 	this.iue = new ImageUndoEngine();
@@ -225,6 +436,23 @@ public final class DungeonData extends DungeonDataBase {
 	this.visionModeExploreRadius = 2;
     }
 
+    @Override
+    public ArrayList<int[]> animateFloor(final int floor) {
+	final var changed = new ArrayList<int[]>();
+	for (var w = 0; w < Layer.values().length; w++) {
+	    for (final int[] cell : this.animatedIndex.locateAll(floor, w)) {
+		final var obj = this.data.getCell(cell[0], cell[1], floor, w);
+		final var oldFN = obj.getFrameNumber();
+		obj.toggleFrameNumber();
+		if (obj.getFrameNumber() != oldFN) {
+		    this.dirtyData.setCell(true, cell[0], cell[1], floor);
+		    changed.add(new int[] { cell[1], cell[0] });
+		}
+	    }
+	}
+	return changed;
+    }
+
     private boolean areCoordsInBounds(final DungeonBase dungeonBase, final int x1, final int y1, final int x2,
 	    final int y2) {
 	int fx1, fx2, fy1, fy2;
@@ -266,44 +494,46 @@ public final class DungeonData extends DungeonDataBase {
 
     @Override
     public int[] circularScan(final DungeonBase dungeonBase, final int xIn, final int yIn, final int zIn, final int r,
-	    final String targetName, final boolean moved) {
+	    final GameObject target, final boolean moved) {
 	var xFix = xIn;
 	var yFix = yIn;
 	var zFix = zIn;
-	if (dungeonBase.isVerticalWraparoundEnabled()) {
+	final var wrapColumns = dungeonBase.isVerticalWraparoundEnabled();
+	final var wrapRows = dungeonBase.isHorizontalWraparoundEnabled();
+	if (wrapColumns) {
 	    xFix = this.normalizeColumn(xFix);
 	}
-	if (dungeonBase.isHorizontalWraparoundEnabled()) {
+	if (wrapRows) {
 	    yFix = this.normalizeRow(yFix);
 	}
 	if (dungeonBase.isThirdDimensionWraparoundEnabled()) {
 	    zFix = this.normalizeFloor(zFix);
 	}
-	int u, v, w;
-	u = v = 0;
-	// Perform the scan
-	for (u = xFix - r; u <= xFix + r; u++) {
-	    for (v = yFix - r; v <= yFix + r; v++) {
-		for (w = 0; w < Layer.values().length; w++) {
-		    try {
-			final var obj = this.getCell(dungeonBase, v, u, zFix, w);
-			final var savedObj = obj.getSavedObject();
-			String testName;
-			if (!obj.isPlayer() || moved) {
-			    testName = obj.getCacheName();
-			} else {
-			    testName = savedObj.getCacheName();
-			}
-			if (testName.equals(targetName)) {
-			    return new int[] { v, u, zFix };
-			}
-		    } catch (final ArrayIndexOutOfBoundsException aioob) {
-			// Do nothing
+	// Perform the scan, keeping the match the old column-major sweep would have found first
+	int[] best = null;
+	for (var w = 0; w < Layer.values().length; w++) {
+	    for (final int[] cell : this.findTypeCellsNear(target.getId(), zFix, w, xFix, yFix, r, wrapColumns,
+		    wrapRows)) {
+		final var obj = this.getCell(dungeonBase, cell[1], cell[0], zFix, w);
+		if ((!obj.isPlayer() || moved) && obj.sharesCacheName(target)) {
+		    best = DungeonData.firstOf(best, cell[0], cell[1], w);
+		}
+	    }
+	    if (!moved) {
+		// The player stands in for the object it's standing on
+		for (final int[] cell : this.findTypeCellsNear(ObjectImageId.PLAYER, zFix, w, xFix, yFix, r,
+			wrapColumns, wrapRows)) {
+		    final var obj = this.getCell(dungeonBase, cell[1], cell[0], zFix, w);
+		    if (obj.isPlayer() && obj.getSavedObject().sharesCacheName(target)) {
+			best = DungeonData.firstOf(best, cell[0], cell[1], w);
 		    }
 		}
 	    }
 	}
-	return null;
+	if (best == null) {
+	    return null;
+	}
+	return new int[] { best[1], best[0], zFix };
     }
 
     @Override
@@ -313,15 +543,10 @@ public final class DungeonData extends DungeonDataBase {
 	var fX = x;
 	var fY = y;
 	var fZ = z;
-	if (dungeonBase.isVerticalWraparoundEnabled()) {
-	    fX = this.normalizeColumn(fX);
-	}
-	if (dungeonBase.isHorizontalWraparoundEnabled()) {
-	    fY = this.normalizeRow(fY);
-	}
-	if (dungeonBase.isThirdDimensionWraparoundEnabled()) {
-	    fZ = this.normalizeFloor(fZ);
-	}
+	final var mode = this.addressingFor(dungeonBase);
+	fX = mode.column(fX);
+	fY = mode.row(fY);
+	fZ = mode.floor(fZ);
 	final var tx = tankLoc[0];
 	final var ty = tankLoc[1];
 	final var tz = tankLoc[2];
@@ -334,39 +559,36 @@ public final class DungeonData extends DungeonDataBase {
 	var xFix = xIn;
 	var yFix = yIn;
 	var zFix = zIn;
-	if (dungeonBase.isVerticalWraparoundEnabled()) {
-	    xFix = this.normalizeColumn(xFix);
-	}
-	if (dungeonBase.isHorizontalWraparoundEnabled()) {
-	    yFix = this.normalizeRow(yFix);
-	}
-	if (dungeonBase.isThirdDimensionWraparoundEnabled()) {
-	    zFix = this.normalizeFloor(zFix);
-	}
-	int u, v, w;
-	w = Layer.STATUS.ordinal();
+	final var mode = this.addressingFor(dungeonBase);
+	xFix = mode.column(xFix);
+	yFix = mode.row(yFix);
+	zFix = mode.floor(zFix);
+	final var w = Layer.STATUS.ordinal();
 	// Perform the scan
-	for (u = xFix - r; u <= xFix + r; u++) {
-	    for (v = yFix - r; v <= yFix + r; v++) {
+	int[] best = null;
+	for (final ObjectImageId key : new ObjectImageId[] { target.getId(), ObjectImageId.PLAYER }) {
+	    for (final int[] cell : this.findTypeCellsNear(key, zFix, w, xFix, yFix, r, false, false)) {
+		final var u = cell[0];
+		final var v = cell[1];
 		if (v == tx && u == ty && moved) {
 		    continue;
 		}
-		if (v >= 0 && v < DungeonDataBase.MIN_ROWS && u >= 0 && u < DungeonDataBase.MIN_COLUMNS) {
-		    final var obj = this.getCell(dungeonBase, v, u, zFix, w);
-		    final var savedObj = obj.getSavedObject();
-		    GameObject test;
-		    if (obj.isPlayer()) {
-			test = savedObj;
-		    } else {
-			test = obj;
-		    }
-		    if (target.equals(test)) {
-			return new int[] { v, u, zFix };
-		    }
+		final var obj = this.getCell(dungeonBase, v, u, zFix, w);
+		GameObject test;
+		if (obj.isPlayer()) {
+		    test = obj.getSavedObject();
+		} else {
+		    test = obj;
+		}
+		if (test.sharesCacheName(target)) {
+		    best = DungeonData.firstOf(best, u, v, w);
 		}
 	    }
 	}
-	return null;
+	if (best == null) {
+	    return null;
+	}
+	return new int[] { best[1], best[0], zFix };
     }
 
     @Override
@@ -394,7 +616,8 @@ public final class DungeonData extends DungeonDataBase {
 	    for (var col = 0; col < this.getColumns(); col++) {
 		for (var floor = 0; floor < this.getFloors(); floor++) {
 		    for (var layer = 0; layer < DungeonConstants.NUM_VIRTUAL_LAYERS; layer++) {
-			this.setVirtualCell(dungeonBase, new GameObject(ObjectImageId.EMPTY), row, col, floor, layer);
+			this.setVirtualCell(dungeonBase, GameObject.shared(ObjectImageId.EMPTY), row, col, floor,
+				layer);
 		    }
 		}
 	    }
@@ -416,7 +639,7 @@ public final class DungeonData extends DungeonDataBase {
 			if (w == Layer.GROUND.ordinal()) {
 			    this.setCell(dungeonBase, fill, y, x, z, w);
 			} else {
-			    this.setCell(dungeonBase, new GameObject(ObjectImageId.EMPTY), y, x, z, w);
+			    this.setCell(dungeonBase, GameObject.shared(ObjectImageId.EMPTY), y, x, z, w);
 			}
 		    }
 		}
@@ -438,7 +661,7 @@ public final class DungeonData extends DungeonDataBase {
 			    } else if (w == Layer.STATUS.ordinal() && was16 && (x >= 16 || y >= 16)) {
 				this.setCell(dungeonBase, fill2, y, x, z, w);
 			    } else {
-				this.setCell(dungeonBase, new GameObject(ObjectImageId.EMPTY), y, x, z, w);
+				this.setCell(dungeonBase, GameObject.shared(ObjectImageId.EMPTY), y, x, z, w);
 			    }
 			}
 		    }
@@ -458,7 +681,7 @@ public final class DungeonData extends DungeonDataBase {
 			    if (w == Layer.GROUND.ordinal()) {
 				this.savedState.setCell(fill, y, x, z, w);
 			    } else {
-				this.savedState.setCell(new GameObject(ObjectImageId.EMPTY), y, x, z, w);
+				this.savedState.setCell(GameObject.shared(ObjectImageId.EMPTY), y, x, z, w);
 			    }
 			}
 		    }
@@ -474,7 +697,7 @@ public final class DungeonData extends DungeonDataBase {
 	    for (y = 0; y < this.getRows(); y++) {
 		for (z = 0; z < this.getFloors(); z++) {
 		    for (w = 0; w < DungeonConstants.NUM_VIRTUAL_LAYERS; w++) {
-			this.virtualData.setCell(new GameObject(ObjectImageId.EMPTY), y, x, z, w);
+			this.virtualData.setCell(GameObject.shared(ObjectImageId.EMPTY), y, x, z, w);
 		    }
 		}
 	    }
@@ -482,62 +705,69 @@ public final class DungeonData extends DungeonDataBase {
     }
 
     @Override
-    public int[] findObject(final DungeonBase dungeonBase, final int z, final String targetName) {
-	// Perform the scan
-	for (var x = 0; x < DungeonDataBase.MIN_COLUMNS; x++) {
-	    for (var y = 0; y < DungeonDataBase.MIN_ROWS; y++) {
-		for (var w = 0; w < Layer.values().length; w++) {
-		    try {
-			final var obj = this.getCell(dungeonBase, x, y, z, w);
-			final var testName = obj.getName();
-			if (testName.equals(targetName)) {
-			    return new int[] { x, y };
-			}
-		    } catch (final ArrayIndexOutOfBoundsException aioob) {
-			// Do nothing
-		    }
-		}
+    public int[] findObject(final DungeonBase dungeonBase, final int z, final ObjectImageId target) {
+	// Perform the scan, keeping the match the old row-major sweep would have found first
+	int[] best = null;
+	for (var w = 0; w < Layer.values().length; w++) {
+	    for (final int[] cell : this.findTypeCells(target, z, w)) {
+		best = DungeonData.firstOf(best, cell[1], cell[0], w);
 	    }
 	}
-	return null;
+	if (best == null) {
+	    return null;
+	}
+	return new int[] { best[0], best[1] };
     }
 
     @Override
     public int[] findPlayer(final DungeonBase dungeonBase, final int number) {
-	final var t = new GameObject(ObjectImageId.PLAYER);
-	int y, x, z;
-	for (x = 0; x < this.getColumns(); x++) {
-	    for (y = 0; y < this.getRows(); y++) {
-		for (z = 0; z < this.getFloors(); z++) {
-		    final var mo = this.getCell(dungeonBase, y, x, z, t.getLayer());
-		    if (mo != null && t.equals(mo)) {
-			return new int[] { y, x, z };
-		    }
-		}
+	final var layer = new GameObject(ObjectImageId.PLAYER).getLayer();
+	int[] best = null;
+	for (var z = 0; z < this.getFloors(); z++) {
+	    for (final int[] cell : this.findTypeCells(ObjectImageId.PLAYER, z, layer)) {
+		best = DungeonData.firstOf(best, cell[0], cell[1], z);
 	    }
 	}
-	return null;
+	if (best == null) {
+	    return null;
+	}
+	return new int[] { best[1], best[0], best[2] };
+    }
+
+    // Universally bound objects belong to every binding group
+    private ArrayList<int[]> findBoundCells(final ObjectImageId boundId, final int floor, final int layer) {
+	final var cells = this.boundIndex.locate(boundId, floor, layer);
+	cells.addAll(this.universalIndex.locateAll(floor, layer));
+	return cells;
+    }
+
+    private ArrayList<int[]> findTypeCells(final ObjectImageId type, final int floor, final int layer) {
+	return this.typeIndex.locate(type, floor, layer);
+    }
+
+    private ArrayList<int[]> findTypeCellsNear(final ObjectImageId type, final int floor, final int layer,
+	    final int col, final int row, final int r, final boolean wrapColumns, final boolean wrapRows) {
+	return this.typeIndex.locateNear(type, floor, layer, col, row, r, wrapColumns, wrapRows);
     }
 
     @Override
     public void fullScanAllButtonClose(final DungeonBase dungeonBase, final int zIn, final GameObject source) {
+	final var boundId = source.getBoundObjectId();
+	if (boundId == null) {
+	    return;
+	}
 	// Perform the scan
 	var zFix = zIn;
 	if (dungeonBase.isThirdDimensionWraparoundEnabled()) {
 	    zFix = this.normalizeFloor(zFix);
 	}
 	var flag = !source.isTriggered();
-	for (var x = 0; x < DungeonDataBase.MIN_COLUMNS; x++) {
-	    if (flag) {
-		break;
-	    }
-	    for (var y = 0; y < DungeonDataBase.MIN_ROWS; y++) {
-		if (flag) {
-		    break;
-		}
-		final var obj = this.getCell(dungeonBase, y, x, zFix, source.getLayer());
-		if (source.hasSameBoundObject(obj) && !obj.isTriggered()) {
+	if (!flag) {
+	    for (final int[] cell : this.findBoundCells(boundId, zFix, source.getLayer())) {
+		final var obj = this.getCell(dungeonBase, cell[1], cell[0], zFix, source.getLayer());
+		if (!obj.isTriggered()) {
 		    flag = true;
+		    break;
 		}
 	    }
 	}
@@ -545,8 +775,7 @@ public final class DungeonData extends DungeonDataBase {
 	    // Scan said OK to proceed
 	    final var dx = source.getBoundObjectX();
 	    final var dy = source.getBoundObjectY();
-	    if (!this.getCell(dungeonBase, dx, dy, zFix, source.getLayer()).getClass()
-		    .equals(source.getBoundObject().getClass())) {
+	    if (this.getCell(dungeonBase, dx, dy, zFix, source.getLayer()).getId() != boundId) {
 		this.setCell(dungeonBase, source.getBoundObject(), dx, dy, zFix, source.getLayer());
 		SoundLoader.playSound(Sounds.DOOR_CLOSE);
 	    }
@@ -555,32 +784,29 @@ public final class DungeonData extends DungeonDataBase {
 
     @Override
     public void fullScanAllButtonOpen(final DungeonBase dungeonBase, final int zIn, final GameObject source) {
+	final var boundId = source.getBoundObjectId();
+	if (boundId == null) {
+	    return;
+	}
 	// Perform the scan
 	var zFix = zIn;
 	if (dungeonBase.isThirdDimensionWraparoundEnabled()) {
 	    zFix = this.normalizeFloor(zFix);
 	}
 	var flag = true;
-	for (var x = 0; x < DungeonDataBase.MIN_COLUMNS; x++) {
-	    if (!flag) {
+	for (final int[] cell : this.findBoundCells(boundId, zFix, source.getLayer())) {
+	    final var obj = this.getCell(dungeonBase, cell[1], cell[0], zFix, source.getLayer());
+	    if (!obj.isTriggered()) {
+		flag = false;
 		break;
 	    }
-	    for (var y = 0; y < DungeonDataBase.MIN_ROWS; y++) {
-		if (!flag) {
-		    break;
-		}
-		final var obj = this.getCell(dungeonBase, y, x, zFix, source.getLayer());
-		if (source.hasSameBoundObject(obj) && !obj.isTriggered()) {
-		    flag = false;
-		}
-	    }
 	}
 	if (flag) {
 	    // Scan said OK to proceed
 	    final var dx = source.getBoundObjectX();
 	    final var dy = source.getBoundObjectY();
 	    if (!(this.getCell(dungeonBase, dx, dy, zFix, source.getLayer()).getId() != ObjectImageId.GROUND)) {
-		this.setCell(dungeonBase, new GameObject(ObjectImageId.GROUND), dx, dy, zFix, source.getLayer());
+		this.setCell(dungeonBase, GameObject.shared(ObjectImageId.GROUND), dx, dy, zFix, source.getLayer());
 		SoundLoader.playSound(Sounds.DOOR_OPEN);
 	    }
 	}
@@ -594,22 +820,21 @@ public final class DungeonData extends DungeonDataBase {
 	if (dungeonBase.isThirdDimensionWraparoundEnabled()) {
 	    z = this.normalizeFloor(z);
 	}
-	for (var x = 0; x < DungeonDataBase.MIN_COLUMNS; x++) {
-	    for (var y = 0; y < DungeonDataBase.MIN_ROWS; y++) {
-		final var obj = this.getCell(dungeonBase, x, y, z, source.getLayer());
-		if (source.getClass().equals(obj.getBoundObject().getClass())) {
-		    obj.setBoundObjectX(dx);
-		    obj.setBoundObjectY(dy);
-		    obj.setTriggered(false);
-		}
-	    }
+	final var layer = source.getLayer();
+	for (final int[] cell : this.findBoundCells(source.getId(), z, layer)) {
+	    final var obj = this.promoteCell(dungeonBase, this.getCell(dungeonBase, cell[1], cell[0], z, layer),
+		    cell[1], cell[0], z, layer);
+	    obj.setBoundObjectX(dx);
+	    obj.setBoundObjectY(dy);
+	    obj.setTriggered(false);
 	}
-	for (var x = 0; x < DungeonDataBase.MIN_COLUMNS; x++) {
-	    for (var y = 0; y < DungeonDataBase.MIN_ROWS; y++) {
-		final var obj = this.getCell(dungeonBase, x, y, z, source.getLayer());
-		if (source.getClass().equals(obj.getClass())) {
-		    this.setCell(dungeonBase, new GameObject(ObjectImageId.GROUND), x, y, z, source.getLayer());
-		}
+	final var boundId = source.getBoundObjectId();
+	if (boundId == null) {
+	    return;
+	}
+	for (final int[] cell : this.findBoundCells(boundId, z, layer)) {
+	    if (this.getCell(dungeonBase, cell[1], cell[0], z, layer).getId() == source.getId()) {
+		this.setCell(dungeonBase, GameObject.shared(ObjectImageId.GROUND), cell[1], cell[0], z, layer);
 	    }
 	}
     }
@@ -617,21 +842,23 @@ public final class DungeonData extends DungeonDataBase {
     @Override
     public void fullScanButtonCleanup(final DungeonBase dungeonBase, final int px, final int py, final int zIn,
 	    final GameObject button) {
+	final var boundId = button.getBoundObjectId();
+	if (boundId == null) {
+	    return;
+	}
 	// Perform the scan
 	var zFix = zIn;
 	if (dungeonBase.isThirdDimensionWraparoundEnabled()) {
 	    zFix = this.normalizeFloor(zFix);
 	}
-	for (var x = 0; x < DungeonDataBase.MIN_COLUMNS; x++) {
-	    for (var y = 0; y < DungeonDataBase.MIN_ROWS; y++) {
-		if (x == px && y == py) {
-		    continue;
-		}
-		final var obj = this.getCell(dungeonBase, x, y, zFix, button.getLayer());
-		if (obj.hasSameBoundObject(button)) {
-		    this.setCell(dungeonBase, new GameObject(ObjectImageId.GROUND), x, y, zFix, button.getLayer());
-		}
+	for (final int[] cell : this.findBoundCells(boundId, zFix, button.getLayer())) {
+	    if (cell[1] == px && cell[0] == py
+		    || this.getCell(dungeonBase, cell[1], cell[0], zFix, button.getLayer()).isBoundUniversally()) {
+		// Universal objects are no stray copy of this button's door
+		continue;
 	    }
+	    this.setCell(dungeonBase, GameObject.shared(ObjectImageId.GROUND), cell[1], cell[0], zFix,
+		    button.getLayer());
 	}
     }
 
@@ -642,14 +869,11 @@ public final class DungeonData extends DungeonDataBase {
 	if (dungeonBase.isThirdDimensionWraparoundEnabled()) {
 	    zFix = this.normalizeFloor(zFix);
 	}
-	for (var x = 0; x < DungeonDataBase.MIN_COLUMNS; x++) {
-	    for (var y = 0; y < DungeonDataBase.MIN_ROWS; y++) {
-		final var obj = this.getCell(dungeonBase, x, y, zFix, door.getLayer());
-		if (obj.boundToSameObject(door)) {
-		    obj.setTriggered(true);
-		    return;
-		}
-	    }
+	final var cells = this.findBoundCells(door.getId(), zFix, door.getLayer());
+	if (!cells.isEmpty()) {
+	    final var cell = cells.get(0);
+	    final var obj = this.getCell(dungeonBase, cell[1], cell[0], zFix, door.getLayer());
+	    this.promoteCell(dungeonBase, obj, cell[1], cell[0], zFix, door.getLayer()).setTriggered(true);
 	}
     }
 
@@ -671,11 +895,9 @@ public final class DungeonData extends DungeonDataBase {
     }
 
     private void generateOneMonster(final DungeonBase dungeonBase) {
-	final var row = new RandomRange(0, this.getRows() - 1);
-	final var column = new RandomRange(0, this.getColumns() - 1);
 	int randomRow, randomColumn;
-	randomRow = row.generate();
-	randomColumn = column.generate();
+	randomRow = GameRandom.current().nextInt(0, this.getRows() - 1);
+	randomColumn = GameRandom.current().nextInt(0, this.getColumns() - 1);
 	var currObj = this.getCell(dungeonBase, randomRow, randomColumn, 0, Layer.STATUS.ordinal());
 	if (!currObj.isSolid()) {
 	    final GameObject m = new GameObject(ObjectImageId._CREATURE);
@@ -683,8 +905,8 @@ public final class DungeonData extends DungeonDataBase {
 	    this.setCell(dungeonBase, m, randomRow, randomColumn, 0, Layer.STATUS.ordinal());
 	} else {
 	    while (currObj.isSolid()) {
-		randomRow = row.generate();
-		randomColumn = column.generate();
+		randomRow = GameRandom.current().nextInt(0, this.getRows() - 1);
+		randomColumn = GameRandom.current().nextInt(0, this.getColumns() - 1);
 		currObj = this.getCell(dungeonBase, randomRow, randomColumn, 0, Layer.STATUS.ordinal());
 	    }
 	    final GameObject m = new GameObject(ObjectImageId._CREATURE);
@@ -696,21 +918,23 @@ public final class DungeonData extends DungeonDataBase {
     @Override
     public GameObject getCell(final DungeonBase dungeonBase, final int row, final int col, final int floor,
 	    final int layer) {
-	var fR = row;
-	var fC = col;
-	var fF = floor;
-	if (dungeonBase.isVerticalWraparoundEnabled()) {
-	    fC = this.normalizeColumn(fC);
-	}
-	if (dungeonBase.isHorizontalWraparoundEnabled()) {
-	    fR = this.normalizeRow(fR);
-	}
-	if (dungeonBase.isThirdDimensionWraparoundEnabled()) {
-	    fF = this.normalizeFloor(fF);
-	}
+	final var mode = this.addressingFor(dungeonBase);
+	final var fR = mode.row(row);
+	final var fC = mode.column(col);
+	final var fF = mode.floor(floor);
 	return this.data.getCell(fC, fR, fF, layer);
     }
 
+    @Override
+    public GameObject getCellOrDefault(final DungeonBase dungeonBase, final int row, final int col, final int floor,
+	    final int layer, final GameObject fallback) {
+	final var mode = this.addressingFor(dungeonBase);
+	if (!mode.contains(row, col, floor)) {
+	    return fallback;
+	}
+	return this.data.getCell(mode.column(col), mode.row(row), mode.floor(floor), layer);
+    }
+
     @Override
     public int getColumns() {
 	return this.data.getShape()[0];
@@ -721,6 +945,11 @@ public final class DungeonData extends DungeonDataBase {
 	return this.data.getShape()[2];
     }
 
+    // Replaced along with the whole grid, as on resizing or undoing past the history limit
+    public PathFinder getPathFinder() {
+	return this.paths;
+    }
+
     @Override
     public int getRows() {
 	return this.data.getShape()[1];
@@ -729,18 +958,10 @@ public final class DungeonData extends DungeonDataBase {
     @Override
     public GameObject getVirtualCell(final DungeonBase dungeonBase, final int row, final int col, final int floor,
 	    final int layer) {
-	var fR = row;
-	var fC = col;
-	var fF = floor;
-	if (dungeonBase.isVerticalWraparoundEnabled()) {
-	    fC = this.normalizeColumn(fC);
-	}
-	if (dungeonBase.isHorizontalWraparoundEnabled()) {
-	    fR = this.normalizeRow(fR);
-	}
-	if (dungeonBase.isThirdDimensionWraparoundEnabled()) {
-	    fF = this.normalizeFloor(fF);
-	}
+	final var mode = this.addressingFor(dungeonBase);
+	final var fR = mode.row(row);
+	final var fC = mode.column(col);
+	final var fF = mode.floor(floor);
 	return this.virtualData.getCell(fC, fR, fF, layer);
     }
 
@@ -749,23 +970,39 @@ public final class DungeonData extends DungeonDataBase {
 	return this.iue.getWhatWas();
     }
 
+    private void indexCells() {
+	this.boundIndex = new ObjectLocationIndex(this.data,
+		obj -> obj.isBoundUniversally() ? null : obj.getBoundObjectId());
+	this.universalIndex = new ObjectLocationIndex(this.data, obj -> obj.isBoundUniversally() ? obj.getId() : null);
+	this.typeIndex = new ObjectLocationIndex(this.data, GameObject::getId);
+	this.animatedIndex = new ObjectLocationIndex(this.data, obj -> obj.isAnimated() ? obj.getId() : null);
+	this.fov = new FieldOfView(this.data);
+	this.paths = new PathFinder(this.data);
+    }
+
+    // Always true, so it can be asserted; a mismatch throws from the index that disagrees
+    private boolean indexesMatchCells() {
+	this.boundIndex.checkConsistency(this.data);
+	this.universalIndex.checkConsistency(this.data);
+	this.typeIndex.checkConsistency(this.data);
+	this.animatedIndex.checkConsistency(this.data);
+	return true;
+    }
+
     @Override
     public boolean isCellDirty(final DungeonBase dungeonBase, final int row, final int col, final int floor) {
-	var fR = row;
-	var fC = col;
-	var fF = floor;
-	if (dungeonBase.isVerticalWraparoundEnabled()) {
-	    fC = this.normalizeColumn(fC);
-	}
-	if (dungeonBase.isHorizontalWraparoundEnabled()) {
-	    fR = this.normalizeRow(fR);
-	}
-	if (dungeonBase.isThirdDimensionWraparoundEnabled()) {
-	    fF = this.normalizeFloor(fF);
-	}
+	final var mode = this.addressingFor(dungeonBase);
+	final var fR = mode.row(row);
+	final var fC = mode.column(col);
+	final var fF = mode.floor(floor);
 	return this.dirtyData.getCell(fC, fR, fF);
     }
 
+    @Override
+    public boolean isInBounds(final DungeonBase dungeonBase, final int row, final int col, final int floor) {
+	return this.addressingFor(dungeonBase).contains(row, col, floor);
+    }
+
     @Override
     public boolean isSquareVisible(final DungeonBase dungeonBase, final int x1, final int y1, final int x2,
 	    final int y2, final int zp) {
@@ -774,7 +1011,7 @@ public final class DungeonData extends DungeonDataBase {
 	}
 	var result = false;
 	if ((this.visionMode | VisionModes.EXPLORE) == this.visionMode) {
-	    result = result || this.isSquareVisibleExplore(dungeonBase, x2, y2);
+	    result = result || this.isSquareVisibleExplore(dungeonBase, x2, y2, zp);
 	    if (result && (this.visionMode | VisionModes.LOS) == this.visionMode) {
 		if (this.areCoordsInBounds(dungeonBase, x1, y1, x2, y2)) {
 		    // In bounds
@@ -794,7 +1031,8 @@ public final class DungeonData extends DungeonDataBase {
 	return result;
     }
 
-    private boolean isSquareVisibleExplore(final DungeonBase dungeonBase, final int x2, final int y2) {
+    private boolean isSquareVisibleExplore(final DungeonBase dungeonBase, final int x2, final int y2,
+	    final int zp) {
 	int fx2, fy2;
 	if (dungeonBase.isHorizontalWraparoundEnabled()) {
 	    fx2 = this.normalizeColumn(x2);
@@ -806,62 +1044,23 @@ public final class DungeonData extends DungeonDataBase {
 	} else {
 	    fy2 = y2;
 	}
-	try {
-	    return this.visionData.getCell(fx2, fy2);
-	} catch (final ArrayIndexOutOfBoundsException aioobe) {
+	if (!this.isVisionInBounds(fx2, fy2, zp)) {
 	    return true;
 	}
+	return this.visionData.getCell(fx2, fy2, zp);
     }
 
     private boolean isSquareVisibleLOS(final DungeonBase dungeonBase, final int x1, final int y1, final int x2,
 	    final int y2, final int zp) {
-	int fx1, fx2, fy1, fy2;
-	fx1 = x1;
-	fx2 = x2;
-	fy1 = y1;
-	fy2 = y2;
-	final var dx = Math.abs(fx2 - fx1);
-	final var dy = Math.abs(fy2 - fy1);
-	int sx, sy;
-	if (fx1 < fx2) {
-	    sx = 1;
-	} else {
-	    sx = -1;
-	}
-	if (fy1 < fy2) {
-	    sy = 1;
-	} else {
-	    sy = -1;
-	}
-	var err = dx - dy;
-	int e2;
-	do {
-	    if (fx1 == fx2 && fy1 == fy2) {
-		break;
-	    }
-	    // Does object block LOS?
-	    try {
-		final var obj = this.getCell(dungeonBase, fx1, fy1, zp, Layer.STATUS.ordinal());
-		// This object blocks LOS
-		if (obj.isSightBlocking() && (fx1 != x1 || fy1 != y1)) {
-		    return false;
-		}
-	    } catch (final ArrayIndexOutOfBoundsException aioobe) {
-		// Void blocks LOS
-		return false;
-	    }
-	    e2 = 2 * err;
-	    if (e2 > -dy) {
-		err = err - dy;
-		fx1 = fx1 + sx;
-	    }
-	    if (e2 < dx) {
-		err = err + dx;
-		fy1 = fy1 + sy;
-	    }
-	} while (true);
-	// No objects block LOS
-	return true;
+	// The shadowcast is cached until the viewer moves or a sight blocker changes
+	return this.fov.isVisibleFrom(x1, y1, zp, dungeonBase.isHorizontalWraparoundEnabled(),
+		dungeonBase.isVerticalWraparoundEnabled(), x2, y2);
+    }
+
+    // The vision grid is laid out column first, like the cells
+    private boolean isVisionInBounds(final int col, final int row, final int floor) {
+	return col >= 0 && col < this.getColumns() && row >= 0 && row < this.getRows() && floor >= 0
+		&& floor < this.getFloors();
     }
 
     @Override
@@ -871,15 +1070,10 @@ public final class DungeonData extends DungeonDataBase {
 	var xFix = xIn;
 	var yFix = yIn;
 	var zFix = zIn;
-	if (dungeonBase.isVerticalWraparoundEnabled()) {
-	    xFix = this.normalizeColumn(xFix);
-	}
-	if (dungeonBase.isHorizontalWraparoundEnabled()) {
-	    yFix = this.normalizeRow(yFix);
-	}
-	if (dungeonBase.isThirdDimensionWraparoundEnabled()) {
-	    zFix = this.normalizeFloor(zFix);
-	}
+	final var mode = this.addressingFor(dungeonBase);
+	xFix = mode.column(xFix);
+	yFix = mode.row(yFix);
+	zFix = mode.floor(zFix);
 	int u, w;
 	if (d == Direction.NORTH) {
 	    final GameObject tank = Inconnuclear.getStuffBag().getGame().getPlayer();
@@ -888,21 +1082,20 @@ public final class DungeonData extends DungeonDataBase {
 	    }
 	    for (u = yFix - 1; u >= 0; u--) {
 		for (w = 0; w < Layer.values().length; w++) {
-		    try {
-			final var obj = this.getCell(dungeonBase, xFix, u, zFix, w);
-			if (obj.canShoot()) {
-			    final var unres = DirectionResolver.unresolve(obj.getDirection());
-			    final var invert = DirectionResolver.resolveInvert(unres[0], unres[1]);
-			    if (d == invert) {
-				this.foundX = xFix;
-				this.foundY = u;
-				return true;
-			    }
-			}
-			if (obj.isSolid()) {
-			    return false;
+		    final var obj = this.getCellOrDefault(dungeonBase, xFix, u, zFix, w, null);
+		    if (obj == null) {
+			return false;
+		    }
+		    if (obj.canShoot()) {
+			final var unres = DirectionResolver.unresolve(obj.getDirection());
+			final var invert = DirectionResolver.resolveInvert(unres[0], unres[1]);
+			if (d == invert) {
+			    this.foundX = xFix;
+			    this.foundY = u;
+			    return true;
 			}
-		    } catch (final ArrayIndexOutOfBoundsException aioobe) {
+		    }
+		    if (obj.isSolid()) {
 			return false;
 		    }
 		}
@@ -916,21 +1109,20 @@ public final class DungeonData extends DungeonDataBase {
 	    }
 	    for (u = yFix + 1; u < 24; u++) {
 		for (w = 0; w < Layer.values().length; w++) {
-		    try {
-			final var obj = this.getCell(dungeonBase, xFix, u, zFix, w);
-			if (obj.canShoot()) {
-			    final var unres = DirectionResolver.unresolve(obj.getDirection());
-			    final var invert = DirectionResolver.resolveInvert(unres[0], unres[1]);
-			    if (d == invert) {
-				this.foundX = xFix;
-				this.foundY = u;
-				return true;
-			    }
-			}
-			if (obj.isSolid()) {
-			    return false;
+		    final var obj = this.getCellOrDefault(dungeonBase, xFix, u, zFix, w, null);
+		    if (obj == null) {
+			return false;
+		    }
+		    if (obj.canShoot()) {
+			final var unres = DirectionResolver.unresolve(obj.getDirection());
+			final var invert = DirectionResolver.resolveInvert(unres[0], unres[1]);
+			if (d == invert) {
+			    this.foundX = xFix;
+			    this.foundY = u;
+			    return true;
 			}
-		    } catch (final ArrayIndexOutOfBoundsException aioobe) {
+		    }
+		    if (obj.isSolid()) {
 			return false;
 		    }
 		}
@@ -942,21 +1134,20 @@ public final class DungeonData extends DungeonDataBase {
 	    }
 	    for (u = xFix - 1; u >= 0; u--) {
 		for (w = 0; w < Layer.values().length; w++) {
-		    try {
-			final var obj = this.getCell(dungeonBase, u, yFix, zFix, w);
-			if (obj.canShoot()) {
-			    final var unres = DirectionResolver.unresolve(obj.getDirection());
-			    final var invert = DirectionResolver.resolveInvert(unres[0], unres[1]);
-			    if (d == invert) {
-				this.foundX = u;
-				this.foundY = yFix;
-				return true;
-			    }
-			}
-			if (obj.isSolid()) {
-			    return false;
+		    final var obj = this.getCellOrDefault(dungeonBase, u, yFix, zFix, w, null);
+		    if (obj == null) {
+			return false;
+		    }
+		    if (obj.canShoot()) {
+			final var unres = DirectionResolver.unresolve(obj.getDirection());
+			final var invert = DirectionResolver.resolveInvert(unres[0], unres[1]);
+			if (d == invert) {
+			    this.foundX = u;
+			    this.foundY = yFix;
+			    return true;
 			}
-		    } catch (final ArrayIndexOutOfBoundsException aioobe) {
+		    }
+		    if (obj.isSolid()) {
 			return false;
 		    }
 		}
@@ -968,21 +1159,20 @@ public final class DungeonData extends DungeonDataBase {
 	    }
 	    for (u = xFix + 1; u < 24; u++) {
 		for (w = 0; w < Layer.values().length; w++) {
-		    try {
-			final var obj = this.getCell(dungeonBase, u, yFix, zFix, w);
-			if (obj.canShoot()) {
-			    final var unres = DirectionResolver.unresolve(obj.getDirection());
-			    final var invert = DirectionResolver.resolveInvert(unres[0], unres[1]);
-			    if (d == invert) {
-				this.foundX = u;
-				this.foundY = yFix;
-				return true;
-			    }
-			}
-			if (obj.isSolid()) {
-			    return false;
+		    final var obj = this.getCellOrDefault(dungeonBase, u, yFix, zFix, w, null);
+		    if (obj == null) {
+			return false;
+		    }
+		    if (obj.canShoot()) {
+			final var unres = DirectionResolver.unresolve(obj.getDirection());
+			final var invert = DirectionResolver.resolveInvert(unres[0], unres[1]);
+			if (d == invert) {
+			    this.foundX = u;
+			    this.foundY = yFix;
+			    return true;
 			}
-		    } catch (final ArrayIndexOutOfBoundsException aioobe) {
+		    }
+		    if (obj.isSolid()) {
 			return false;
 		    }
 		}
@@ -998,28 +1188,22 @@ public final class DungeonData extends DungeonDataBase {
 	var xFix = xIn;
 	var yFix = yIn;
 	var zFix = zIn;
-	if (dungeonBase.isVerticalWraparoundEnabled()) {
-	    xFix = this.normalizeColumn(xFix);
-	}
-	if (dungeonBase.isHorizontalWraparoundEnabled()) {
-	    yFix = this.normalizeRow(yFix);
-	}
-	if (dungeonBase.isThirdDimensionWraparoundEnabled()) {
-	    zFix = this.normalizeFloor(zFix);
-	}
+	final var mode = this.addressingFor(dungeonBase);
+	xFix = mode.column(xFix);
+	yFix = mode.row(yFix);
+	zFix = mode.floor(zFix);
 	int u, w;
 	if (d == Direction.NORTH) {
 	    for (u = yFix - 1; u >= 0; u--) {
 		for (w = 0; w < Layer.values().length; w++) {
-		    try {
-			final var obj = this.getCell(dungeonBase, xFix, u, zFix, w);
-			if (obj.getMaterial() == Material.MAGNETIC) {
-			    return yFix - u - 1;
-			}
-			if (obj.isSolid()) {
-			    return 0;
-			}
-		    } catch (final ArrayIndexOutOfBoundsException aioobe) {
+		    final var obj = this.getCellOrDefault(dungeonBase, xFix, u, zFix, w, null);
+		    if (obj == null) {
+			return 0;
+		    }
+		    if (obj.getMaterial() == Material.MAGNETIC) {
+			return yFix - u - 1;
+		    }
+		    if (obj.isSolid()) {
 			return 0;
 		    }
 		}
@@ -1029,15 +1213,14 @@ public final class DungeonData extends DungeonDataBase {
 	if (d == Direction.SOUTH) {
 	    for (u = yFix + 1; u < 24; u++) {
 		for (w = 0; w < Layer.values().length; w++) {
-		    try {
-			final var obj = this.getCell(dungeonBase, xFix, u, zFix, w);
-			if (obj.getMaterial() == Material.MAGNETIC) {
-			    return u - yFix - 1;
-			}
-			if (obj.isSolid()) {
-			    return 0;
-			}
-		    } catch (final ArrayIndexOutOfBoundsException aioobe) {
+		    final var obj = this.getCellOrDefault(dungeonBase, xFix, u, zFix, w, null);
+		    if (obj == null) {
+			return 0;
+		    }
+		    if (obj.getMaterial() == Material.MAGNETIC) {
+			return u - yFix - 1;
+		    }
+		    if (obj.isSolid()) {
 			return 0;
 		    }
 		}
@@ -1045,15 +1228,14 @@ public final class DungeonData extends DungeonDataBase {
 	} else if (d == Direction.WEST) {
 	    for (u = xFix - 1; u >= 0; u--) {
 		for (w = 0; w < Layer.values().length; w++) {
-		    try {
-			final var obj = this.getCell(dungeonBase, u, yFix, zFix, w);
-			if (obj.getMaterial() == Material.MAGNETIC) {
-			    return xFix - u - 1;
-			}
-			if (obj.isSolid()) {
-			    return 0;
-			}
-		    } catch (final ArrayIndexOutOfBoundsException aioobe) {
+		    final var obj = this.getCellOrDefault(dungeonBase, u, yFix, zFix, w, null);
+		    if (obj == null) {
+			return 0;
+		    }
+		    if (obj.getMaterial() == Material.MAGNETIC) {
+			return xFix - u - 1;
+		    }
+		    if (obj.isSolid()) {
 			return 0;
 		    }
 		}
@@ -1061,15 +1243,14 @@ public final class DungeonData extends DungeonDataBase {
 	} else if (d == Direction.EAST) {
 	    for (u = xFix + 1; u < 24; u++) {
 		for (w = 0; w < Layer.values().length; w++) {
-		    try {
-			final var obj = this.getCell(dungeonBase, u, yFix, zFix, w);
-			if (obj.getMaterial() == Material.MAGNETIC) {
-			    return u - xFix - 1;
-			}
-			if (obj.isSolid()) {
-			    return 0;
-			}
-		    } catch (final ArrayIndexOutOfBoundsException aioobe) {
+		    final var obj = this.getCellOrDefault(dungeonBase, u, yFix, zFix, w, null);
+		    if (obj == null) {
+			return 0;
+		    }
+		    if (obj.getMaterial() == Material.MAGNETIC) {
+			return u - xFix - 1;
+		    }
+		    if (obj.isSolid()) {
 			return 0;
 		    }
 		}
@@ -1080,18 +1261,10 @@ public final class DungeonData extends DungeonDataBase {
 
     @Override
     public void markAsDirty(final DungeonBase dungeonBase, final int row, final int col, final int floor) {
-	var fR = row;
-	var fC = col;
-	var fF = floor;
-	if (dungeonBase.isVerticalWraparoundEnabled()) {
-	    fC = this.normalizeColumn(fC);
-	}
-	if (dungeonBase.isHorizontalWraparoundEnabled()) {
-	    fR = this.normalizeRow(fR);
-	}
-	if (dungeonBase.isThirdDimensionWraparoundEnabled()) {
-	    fF = this.normalizeFloor(fF);
-	}
+	final var mode = this.addressingFor(dungeonBase);
+	final var fR = mode.row(row);
+	final var fC = mode.column(col);
+	final var fF = mode.floor(floor);
 	this.dirtyData.setCell(true, fC, fR, fF);
     }
 
@@ -1105,16 +1278,36 @@ public final class DungeonData extends DungeonDataBase {
 	this.generateOneMonster(dungeonBase);
     }
 
+    private GameObject promoteCell(final DungeonBase dungeonBase, final GameObject obj, final int row, final int col,
+	    final int floor, final int layer) {
+	if (!obj.isShared()) {
+	    return obj;
+	}
+	// Copy on write: give this cell its own instance before changing it
+	final var copy = obj.mutable();
+	this.setCell(dungeonBase, copy, row, col, floor, layer);
+	return copy;
+    }
+
+    static DungeonData readCompact(final File file) throws IOException {
+	final var grids = CompactLevelFormat.read(file);
+	final var loaded = new DungeonData(grids[0], grids[1]);
+	assert loaded.indexesMatchCells();
+	return loaded;
+    }
+
     @Override
     public DungeonDataBase readData(final DungeonBase dungeonBase, final DataIOReader reader, final int formatVersion)
 	    throws IOException {
-	if (FileFormats.isFormatVersionValidGeneration6(formatVersion)) {
+	// Generation 7 only changed the metafile, so its level files are still Generation 6
+	if (FileFormats.isFormatVersionValidGeneration6(formatVersion)
+		|| FileFormats.isFormatVersionValidGeneration7(formatVersion)) {
 	    int y, x, z, w, dungeonSizeX, dungeonSizeY, dungeonSizeZ;
 	    dungeonSizeX = reader.readInt();
 	    dungeonSizeY = reader.readInt();
 	    dungeonSizeZ = reader.readInt();
 	    final var lt = new DungeonData();
-	    lt.resize(dungeonBase, dungeonSizeZ, new GameObject(ObjectImageId.GROUND));
+	    lt.resize(dungeonBase, dungeonSizeZ, GameObject.shared(ObjectImageId.GROUND));
 	    for (x = 0; x < dungeonSizeX; x++) {
 		for (y = 0; y < dungeonSizeY; y++) {
 		    for (z = 0; z < dungeonSizeZ; z++) {
@@ -1125,8 +1318,9 @@ public final class DungeonData extends DungeonDataBase {
 		}
 	    }
 	    // Fill nulls
-	    lt.fillNulls(dungeonBase, new GameObject(ObjectImageId.GROUND), null, false);
+	    lt.fillNulls(dungeonBase, GameObject.shared(ObjectImageId.GROUND), null, false);
 	    lt.fillVirtual();
+	    assert lt.indexesMatchCells();
 	    return lt;
 	}
 	throw new IOException(Strings.error(ErrorString.UNKNOWN_FILE_FORMAT));
@@ -1134,12 +1328,13 @@ public final class DungeonData extends DungeonDataBase {
 
     @Override
     public void readSavedState(final DataIOReader reader, final int formatVersion) throws IOException {
-	if (FileFormats.isFormatVersionValidGeneration6(formatVersion)) {
+	if (FileFormats.isFormatVersionValidGeneration6(formatVersion)
+		|| FileFormats.isFormatVersionValidGeneration7(formatVersion)) {
 	    int y, x, z, w, saveSizeX, saveSizeY, saveSizeZ;
 	    saveSizeX = reader.readInt();
 	    saveSizeY = reader.readInt();
 	    saveSizeZ = reader.readInt();
-	    this.savedState = new DungeonDataStorage(saveSizeY, saveSizeX, saveSizeZ, Layer.values().length);
+	    this.savedState = DungeonCellStorage.create(saveSizeY, saveSizeX, saveSizeZ, Layer.values().length);
 	    for (x = 0; x < saveSizeX; x++) {
 		for (y = 0; y < saveSizeY; y++) {
 		    for (z = 0; z < saveSizeZ; z++) {
@@ -1150,7 +1345,7 @@ public final class DungeonData extends DungeonDataBase {
 		}
 	    }
 	    if (saveSizeX != DungeonDataBase.MIN_COLUMNS || saveSizeY != DungeonDataBase.MIN_ROWS) {
-		this.resizeSavedState(saveSizeZ, new GameObject(ObjectImageId.GROUND));
+		this.resizeSavedState(saveSizeZ, GameObject.shared(ObjectImageId.GROUND));
 	    }
 	} else {
 	    throw new IOException(Strings.error(ErrorString.UNKNOWN_FILE_FORMAT));
@@ -1160,8 +1355,6 @@ public final class DungeonData extends DungeonDataBase {
     @Override
     public void redo(final DungeonBase dungeonBase) {
 	this.iue.redo();
-	this.data = this.iue.getImage();
-	this.setAllDirtyFlags();
 	this.clearVirtualGrid(dungeonBase);
     }
 
@@ -1188,25 +1381,24 @@ public final class DungeonData extends DungeonDataBase {
 	    z = this.normalizeFloor(z);
 	}
 	// Allocate temporary storage array
-	final var tempStorage = new DungeonDataStorage(y, x, z, Layer.values().length);
+	final var tempStorage = DungeonCellStorage.create(y, x, z, Layer.values().length);
 	// Copy existing maze into temporary array
 	int u, v, w, t;
 	for (u = 0; u < y; u++) {
 	    for (v = 0; v < x; v++) {
 		for (w = 0; w < z; w++) {
 		    for (t = 0; t < Layer.values().length; t++) {
-			try {
-			    tempStorage.setCell(this.getCell(dungeonBase, v, u, w, t), u, v, w, t);
-			} catch (final ArrayIndexOutOfBoundsException aioob) {
-			    // Do nothing
-			}
+			tempStorage.setCell(this.getCellOrDefault(dungeonBase, v, u, w, t, null), u, v, w, t);
 		    }
 		}
 	    }
 	}
 	// Set the current data to the temporary array
 	this.data = tempStorage;
-	this.virtualData = new DungeonDataStorage(x, y, z, DungeonConstants.NUM_VIRTUAL_LAYERS);
+	this.indexCells();
+	// Recorded changes don't fit the new size
+	this.resetHistoryEngine();
+	this.virtualData = DungeonCellStorage.create(x, y, z, DungeonConstants.NUM_VIRTUAL_LAYERS);
 	this.dirtyData = new FlagStorage(x, y, z);
 	// Fill any blanks
 	this.fillNulls(dungeonBase, nullFill, null, false);
@@ -1219,18 +1411,19 @@ public final class DungeonData extends DungeonDataBase {
 	final var x = DungeonDataBase.MIN_ROWS;
 	final var y = DungeonDataBase.MIN_COLUMNS;
 	// Allocate temporary storage array
-	final var tempStorage = new DungeonDataStorage(y, x, z, Layer.values().length);
+	final var tempStorage = DungeonCellStorage.create(y, x, z, Layer.values().length);
+	final var oldShape = this.savedState.getShape();
 	// Copy existing maze into temporary array
 	int u, v, w, t;
 	for (u = 0; u < y; u++) {
 	    for (v = 0; v < x; v++) {
 		for (w = 0; w < z; w++) {
+		    if (v >= oldShape[0] || u >= oldShape[1] || w >= oldShape[2]) {
+			// Outside the old state, so left blank
+			continue;
+		    }
 		    for (t = 0; t < Layer.values().length; t++) {
-			try {
-			    tempStorage.setCell(this.savedState.getCell(v, u, w, t), u, v, w, t);
-			} catch (final ArrayIndexOutOfBoundsException aioob) {
-			    // Do nothing
-			}
+			tempStorage.setCell(this.savedState.getCell(v, u, w, t), u, v, w, t);
 		    }
 		}
 	    }
@@ -1248,7 +1441,7 @@ public final class DungeonData extends DungeonDataBase {
 	    for (y = 0; y < this.getRows(); y++) {
 		for (z = 0; z < this.getFloors(); z++) {
 		    for (w = 0; w < Layer.values().length; w++) {
-			this.setCell(dungeonBase, new GameObject(this.savedState.getCell(x, y, z, w)), y, x, z, w);
+			this.setCell(dungeonBase, GameObject.copyOf(this.savedState.getCell(x, y, z, w)), y, x, z, w);
 		    }
 		}
 	    }
@@ -1262,7 +1455,7 @@ public final class DungeonData extends DungeonDataBase {
 	    for (y = 0; y < this.getRows(); y++) {
 		for (z = 0; z < this.getFloors(); z++) {
 		    for (w = 0; w < Layer.values().length; w++) {
-			this.savedState.setCell(new GameObject(this.savedState.getCell(x, y, z, w)), x, y, z, w);
+			this.savedState.setCell(GameObject.copyOf(this.savedState.getCell(x, y, z, w)), x, y, z, w);
 		    }
 		}
 	    }
@@ -1279,19 +1472,11 @@ public final class DungeonData extends DungeonDataBase {
     @Override
     public void setCell(final DungeonBase dungeonBase, final GameObject mo, final int row, final int col,
 	    final int floor, final int layer) {
-	var fR = row;
-	var fC = col;
-	var fF = floor;
-	if (dungeonBase.isVerticalWraparoundEnabled()) {
-	    fC = this.normalizeColumn(fC);
-	}
-	if (dungeonBase.isHorizontalWraparoundEnabled()) {
-	    fR = this.normalizeRow(fR);
-	}
-	if (dungeonBase.isThirdDimensionWraparoundEnabled()) {
-	    fF = this.normalizeFloor(fF);
-	}
-	this.data.setCell(mo, fC, fR, fF, layer);
+	final var mode = this.addressingFor(dungeonBase);
+	final var fR = mode.row(row);
+	final var fC = mode.column(col);
+	final var fF = mode.floor(floor);
+	this.storeCell(mo, fC, fR, fF, layer);
 	this.dirtyData.setCell(true, fC, fR, fF);
     }
 
@@ -1307,22 +1492,34 @@ public final class DungeonData extends DungeonDataBase {
     @Override
     public void setVirtualCell(final DungeonBase dungeonBase, final GameObject mo, final int row, final int col,
 	    final int floor, final int layer) {
-	var fR = row;
-	var fC = col;
-	var fF = floor;
-	if (dungeonBase.isVerticalWraparoundEnabled()) {
-	    fC = this.normalizeColumn(fC);
-	}
-	if (dungeonBase.isHorizontalWraparoundEnabled()) {
-	    fR = this.normalizeRow(fR);
-	}
-	if (dungeonBase.isThirdDimensionWraparoundEnabled()) {
-	    fF = this.normalizeFloor(fF);
-	}
+	final var mode = this.addressingFor(dungeonBase);
+	final var fR = mode.row(row);
+	final var fC = mode.column(col);
+	final var fF = mode.floor(floor);
 	this.virtualData.setCell(mo, fC, fR, fF, layer);
 	this.dirtyData.setCell(true, fC, fR, fF);
     }
 
+    // Copies only what writeCompact reads, so the copy can be written off the game thread
+    DungeonData snapshot() {
+	return new DungeonData(this.data.copy(), this.savedState.copy(), this.visionMode,
+		this.visionModeExploreRadius);
+    }
+
+    private void storeCell(final GameObject mo, final int... loc) {
+	final var old = this.data.getCell(loc);
+	if (this.iue.isRecording()) {
+	    this.iue.record(old, mo, loc);
+	}
+	this.boundIndex.update(old, mo, loc[0], loc[1], loc[2], loc[3]);
+	this.universalIndex.update(old, mo, loc[0], loc[1], loc[2], loc[3]);
+	this.typeIndex.update(old, mo, loc[0], loc[1], loc[2], loc[3]);
+	this.animatedIndex.update(old, mo, loc[0], loc[1], loc[2], loc[3]);
+	this.fov.update(mo, loc[0], loc[1], loc[2], loc[3]);
+	this.paths.update(mo, loc[1], loc[0], loc[2], loc[3]);
+	this.data.setCell(mo, loc);
+    }
+
     @Override
     public void tickTimers(final DungeonBase dungeonBase) {
 	// Tick all object timers
@@ -1362,8 +1559,8 @@ public final class DungeonData extends DungeonDataBase {
 				mo.setWaitingOnTunnel(false);
 				saved.pushIntoAction(mo, y, x, floorFix);
 			    }
-			    if (GameObject.tunnelsFull(color)) {
-				mo.setWaitingOnTunnel(true);
+			    if (GameObject.tunnelsFull(color) && !mo.waitingOnTunnel()) {
+				this.promoteCell(dungeonBase, mo, y, x, floorFix, w).setWaitingOnTunnel(true);
 			    }
 			    mo.tickTimer();
 			}
@@ -1386,8 +1583,6 @@ public final class DungeonData extends DungeonDataBase {
     @Override
     public void undo(final DungeonBase dungeonBase) {
 	this.iue.undo();
-	this.data = this.iue.getImage();
-	this.setAllDirtyFlags();
 	this.clearVirtualGrid(dungeonBase);
     }
 
@@ -1398,48 +1593,40 @@ public final class DungeonData extends DungeonDataBase {
 	final var dirMove = DirectionResolver.unresolve(move);
 	final var pLocX = dungeonBase.getPlayerLocationX(pi);
 	final var pLocY = dungeonBase.getPlayerLocationY(pi);
-	try {
-	    final var there = this.getCell(dungeonBase, xLoc + dirMove[0], yLoc + dirMove[1], 0,
-		    Layer.STATUS.ordinal());
-	    final var ground = this.getCell(dungeonBase, xLoc + dirMove[0], yLoc + dirMove[1], 0,
-		    Layer.GROUND.ordinal());
-	    if (!there.isSolid()) {
-		if (DungeonBase.radialScan(xLoc, yLoc, 0, pLocX, pLocY)) {
-		    if (app.getMode() != StuffBag.STATUS_BATTLE) {
-			app.getGame().stopMovement();
-			if (monster.isFinalBoss()) {
-			    app.getBattle().doFinalBossBattle();
-			} else {
-			    app.getBattle().doBattle();
-			    this.postBattle(dungeonBase, monster, xLoc, yLoc, false);
-			}
-		    }
-		} else {
-		    // Move the monster
-		    this.setCell(dungeonBase, monster.getSavedObject(), xLoc, yLoc, 0, Layer.STATUS.ordinal());
-		    monster.setSavedObject(there);
-		    this.setCell(dungeonBase, monster, xLoc + dirMove[0], yLoc + dirMove[1], 0, Layer.STATUS.ordinal());
-		    // Does the ground have friction?
-		    if (!ground.hasFriction()) {
-			// No - move the monster again
-			this.updateMonsterPosition(dungeonBase, move, xLoc + dirMove[0], yLoc + dirMove[1], monster,
-				pi);
+	if (!this.isInBounds(dungeonBase, xLoc + dirMove[0], yLoc + dirMove[1], 0)) {
+	    // Monsters stop at the edge of the level
+	    return;
+	}
+	final var there = this.getCell(dungeonBase, xLoc + dirMove[0], yLoc + dirMove[1], 0, Layer.STATUS.ordinal());
+	final var ground = this.getCell(dungeonBase, xLoc + dirMove[0], yLoc + dirMove[1], 0, Layer.GROUND.ordinal());
+	if (!there.isSolid()) {
+	    if (DungeonBase.radialScan(xLoc, yLoc, 0, pLocX, pLocY)) {
+		if (app.getMode() != StuffBag.STATUS_BATTLE) {
+		    app.getGame().stopMovement();
+		    if (monster.isFinalBoss()) {
+			app.getBattle().doFinalBossBattle();
+		    } else {
+			app.getBattle().doBattle();
+			this.postBattle(dungeonBase, monster, xLoc, yLoc, false);
 		    }
 		}
+	    } else {
+		// Move the monster
+		this.setCell(dungeonBase, monster.getSavedObject(), xLoc, yLoc, 0, Layer.STATUS.ordinal());
+		monster.setSavedObject(there);
+		this.setCell(dungeonBase, monster, xLoc + dirMove[0], yLoc + dirMove[1], 0, Layer.STATUS.ordinal());
+		// Does the ground have friction?
+		if (!ground.hasFriction()) {
+		    // No - move the monster again
+		    this.updateMonsterPosition(dungeonBase, move, xLoc + dirMove[0], yLoc + dirMove[1], monster, pi);
+		}
 	    }
-	} catch (final ArrayIndexOutOfBoundsException aioob) {
-	    // Do nothing
 	}
     }
 
-    @Override
-    public void updateRedoHistory(final HistoryStatus whatWas) {
-	this.iue.updateRedoHistory(new DungeonDataStorage(this.data), whatWas);
-    }
-
     @Override
     public void updateUndoHistory(final HistoryStatus whatWas) {
-	this.iue.updateUndoHistory(new DungeonDataStorage(this.data), whatWas);
+	this.iue.updateUndoHistory(whatWas);
     }
 
     @Override
@@ -1458,34 +1645,22 @@ public final class DungeonData extends DungeonDataBase {
 		    } else {
 			fy = y;
 		    }
-		    var alreadyVisible = false;
-		    try {
-			alreadyVisible = this.visionData.getCell(fx, fy);
-		    } catch (final ArrayIndexOutOfBoundsException aioobe) {
-			// Ignore
+		    if (!this.isVisionInBounds(fx, fy, zp) || this.visionData.getCell(fx, fy, zp)) {
+			continue;
 		    }
-		    if (!alreadyVisible) {
-			if ((this.visionMode | VisionModes.LOS) == this.visionMode) {
-			    if (this.isSquareVisibleLOS(dungeonBase, x, y, xp, yp, zp)) {
-				try {
-				    this.visionData.setCell(true, fx, fy);
-				} catch (final ArrayIndexOutOfBoundsException aioobe) {
-				    // Ignore
-				}
-			    }
-			} else {
-			    try {
-				this.visionData.setCell(true, fx, fy);
-			    } catch (final ArrayIndexOutOfBoundsException aioobe) {
-				// Ignore
-			    }
-			}
+		    if ((this.visionMode | VisionModes.LOS) != this.visionMode
+			    || this.isSquareVisibleLOS(dungeonBase, xp, yp, x, y, zp)) {
+			this.visionData.setCell(true, fx, fy, zp);
 		    }
 		}
 	    }
 	}
     }
 
+    void writeCompact(final File file) throws IOException {
+	CompactLevelFormat.write(file, this.data, this.savedState);
+    }
+
     @Override
     public void writeData(final DungeonBase dungeonBase, final DataIOWriter writer) throws IOException {
 	int y, x, z, w;
@@ -6,12 +6,420 @@ All support is handled via the GitHub repository: https://github.com/retropipes/
  */
 package org.retropipes.inconnuclear.dungeon;
 
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import org.retropipes.inconnuclear.Inconnuclear;
 import org.retropipes.inconnuclear.dungeon.base.DungeonBase;
+import org.retropipes.inconnuclear.dungeon.base.DungeonCellStorage;
+import org.retropipes.inconnuclear.dungeon.gameobject.GameObject;
+import org.retropipes.inconnuclear.loader.image.gameobject.ObjectImageId;
+import org.retropipes.inconnuclear.locale.Layer;
+import org.retropipes.inconnuclear.utility.GameRandom;
+import org.retropipes.inconnuclear.utility.RandomGenerationRule;
 
 public final class DungeonGenerator {
-    /**
-     * @param dungeonBase
-     */
+    // Builds a range of the batch by halving it until each task holds one level
+    private static final class BatchTask extends RecursiveAction {
+	private static final long serialVersionUID = 1L;
+	// Fields
+	private final transient DungeonBase dungeonBase;
+	private final int[] sizes;
+	private final int floors;
+	private final long[] seeds;
+	private final GeneratedLevel[] results;
+	private final int from;
+	private final int to;
+
+	// Constructors
+	BatchTask(final DungeonBase base, final int[] levelSizes, final int levelFloors, final long[] levelSeeds,
+		final GeneratedLevel[] out, final int start, final int end) {
+	    this.dungeonBase = base;
+	    this.sizes = levelSizes;
+	    this.floors = levelFloors;
+	    this.seeds = levelSeeds;
+	    this.results = out;
+	    this.from = start;
+	    this.to = end;
+	}
+
+	@Override
+	protected void compute() {
+	    if (this.to - this.from == 1) {
+		final var size = this.sizes[this.from];
+		// Each task writes only its own slot, so no locking is needed
+		this.results[this.from] = DungeonGenerator.generate(this.dungeonBase, size, size, this.floors,
+			this.seeds[this.from]);
+		return;
+	    }
+	    final var mid = this.from + this.to >>> 1;
+	    ForkJoinTask.invokeAll(new BatchTask(this.dungeonBase, this.sizes, this.floors, this.seeds, this.results,
+		    this.from, mid),
+		    new BatchTask(this.dungeonBase, this.sizes, this.floors, this.seeds, this.results, mid, this.to));
+	}
+    }
+
+    // Cave shaping: initial wall density, smoothing passes, and the wall neighbor counts that make
+    // open cells into walls and keep walls standing
+    private static final int WALL_PERCENT = 45;
+    private static final int SMOOTHING_PASSES = 4;
+    private static final int WALL_BIRTH = 5;
+    private static final int WALL_SURVIVAL = 4;
+    // A cave must keep at least this share of the floor open, or it is carved again
+    private static final int MIN_OPEN_PERCENT = 35;
+    private static final int MAX_ATTEMPTS = 8;
+    private static final int PLACEMENT_TRIES = 64;
+    // Share of a floor's open cells offered a random optional object; each object's own rule decides whether
+    // it is placed
+    private static final int OPTIONAL_PERCENT = 10;
+    private static final byte OPEN = 0;
+    private static final byte SOLID = 1;
+
+    // Returns the open cell farthest from start by walking distance, or -1 if start is not open
+    private static int farthestFrom(final byte[] grid, final int rows, final int cols, final int start,
+	    final int[] queue) {
+	final var seen = new boolean[grid.length];
+	var head = 0;
+	var tail = 0;
+	queue[tail++] = start;
+	seen[start] = true;
+	var last = -1;
+	while (head < tail) {
+	    final var cell = queue[head++];
+	    last = cell;
+	    final var row = cell / cols;
+	    final var col = cell % cols;
+	    if (row > 0 && !seen[cell - cols] && grid[cell - cols] == DungeonGenerator.OPEN) {
+		seen[cell - cols] = true;
+		queue[tail++] = cell - cols;
+	    }
+	    if (row < rows - 1 && !seen[cell + cols] && grid[cell + cols] == DungeonGenerator.OPEN) {
+		seen[cell + cols] = true;
+		queue[tail++] = cell + cols;
+	    }
+	    if (col > 0 && !seen[cell - 1] && grid[cell - 1] == DungeonGenerator.OPEN) {
+		seen[cell - 1] = true;
+		queue[tail++] = cell - 1;
+	    }
+	    if (col < cols - 1 && !seen[cell + 1] && grid[cell + 1] == DungeonGenerator.OPEN) {
+		seen[cell + 1] = true;
+		queue[tail++] = cell + 1;
+	    }
+	}
+	return last;
+    }
+
     public static void fillRandomly(final DungeonBase dungeonBase) {
+	DungeonGenerator.fillRandomly(dungeonBase, GameRandom.current().nextLong(0, Long.MAX_VALUE));
+    }
+
+    // The same seed and level size always give the same level
+    public static void fillRandomly(final DungeonBase dungeonBase, final long seed) {
+	dungeonBase.replaceActiveLevel(DungeonGenerator.generate(dungeonBase, dungeonBase.getRows(),
+		dungeonBase.getColumns(), dungeonBase.getFloors(), seed).getCells());
+    }
+
+    static GeneratedLevel generate(final DungeonBase dungeonBase, final int rows, final int cols, final int floors,
+	    final long seed) {
+	final var random = new SplittableRandom(seed);
+	final var layers = Layer.values().length;
+	final var cells = DungeonCellStorage.create(cols, rows, floors, layers);
+	final var floorSize = rows * cols;
+	final var ground = GameObject.shared(ObjectImageId.GROUND);
+	final var empty = GameObject.shared(ObjectImageId.EMPTY);
+	final var wall = GameObject.shared(ObjectImageId.WALL);
+	final var status = Layer.STATUS.ordinal();
+	// Whole layers are single runs in storage order
+	for (var w = 0; w < layers; w++) {
+	    if (w != status) {
+		cells.fillRun(w == Layer.GROUND.ordinal() ? ground : empty, w * floors * floorSize, floors * floorSize);
+	    }
+	}
+	final var required = DungeonGenerator.generatedObjects(dungeonBase, true);
+	final var optional = DungeonGenerator.generatedObjects(dungeonBase, false);
+	final var grid = new byte[floorSize];
+	final var scratch = new byte[floorSize];
+	final var queue = new int[floorSize];
+	var startCell = -1;
+	for (var z = 0; z < floors; z++) {
+	    DungeonGenerator.layOut(grid, scratch, queue, rows, cols, random);
+	    final var base = (status * floors + z) * floorSize;
+	    // Rows are contiguous too, so write each stretch of wall or floor as one run
+	    var runStart = 0;
+	    for (var i = 1; i <= floorSize; i++) {
+		if (i == floorSize || grid[i] != grid[runStart]) {
+		    cells.fillRun(grid[runStart] == DungeonGenerator.SOLID ? wall : empty, base + runStart,
+			    i - runStart);
+		    runStart = i;
+		}
+	    }
+	    final var first = DungeonGenerator.firstOpen(grid);
+	    if (first < 0) {
+		continue;
+	    }
+	    // Every open cell is connected, so the far end of the cave is reachable from any start
+	    final var exit = DungeonGenerator.farthestFrom(grid, rows, cols, first, queue);
+	    cells.setCell(GameObject.shared(ObjectImageId.STAIRS_DOWN), exit % cols, exit / cols, z, status);
+	    grid[exit] = DungeonGenerator.SOLID;
+	    DungeonGenerator.placeRequired(dungeonBase, cells, grid, required, rows, cols, z, random);
+	    DungeonGenerator.placeOptional(dungeonBase, cells, grid, optional, queue, cols, z, random);
+	    if (z == 0) {
+		startCell = DungeonGenerator.pickOpen(grid, queue, random);
+	    }
+	}
+	if (startCell < 0) {
+	    return new GeneratedLevel(cells, 0, 0, 0);
+	}
+	return new GeneratedLevel(cells, startCell / cols, startCell % cols, 0);
+    }
+
+    // Builds one level per entry of sizes, square and of the given floor count, in parallel; the same
+    // seed always gives the same levels, however many threads the pool has
+    public static GeneratedLevel[] generateBatch(final DungeonBase dungeonBase, final int[] sizes, final int floors,
+	    final long seed) {
+	final var results = new GeneratedLevel[sizes.length];
+	if (sizes.length == 0) {
+	    return results;
+	}
+	// Seeds are drawn up front, in order, so no level depends on when another one ran
+	final var seeds = new long[sizes.length];
+	final var source = new SplittableRandom(seed);
+	for (var i = 0; i < seeds.length; i++) {
+	    seeds[i] = source.nextLong();
+	}
+	ForkJoinPool.commonPool()
+		.invoke(new BatchTask(dungeonBase, sizes, floors, seeds, results, 0, sizes.length));
+	return results;
+    }
+
+    // The zone progression from firstZone on, each level sized for its zone
+    public static GeneratedLevel[] generateZones(final DungeonBase dungeonBase, final int firstZone,
+	    final int count, final long seed) {
+	final var sizes = new int[count];
+	for (var i = 0; i < count; i++) {
+	    sizes[i] = Inconnuclear.getDungeonLevelSize(firstZone + i);
+	}
+	return DungeonGenerator.generateBatch(dungeonBase, sizes, 1, seed);
+    }
+
+    // Objects the generator may place, split by whether their rule requires them; solid objects are left out,
+    // since placing one could cut the cave in two, as are the fill, the player, creatures and stairs
+    private static ArrayList<GameObject> generatedObjects(final DungeonBase dungeonBase, final boolean required) {
+	final var objects = new ArrayList<GameObject>();
+	final var layers = Layer.values().length;
+	for (final ObjectImageId id : ObjectImageId.values()) {
+	    final var obj = GameObject.shared(id);
+	    final var layer = obj.getLayer();
+	    if (layer < 0 || layer >= layers || obj.isSolid() || obj.isPlayer() || id == ObjectImageId._CREATURE
+		    || id == ObjectImageId.EMPTY || id == ObjectImageId.GROUND || id == ObjectImageId.STAIRS_DOWN
+		    || id == ObjectImageId.STAIRS_UP) {
+		continue;
+	    }
+	    if (obj.isRequired(dungeonBase) == required) {
+		objects.add(obj);
+	    }
+	}
+	return objects;
+    }
+
+    private static int firstOpen(final byte[] grid) {
+	for (var i = 0; i < grid.length; i++) {
+	    if (grid[i] == DungeonGenerator.OPEN) {
+		return i;
+	    }
+	}
+	return -1;
+    }
+
+    // Marks every open cell outside the largest open region as solid; returns that region's size
+    private static int keepLargestRegion(final byte[] grid, final int rows, final int cols, final int[] queue) {
+	final var region = new int[grid.length];
+	var regionCount = 0;
+	var best = 0;
+	var bestSize = 0;
+	for (var start = 0; start < grid.length; start++) {
+	    if (grid[start] != DungeonGenerator.OPEN || region[start] != 0) {
+		continue;
+	    }
+	    regionCount++;
+	    var head = 0;
+	    var tail = 0;
+	    queue[tail++] = start;
+	    region[start] = regionCount;
+	    while (head < tail) {
+		final var cell = queue[head++];
+		final var row = cell / cols;
+		final var col = cell % cols;
+		if (row > 0 && grid[cell - cols] == DungeonGenerator.OPEN && region[cell - cols] == 0) {
+		    region[cell - cols] = regionCount;
+		    queue[tail++] = cell - cols;
+		}
+		if (row < rows - 1 && grid[cell + cols] == DungeonGenerator.OPEN && region[cell + cols] == 0) {
+		    region[cell + cols] = regionCount;
+		    queue[tail++] = cell + cols;
+		}
+		if (col > 0 && grid[cell - 1] == DungeonGenerator.OPEN && region[cell - 1] == 0) {
+		    region[cell - 1] = regionCount;
+		    queue[tail++] = cell - 1;
+		}
+		if (col < cols - 1 && grid[cell + 1] == DungeonGenerator.OPEN && region[cell + 1] == 0) {
+		    region[cell + 1] = regionCount;
+		    queue[tail++] = cell + 1;
+		}
+	    }
+	    if (tail > bestSize) {
+		bestSize = tail;
+		best = regionCount;
+	    }
+	}
+	for (var i = 0; i < grid.length; i++) {
+	    if (grid[i] == DungeonGenerator.OPEN && region[i] != best) {
+		grid[i] = DungeonGenerator.SOLID;
+	    }
+	}
+	return bestSize;
+    }
+
+    // Cellular automaton cave with a solid border, reduced to its largest connected region
+    private static void layOut(final byte[] grid, final byte[] scratch, final int[] queue, final int rows,
+	    final int cols, final SplittableRandom random) {
+	final var minOpen = grid.length * DungeonGenerator.MIN_OPEN_PERCENT / 100;
+	for (var attempt = 0; attempt < DungeonGenerator.MAX_ATTEMPTS; attempt++) {
+	    for (var row = 0; row < rows; row++) {
+		for (var col = 0; col < cols; col++) {
+		    final var edge = row == 0 || col == 0 || row == rows - 1 || col == cols - 1;
+		    grid[row * cols + col] = edge || random.nextInt(100) < DungeonGenerator.WALL_PERCENT
+			    ? DungeonGenerator.SOLID
+			    : DungeonGenerator.OPEN;
+		}
+	    }
+	    for (var pass = 0; pass < DungeonGenerator.SMOOTHING_PASSES; pass++) {
+		DungeonGenerator.smooth(grid, scratch, rows, cols);
+		System.arraycopy(scratch, 0, grid, 0, grid.length);
+	    }
+	    if (DungeonGenerator.keepLargestRegion(grid, rows, cols, queue) >= minOpen) {
+		return;
+	    }
+	}
+	// Caves this cramped are rare; fall back to an open room so there is always a way through
+	for (var row = 0; row < rows; row++) {
+	    for (var col = 0; col < cols; col++) {
+		final var edge = row == 0 || col == 0 || row == rows - 1 || col == cols - 1;
+		grid[row * cols + col] = edge ? DungeonGenerator.SOLID : DungeonGenerator.OPEN;
+	    }
+	}
+    }
+
+    // Picks uniformly from the cells still open, or returns -1 if there are none
+    private static int pickOpen(final byte[] grid, final int[] open, final SplittableRandom random) {
+	var count = 0;
+	for (var i = 0; i < grid.length; i++) {
+	    if (grid[i] == DungeonGenerator.OPEN) {
+		open[count++] = i;
+	    }
+	}
+	if (count == 0) {
+	    return -1;
+	}
+	return open[random.nextInt(count)];
+    }
+
+    // Puts rule's object on cell if it is open and the rule accepts it there
+    private static boolean placeAt(final DungeonBase dungeonBase, final DungeonCellStorage cells, final byte[] grid,
+	    final GameObject rule, final int cols, final int floor, final int cell, final SplittableRandom random) {
+	final var row = cell / cols;
+	final var col = cell % cols;
+	final var layer = rule.getLayer();
+	if (grid[cell] != DungeonGenerator.OPEN
+		|| !rule.shouldGenerateObject(dungeonBase, row, col, floor, layer, random)) {
+	    return false;
+	}
+	cells.setCell(GameObject.shared(rule.getId()), col, row, floor, layer);
+	grid[cell] = DungeonGenerator.SOLID;
+	return true;
+    }
+
+    // Offers OPTIONAL_PERCENT of the open cells a random optional object, placed only where its rule accepts it
+    private static void placeOptional(final DungeonBase dungeonBase, final DungeonCellStorage cells,
+	    final byte[] grid, final ArrayList<GameObject> rules, final int[] open, final int cols, final int floor,
+	    final SplittableRandom random) {
+	if (rules.isEmpty()) {
+	    return;
+	}
+	var count = 0;
+	for (var i = 0; i < grid.length; i++) {
+	    if (grid[i] == DungeonGenerator.OPEN) {
+		open[count++] = i;
+	    }
+	}
+	final var offers = count * DungeonGenerator.OPTIONAL_PERCENT / 100;
+	for (var o = 0; o < offers; o++) {
+	    final var rule = rules.get(random.nextInt(rules.size()));
+	    DungeonGenerator.placeAt(dungeonBase, cells, grid, rule, cols, floor, open[random.nextInt(count)], random);
+	}
+    }
+
+    // Places each required object between its minimum and maximum quantity, on open cells the rule accepts;
+    // fails when fewer than the minimum fit
+    private static void placeRequired(final DungeonBase dungeonBase, final DungeonCellStorage cells,
+	    final byte[] grid, final ArrayList<GameObject> rules, final int rows, final int cols, final int floor,
+	    final SplittableRandom random) {
+	for (final GameObject rule : rules) {
+	    var min = rule.getMinimumRequiredQuantity(dungeonBase);
+	    var max = rule.getMaximumRequiredQuantity(dungeonBase);
+	    if (min == RandomGenerationRule.NO_LIMIT) {
+		min = 1;
+	    }
+	    if (max == RandomGenerationRule.NO_LIMIT || max < min) {
+		max = min;
+	    }
+	    final var count = random.nextInt(min, max + 1);
+	    for (var placed = 0; placed < count; placed++) {
+		// Random probes find room quickly while the floor is roomy
+		var done = false;
+		for (var tries = 0; tries < DungeonGenerator.PLACEMENT_TRIES && !done; tries++) {
+		    done = DungeonGenerator.placeAt(dungeonBase, cells, grid, rule, cols, floor,
+			    random.nextInt(grid.length), random);
+		}
+		// On a crowded floor, try every remaining cell, starting somewhere random
+		final var start = random.nextInt(grid.length);
+		for (var i = 0; i < grid.length && !done; i++) {
+		    done = DungeonGenerator.placeAt(dungeonBase, cells, grid, rule, cols, floor,
+			    (start + i) % grid.length, random);
+		}
+		if (!done) {
+		    if (placed < min) {
+			throw new IllegalStateException(rule.getId() + " needs " + min + " on floor " + floor
+				+ " but only " + placed + " fit");
+		    }
+		    break;
+		}
+	    }
+	}
+    }
+
+    // One automaton step from grid into next
+    private static void smooth(final byte[] grid, final byte[] next, final int rows, final int cols) {
+	for (var row = 0; row < rows; row++) {
+	    for (var col = 0; col < cols; col++) {
+		final var cell = row * cols + col;
+		if (row == 0 || col == 0 || row == rows - 1 || col == cols - 1) {
+		    next[cell] = DungeonGenerator.SOLID;
+		    continue;
+		}
+		final var walls = grid[cell - cols - 1] + grid[cell - cols] + grid[cell - cols + 1] + grid[cell - 1]
+			+ grid[cell + 1] + grid[cell + cols - 1] + grid[cell + cols] + grid[cell + cols + 1];
+		final var needed = grid[cell] == DungeonGenerator.SOLID ? DungeonGenerator.WALL_SURVIVAL
+			: DungeonGenerator.WALL_BIRTH;
+		next[cell] = walls >= needed ? DungeonGenerator.SOLID : DungeonGenerator.OPEN;
+	    }
+	}
+    }
+
+    private DungeonGenerator() {
+	// Do nothing
     }
 }
@@ -0,0 +1,256 @@
+/*  Inconnuclear: A Dungeon-Diving RPG
+Copyleft (C) 2024-present RetroPipes
+Licensed under MIT. See the LICENSE file for details.
+
+All support is handled via the GitHub repository: https://github.com/retropipes/inconnuclear
+ */
+package org.retropipes.inconnuclear.dungeon;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.retropipes.inconnuclear.Inconnuclear;
+import org.retropipes.inconnuclear.locale.Layer;
+import org.retropipes.inconnuclear.locale.Strings;
+import org.retropipes.inconnuclear.locale.Untranslated;
+import org.retropipes.inconnuclear.settings.Settings;
+
+final class DungeonLevelCache {
+    private static final long KIB = 1024L;
+    // Live cells plus the saved state copy
+    private static final long BYTES_PER_CELL = 16L;
+    private static final long WRITER_IDLE_SECONDS = 30L;
+
+    private static <T> T await(final Future<T> task) throws IOException {
+	try {
+	    return task.get();
+	} catch (final InterruptedException ie) {
+	    Thread.currentThread().interrupt();
+	    throw new IOException(ie);
+	} catch (final ExecutionException ee) {
+	    if (ee.getCause() instanceof final IOException io) {
+		throw io;
+	    }
+	    throw new IOException(ee.getCause());
+	}
+    }
+
+    private static long sizeOf(final DungeonData data) {
+	return (long) data.getRows() * data.getColumns() * data.getFloors() * Layer.values().length
+		* DungeonLevelCache.BYTES_PER_CELL;
+    }
+
+    // Fields
+    private final Dungeon dungeon;
+    private final int eras;
+    private final LinkedHashMap<Long, DungeonData> levels;
+    private final HashMap<Long, Integer> queued;
+    private final HashSet<Long> unsaved;
+    private final HashMap<Long, FutureTask<DungeonData>> prefetched;
+    private final ThreadPoolExecutor writer;
+    private long bytes;
+    private long hits;
+    private long misses;
+    private long prefetchHits;
+    private long evictions;
+    private long writes;
+
+    // Constructors
+    DungeonLevelCache(final Dungeon owner, final int eraCount) {
+	this.dungeon = owner;
+	this.eras = eraCount;
+	this.levels = new LinkedHashMap<>(16, 0.75f, true);
+	this.queued = new HashMap<>();
+	this.unsaved = new HashSet<>();
+	this.prefetched = new HashMap<>();
+	// One thread keeps reads and writes of the same level file in order
+	this.writer = new ThreadPoolExecutor(1, 1, DungeonLevelCache.WRITER_IDLE_SECONDS, TimeUnit.SECONDS,
+		new LinkedBlockingQueue<>(), task -> {
+		    final var thread = new Thread(task, Strings.untranslated(Untranslated.LEVEL_WRITER_NAME));
+		    thread.setDaemon(true);
+		    thread.setPriority(Thread.MIN_PRIORITY);
+		    return thread;
+		});
+	this.writer.allowCoreThreadTimeOut(true);
+	this.bytes = 0L;
+    }
+
+    void clear() throws IOException {
+	this.flush();
+	synchronized (this) {
+	    this.prefetched.clear();
+	    this.levels.clear();
+	    this.bytes = 0L;
+	}
+    }
+
+    DungeonData fetch(final int level, final int era) throws IOException {
+	final var key = this.keyOf(level, era);
+	synchronized (this) {
+	    final var cached = this.levels.get(key);
+	    if (cached != null) {
+		this.hits++;
+		return cached;
+	    }
+	    this.misses++;
+	}
+	final var pending = this.takePrefetched(key);
+	if (pending != null) {
+	    final var ready = DungeonLevelCache.await(pending);
+	    if (ready != null) {
+		synchronized (this) {
+		    this.prefetchHits++;
+		    this.insert(key, ready);
+		}
+		return ready;
+	    }
+	}
+	if (this.isQueued(key)) {
+	    // Let the pending write land before reading the file back
+	    this.flush();
+	}
+	final var data = this.dungeon.readLevel(level, era);
+	synchronized (this) {
+	    this.insert(key, data);
+	}
+	return data;
+    }
+
+    // Waits for queued writes, then retries any that failed on this thread
+    void flush() throws IOException {
+	DungeonLevelCache.await(this.writer.submit(() -> {
+	    // Runs after everything queued before it
+	}));
+	final var retries = new HashMap<Long, DungeonData>();
+	synchronized (this) {
+	    for (final Long key : this.unsaved) {
+		final var data = this.levels.get(key);
+		retries.put(key, data == null ? null : data.snapshot());
+	    }
+	}
+	// The disk is written without the monitor, so other threads can still fetch and store meanwhile
+	for (final var retry : retries.entrySet()) {
+	    final var key = retry.getKey();
+	    if (retry.getValue() != null) {
+		this.dungeon.writeLevel(retry.getValue(), (int) (key / this.eras), (int) (key % this.eras));
+	    }
+	    synchronized (this) {
+		if (retry.getValue() != null) {
+		    this.writes++;
+		}
+		this.unsaved.remove(key);
+	    }
+	}
+    }
+
+    synchronized long getEvictions() {
+	return this.evictions;
+    }
+
+    synchronized long getHits() {
+	return this.hits;
+    }
+
+    synchronized long getMisses() {
+	return this.misses;
+    }
+
+    synchronized long getPrefetchHits() {
+	return this.prefetchHits;
+    }
+
+    synchronized long getWrites() {
+	return this.writes;
+    }
+
+    private void insert(final Long key, final DungeonData data) {
+	final var previous = this.levels.put(key, data);
+	if (previous != null) {
+	    this.bytes -= DungeonLevelCache.sizeOf(previous);
+	}
+	this.bytes += DungeonLevelCache.sizeOf(data);
+	this.trim();
+    }
+
+    private synchronized boolean isQueued(final Long key) {
+	return this.queued.containsKey(key);
+    }
+
+    // A long, since level * eras can pass Integer.MAX_VALUE
+    private Long keyOf(final int level, final int era) {
+	return Long.valueOf((long) level * this.eras + era);
+    }
+
+    // Decodes a level on the I/O thread, behind any writes already queued for it, so a later fetch finds it ready
+    void prefetch(final int level, final int era) {
+	final var key = this.keyOf(level, era);
+	final var task = new FutureTask<>(() -> this.dungeon.readLevelAhead(level, era));
+	synchronized (this) {
+	    if (this.levels.containsKey(key) || this.prefetched.containsKey(key)) {
+		return;
+	    }
+	    this.prefetched.put(key, task);
+	}
+	this.writer.execute(task);
+    }
+
+    void store(final int level, final int era, final DungeonData data) {
+	final var key = this.keyOf(level, era);
+	final var snapshot = data.snapshot();
+	synchronized (this) {
+	    // Anything prefetched for this level is now stale
+	    this.prefetched.remove(key);
+	    this.queued.merge(key, 1, Integer::sum);
+	    this.insert(key, data);
+	}
+	this.writer.execute(() -> this.write(key, level, era, snapshot));
+    }
+
+    private synchronized FutureTask<DungeonData> takePrefetched(final Long key) {
+	return this.prefetched.remove(key);
+    }
+
+    private void trim() {
+	final var budget = Settings.getLevelCacheBudget() * DungeonLevelCache.KIB;
+	final var entries = this.levels.entrySet().iterator();
+	while (this.bytes > budget && entries.hasNext()) {
+	    // Access order puts the least recently used level first
+	    final var entry = entries.next();
+	    if (this.queued.containsKey(entry.getKey()) || this.unsaved.contains(entry.getKey())) {
+		// Not on disk yet, so it has to stay
+		continue;
+	    }
+	    entries.remove();
+	    this.bytes -= DungeonLevelCache.sizeOf(entry.getValue());
+	    this.evictions++;
+	}
+    }
+
+    private void write(final Long key, final int level, final int era, final DungeonData snapshot) {
+	var saved = false;
+	try {
+	    this.dungeon.writeLevel(snapshot, level, era);
+	    saved = true;
+	} catch (final IOException io) {
+	    Inconnuclear.logWarningDirectly(io);
+	}
+	synchronized (this) {
+	    if (saved) {
+		this.writes++;
+		this.unsaved.remove(key);
+	    } else {
+		this.unsaved.add(key);
+	    }
+	    this.queued.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+	    this.trim();
+	}
+    }
+}
@@ -0,0 +1,172 @@
+/*  Inconnuclear: A Dungeon-Diving RPG
+Copyleft (C) 2024-present RetroPipes
+Licensed under MIT. See the LICENSE file for details.
+
+All support is handled via the GitHub repository: https://github.com/retropipes/inconnuclear
+ */
+package org.retropipes.inconnuclear.dungeon;
+
+import java.util.BitSet;
+
+import org.retropipes.inconnuclear.dungeon.base.DungeonCellStorage;
+import org.retropipes.inconnuclear.dungeon.gameobject.GameObject;
+import org.retropipes.inconnuclear.locale.Layer;
+
+final class FieldOfView {
+    // Row and column multipliers that map octant 0 onto each of the 8 octants
+    private static final int[][] OCTANTS = { { 1, 0, 0, 1 }, { 0, 1, 1, 0 }, { 0, -1, 1, 0 }, { -1, 0, 0, 1 },
+	    { -1, 0, 0, -1 }, { 0, -1, -1, 0 }, { 0, 1, -1, 0 }, { 1, 0, 0, -1 } };
+
+    // Fields
+    private final int columns;
+    private final int rows;
+    private final BitSet[] blocking;
+    private final BitSet visible;
+    private final int radius;
+    private final int span;
+    private int originRow, originCol, originFloor;
+    private boolean wrapRows, wrapColumns;
+    private boolean valid;
+
+    // Constructors
+    FieldOfView(final DungeonCellStorage storage) {
+	final var shape = storage.getShape();
+	this.columns = shape[0];
+	this.rows = shape[1];
+	final var floors = shape[2];
+	this.blocking = new BitSet[floors];
+	final var layer = Layer.STATUS.ordinal();
+	for (var z = 0; z < floors; z++) {
+	    this.blocking[z] = new BitSet(this.rows * this.columns);
+	    for (var y = 0; y < this.rows; y++) {
+		for (var x = 0; x < this.columns; x++) {
+		    final var obj = storage.getCell(x, y, z, layer);
+		    if (obj != null && obj.isSightBlocking()) {
+			this.blocking[z].set(y * this.columns + x);
+		    }
+		}
+	    }
+	}
+	// Reach one cell past the far edge, so the void around the dungeon is seen but blocks
+	this.radius = Math.max(this.rows, this.columns) + 1;
+	this.span = 2 * this.radius + 1;
+	this.visible = new BitSet(this.span * this.span);
+	this.valid = false;
+    }
+
+    private void castLight(final int depth, final double startSlope, final double endSlope, final int[] octant) {
+	if (startSlope < endSlope) {
+	    return;
+	}
+	var start = startSlope;
+	var nextStart = startSlope;
+	var blocked = false;
+	for (var j = depth; j <= this.radius && !blocked; j++) {
+	    final var dy = -j;
+	    for (var dx = -j; dx <= 0; dx++) {
+		final var leftSlope = (dx - 0.5) / (dy + 0.5);
+		final var rightSlope = (dx + 0.5) / (dy - 0.5);
+		if (start < rightSlope) {
+		    continue;
+		}
+		if (endSlope > leftSlope) {
+		    break;
+		}
+		final var dr = dx * octant[0] + dy * octant[1];
+		final var dc = dx * octant[2] + dy * octant[3];
+		this.visible.set(this.offsetIndex(dr, dc));
+		final var opaque = this.isBlocking(this.originRow + dr, this.originCol + dc);
+		if (blocked) {
+		    if (opaque) {
+			nextStart = rightSlope;
+		    } else {
+			blocked = false;
+			start = nextStart;
+		    }
+		} else if (opaque && j < this.radius) {
+		    blocked = true;
+		    this.castLight(j + 1, start, leftSlope, octant);
+		    nextStart = rightSlope;
+		}
+	    }
+	}
+    }
+
+    private void compute(final int row, final int col, final int floor, final boolean wrapR, final boolean wrapC) {
+	if (this.valid && this.originRow == row && this.originCol == col && this.originFloor == floor
+		&& this.wrapRows == wrapR && this.wrapColumns == wrapC) {
+	    return;
+	}
+	this.originRow = row;
+	this.originCol = col;
+	this.originFloor = floor;
+	this.wrapRows = wrapR;
+	this.wrapColumns = wrapC;
+	this.visible.clear();
+	this.visible.set(this.offsetIndex(0, 0));
+	if (floor >= 0 && floor < this.blocking.length) {
+	    for (final int[] octant : FieldOfView.OCTANTS) {
+		this.castLight(1, 1.0, 0.0, octant);
+	    }
+	}
+	this.valid = true;
+    }
+
+    private boolean isBlocking(final int row, final int col) {
+	var r = row;
+	var c = col;
+	if (this.wrapRows) {
+	    r = Math.floorMod(r, this.rows);
+	}
+	if (this.wrapColumns) {
+	    c = Math.floorMod(c, this.columns);
+	}
+	if (r < 0 || r >= this.rows || c < 0 || c >= this.columns || this.originFloor < 0
+		|| this.originFloor >= this.blocking.length) {
+	    // Void blocks LOS
+	    return true;
+	}
+	return this.blocking[this.originFloor].get(r * this.columns + c);
+    }
+
+    // Only meaningful after compute; answers for the origin given there
+    private boolean isVisible(final int row, final int col) {
+	var dr = row - this.originRow;
+	var dc = col - this.originCol;
+	if (this.wrapRows && Math.abs(dr) > this.radius) {
+	    dr = Math.floorMod(dr + this.radius, this.rows) - this.radius;
+	}
+	if (this.wrapColumns && Math.abs(dc) > this.radius) {
+	    dc = Math.floorMod(dc + this.radius, this.columns) - this.radius;
+	}
+	if (Math.abs(dr) > this.radius || Math.abs(dc) > this.radius) {
+	    return false;
+	}
+	return this.visible.get(this.offsetIndex(dr, dc));
+    }
+
+    // The renderer, animation and movement threads all ask, so the cast and the answer happen under one lock
+    synchronized boolean isVisibleFrom(final int originRow, final int originCol, final int floor, final boolean wrapR,
+	    final boolean wrapC, final int row, final int col) {
+	this.compute(originRow, originCol, floor, wrapR, wrapC);
+	return this.isVisible(row, col);
+    }
+
+    private int offsetIndex(final int dr, final int dc) {
+	return (dr + this.radius) * this.span + dc + this.radius;
+    }
+
+    synchronized void update(final GameObject newObj, final int col, final int row, final int floor, final int layer) {
+	if (layer != Layer.STATUS.ordinal()) {
+	    return;
+	}
+	final var index = row * this.columns + col;
+	final var opaque = newObj != null && newObj.isSightBlocking();
+	if (this.blocking[floor].get(index) != opaque) {
+	    this.blocking[floor].set(index, opaque);
+	    if (floor == this.originFloor) {
+		this.valid = false;
+	    }
+	}
+    }
+}
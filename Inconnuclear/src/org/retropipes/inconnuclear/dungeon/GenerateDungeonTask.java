@@ -10,23 +10,26 @@ import javax.swing.JProgressBar;
 
 import org.retropipes.diane.gui.MainContent;
 import org.retropipes.diane.gui.MainWindow;
-import org.retropipes.diane.random.RandomRange;
 import org.retropipes.inconnuclear.Inconnuclear;
 import org.retropipes.inconnuclear.creature.party.PartyManager;
 import org.retropipes.inconnuclear.dungeon.manager.DungeonManager;
 import org.retropipes.inconnuclear.locale.DialogString;
-import org.retropipes.inconnuclear.locale.Layer;
 import org.retropipes.inconnuclear.locale.Strings;
+import org.retropipes.inconnuclear.utility.GameRandom;
 
 public class GenerateDungeonTask extends Thread {
     // Fields
     private final MainWindow mainWindow;
     private final MainContent loadContent;
     private final boolean scratch;
+    private final long seed;
 
     // Constructors
     public GenerateDungeonTask(final boolean startFromScratch) {
 	this.scratch = startFromScratch;
+	// Drawn on the creating thread, so a seeded game generates the same levels; a new game's first level
+	// comes from the new dungeon's own seed instead
+	this.seed = GameRandom.current().nextLong(0, Long.MAX_VALUE);
 	this.mainWindow = MainWindow.mainWindow();
 	final var loadBar = new JProgressBar();
 	loadBar.setIndeterminate(true);
@@ -40,7 +43,6 @@ public class GenerateDungeonTask extends Thread {
 	    this.mainWindow.setAndSave(this.loadContent, Strings.dialog(DialogString.GENERATING));
 	    final var app = Inconnuclear.getStuffBag();
 	    final var zoneID = PartyManager.getParty().getZone();
-	    final var dungeonSize = Inconnuclear.getDungeonLevelSize(zoneID);
 	    var gameDungeon = app.getDungeonManager().getDungeonBase();
 	    if (!this.scratch) {
 		app.getGame().disableEvents();
@@ -48,18 +50,10 @@ public class GenerateDungeonTask extends Thread {
 		gameDungeon = DungeonManager.createDungeonBase();
 		app.getDungeonManager().setDungeonBase(gameDungeon);
 	    }
-	    gameDungeon.addFixedSizeLevel(dungeonSize, dungeonSize, 1);
-	    DungeonGenerator.fillRandomly(gameDungeon);
-	    final var rR = new RandomRange(0, dungeonSize - 1);
-	    final var rC = new RandomRange(0, dungeonSize - 1);
+	    final var levelSeed = this.scratch ? gameDungeon.getGameSeed() : this.seed;
+	    final var level = DungeonGenerator.generateZones(gameDungeon, zoneID, 1, levelSeed)[0];
+	    gameDungeon.addGeneratedLevels(new GeneratedLevel[] { level });
 	    if (this.scratch) {
-		int startR, startC;
-		do {
-		    startR = rR.generate();
-		    startC = rC.generate();
-		} while (gameDungeon.getCell(startR, startC, 0, Layer.STATUS.ordinal()).isSolid());
-		gameDungeon.setStartRow(startR, 0);
-		gameDungeon.setStartColumn(startC, 0);
 		app.getDungeonManager().setLoaded(true);
 		final var playerExists = gameDungeon.doesPlayerExist(0);
 		if (playerExists) {
@@ -67,13 +61,9 @@ public class GenerateDungeonTask extends Thread {
 		    app.getGame().resetViewingWindow();
 		}
 	    } else {
-		int startR, startC;
-		do {
-		    startR = rR.generate();
-		    startC = rC.generate();
-		} while (gameDungeon.getCell(startR, startC, 0, Layer.STATUS.ordinal()).isSolid());
-		gameDungeon.setPlayerLocationX(startR, 0);
-		gameDungeon.setPlayerLocationY(startC, 0);
+		gameDungeon.setPlayerLocationX(0, level.getStartRow());
+		gameDungeon.setPlayerLocationY(0, level.getStartColumn());
+		gameDungeon.setPlayerLocationZ(0, level.getStartFloor());
 		PartyManager.getParty().offsetZone(1);
 	    }
 	    gameDungeon.save();
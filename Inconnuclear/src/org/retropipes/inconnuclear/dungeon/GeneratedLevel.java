@@ -0,0 +1,41 @@
+/*  Inconnuclear: A Dungeon-Diving RPG
+Copyleft (C) 2024-present RetroPipes
+Licensed under MIT. See the LICENSE file for details.
+
+All support is handled via the GitHub repository: https://github.com/retropipes/inconnuclear
+ */
+package org.retropipes.inconnuclear.dungeon;
+
+import org.retropipes.inconnuclear.dungeon.base.DungeonCellStorage;
+
+public final class GeneratedLevel {
+    // Fields
+    private final DungeonCellStorage cells;
+    private final int startRow;
+    private final int startColumn;
+    private final int startFloor;
+
+    // Constructors
+    GeneratedLevel(final DungeonCellStorage levelCells, final int row, final int col, final int floor) {
+	this.cells = levelCells;
+	this.startRow = row;
+	this.startColumn = col;
+	this.startFloor = floor;
+    }
+
+    DungeonCellStorage getCells() {
+	return this.cells;
+    }
+
+    public int getStartColumn() {
+	return this.startColumn;
+    }
+
+    public int getStartFloor() {
+	return this.startFloor;
+    }
+
+    public int getStartRow() {
+	return this.startRow;
+    }
+}
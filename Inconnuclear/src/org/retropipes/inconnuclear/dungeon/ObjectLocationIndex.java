@@ -0,0 +1,173 @@
+/*  Inconnuclear: A Dungeon-Diving RPG
+Copyleft (C) 2024-present RetroPipes
+Licensed under MIT. See the LICENSE file for details.
+
+All support is handled via the GitHub repository: https://github.com/retropipes/inconnuclear
+ */
+package org.retropipes.inconnuclear.dungeon;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.function.Function;
+
+import org.retropipes.inconnuclear.dungeon.base.DungeonCellStorage;
+import org.retropipes.inconnuclear.dungeon.gameobject.GameObject;
+import org.retropipes.inconnuclear.loader.image.gameobject.ObjectImageId;
+
+public final class ObjectLocationIndex {
+    private static EnumMap<ObjectImageId, BitSet> scan(final DungeonCellStorage storage,
+	    final Function<GameObject, ObjectImageId> keyOf) {
+	final var shape = storage.getShape();
+	final var found = new EnumMap<ObjectImageId, BitSet>(ObjectImageId.class);
+	var index = 0;
+	for (var w = 0; w < shape[3]; w++) {
+	    for (var z = 0; z < shape[2]; z++) {
+		for (var y = 0; y < shape[1]; y++) {
+		    for (var x = 0; x < shape[0]; x++) {
+			final var obj = storage.getCell(x, y, z, w);
+			if (obj != null) {
+			    final var key = keyOf.apply(obj);
+			    if (key != null) {
+				found.computeIfAbsent(key, k -> new BitSet()).set(index);
+			    }
+			}
+			index++;
+		    }
+		}
+	    }
+	}
+	return found;
+    }
+
+    // Fields
+    private final Function<GameObject, ObjectImageId> keyOf;
+    private final EnumMap<ObjectImageId, BitSet> groups;
+    private final int columns;
+    private final int rows;
+    private final int floors;
+    private final int layers;
+
+    // Constructors
+    ObjectLocationIndex(final DungeonCellStorage storage, final Function<GameObject, ObjectImageId> key) {
+	final var shape = storage.getShape();
+	this.keyOf = key;
+	this.columns = shape[0];
+	this.rows = shape[1];
+	this.floors = shape[2];
+	this.layers = shape[3];
+	this.groups = ObjectLocationIndex.scan(storage, key);
+    }
+
+    // Throws on the first cell where the index and a fresh scan of storage disagree
+    void checkConsistency(final DungeonCellStorage storage) {
+	final var expected = ObjectLocationIndex.scan(storage, this.keyOf);
+	for (final ObjectImageId key : ObjectImageId.values()) {
+	    final var want = expected.getOrDefault(key, new BitSet());
+	    final var have = this.groups.getOrDefault(key, new BitSet());
+	    if (!want.equals(have)) {
+		final var diff = (BitSet) want.clone();
+		diff.xor(have);
+		final var index = diff.nextSetBit(0);
+		throw new IllegalStateException(key + " @ " + index % this.columns + ","
+			+ index / this.columns % this.rows + "," + index / (this.columns * this.rows) % this.floors
+			+ "," + index / (this.columns * this.rows * this.floors));
+	    }
+	}
+    }
+
+    private int indexOf(final int col, final int row, final int floor, final int layer) {
+	return ((layer * this.floors + floor) * this.rows + row) * this.columns + col;
+    }
+
+    private boolean isIndexed(final ObjectImageId key, final int floor, final int layer) {
+	return this.groups.containsKey(key) && floor >= 0 && floor < this.floors && layer >= 0
+		&& layer < this.layers;
+    }
+
+    // Returns {column, row} pairs for the cells on this floor and layer with the given key
+    ArrayList<int[]> locate(final ObjectImageId key, final int floor, final int layer) {
+	final var found = new ArrayList<int[]>();
+	if (!this.isIndexed(key, floor, layer)) {
+	    return found;
+	}
+	final var cells = this.groups.get(key);
+	final var start = this.indexOf(0, 0, floor, layer);
+	final var end = start + this.rows * this.columns;
+	for (var index = cells.nextSetBit(start); index >= 0 && index < end; index = cells.nextSetBit(index + 1)) {
+	    final var offset = index - start;
+	    found.add(new int[] { offset % this.columns, offset / this.columns });
+	}
+	return found;
+    }
+
+    // Returns {column, row} pairs for every indexed cell on this floor and layer, whatever its key
+    ArrayList<int[]> locateAll(final int floor, final int layer) {
+	final var found = new ArrayList<int[]>();
+	if (floor < 0 || floor >= this.floors || layer < 0 || layer >= this.layers) {
+	    return found;
+	}
+	final var start = this.indexOf(0, 0, floor, layer);
+	final var end = start + this.rows * this.columns;
+	for (final BitSet cells : this.groups.values()) {
+	    for (var index = cells.nextSetBit(start); index >= 0 && index < end; index = cells
+		    .nextSetBit(index + 1)) {
+		final var offset = index - start;
+		found.add(new int[] { offset % this.columns, offset / this.columns });
+	    }
+	}
+	return found;
+    }
+
+    // Like locate, but only within r of (col, row); wrapped axes report the nearest unwrapped coordinates
+    ArrayList<int[]> locateNear(final ObjectImageId key, final int floor, final int layer, final int col,
+	    final int row, final int r, final boolean wrapColumns, final boolean wrapRows) {
+	final var found = new ArrayList<int[]>();
+	if (!this.isIndexed(key, floor, layer)) {
+	    return found;
+	}
+	final var cells = this.groups.get(key);
+	final var firstRow = row - r;
+	final var lastRow = wrapRows ? Math.min(row + r, firstRow + this.rows - 1) : row + r;
+	for (var v = firstRow; v <= lastRow; v++) {
+	    final var physicalRow = wrapRows ? Math.floorMod(v, this.rows) : v;
+	    if (physicalRow < 0 || physicalRow >= this.rows) {
+		continue;
+	    }
+	    final var start = this.indexOf(0, physicalRow, floor, layer);
+	    final var end = start + this.columns;
+	    for (var index = cells.nextSetBit(start); index >= 0 && index < end; index = cells
+		    .nextSetBit(index + 1)) {
+		final var physicalCol = index - start;
+		var u = physicalCol;
+		if (wrapColumns) {
+		    u = col - r + Math.floorMod(physicalCol - (col - r), this.columns);
+		}
+		if (Math.abs(u - col) <= r) {
+		    found.add(new int[] { u, v });
+		}
+	    }
+	}
+	return found;
+    }
+
+    void update(final GameObject oldObj, final GameObject newObj, final int col, final int row, final int floor,
+	    final int layer) {
+	final var index = this.indexOf(col, row, floor, layer);
+	if (oldObj != null) {
+	    final var oldKey = this.keyOf.apply(oldObj);
+	    if (oldKey != null) {
+		final var cells = this.groups.get(oldKey);
+		if (cells != null) {
+		    cells.clear(index);
+		}
+	    }
+	}
+	if (newObj != null) {
+	    final var newKey = this.keyOf.apply(newObj);
+	    if (newKey != null) {
+		this.groups.computeIfAbsent(newKey, k -> new BitSet()).set(index);
+	    }
+	}
+    }
+}
@@ -0,0 +1,81 @@
+/*  Inconnuclear: A Dungeon-Diving RPG
+Copyleft (C) 2024-present RetroPipes
+Licensed under MIT. See the LICENSE file for details.
+
+All support is handled via the GitHub repository: https://github.com/retropipes/inconnuclear
+ */
+package org.retropipes.inconnuclear.dungeon.base;
+
+// A level's size and wraparound settings, resolved once so each cell access is a few arithmetic steps
+public final class DungeonAddressing {
+    private static final int NO_MASK = -1;
+
+    private static int maskOf(final int size) {
+	return Integer.bitCount(size) == 1 ? size - 1 : DungeonAddressing.NO_MASK;
+    }
+
+    public static DungeonAddressing of(final DungeonDataBase level, final boolean wrapRows,
+	    final boolean wrapColumns, final boolean wrapFloors) {
+	return new DungeonAddressing(level, level.getRows(), level.getColumns(), level.getFloors(), wrapRows,
+		wrapColumns, wrapFloors);
+    }
+
+    // Brings any value into [0, size) without looping or branching; size must be positive
+    static int wrap(final int value, final int size, final int mask) {
+	if (mask != DungeonAddressing.NO_MASK) {
+	    return value & mask;
+	}
+	final var rest = value % size;
+	return rest + (size & rest >> 31);
+    }
+
+    // Fields
+    private final DungeonDataBase owner;
+    private final int rows;
+    private final int columns;
+    private final int floors;
+    private final int rowMask;
+    private final int columnMask;
+    private final int floorMask;
+    private final boolean wrapRows;
+    private final boolean wrapColumns;
+    private final boolean wrapFloors;
+
+    // Constructors
+    private DungeonAddressing(final DungeonDataBase level, final int rowCount, final int columnCount,
+	    final int floorCount, final boolean rowWrap, final boolean columnWrap, final boolean floorWrap) {
+	this.owner = level;
+	this.rows = rowCount;
+	this.columns = columnCount;
+	this.floors = floorCount;
+	this.rowMask = DungeonAddressing.maskOf(rowCount);
+	this.columnMask = DungeonAddressing.maskOf(columnCount);
+	this.floorMask = DungeonAddressing.maskOf(floorCount);
+	this.wrapRows = rowWrap;
+	this.wrapColumns = columnWrap;
+	this.wrapFloors = floorWrap;
+    }
+
+    public int column(final int col) {
+	return this.wrapColumns ? DungeonAddressing.wrap(col, this.columns, this.columnMask) : col;
+    }
+
+    // Axes that wrap have no edge
+    public boolean contains(final int row, final int col, final int floor) {
+	return (this.wrapRows || row >= 0 && row < this.rows) && (this.wrapColumns || col >= 0 && col < this.columns)
+		&& (this.wrapFloors || floor >= 0 && floor < this.floors);
+    }
+
+    public int floor(final int floor) {
+	return this.wrapFloors ? DungeonAddressing.wrap(floor, this.floors, this.floorMask) : floor;
+    }
+
+    // True if this was resolved for level
+    public boolean isFor(final DungeonDataBase level) {
+	return this.owner == level;
+    }
+
+    public int row(final int row) {
+	return this.wrapRows ? DungeonAddressing.wrap(row, this.rows, this.rowMask) : row;
+    }
+}
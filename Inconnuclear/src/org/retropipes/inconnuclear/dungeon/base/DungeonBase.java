@@ -8,13 +8,17 @@ package org.retropipes.inconnuclear.dungeon.base;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 
 import org.retropipes.diane.direction.Direction;
 import org.retropipes.inconnuclear.Inconnuclear;
 import org.retropipes.inconnuclear.dungeon.Dungeon;
+import org.retropipes.inconnuclear.dungeon.GeneratedLevel;
 import org.retropipes.inconnuclear.dungeon.gameobject.GameObject;
 import org.retropipes.inconnuclear.files.AbstractPrefixIO;
+import org.retropipes.inconnuclear.files.AbstractSourceIO;
 import org.retropipes.inconnuclear.files.AbstractSuffixIO;
+import org.retropipes.inconnuclear.loader.image.gameobject.ObjectImageId;
 import org.retropipes.inconnuclear.locale.Difficulty;
 import org.retropipes.inconnuclear.locale.Strings;
 import org.retropipes.inconnuclear.locale.Untranslated;
@@ -70,6 +74,16 @@ public abstract class DungeonBase {
 	return temp;
     }
 
+    // Enabled difficulties count from 0, one below the ordinal of the difficulty they enable
+    protected static boolean isDifficultyEnabled(final Difficulty diff, final int[] difficulty) {
+	for (final int element : difficulty) {
+	    if (diff.ordinal() - 1 == element) {
+		return true;
+	    }
+	}
+	return false;
+    }
+
     public static boolean radialScan(final int cx, final int cy, final int r, final int tx, final int ty) {
 	return Math.abs(tx - cx) <= r && Math.abs(ty - cy) <= r;
     }
@@ -84,12 +98,17 @@ public abstract class DungeonBase {
 
     public abstract boolean addFixedSizeLevel(final int rows, final int cols, final int floors);
 
+    public abstract boolean addGeneratedLevels(GeneratedLevel[] levels);
+
     public abstract boolean addLevel();
 
+    // Advances every animated cell on the floor; returns {row, column} of the cells whose frame changed
+    public abstract ArrayList<int[]> animateFloor(final int floor);
+
     public abstract int checkForMagnetic(int floor, int centerX, int centerY, Direction dir);
 
-    public abstract int[] circularScan(final int x, final int y, final int z, final int maxR, final String targetName,
-	    final boolean moved);
+    public abstract int[] circularScan(final int x, final int y, final int z, final int maxR,
+	    final GameObject target, final boolean moved);
 
     public abstract boolean circularScanPlayer(final int x, final int y, final int z, final int maxR);
 
@@ -127,7 +146,7 @@ public abstract class DungeonBase {
 
     public abstract void fillDefault();
 
-    public abstract int[] findObject(int z, String targetName);
+    public abstract int[] findObject(int z, ObjectImageId target);
 
     public abstract int[] findPlayer(final int number);
 
@@ -149,20 +168,35 @@ public abstract class DungeonBase {
 
     public abstract int getActiveLevel();
 
+    public abstract DungeonAddressing getAddressing();
+
     public abstract String getAuthor();
 
     public abstract String getBasePath();
 
     public abstract GameObject getCell(final int row, final int col, final int floor, final int layer);
 
+    // Returns fallback for cells past the edge of the level, rather than throwing
+    public abstract GameObject getCellOrDefault(final int row, final int col, final int floor, final int layer,
+	    final GameObject fallback);
+
     public abstract int getColumns();
 
+    // The active level's cells; replaced whenever another level or era is loaded
+    public abstract DungeonDataBase getData();
+
     public abstract Difficulty getDifficulty();
 
+    // Read from level info, so the level itself need not be loaded
+    public abstract Difficulty getDifficultyOffset(int level);
+
     public abstract String getDungeonTempMusicFolder();
 
     public abstract int getFloors();
 
+    // Every game thread's rolls are split off this when the dungeon is played, so it travels with saves
+    public abstract long getGameSeed();
+
     public abstract String getHint();
 
     public abstract String[] getLevelInfoList();
@@ -173,6 +207,8 @@ public abstract class DungeonBase {
 
     public abstract String getName();
 
+    public abstract PathFinder getPathFinder();
+
     public abstract int getPlayerLocationX(final int pi);
 
     public abstract int getPlayerLocationY(final int pi);
@@ -181,6 +217,8 @@ public abstract class DungeonBase {
 
     public abstract int getRows();
 
+    public abstract AbstractSourceIO getSourceHandler();
+
     public abstract int getStartColumn(final int pi);
 
     public abstract int getStartFloor(final int pi);
@@ -201,6 +239,8 @@ public abstract class DungeonBase {
 
     public abstract boolean isHorizontalWraparoundEnabled();
 
+    public abstract boolean isInBounds(final int row, final int col, final int floor);
+
     public abstract boolean isMoveShootAllowed();
 
     public abstract boolean isMoveShootAllowedGlobally();
@@ -227,10 +267,14 @@ public abstract class DungeonBase {
 
     public abstract void postBattle(final GameObject m, final int xLoc, final int yLoc, final boolean player);
 
+    public abstract void prefetchNextLevel(int[] difficulty);
+
     public abstract DungeonBase readDungeonBase() throws IOException;
 
     public abstract void redo();
 
+    public abstract void replaceActiveLevel(DungeonCellStorage cells);
+
     protected abstract boolean removeActiveLevel();
 
     public final boolean removeLevel(final int num) {
@@ -302,6 +346,8 @@ public abstract class DungeonBase {
 
     public abstract void setPrefixHandler(AbstractPrefixIO xph);
 
+    public abstract void setSourceHandler(AbstractSourceIO xsi);
+
     public abstract void setStartColumn(final int pi, final int newStartColumn);
 
     public abstract void setStartFloor(final int pi, final int newStartFloor);
@@ -323,46 +369,27 @@ public abstract class DungeonBase {
 
     public abstract void switchLevelOffset(int level);
 
-    public final boolean switchToNextLevelWithDifficulty(final int[] difficulty) {
-	var keepGoing = true;
-	while (keepGoing) {
-	    final var diff = this.getDifficulty().ordinal();
-	    for (final int element : difficulty) {
-		if (diff - 1 == element) {
-		    keepGoing = false;
-		    return true;
-		}
-	    }
-	    if (!this.doesLevelExistOffset(1)) {
-		keepGoing = false;
+    // Finds the level from stored difficulties first and then switches once, so skipped levels never load
+    private boolean switchToLevelWithDifficulty(final int[] difficulty, final int step) {
+	var offset = 0;
+	while (!DungeonBase.isDifficultyEnabled(this.getDifficultyOffset(offset), difficulty)) {
+	    if (!this.doesLevelExistOffset(offset + step)) {
 		return false;
 	    }
-	    if (keepGoing) {
-		this.switchLevelOffset(1);
-	    }
+	    offset += step;
 	}
-	return false;
+	if (offset != 0) {
+	    this.switchLevelOffset(offset);
+	}
+	return true;
+    }
+
+    public final boolean switchToNextLevelWithDifficulty(final int[] difficulty) {
+	return this.switchToLevelWithDifficulty(difficulty, 1);
     }
 
     public final boolean switchToPreviousLevelWithDifficulty(final int[] difficulty) {
-	var keepGoing = true;
-	while (keepGoing) {
-	    final var diff = this.getDifficulty().ordinal();
-	    for (final int element : difficulty) {
-		if (diff - 1 == element) {
-		    keepGoing = false;
-		    return true;
-		}
-	    }
-	    if (!this.doesLevelExistOffset(-1)) {
-		keepGoing = false;
-		return false;
-	    }
-	    if (keepGoing) {
-		this.switchLevelOffset(-1);
-	    }
-	}
-	return false;
+	return this.switchToLevelWithDifficulty(difficulty, -1);
     }
 
     public abstract void tickTimers();
@@ -378,8 +405,6 @@ public abstract class DungeonBase {
     public abstract void updateMonsterPosition(final Direction move, final int xLoc, final int yLoc,
 	    final GameObject monster, final int pi);
 
-    public abstract void updateRedoHistory(final HistoryStatus whatIs);
-
     public abstract void updateUndoHistory(final HistoryStatus whatIs);
 
     public abstract void updateVisibleSquares(final int xp, final int yp, final int zp);
@@ -0,0 +1,46 @@
+/*  Inconnuclear: A Dungeon-Diving RPG
+Copyleft (C) 2024-present RetroPipes
+Licensed under MIT. See the LICENSE file for details.
+
+All support is handled via the GitHub repository: https://github.com/retropipes/inconnuclear
+ */
+package org.retropipes.inconnuclear.dungeon.base;
+
+import org.retropipes.inconnuclear.dungeon.gameobject.GameObject;
+import org.retropipes.inconnuclear.settings.Settings;
+
+public interface DungeonCellStorage {
+    static DungeonCellStorage create(final int... shape) {
+	if (Settings.usePackedDungeonStorage()) {
+	    return new PackedDungeonDataStorage(shape);
+	}
+	return new DungeonDataStorage(shape);
+    }
+
+    DungeonCellStorage copy();
+
+    // Sets count cells from start, in storage order with the first dimension varying fastest
+    default void fillRun(final GameObject obj, final int start, final int count) {
+	final var shape = this.getShape();
+	final var loc = new int[shape.length];
+	var rest = start;
+	for (var d = 0; d < shape.length; d++) {
+	    loc[d] = rest % shape[d];
+	    rest /= shape[d];
+	}
+	for (var i = 0; i < count; i++) {
+	    this.setCell(obj, loc);
+	    var d = 0;
+	    while (d < shape.length && ++loc[d] == shape[d]) {
+		loc[d] = 0;
+		d++;
+	    }
+	}
+    }
+
+    GameObject getCell(int... loc);
+
+    int[] getShape();
+
+    void setCell(GameObject obj, int... loc);
+}
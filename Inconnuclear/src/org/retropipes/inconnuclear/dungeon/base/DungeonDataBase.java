@@ -7,11 +7,13 @@ All support is handled via the GitHub repository: https://github.com/retropipes/
 package org.retropipes.inconnuclear.dungeon.base;
 
 import java.io.IOException;
+import java.util.ArrayList;
 
 import org.retropipes.diane.direction.Direction;
 import org.retropipes.diane.fileio.DataIOReader;
 import org.retropipes.diane.fileio.DataIOWriter;
 import org.retropipes.inconnuclear.dungeon.gameobject.GameObject;
+import org.retropipes.inconnuclear.loader.image.gameobject.ObjectImageId;
 
 public abstract class DungeonDataBase {
     protected final static int MIN_FLOORS = 1;
@@ -35,11 +37,23 @@ public abstract class DungeonDataBase {
 	return DungeonDataBase.MIN_ROWS;
     }
 
+    // The active level's addressing when this is the active level, otherwise one resolved on the spot
+    protected final DungeonAddressing addressingFor(final DungeonBase dungeonBase) {
+	final var mode = dungeonBase.getAddressing();
+	if (mode != null && mode.isFor(this)) {
+	    return mode;
+	}
+	return DungeonAddressing.of(this, dungeonBase.isHorizontalWraparoundEnabled(),
+		dungeonBase.isVerticalWraparoundEnabled(), dungeonBase.isThirdDimensionWraparoundEnabled());
+    }
+
+    public abstract ArrayList<int[]> animateFloor(final int floor);
+
     public abstract int checkForMagnetic(final DungeonBase dungeonBase, final int floor, final int centerX,
 	    final int centerY, final Direction dir);
 
     public abstract int[] circularScan(final DungeonBase dungeonBase, final int xIn, final int yIn, final int zIn,
-	    final int r, final String targetName, boolean moved);
+	    final int r, final GameObject target, boolean moved);
 
     public abstract boolean circularScanPlayer(final DungeonBase dungeonBase, final int x, final int y, final int z,
 	    final int r);
@@ -64,7 +78,7 @@ public abstract class DungeonDataBase {
 
     public abstract void fillVirtual();
 
-    public abstract int[] findObject(final DungeonBase dungeonBase, final int z, final String targetName);
+    public abstract int[] findObject(final DungeonBase dungeonBase, final int z, final ObjectImageId target);
 
     public abstract int[] findPlayer(final DungeonBase dungeonBase, final int number);
 
@@ -86,6 +100,9 @@ public abstract class DungeonDataBase {
     public abstract GameObject getCell(final DungeonBase dungeonBase, final int row, final int col, final int floor,
 	    final int layer);
 
+    public abstract GameObject getCellOrDefault(final DungeonBase dungeonBase, final int row, final int col,
+	    final int floor, final int layer, final GameObject fallback);
+
     public abstract int getColumns();
 
     public abstract int getFloors();
@@ -99,6 +116,8 @@ public abstract class DungeonDataBase {
 
     public abstract boolean isCellDirty(final DungeonBase dungeonBase, final int row, final int col, final int floor);
 
+    public abstract boolean isInBounds(final DungeonBase dungeonBase, final int row, final int col, final int floor);
+
     public abstract boolean isSquareVisible(final DungeonBase dungeonBase, final int x1, final int y1, final int x2,
 	    final int y2, final int zp);
 
@@ -111,51 +130,15 @@ public abstract class DungeonDataBase {
     public abstract void markAsDirty(final DungeonBase dungeonBase, final int row, final int col, final int floor);
 
     protected final int normalizeColumn(final int column) {
-	var fC = column;
-	if (fC < 0) {
-	    fC += this.getColumns();
-	    while (fC < 0) {
-		fC += this.getColumns();
-	    }
-	} else if (fC > this.getColumns() - 1) {
-	    fC -= this.getColumns();
-	    while (fC > this.getColumns() - 1) {
-		fC -= this.getColumns();
-	    }
-	}
-	return fC;
+	return Math.floorMod(column, this.getColumns());
     }
 
     protected final int normalizeFloor(final int floor) {
-	var fF = floor;
-	if (fF < 0) {
-	    fF += this.getFloors();
-	    while (fF < 0) {
-		fF += this.getFloors();
-	    }
-	} else if (fF > this.getFloors() - 1) {
-	    fF -= this.getFloors();
-	    while (fF > this.getFloors() - 1) {
-		fF -= this.getFloors();
-	    }
-	}
-	return fF;
+	return Math.floorMod(floor, this.getFloors());
     }
 
     protected final int normalizeRow(final int row) {
-	var fR = row;
-	if (fR < 0) {
-	    fR += this.getRows();
-	    while (fR < 0) {
-		fR += this.getRows();
-	    }
-	} else if (fR > this.getRows() - 1) {
-	    fR -= this.getRows();
-	    while (fR > this.getRows() - 1) {
-		fR -= this.getRows();
-	    }
-	}
-	return fR;
+	return Math.floorMod(row, this.getRows());
     }
 
     public abstract void postBattle(final DungeonBase dungeonBase, final GameObject m, final int xLoc, final int yLoc,
@@ -203,8 +186,6 @@ public abstract class DungeonDataBase {
     public abstract void updateMonsterPosition(final DungeonBase dungeonBase, final Direction move, final int xLoc,
 	    final int yLoc, final GameObject monster, final int pi);
 
-    public abstract void updateRedoHistory(final HistoryStatus whatIs);
-
     public abstract void updateUndoHistory(final HistoryStatus whatIs);
 
     public abstract void updateVisibleSquares(final DungeonBase dungeonBase, final int xp, final int yp, final int zp);
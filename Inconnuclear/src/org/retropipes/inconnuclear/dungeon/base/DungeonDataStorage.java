@@ -9,7 +9,7 @@ package org.retropipes.inconnuclear.dungeon.base;
 import org.retropipes.diane.storage.ObjectStorage;
 import org.retropipes.inconnuclear.dungeon.gameobject.GameObject;
 
-public class DungeonDataStorage extends ObjectStorage<GameObject> {
+public class DungeonDataStorage extends ObjectStorage<GameObject> implements DungeonCellStorage {
     public DungeonDataStorage(final DungeonDataStorage source) {
 	super(source);
     }
@@ -18,4 +18,9 @@ public class DungeonDataStorage extends ObjectStorage<GameObject> {
     public DungeonDataStorage(final int... shape) {
 	super(shape);
     }
+
+    @Override
+    public DungeonDataStorage copy() {
+	return new DungeonDataStorage(this);
+    }
 }
@@ -0,0 +1,130 @@
+/*  Inconnuclear: A Dungeon-Diving RPG
+Copyleft (C) 2024-present RetroPipes
+Licensed under MIT. See the LICENSE file for details.
+
+All support is handled via the GitHub repository: https://github.com/retropipes/inconnuclear
+ */
+package org.retropipes.inconnuclear.dungeon.base;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.retropipes.inconnuclear.dungeon.gameobject.GameObject;
+import org.retropipes.inconnuclear.loader.image.gameobject.ObjectImageId;
+
+public class PackedDungeonDataStorage implements DungeonCellStorage {
+    private static final short NULL_CELL = -1;
+    private static final ObjectImageId[] IDS = ObjectImageId.values();
+    // Fields
+    private final int[] dataShape;
+    private final int[] interProd;
+    // Object ID ordinals, one per cell; stateful objects live in the side table
+    private final short[] ids;
+    private final BitSet statefulCells;
+    private final HashMap<Integer, GameObject> statefulObjects;
+
+    public PackedDungeonDataStorage(final PackedDungeonDataStorage source) {
+	this.dataShape = source.dataShape;
+	this.interProd = source.interProd;
+	this.ids = Arrays.copyOf(source.ids, source.ids.length);
+	this.statefulCells = (BitSet) source.statefulCells.clone();
+	this.statefulObjects = new HashMap<>();
+	// Stateful objects change in place, so a copy needs its own or edits would rewrite the source too
+	for (final Map.Entry<Integer, GameObject> entry : source.statefulObjects.entrySet()) {
+	    this.statefulObjects.put(entry.getKey(), new GameObject(entry.getValue()));
+	}
+    }
+
+    // Constructor
+    public PackedDungeonDataStorage(final int... shape) {
+	this.dataShape = Arrays.copyOf(shape, shape.length);
+	this.interProd = new int[shape.length];
+	var product = 1;
+	for (var x = 0; x < shape.length; x++) {
+	    this.interProd[x] = product;
+	    product *= shape[x];
+	}
+	this.ids = new short[product];
+	Arrays.fill(this.ids, PackedDungeonDataStorage.NULL_CELL);
+	this.statefulCells = new BitSet(product);
+	this.statefulObjects = new HashMap<>();
+    }
+
+    @Override
+    public PackedDungeonDataStorage copy() {
+	return new PackedDungeonDataStorage(this);
+    }
+
+    @Override
+    public void fillRun(final GameObject obj, final int start, final int count) {
+	if (obj != null && obj.isStateful()) {
+	    DungeonCellStorage.super.fillRun(obj, start, count);
+	    return;
+	}
+	final var end = start + count;
+	Objects.checkFromToIndex(start, end, this.ids.length);
+	Arrays.fill(this.ids, start, end,
+		obj == null ? PackedDungeonDataStorage.NULL_CELL : (short) obj.getId().ordinal());
+	for (var aloc = this.statefulCells.nextSetBit(start); aloc >= 0
+		&& aloc < end; aloc = this.statefulCells.nextSetBit(aloc + 1)) {
+	    this.statefulObjects.remove(aloc);
+	}
+	this.statefulCells.clear(start, end);
+    }
+
+    @Override
+    public GameObject getCell(final int... loc) {
+	final var aloc = this.ravelLocation(loc);
+	if (this.statefulCells.get(aloc)) {
+	    return this.statefulObjects.get(aloc);
+	}
+	final var oid = this.ids[aloc];
+	if (oid == PackedDungeonDataStorage.NULL_CELL) {
+	    return null;
+	}
+	return GameObject.shared(PackedDungeonDataStorage.IDS[oid]);
+    }
+
+    @Override
+    public int[] getShape() {
+	return Arrays.copyOf(this.dataShape, this.dataShape.length);
+    }
+
+    private int ravelLocation(final int... loc) {
+	var res = 0;
+	for (var x = 0; x < this.dataShape.length; x++) {
+	    if (loc[x] < 0 || loc[x] >= this.dataShape[x]) {
+		throw new ArrayIndexOutOfBoundsException(loc[x]);
+	    }
+	    res += loc[x] * this.interProd[x];
+	}
+	return res;
+    }
+
+    @Override
+    public void setCell(final GameObject obj, final int... loc) {
+	final var aloc = this.ravelLocation(loc);
+	if (obj == null) {
+	    this.ids[aloc] = PackedDungeonDataStorage.NULL_CELL;
+	    this.clearStateful(aloc);
+	    return;
+	}
+	this.ids[aloc] = (short) obj.getId().ordinal();
+	if (obj.isStateful()) {
+	    this.statefulCells.set(aloc);
+	    this.statefulObjects.put(aloc, obj);
+	} else {
+	    this.clearStateful(aloc);
+	}
+    }
+
+    private void clearStateful(final int aloc) {
+	if (this.statefulCells.get(aloc)) {
+	    this.statefulCells.clear(aloc);
+	    this.statefulObjects.remove(aloc);
+	}
+    }
+}
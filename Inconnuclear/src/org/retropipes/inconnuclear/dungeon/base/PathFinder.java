@@ -0,0 +1,199 @@
+/*  Inconnuclear: A Dungeon-Diving RPG
+Copyleft (C) 2024-present RetroPipes
+Licensed under MIT. See the LICENSE file for details.
+
+All support is handled via the GitHub repository: https://github.com/retropipes/inconnuclear
+ */
+package org.retropipes.inconnuclear.dungeon.base;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+
+import org.retropipes.inconnuclear.dungeon.gameobject.GameObject;
+import org.retropipes.inconnuclear.loader.image.gameobject.ObjectImageId;
+import org.retropipes.inconnuclear.locale.Layer;
+
+// Shortest walks around a level's solid cells, kept as one flow field per target: building a field visits each
+// cell on the floor once, so any target on the floor is found, and every step after that is a lookup until a cell
+// on the field's floor turns solid or open
+public final class PathFinder {
+    // A breadth-first flood out from one target, giving each cell its first step toward it
+    private static final class FlowField {
+	// Fields
+	private final byte[] steps;
+	private int revision;
+
+	// Constructors
+	FlowField(final int cells) {
+	    this.steps = new byte[cells];
+	}
+    }
+
+    public static final int NO_STEP = -1;
+    // Row and column offsets of the 8 steps; step 7 - i undoes step i
+    private static final int[] STEP_ROWS = { -1, -1, -1, 0, 0, 1, 1, 1 };
+    private static final int[] STEP_COLUMNS = { -1, 0, 1, -1, 1, -1, 0, 1 };
+    private static final byte ARRIVED = -1;
+    private static final byte UNREACHED = -2;
+    // Enough for every battler in a battle to chase a different target without rebuilding
+    private static final int CACHED_FIELDS = 16;
+
+    // Creatures and the player move about, so they never block a path; callers check who stands where
+    public static boolean blocksPaths(final GameObject obj) {
+	if (obj == null || !obj.isSolid()) {
+	    return false;
+	}
+	final var id = obj.getId();
+	return id != ObjectImageId._CREATURE && id != ObjectImageId.PLAYER;
+    }
+
+    public static int stepColumn(final int step) {
+	return PathFinder.STEP_COLUMNS[step];
+    }
+
+    public static int stepRow(final int step) {
+	return PathFinder.STEP_ROWS[step];
+    }
+
+    // Fields
+    private final int rows;
+    private final int columns;
+    private final BitSet[] blocked;
+    private final int[] revisions;
+    private final LinkedHashMap<Long, FlowField> fields;
+    private final int[] queue;
+
+    // Constructors
+    public PathFinder(final DungeonCellStorage storage) {
+	// Storage is addressed column first
+	this(storage.getShape()[1], storage.getShape()[0], storage.getShape()[2]);
+	final var layer = Layer.STATUS.ordinal();
+	for (var z = 0; z < this.blocked.length; z++) {
+	    for (var y = 0; y < this.rows; y++) {
+		for (var x = 0; x < this.columns; x++) {
+		    if (PathFinder.blocksPaths(storage.getCell(x, y, z, layer))) {
+			this.blocked[z].set(y * this.columns + x);
+		    }
+		}
+	    }
+	}
+    }
+
+    // Starts with every cell open
+    public PathFinder(final int rowCount, final int columnCount, final int floorCount) {
+	this.rows = rowCount;
+	this.columns = columnCount;
+	this.blocked = new BitSet[floorCount];
+	for (var z = 0; z < floorCount; z++) {
+	    this.blocked[z] = new BitSet(rowCount * columnCount);
+	}
+	this.revisions = new int[floorCount];
+	this.fields = new LinkedHashMap<>(PathFinder.CACHED_FIELDS, 0.75f, true);
+	this.queue = new int[rowCount * columnCount];
+    }
+
+    private void flood(final FlowField field, final int target, final int floor, final boolean wrapRows,
+	    final boolean wrapColumns) {
+	final var steps = field.steps;
+	final var walls = this.blocked[floor];
+	Arrays.fill(steps, PathFinder.UNREACHED);
+	steps[target] = PathFinder.ARRIVED;
+	this.queue[0] = target;
+	var head = 0;
+	var tail = 1;
+	while (head < tail) {
+	    final var cell = this.queue[head];
+	    head++;
+	    final var row = cell / this.columns;
+	    final var col = cell % this.columns;
+	    for (var s = 0; s < PathFinder.STEP_ROWS.length; s++) {
+		var r = row + PathFinder.STEP_ROWS[s];
+		var c = col + PathFinder.STEP_COLUMNS[s];
+		if (wrapRows) {
+		    r = Math.floorMod(r, this.rows);
+		}
+		if (wrapColumns) {
+		    c = Math.floorMod(c, this.columns);
+		}
+		if (r < 0 || r >= this.rows || c < 0 || c >= this.columns) {
+		    continue;
+		}
+		final var next = r * this.columns + c;
+		if (steps[next] != PathFinder.UNREACHED || walls.get(next)) {
+		    continue;
+		}
+		// Whoever reaches next from here first is on a shortest walk, so step back the way we came
+		steps[next] = (byte) (PathFinder.STEP_ROWS.length - 1 - s);
+		this.queue[tail] = next;
+		tail++;
+	    }
+	}
+	field.revision = this.revisions[floor];
+    }
+
+    private boolean isInside(final int row, final int col, final int floor) {
+	return row >= 0 && row < this.rows && col >= 0 && col < this.columns && floor >= 0
+		&& floor < this.blocked.length;
+    }
+
+    public boolean isBlocked(final int row, final int col, final int floor) {
+	return this.isInside(row, col, floor) && this.blocked[floor].get(row * this.columns + col);
+    }
+
+    // Index of the first step on a shortest walk from one cell to another on the same floor, for stepRow and
+    // stepColumn; NO_STEP when already there or when no walk gets there
+    public int nextStep(final int fromRow, final int fromCol, final int toRow, final int toCol, final int floor,
+	    final boolean wrapRows, final boolean wrapColumns) {
+	final var fR = wrapRows ? Math.floorMod(fromRow, this.rows) : fromRow;
+	final var fC = wrapColumns ? Math.floorMod(fromCol, this.columns) : fromCol;
+	final var tR = wrapRows ? Math.floorMod(toRow, this.rows) : toRow;
+	final var tC = wrapColumns ? Math.floorMod(toCol, this.columns) : toCol;
+	if (!this.isInside(fR, fC, floor) || !this.isInside(tR, tC, floor)) {
+	    return PathFinder.NO_STEP;
+	}
+	final var target = tR * this.columns + tC;
+	final var key = ((long) floor * this.rows * this.columns + target) * 4L + (wrapRows ? 2L : 0L)
+		+ (wrapColumns ? 1L : 0L);
+	final var boxed = Long.valueOf(key);
+	var field = this.fields.get(boxed);
+	if (field == null) {
+	    if (this.fields.size() < PathFinder.CACHED_FIELDS) {
+		field = new FlowField(this.rows * this.columns);
+	    } else {
+		// Access order puts the least recently used field first; its cells are reused for this one
+		final var entries = this.fields.values().iterator();
+		field = entries.next();
+		entries.remove();
+	    }
+	    this.flood(field, target, floor, wrapRows, wrapColumns);
+	    this.fields.put(boxed, field);
+	} else if (field.revision != this.revisions[floor]) {
+	    this.flood(field, target, floor, wrapRows, wrapColumns);
+	}
+	final var step = field.steps[fR * this.columns + fC];
+	if (step < 0) {
+	    return PathFinder.NO_STEP;
+	}
+	return step;
+    }
+
+    public void setBlocked(final int row, final int col, final int floor, final boolean blocks) {
+	if (!this.isInside(row, col, floor)) {
+	    return;
+	}
+	final var index = row * this.columns + col;
+	if (this.blocked[floor].get(index) != blocks) {
+	    this.blocked[floor].set(index, blocks);
+	    // Every field on this floor may now be wrong; each rebuilds the next time it is asked
+	    this.revisions[floor]++;
+	}
+    }
+
+    public void update(final GameObject newObj, final int row, final int col, final int floor, final int layer) {
+	if (layer != Layer.STATUS.ordinal()) {
+	    return;
+	}
+	this.setBlocked(row, col, floor, PathFinder.blocksPaths(newObj));
+    }
+}
@@ -0,0 +1,145 @@
+/*  Inconnuclear: A Dungeon-Diving RPG
+Copyleft (C) 2024-present RetroPipes
+Licensed under MIT. See the LICENSE file for details.
+
+All support is handled via the GitHub repository: https://github.com/retropipes/inconnuclear
+ */
+package org.retropipes.inconnuclear.dungeon.gameobject;
+
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+
+import org.retropipes.diane.asset.image.BufferedImageIcon;
+import org.retropipes.inconnuclear.asset.ImageConstants;
+import org.retropipes.inconnuclear.loader.image.gameobject.ObjectImageId;
+import org.retropipes.inconnuclear.settings.Settings;
+
+public final class CompositeTileCache {
+    // Each layer gets a 12-bit code, so up to 5 layers fit in one long key
+    private static final int CODE_BITS = 12;
+    private static final int MAX_CODE = (1 << CompositeTileCache.CODE_BITS) - 1;
+    private static final int MAX_LAYERS = Long.SIZE / CompositeTileCache.CODE_BITS;
+    private static final int BYTES_PER_PIXEL = 4;
+    private static final long KIB = 1024L;
+    public static final long UNCACHEABLE = -1L;
+    private static final LinkedHashMap<Long, BufferedImageIcon> CACHE = new LinkedHashMap<>(256, 0.75f, true);
+    private static short[] codes;
+    private static int nextCode = 1;
+    private static long bytes = 0L;
+    private static long hits = 0L;
+    private static long misses = 0L;
+    private static long evictions = 0L;
+
+    public static synchronized void clear() {
+	CompositeTileCache.CACHE.clear();
+	CompositeTileCache.bytes = 0L;
+    }
+
+    private static int codeOf(final GameObject obj) {
+	final var tileKey = obj.tileKey();
+	if (tileKey < 0) {
+	    return -1;
+	}
+	if (CompositeTileCache.codes == null) {
+	    CompositeTileCache.codes = new short[ObjectImageId.values().length << 8];
+	}
+	var code = (int) CompositeTileCache.codes[tileKey];
+	if (code == 0) {
+	    if (CompositeTileCache.nextCode > CompositeTileCache.MAX_CODE) {
+		return -1;
+	    }
+	    code = CompositeTileCache.nextCode;
+	    CompositeTileCache.nextCode++;
+	    CompositeTileCache.codes[tileKey] = (short) code;
+	}
+	return code;
+    }
+
+    public static synchronized BufferedImageIcon composite(final GameObject... objects) {
+	final var key = CompositeTileCache.keyOf(objects);
+	if (key == CompositeTileCache.UNCACHEABLE) {
+	    CompositeTileCache.misses++;
+	    return CompositeTileCache.render(objects);
+	}
+	final var boxed = Long.valueOf(key);
+	final var cached = CompositeTileCache.CACHE.get(boxed);
+	if (cached != null) {
+	    CompositeTileCache.hits++;
+	    return cached;
+	}
+	CompositeTileCache.misses++;
+	final var img = CompositeTileCache.render(objects);
+	CompositeTileCache.CACHE.put(boxed, img);
+	CompositeTileCache.bytes += CompositeTileCache.sizeOf(img);
+	CompositeTileCache.trim();
+	return img;
+    }
+
+    public static synchronized long getBytes() {
+	return CompositeTileCache.bytes;
+    }
+
+    public static synchronized long getEvictions() {
+	return CompositeTileCache.evictions;
+    }
+
+    public static synchronized long getHits() {
+	return CompositeTileCache.hits;
+    }
+
+    public static synchronized long getMisses() {
+	return CompositeTileCache.misses;
+    }
+
+    // Packs the layers bottom to top; codes start at 1, so different layer counts never collide
+    public static synchronized long keyOf(final GameObject... objects) {
+	if (objects.length > CompositeTileCache.MAX_LAYERS) {
+	    return CompositeTileCache.UNCACHEABLE;
+	}
+	var key = 0L;
+	for (final GameObject obj : objects) {
+	    final var code = CompositeTileCache.codeOf(obj);
+	    if (code < 0) {
+		return CompositeTileCache.UNCACHEABLE;
+	    }
+	    key = key << CompositeTileCache.CODE_BITS | code;
+	}
+	return key;
+    }
+
+    private static BufferedImageIcon render(final GameObject... objects) {
+	final var size = ImageConstants.SIZE;
+	final var image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+	final var g = image.createGraphics();
+	try {
+	    for (final GameObject obj : objects) {
+		final var layer = obj.getImage();
+		if (layer != null) {
+		    g.drawImage(layer, 0, 0, size, size, null);
+		}
+	    }
+	} finally {
+	    g.dispose();
+	}
+	return new BufferedImageIcon(image);
+    }
+
+    private static long sizeOf(final BufferedImageIcon img) {
+	return (long) img.getWidth() * img.getHeight() * CompositeTileCache.BYTES_PER_PIXEL;
+    }
+
+    private static void trim() {
+	final var budget = Settings.getTileCacheBudget() * CompositeTileCache.KIB;
+	final var entries = CompositeTileCache.CACHE.values().iterator();
+	while (CompositeTileCache.bytes > budget && entries.hasNext()) {
+	    // Access order puts the least recently used entry first
+	    final var eldest = entries.next();
+	    entries.remove();
+	    CompositeTileCache.bytes -= CompositeTileCache.sizeOf(eldest);
+	    CompositeTileCache.evictions++;
+	}
+    }
+
+    private CompositeTileCache() {
+    }
+}
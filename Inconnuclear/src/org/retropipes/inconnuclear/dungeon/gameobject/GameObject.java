@@ -7,6 +7,7 @@ All support is handled via the GitHub repository: https://github.com/retropipes/
 package org.retropipes.inconnuclear.dungeon.gameobject;
 
 import java.io.IOException;
+import java.util.random.RandomGenerator;
 
 import org.retropipes.diane.asset.image.BufferedImageIcon;
 import org.retropipes.diane.direction.Direction;
@@ -15,7 +16,6 @@ import org.retropipes.diane.direction.DirectionStrings;
 import org.retropipes.diane.fileio.DataIOReader;
 import org.retropipes.diane.fileio.DataIOWriter;
 import org.retropipes.diane.objectmodel.ObjectModel;
-import org.retropipes.diane.random.RandomRange;
 import org.retropipes.inconnuclear.dungeon.base.DungeonBase;
 import org.retropipes.inconnuclear.loader.image.gameobject.ObjectImageId;
 import org.retropipes.inconnuclear.loader.image.gameobject.ObjectImageLoader;
@@ -24,6 +24,7 @@ import org.retropipes.inconnuclear.locale.Colors;
 import org.retropipes.inconnuclear.locale.Layer;
 import org.retropipes.inconnuclear.locale.ObjectInteractMessage;
 import org.retropipes.inconnuclear.locale.Strings;
+import org.retropipes.inconnuclear.utility.GameRandom;
 import org.retropipes.inconnuclear.utility.RandomGenerationRule;
 
 public final class GameObject implements RandomGenerationRule {
@@ -32,6 +33,30 @@ public final class GameObject implements RandomGenerationRule {
     private static final int METAL_MINIMUM_REACTION_FORCE = 2;
     private final static boolean[] tunnelsFull = new boolean[Strings.COLOR_COUNT];
 
+    private static class SharedHolder {
+	private static final GameObject[] SHARED = SharedHolder.createShared();
+
+	private static GameObject[] createShared() {
+	    final var ids = ObjectImageId.values();
+	    final var shared = new GameObject[ids.length];
+	    for (var index = 0; index < ids.length; index++) {
+		// Objects that carry state by type can't be shared
+		if (!GameObject.isStatefulType(index)) {
+		    shared[index] = new GameObject(ids[index]);
+		    shared[index].shared = true;
+		}
+	    }
+	    return shared;
+	}
+    }
+
+    public static GameObject copyOf(final GameObject source) {
+	if (source.shared) {
+	    return source;
+	}
+	return new GameObject(source);
+    }
+
     public static final int getImbuedRangeForce(final Material material) {
 	if (material == Material.PLASTIC) {
 	    return PLASTIC_MINIMUM_REACTION_FORCE;
@@ -42,9 +67,31 @@ public final class GameObject implements RandomGenerationRule {
 	return DEFAULT_MINIMUM_REACTION_FORCE;
     }
 
+    private static boolean isStatefulType(final int index) {
+	final var table = GameObjectData.table();
+	final var dir = table.direction[index];
+	final var col = table.color[index];
+	// The player and creatures always carry the object they're standing on
+	if (index == ObjectImageId.PLAYER.ordinal() || index == ObjectImageId._CREATURE.ordinal()) {
+	    return true;
+	}
+	return table.player.get(index) || table.moving.get(index) || table.pullable.get(index)
+		|| table.pushable.get(index) || table.maxFrame[index] > 0 || table.initialTimer[index] > 0
+		|| table.bound[index] != null || table.boundUniversal.get(index) || dir != null && dir != Direction.NONE
+		|| col != null && col != Colors._NONE;
+    }
+
     public static GameObject read(final DataIOReader reader) throws IOException {
 	int nid = reader.readInt();
-	return new GameObject(ObjectImageId.values()[nid]);
+	return GameObject.shared(ObjectImageId.values()[nid]);
+    }
+
+    public static GameObject shared(final ObjectImageId oid) {
+	final var obj = SharedHolder.SHARED[oid.ordinal()];
+	if (obj == null) {
+	    return new GameObject(oid);
+	}
+	return obj;
     }
 
     public static boolean tunnelsFull(final Colors color) {
@@ -53,88 +100,35 @@ public final class GameObject implements RandomGenerationRule {
 
     private final ObjectModel model;
     private final ObjectImageId id;
-    private transient boolean solid;
-    private transient boolean friction;
-    private transient boolean sightBlock;
-    private transient boolean interactive;
-    private transient boolean canMove;
-    private transient boolean canPush;
-    private transient boolean canPull;
-    private transient boolean isField;
-    private transient boolean isPassThrough;
-    private transient boolean isPlayer;
-    private transient int myLayer;
-    private transient int blockHeight;
-    private transient int damageDealt;
-    private transient int initialTimerValue;
     private transient int timerValue;
     private transient int frameNumber;
-    private transient int maxFrameNumber;
-    private transient int interactMessageIndex;
     private transient BufferedImageIcon image;
-    private transient String interactMessage;
-    private transient Sounds interactSound;
-    private transient ObjectImageId interactMorph;
-    private transient ShopType shop;
-    private transient boolean lazyLoaded;
     private transient int teamId;
     private transient boolean imageOverridden;
     private transient boolean timerActive;
-    private transient boolean deferSetProperties;
-    private transient boolean killsOnMove;
-    private transient boolean solvesOnMove;
-    private transient boolean boundUniversal;
     private transient Direction direction;
     private transient Colors color;
-    private transient Material material;
     private transient ObjectImageId saved;
-    private transient ObjectImageId bound;
     private transient ObjectImageId previousState;
     private transient int boundX;
     private transient int boundY;
     private transient boolean triggered;
     private transient boolean waitingOnTunnel;
+    private transient boolean shared;
 
     public GameObject(final GameObject source) {
 	this.model = new ObjectModel();
 	this.model.setId(source.id);
 	this.id = source.id;
-	this.solid = source.solid;
-	this.friction = source.friction;
-	this.sightBlock = source.sightBlock;
-	this.interactive = source.interactive;
-	this.canMove = source.canMove;
-	this.canPush = source.canPush;
-	this.canPull = source.canPull;
-	this.isField = source.isField;
-	this.isPassThrough = source.isPassThrough;
-	this.isPlayer = source.isPlayer;
-	this.myLayer = source.myLayer;
-	this.blockHeight = source.blockHeight;
-	this.damageDealt = source.damageDealt;
-	this.initialTimerValue = source.initialTimerValue;
 	this.timerValue = source.timerValue;
 	this.frameNumber = source.frameNumber;
-	this.maxFrameNumber = source.maxFrameNumber;
-	this.interactMessageIndex = source.interactMessageIndex;
 	this.image = source.image;
-	this.interactMessage = source.interactMessage;
-	this.interactSound = source.interactSound;
-	this.interactMorph = source.interactMorph;
-	this.shop = source.shop;
-	this.lazyLoaded = source.lazyLoaded;
 	this.teamId = source.teamId;
 	this.imageOverridden = source.imageOverridden;
 	this.timerActive = source.timerActive;
-	this.deferSetProperties = source.deferSetProperties;
-	this.killsOnMove = source.killsOnMove;
-	this.solvesOnMove = source.solvesOnMove;
-	this.boundUniversal = source.boundUniversal;
 	this.direction = source.direction;
 	this.color = source.color;
-	this.material = source.material;
 	this.saved = source.saved;
-	this.bound = source.bound;
 	this.previousState = source.previousState;
 	this.boundX = source.boundX;
 	this.boundY = source.boundY;
@@ -148,33 +142,33 @@ public final class GameObject implements RandomGenerationRule {
 	this.triggered = false;
 	this.model = new ObjectModel();
 	this.model.setId(oid);
-	this.lazyLoaded = false;
+	this.direction = GameObjectData.table().direction[oid.ordinal()];
+	this.color = GameObjectData.table().color[oid.ordinal()];
     }
 
     private GameObject(final ObjectImageId oid, final ObjectImageId savedOid) {
-	this.id = oid;
+	this(oid);
 	this.saved = savedOid;
-	this.imageOverridden = false;
-	this.triggered = false;
-	this.model = new ObjectModel();
-	this.model.setId(oid);
-	this.lazyLoaded = false;
     }
 
     public final void activateTimer() {
+	this.checkMutable();
 	this.timerActive = true;
-	this.timerValue = this.initialTimerValue;
+	this.timerValue = GameObjectData.table().initialTimer[this.id.ordinal()];
+    }
+
+    private void checkMutable() {
+	if (this.shared) {
+	    throw new IllegalStateException(this.id.toString());
+	}
     }
 
     public boolean boundToSameObject(final GameObject boundTo) {
-	if (this.getBoundObject() == null) {
-	    if (boundTo != null) {
-		return false;
-	    }
-	} else if (!this.getBoundObject().getClass().equals(boundTo.getClass())) {
-	    return false;
+	var bound = GameObjectData.table().bound[this.id.ordinal()];
+	if (bound == null) {
+	    bound = this.id;
 	}
-	return true;
+	return boundTo != null && bound == boundTo.id;
     }
 
     public final boolean canMove() {
@@ -209,8 +203,7 @@ public final class GameObject implements RandomGenerationRule {
     }
 
     public final boolean defersSetProperties() {
-	this.lazyLoad();
-	return this.deferSetProperties;
+	return GameObjectData.table().deferSetProperties.get(this.id.ordinal());
     }
 
     /**
@@ -244,11 +237,15 @@ public final class GameObject implements RandomGenerationRule {
     }
 
     public final GameObject getBoundObject() {
-	this.lazyLoad();
-	if (this.bound == null || this.bound == this.id) {
+	final var bound = GameObjectData.table().bound[this.id.ordinal()];
+	if (bound == null || bound == this.id) {
 	    return this;
 	}
-	return new GameObject(this.bound, this.id);
+	return new GameObject(bound, this.id);
+    }
+
+    public final ObjectImageId getBoundObjectId() {
+	return GameObjectData.table().bound[this.id.ordinal()];
     }
 
     public final int getBoundObjectX() {
@@ -264,13 +261,11 @@ public final class GameObject implements RandomGenerationRule {
     }
 
     public final Colors getColor() {
-	this.lazyLoad();
 	return this.color;
     }
 
     public final int getDamage() {
-	this.lazyLoad();
-	return this.damageDealt;
+	return GameObjectData.table().damage[this.id.ordinal()];
     }
 
     public final String getDescription() {
@@ -278,7 +273,6 @@ public final class GameObject implements RandomGenerationRule {
     }
 
     public final Direction getDirection() {
-	this.lazyLoad();
 	return this.direction;
     }
 
@@ -290,7 +284,6 @@ public final class GameObject implements RandomGenerationRule {
     }
 
     public final int getFrameNumber() {
-	this.lazyLoad();
 	return this.frameNumber;
     }
 
@@ -302,8 +295,7 @@ public final class GameObject implements RandomGenerationRule {
     }
 
     public final int getHeight() {
-	this.lazyLoad();
-	return this.blockHeight;
+	return GameObjectData.table().height[this.id.ordinal()];
     }
 
     public final ObjectImageId getId() {
@@ -324,23 +316,20 @@ public final class GameObject implements RandomGenerationRule {
     }
 
     public final String getInteractMessage() {
-	this.lazyLoad();
-	return this.interactMessage;
+	return Strings.objectInteractMessage(
+		ObjectInteractMessage.values()[GameObjectData.table().interactMessageIndex[this.id.ordinal()]]);
     }
 
     public final ObjectImageId getInteractMorph() {
-	this.lazyLoad();
-	return this.interactMorph;
+	return GameObjectData.table().interactMorph[this.id.ordinal()];
     }
 
     public final Sounds getInteractSound() {
-	this.lazyLoad();
-	return this.interactSound;
+	return GameObjectData.table().interactSound[this.id.ordinal()];
     }
 
     public final int getLayer() {
-	this.lazyLoad();
-	return this.myLayer;
+	return GameObjectData.table().layer[this.id.ordinal()];
     }
 
     private final String getLocalColorPrefix() {
@@ -351,8 +340,7 @@ public final class GameObject implements RandomGenerationRule {
     }
 
     public final Material getMaterial() {
-	this.lazyLoad();
-	return this.material;
+	return GameObjectData.table().material[this.id.ordinal()];
     }
 
     @Override
@@ -384,8 +372,7 @@ public final class GameObject implements RandomGenerationRule {
     }
 
     public final ShopType getShopType() {
-	this.lazyLoad();
-	return this.shop;
+	return GameObjectData.table().shop[this.id.ordinal()];
     }
 
     public final int getTeamID() {
@@ -401,15 +388,12 @@ public final class GameObject implements RandomGenerationRule {
     }
 
     public final boolean hasFriction() {
-	this.lazyLoad();
-	return this.friction;
+	return GameObjectData.table().friction.get(this.id.ordinal());
     }
 
     public final boolean hasSameBoundObject(final GameObject testObject) {
-	if (this.bound == null && testObject.bound == null) {
-	    return true;
-	}
-	return this.bound == testObject.bound;
+	final var bound = GameObjectData.table().bound;
+	return bound[this.id.ordinal()] == bound[testObject.id.ordinal()];
     }
 
     public final void interactAction() {
@@ -417,23 +401,19 @@ public final class GameObject implements RandomGenerationRule {
     }
 
     public final boolean isAnimated() {
-	this.lazyLoad();
-	return this.maxFrameNumber > 0;
+	return GameObjectData.table().maxFrame[this.id.ordinal()] > 0;
     }
 
     public final boolean isBoundUniversally() {
-	this.lazyLoad();
-	return this.boundUniversal;
+	return GameObjectData.table().boundUniversal.get(this.id.ordinal());
     }
 
     public final boolean isDamaging() {
-	this.lazyLoad();
-	return this.damageDealt > 0;
+	return GameObjectData.table().damage[this.id.ordinal()] > 0;
     }
 
     public final boolean isField() {
-	this.lazyLoad();
-	return this.isField;
+	return GameObjectData.table().field.get(this.id.ordinal());
     }
 
     @SuppressWarnings("static-method")
@@ -442,33 +422,27 @@ public final class GameObject implements RandomGenerationRule {
     }
 
     public final boolean isInteractive() {
-	this.lazyLoad();
-	return this.interactive;
+	return GameObjectData.table().interactive.get(this.id.ordinal());
     }
 
     public final boolean isMoving() {
-	this.lazyLoad();
-	return this.canMove;
+	return GameObjectData.table().moving.get(this.id.ordinal());
     }
 
     public final boolean isPassThrough() {
-	this.lazyLoad();
-	return this.isPassThrough;
+	return GameObjectData.table().passThrough.get(this.id.ordinal());
     }
 
     public final boolean isPlayer() {
-	this.lazyLoad();
-	return this.isPlayer;
+	return GameObjectData.table().player.get(this.id.ordinal());
     }
 
     public final boolean isPullable() {
-	this.lazyLoad();
-	return this.canPull;
+	return GameObjectData.table().pullable.get(this.id.ordinal());
     }
 
     public final boolean isPushable() {
-	this.lazyLoad();
-	return this.canPush;
+	return GameObjectData.table().pushable.get(this.id.ordinal());
     }
 
     @Override
@@ -481,13 +455,25 @@ public final class GameObject implements RandomGenerationRule {
     }
 
     public final boolean isSightBlocking() {
-	this.lazyLoad();
-	return this.sightBlock;
+	return GameObjectData.table().sightBlocking.get(this.id.ordinal());
     }
 
     public final boolean isSolid() {
-	this.lazyLoad();
-	return this.solid;
+	return GameObjectData.table().solid.get(this.id.ordinal());
+    }
+
+    public final boolean isShared() {
+	return this.shared;
+    }
+
+    public final boolean isStateful() {
+	// Objects that can hold per-instance state, by type or by instance
+	if (GameObject.isStatefulType(this.id.ordinal()) || this.hasDirection() || this.hasColor()) {
+	    return true;
+	}
+	return this.saved != null || this.previousState != null || this.boundX != 0 || this.boundY != 0
+		|| this.triggered || this.timerActive || this.waitingOnTunnel || this.imageOverridden
+		|| this.teamId != 0;
     }
 
     public boolean isTriggered() {
@@ -495,49 +481,25 @@ public final class GameObject implements RandomGenerationRule {
     }
 
     public boolean killsOnMove() {
-	this.lazyLoad();
-	return this.killsOnMove;
+	return GameObjectData.table().killsOnMove.get(this.id.ordinal());
     }
 
     private void lazyLoad() {
-	if (!this.lazyLoaded) {
-	    if (!this.imageOverridden) {
-		this.image = ObjectImageLoader.load(this.id);
-	    }
-	    this.interactMessageIndex = GameObjectDataLoader.interactionMessageIndex(this.id);
-	    this.interactMessage = Strings
-		    .objectInteractMessage(ObjectInteractMessage.values()[this.interactMessageIndex]);
-	    this.interactMorph = GameObjectDataLoader.interactionMorph(this.id);
-	    this.interactSound = GameObjectDataLoader.interactionSound(this.id);
-	    this.color = GameObjectDataLoader.color(this.id);
-	    this.direction = GameObjectDataLoader.direction(this.id);
-	    this.shop = GameObjectDataLoader.shopType(this.id);
-	    this.solid = GameObjectDataLoader.solid(this.id);
-	    this.friction = GameObjectDataLoader.friction(this.id);
-	    this.sightBlock = GameObjectDataLoader.sightBlocking(this.id);
-	    this.interactive = GameObjectDataLoader.isInteractive(this.id);
-	    this.canPush = GameObjectDataLoader.pushable(this.id);
-	    this.canPull = GameObjectDataLoader.pullable(this.id);
-	    this.canMove = GameObjectDataLoader.isMoving(this.id);
-	    this.isField = GameObjectDataLoader.isField(this.id);
-	    this.isPlayer = GameObjectDataLoader.isPlayer(this.id);
-	    this.myLayer = GameObjectDataLoader.layer(this.id);
-	    this.blockHeight = GameObjectDataLoader.height(this.id);
-	    this.damageDealt = GameObjectDataLoader.damage(this.id);
-	    this.initialTimerValue = GameObjectDataLoader.initialTimer(this.id);
-	    this.maxFrameNumber = GameObjectDataLoader.maxFrame(this.id);
-	    this.bound = GameObjectDataLoader.bound(this.id);
-	    this.deferSetProperties = GameObjectDataLoader.deferSetProperties(this.id);
-	    this.killsOnMove = GameObjectDataLoader.killsOnMove(this.id);
-	    this.solvesOnMove = GameObjectDataLoader.solvesOnMove(this.id);
-	    this.isPassThrough = GameObjectDataLoader.isPassThrough(this.id);
-	    this.material = GameObjectDataLoader.material(this.id);
-	    this.boundUniversal = GameObjectDataLoader.boundUniversal(this.id);
-	    this.lazyLoaded = true;
+	if (this.image == null && !this.imageOverridden) {
+	    this.image = ObjectImageLoader.load(this.id);
 	}
     }
 
+    public final GameObject mutable() {
+	if (this.shared) {
+	    // Copy on write: hand out a private copy of the shared instance
+	    return new GameObject(this);
+	}
+	return this;
+    }
+
     public final void overrideImage(final BufferedImageIcon imageOverride) {
+	this.checkMutable();
 	this.imageOverridden = true;
 	this.image = imageOverride;
     }
@@ -604,67 +566,99 @@ public final class GameObject implements RandomGenerationRule {
     }
 
     public final void setBoundObjectX(final int newBX) {
-	this.boundX = newBX;
+	if (this.boundX != newBX) {
+	    this.checkMutable();
+	    this.boundX = newBX;
+	}
     }
 
     public final void setBoundObjectY(final int newBY) {
-	this.boundY = newBY;
+	if (this.boundY != newBY) {
+	    this.checkMutable();
+	    this.boundY = newBY;
+	}
     }
 
     public final void setDirection(final Direction dir) {
-	this.direction = dir;
+	if (this.direction != dir) {
+	    this.checkMutable();
+	    this.direction = dir;
+	}
     }
 
     public final void setPreviousStateObject(final GameObject savedObject) {
-	this.previousState = savedObject.getId();
+	if (this.previousState != savedObject.getId()) {
+	    this.checkMutable();
+	    this.previousState = savedObject.getId();
+	}
     }
 
     public final void setSavedObject(final GameObject savedObject) {
-	this.saved = savedObject.getId();
+	if (this.saved != savedObject.getId()) {
+	    this.checkMutable();
+	    this.saved = savedObject.getId();
+	}
     }
 
     public final void setTeamID(final int tid) {
-	this.teamId = tid;
+	if (this.teamId != tid) {
+	    this.checkMutable();
+	    this.teamId = tid;
+	}
     }
 
     public final void setTriggered(final boolean isTriggered) {
-	this.triggered = isTriggered;
+	if (this.triggered != isTriggered) {
+	    this.checkMutable();
+	    this.triggered = isTriggered;
+	}
     }
 
     public void setWaitingOnTunnel(final boolean value) {
-	this.waitingOnTunnel = value;
+	if (this.waitingOnTunnel != value) {
+	    this.checkMutable();
+	    this.waitingOnTunnel = value;
+	}
+    }
+
+    // True when both objects would produce the same cache name
+    public final boolean sharesCacheName(final GameObject other) {
+	if (this.id != other.id || this.hasDirection() != other.hasDirection()) {
+	    return false;
+	}
+	if (this.hasDirection() && this.direction != other.direction) {
+	    return false;
+	}
+	return !this.isAnimated() || this.frameNumber == other.frameNumber;
     }
 
     @Override
     public boolean shouldGenerateObject(final DungeonBase dungeonBase, final int row, final int col, final int level,
 	    final int layer) {
+	return this.shouldGenerateObject(dungeonBase, row, col, level, layer, GameRandom.current().asGenerator());
+    }
+
+    @Override
+    public boolean shouldGenerateObject(final DungeonBase dungeonBase, final int row, final int col, final int level,
+	    final int layer, final RandomGenerator random) {
 	if (layer == Layer.STATUS.ordinal()) {
 	    // Handle object layer
 	    // Limit generation of other objects to 20%, unless required
 	    if (this.isPassThrough() || this.isRequired(dungeonBase)) {
 		return true;
 	    }
-	    final var r = new RandomRange(1, 100);
-	    if (r.generate() <= 20) {
-		return true;
-	    }
-	    return false;
+	    return random.nextInt(1, 101) <= 20;
 	}
 	if (!this.isField()) {
 	    // Generate other ground at 100%
 	    return true;
 	}
 	// Limit generation of fields to 20%
-	final var r = new RandomRange(1, 100);
-	if (r.generate() <= 20) {
-	    return true;
-	}
-	return false;
+	return random.nextInt(1, 101) <= 20;
     }
 
     public boolean solvesOnMove() {
-	this.lazyLoad();
-	return this.solvesOnMove;
+	return GameObjectData.table().solvesOnMove.get(this.id.ordinal());
     }
 
     public final void tickTimer() {
@@ -677,6 +671,24 @@ public final class GameObject implements RandomGenerationRule {
 	}
     }
 
+    // Packs the parts of the cache name into id << 8 | direction << 4 | frame, or -1 if that cannot be done
+    final int tileKey() {
+	if (this.imageOverridden) {
+	    return -1;
+	}
+	var key = this.id.ordinal() << 8;
+	if (this.hasDirection()) {
+	    key |= this.direction.ordinal() << 4;
+	}
+	if (this.isAnimated()) {
+	    if (this.frameNumber > 15) {
+		return -1;
+	    }
+	    key |= this.frameNumber;
+	}
+	return key;
+    }
+
     private final void toggleColor() {
 	var maxColor = Colors.values().length;
 	if (this.hasColor()) {
@@ -694,13 +706,14 @@ public final class GameObject implements RandomGenerationRule {
     }
 
     public final void toggleDirection() {
+	this.checkMutable();
 	this.direction = DirectionResolver.rotateRight90(this.direction);
     }
 
     public final void toggleFrameNumber() {
 	if (this.isAnimated()) {
 	    this.frameNumber++;
-	    if (this.frameNumber > this.maxFrameNumber) {
+	    if (this.frameNumber > GameObjectData.table().maxFrame[this.id.ordinal()]) {
 		this.frameNumber = 0;
 	    }
 	}
@@ -0,0 +1,85 @@
+/*  Inconnuclear: A Dungeon-Diving RPG
+Copyleft (C) 2024-present RetroPipes
+Licensed under MIT. See the LICENSE file for details.
+
+All support is handled via the GitHub repository: https://github.com/retropipes/inconnuclear
+ */
+package org.retropipes.inconnuclear.dungeon.gameobject;
+
+import java.util.BitSet;
+
+import org.retropipes.diane.direction.Direction;
+import org.retropipes.inconnuclear.loader.image.gameobject.ObjectImageId;
+import org.retropipes.inconnuclear.loader.sound.Sounds;
+import org.retropipes.inconnuclear.locale.Colors;
+
+final class GameObjectData {
+    private static class TableHolder {
+	private static final GameObjectData TABLE = GameObjectDataLoader.loadTable();
+    }
+
+    static GameObjectData table() {
+	return TableHolder.TABLE;
+    }
+
+    // Fields
+    final int count;
+    final BitSet boundUniversal;
+    final BitSet deferSetProperties;
+    final BitSet field;
+    final BitSet friction;
+    final BitSet interactive;
+    final BitSet moving;
+    final BitSet player;
+    final BitSet passThrough;
+    final BitSet killsOnMove;
+    final BitSet pullable;
+    final BitSet pushable;
+    final BitSet sightBlocking;
+    final BitSet solid;
+    final BitSet solvesOnMove;
+    final int[] damage;
+    final int[] height;
+    final int[] initialTimer;
+    final int[] interactMessageIndex;
+    final int[] layer;
+    final int[] maxFrame;
+    final ObjectImageId[] bound;
+    final ObjectImageId[] interactMorph;
+    final Colors[] color;
+    final Direction[] direction;
+    final Sounds[] interactSound;
+    final Material[] material;
+    final ShopType[] shop;
+
+    GameObjectData(final int objectCount) {
+	this.count = objectCount;
+	this.boundUniversal = new BitSet(objectCount);
+	this.deferSetProperties = new BitSet(objectCount);
+	this.field = new BitSet(objectCount);
+	this.friction = new BitSet(objectCount);
+	this.interactive = new BitSet(objectCount);
+	this.moving = new BitSet(objectCount);
+	this.player = new BitSet(objectCount);
+	this.passThrough = new BitSet(objectCount);
+	this.killsOnMove = new BitSet(objectCount);
+	this.pullable = new BitSet(objectCount);
+	this.pushable = new BitSet(objectCount);
+	this.sightBlocking = new BitSet(objectCount);
+	this.solid = new BitSet(objectCount);
+	this.solvesOnMove = new BitSet(objectCount);
+	this.damage = new int[objectCount];
+	this.height = new int[objectCount];
+	this.initialTimer = new int[objectCount];
+	this.interactMessageIndex = new int[objectCount];
+	this.layer = new int[objectCount];
+	this.maxFrame = new int[objectCount];
+	this.bound = new ObjectImageId[objectCount];
+	this.interactMorph = new ObjectImageId[objectCount];
+	this.color = new Colors[objectCount];
+	this.direction = new Direction[objectCount];
+	this.interactSound = new Sounds[objectCount];
+	this.material = new Material[objectCount];
+	this.shop = new ShopType[objectCount];
+    }
+}
@@ -6,6 +6,7 @@ All support is handled via the GitHub repository: https://github.com/retropipes/
  */
 package org.retropipes.inconnuclear.dungeon.gameobject;
 
+import java.util.BitSet;
 import java.util.ResourceBundle;
 
 import org.retropipes.diane.direction.Direction;
@@ -14,167 +15,106 @@ import org.retropipes.inconnuclear.loader.sound.Sounds;
 import org.retropipes.inconnuclear.locale.Colors;
 
 final class GameObjectDataLoader {
-    static ObjectImageId bound(final ObjectImageId index) {
-	var maxOid = ObjectImageId.values().length;
-	var oid = (int) ResourceBundle.getBundle("org.retropipes.inconnuclear.dungeon.gameobject.data.bound")
-		.getObject(Integer.toString(index.ordinal()));
-	if (oid < 0 || oid > maxOid) {
+    private static final String BUNDLE_PREFIX = "org.retropipes.inconnuclear.dungeon.gameobject.data.";
+
+    private static <T> T enumValue(final T[] values, final int index) {
+	if (index < 0 || index >= values.length) {
 	    return null;
 	}
-	return ObjectImageId.values()[oid];
-    }
-
-    static boolean boundUniversal(final ObjectImageId index) {
-	return (boolean) ResourceBundle
-		.getBundle("org.retropipes.inconnuclear.dungeon.gameobject.data.bound_universal")
-		.getObject(Integer.toString(index.ordinal()));
-    }
-
-    static Colors color(final ObjectImageId index) {
-	var maxCid = Colors.values().length;
-	var cid = (int) ResourceBundle.getBundle("org.retropipes.inconnuclear.dungeon.gameobject.data.color")
-		.getObject(Integer.toString(index.ordinal()));
-	if (cid < 0 || cid > maxCid) {
-	    return Colors._NONE;
+	return values[index];
+    }
+
+    // The property bundles are the only source of object data
+    static GameObjectData loadTable() {
+	final var ids = ObjectImageId.values();
+	final var table = new GameObjectData(ids.length);
+	GameObjectDataLoader.parseFlags(table.boundUniversal, "bound_universal", false);
+	GameObjectDataLoader.parseFlags(table.deferSetProperties, "defer_set", false);
+	GameObjectDataLoader.parseFlags(table.field, "field", false);
+	GameObjectDataLoader.parseFlags(table.friction, "friction", true);
+	GameObjectDataLoader.parseFlags(table.interactive, "interact", false);
+	GameObjectDataLoader.parseFlags(table.moving, "moving", false);
+	GameObjectDataLoader.parseFlags(table.player, "player", false);
+	GameObjectDataLoader.parseFlags(table.passThrough, "pass_through", false);
+	GameObjectDataLoader.parseFlags(table.killsOnMove, "move_kill", false);
+	GameObjectDataLoader.parseFlags(table.pullable, "pullable", false);
+	GameObjectDataLoader.parseFlags(table.pushable, "pushable", false);
+	GameObjectDataLoader.parseFlags(table.sightBlocking, "sightblocking", false);
+	GameObjectDataLoader.parseFlags(table.solid, "solid", false);
+	GameObjectDataLoader.parseFlags(table.solvesOnMove, "move_solve", false);
+	GameObjectDataLoader.parseValues(table.damage, "damaging", 0);
+	GameObjectDataLoader.parseValues(table.height, "height", 1);
+	GameObjectDataLoader.parseValues(table.initialTimer, "initial_timer", 0);
+	GameObjectDataLoader.parseValues(table.interactMessageIndex, "interact_message", 0);
+	GameObjectDataLoader.parseValues(table.layer, "layer", 1);
+	GameObjectDataLoader.parseValues(table.maxFrame, "max_frame", 0);
+	final var bound = new int[ids.length];
+	final var morph = new int[ids.length];
+	final var color = new int[ids.length];
+	final var direction = new int[ids.length];
+	final var sound = new int[ids.length];
+	final var material = new int[ids.length];
+	final var shop = new int[ids.length];
+	GameObjectDataLoader.parseValues(bound, "bound", -1);
+	GameObjectDataLoader.parseValues(morph, "interact_morph", -1);
+	GameObjectDataLoader.parseValues(color, "color", -1);
+	GameObjectDataLoader.parseValues(direction, "direction", -1);
+	GameObjectDataLoader.parseValues(sound, "interact_sound", 0);
+	GameObjectDataLoader.parseValues(material, "material", 0);
+	GameObjectDataLoader.parseValues(shop, "shop", -1);
+	GameObjectDataLoader.resolveEnums(table, bound, morph, color, direction, sound, material, shop);
+	return table;
+    }
+
+    private static void parseFlags(final BitSet flags, final String bundleName, final boolean fallback) {
+	final var bundle = ResourceBundle.getBundle(GameObjectDataLoader.BUNDLE_PREFIX + bundleName);
+	final var count = ObjectImageId.values().length;
+	for (var index = 0; index < count; index++) {
+	    final var key = Integer.toString(index);
+	    var value = fallback;
+	    if (bundle.containsKey(key)) {
+		value = Boolean.parseBoolean(bundle.getString(key).trim());
+	    }
+	    flags.set(index, value);
 	}
-	return Colors.values()[cid];
-    }
-
-    static int damage(final ObjectImageId index) {
-	return (int) ResourceBundle.getBundle("org.retropipes.inconnuclear.dungeon.gameobject.data.damaging")
-		.getObject(Integer.toString(index.ordinal()));
-    }
-
-    static boolean deferSetProperties(final ObjectImageId index) {
-	return (boolean) ResourceBundle.getBundle("org.retropipes.inconnuclear.dungeon.gameobject.data.defer_set")
-		.getObject(Integer.toString(index.ordinal()));
-    }
-
-    static Direction direction(final ObjectImageId index) {
-	var maxDid = Direction.values().length;
-	var did = (int) ResourceBundle.getBundle("org.retropipes.inconnuclear.dungeon.gameobject.data.direction")
-		.getObject(Integer.toString(index.ordinal()));
-	if (did < 0 || did > maxDid) {
-	    return Direction.NONE;
-	}
-	return Direction.values()[did];
-    }
-
-    static boolean isField(final ObjectImageId index) {
-	return (boolean) ResourceBundle.getBundle("org.retropipes.inconnuclear.dungeon.gameobject.data.field")
-		.getObject(Integer.toString(index.ordinal()));
-    }
-
-    static boolean friction(final ObjectImageId index) {
-	return (boolean) ResourceBundle.getBundle("org.retropipes.inconnuclear.dungeon.gameobject.data.friction")
-		.getObject(Integer.toString(index.ordinal()));
-    }
-
-    static int height(final ObjectImageId index) {
-	return (int) ResourceBundle.getBundle("org.retropipes.inconnuclear.dungeon.gameobject.data.height")
-		.getObject(Integer.toString(index.ordinal()));
-    }
-
-    static int initialTimer(final ObjectImageId index) {
-	return (int) ResourceBundle.getBundle("org.retropipes.inconnuclear.dungeon.gameobject.data.initial_timer")
-		.getObject(Integer.toString(index.ordinal()));
-    }
-
-    static boolean isInteractive(final ObjectImageId index) {
-	return (boolean) ResourceBundle.getBundle("org.retropipes.inconnuclear.dungeon.gameobject.data.interact")
-		.getObject(Integer.toString(index.ordinal()));
-    }
-
-    static boolean isMoving(final ObjectImageId index) {
-	return (boolean) ResourceBundle.getBundle("org.retropipes.inconnuclear.dungeon.gameobject.data.moving")
-		.getObject(Integer.toString(index.ordinal()));
-    }
-
-    static boolean isPlayer(final ObjectImageId index) {
-	return (boolean) ResourceBundle.getBundle("org.retropipes.inconnuclear.dungeon.gameobject.data.player")
-		.getObject(Integer.toString(index.ordinal()));
     }
 
-    static ObjectImageId interactionMorph(final ObjectImageId index) {
-	var maxOid = ObjectImageId.values().length;
-	var oid = (int) ResourceBundle.getBundle("org.retropipes.inconnuclear.dungeon.gameobject.data.interact_morph")
-		.getObject(Integer.toString(index.ordinal()));
-	if (oid < 0 || oid > maxOid) {
-	    return null;
+    private static void parseValues(final int[] values, final String bundleName, final int fallback) {
+	final var bundle = ResourceBundle.getBundle(GameObjectDataLoader.BUNDLE_PREFIX + bundleName);
+	for (var index = 0; index < values.length; index++) {
+	    final var key = Integer.toString(index);
+	    var value = fallback;
+	    if (bundle.containsKey(key)) {
+		try {
+		    value = Integer.parseInt(bundle.getString(key).trim());
+		} catch (final NumberFormatException nfe) {
+		    // Keep the fallback
+		}
+	    }
+	    values[index] = value;
 	}
-	return ObjectImageId.values()[oid];
-    }
-
-    static int interactionMessageIndex(final ObjectImageId index) {
-	return (int) ResourceBundle.getBundle("org.retropipes.inconnuclear.dungeon.gameobject.data.interact_message")
-		.getObject(Integer.toString(index.ordinal()));
-    }
-
-    static Sounds interactionSound(final ObjectImageId index) {
-	return Sounds.values()[((int) ResourceBundle
-		.getBundle("org.retropipes.inconnuclear.dungeon.gameobject.data.interact_sound")
-		.getObject(Integer.toString(index.ordinal())))];
-    }
-
-    static boolean isPassThrough(final ObjectImageId index) {
-	return (boolean) ResourceBundle.getBundle("org.retropipes.inconnuclear.dungeon.gameobject.data.pass_through")
-		.getObject(Integer.toString(index.ordinal()));
-    }
-
-    static boolean killsOnMove(final ObjectImageId index) {
-	return (boolean) ResourceBundle.getBundle("org.retropipes.inconnuclear.dungeon.gameobject.data.move_kill")
-		.getObject(Integer.toString(index.ordinal()));
-    }
-
-    static int layer(final ObjectImageId index) {
-	return (int) ResourceBundle.getBundle("org.retropipes.inconnuclear.dungeon.gameobject.data.layer")
-		.getObject(Integer.toString(index.ordinal()));
-    }
-
-    static Material material(final ObjectImageId index) {
-	return Material.values()[((int) ResourceBundle
-		.getBundle("org.retropipes.inconnuclear.dungeon.gameobject.data.material")
-		.getObject(Integer.toString(index.ordinal())))];
     }
 
-    static int maxFrame(final ObjectImageId index) {
-	return (int) ResourceBundle.getBundle("org.retropipes.inconnuclear.dungeon.gameobject.data.max_frame")
-		.getObject(Integer.toString(index.ordinal()));
-    }
-
-    static boolean pullable(final ObjectImageId index) {
-	return (boolean) ResourceBundle.getBundle("org.retropipes.inconnuclear.dungeon.gameobject.data.pullable")
-		.getObject(Integer.toString(index.ordinal()));
-    }
-
-    static boolean pushable(final ObjectImageId index) {
-	return (boolean) ResourceBundle.getBundle("org.retropipes.inconnuclear.dungeon.gameobject.data.pushable")
-		.getObject(Integer.toString(index.ordinal()));
-    }
-
-    static ShopType shopType(final ObjectImageId index) {
-	var maxSid = ShopType.values().length;
-	var sid = (int) ResourceBundle.getBundle("org.retropipes.inconnuclear.dungeon.gameobject.data.shop")
-		.getObject(Integer.toString(index.ordinal()));
-	if (sid < 0 || sid > maxSid) {
-	    return null;
+    private static void resolveEnums(final GameObjectData table, final int[] bound, final int[] morph,
+	    final int[] color, final int[] direction, final int[] sound, final int[] material, final int[] shop) {
+	final var ids = ObjectImageId.values();
+	final var colors = Colors.values();
+	final var directions = Direction.values();
+	final var sounds = Sounds.values();
+	final var materials = Material.values();
+	final var shops = ShopType.values();
+	for (var index = 0; index < table.count; index++) {
+	    table.bound[index] = GameObjectDataLoader.enumValue(ids, bound[index]);
+	    table.interactMorph[index] = GameObjectDataLoader.enumValue(ids, morph[index]);
+	    final var c = GameObjectDataLoader.enumValue(colors, color[index]);
+	    table.color[index] = c == null ? Colors._NONE : c;
+	    final var d = GameObjectDataLoader.enumValue(directions, direction[index]);
+	    table.direction[index] = d == null ? Direction.NONE : d;
+	    table.interactSound[index] = GameObjectDataLoader.enumValue(sounds, sound[index]);
+	    final var m = GameObjectDataLoader.enumValue(materials, material[index]);
+	    table.material[index] = m == null ? Material.DEFAULT : m;
+	    table.shop[index] = GameObjectDataLoader.enumValue(shops, shop[index]);
 	}
-	return ShopType.values()[sid];
-    }
-
-    static boolean sightBlocking(final ObjectImageId index) {
-	return (boolean) ResourceBundle.getBundle("org.retropipes.inconnuclear.dungeon.gameobject.data.sightblocking")
-		.getObject(Integer.toString(index.ordinal()));
-    }
-
-    static boolean solid(final ObjectImageId index) {
-	return (boolean) ResourceBundle.getBundle("org.retropipes.inconnuclear.dungeon.gameobject.data.solid")
-		.getObject(Integer.toString(index.ordinal()));
-    }
-
-    static boolean solvesOnMove(final ObjectImageId index) {
-	return (boolean) ResourceBundle.getBundle("org.retropipes.inconnuclear.dungeon.gameobject.data.move_solve")
-		.getObject(Integer.toString(index.ordinal()));
     }
 
     private GameObjectDataLoader() {
@@ -22,7 +22,6 @@ import javax.swing.JToggleButton;
 
 import org.retropipes.diane.LocaleUtils;
 import org.retropipes.diane.asset.image.BufferedImageIcon;
-import org.retropipes.diane.asset.image.ImageCompositor;
 import org.retropipes.diane.gui.MainContent;
 import org.retropipes.diane.gui.MainWindow;
 import org.retropipes.diane.gui.dialog.CommonDialogs;
@@ -36,6 +35,7 @@ import org.retropipes.inconnuclear.MenuSection;
 import org.retropipes.inconnuclear.StuffBag;
 import org.retropipes.inconnuclear.asset.ImageConstants;
 import org.retropipes.inconnuclear.dungeon.base.DungeonBase;
+import org.retropipes.inconnuclear.dungeon.gameobject.CompositeTileCache;
 import org.retropipes.inconnuclear.dungeon.gameobject.GameObject;
 import org.retropipes.inconnuclear.dungeon.manager.DungeonManager;
 import org.retropipes.inconnuclear.game.Game;
@@ -895,10 +895,7 @@ public class Editor implements MenuSection {
 			this.elMgr.getEditorLocationZ(), Layer.GROUND.ordinal());
 		final var ugobj = app.getDungeonManager().getDungeonBase().getCell(y, x,
 			this.elMgr.getEditorLocationZ(), Layer.OBJECT.ordinal());
-		final var lgimg = ObjectImageLoader.load(lgobj.getCacheName(), lgobj.getIdValue());
-		final var ugimg = ObjectImageLoader.load(ugobj.getCacheName(), ugobj.getIdValue());
-		final var cacheName = Strings.compositeCacheName(lgobj.getCacheName(), ugobj.getCacheName());
-		final var img = ImageCompositor.composite(cacheName, lgimg, ugimg);
+		final var img = CompositeTileCache.composite(lgobj, ugobj);
 		drawGrid.setImageCell(img, xFix, yFix);
 	    }
 	}
@@ -922,12 +919,7 @@ public class Editor implements MenuSection {
 			this.elMgr.getEditorLocationZ(), Layer.OBJECT.ordinal());
 		final var loobj = app.getDungeonManager().getDungeonBase().getCell(y, x,
 			this.elMgr.getEditorLocationZ(), Layer.STATUS.ordinal());
-		final var lgimg = ObjectImageLoader.load(lgobj.getCacheName(), lgobj.getIdValue());
-		final var ugimg = ObjectImageLoader.load(ugobj.getCacheName(), ugobj.getIdValue());
-		final var loimg = ObjectImageLoader.load(loobj.getCacheName(), loobj.getIdValue());
-		final var cacheName = Strings.compositeCacheName(lgobj.getCacheName(), ugobj.getCacheName(),
-			loobj.getCacheName());
-		final var img = ImageCompositor.composite(cacheName, lgimg, ugimg, loimg);
+		final var img = CompositeTileCache.composite(lgobj, ugobj, loobj);
 		drawGrid.setImageCell(img, xFix, yFix);
 	    }
 	}
@@ -955,14 +947,7 @@ public class Editor implements MenuSection {
 			this.elMgr.getEditorLocationZ(), Layer.MARKER.ordinal());
 		final var lvobj = app.getDungeonManager().getDungeonBase().getVirtualCell(y, x,
 			this.elMgr.getEditorLocationZ(), DungeonConstants.LAYER_VIRTUAL);
-		final var lgimg = ObjectImageLoader.load(lgobj.getCacheName(), lgobj.getIdValue());
-		final var ugimg = ObjectImageLoader.load(ugobj.getCacheName(), ugobj.getIdValue());
-		final var loimg = ObjectImageLoader.load(loobj.getCacheName(), loobj.getIdValue());
-		final var uoimg = ObjectImageLoader.load(uoobj.getCacheName(), uoobj.getIdValue());
-		final var lvimg = ObjectImageLoader.load(lvobj.getCacheName(), lvobj.getIdValue());
-		final var cacheName = Strings.compositeCacheName(lgobj.getCacheName(), ugobj.getCacheName(),
-			loobj.getCacheName(), uoobj.getCacheName(), lvobj.getCacheName());
-		final var img = ImageCompositor.composite(cacheName, lgimg, ugimg, loimg, uoimg, lvimg);
+		final var img = CompositeTileCache.composite(lgobj, ugobj, loobj, uoobj, lvobj);
 		drawGrid.setImageCell(img, xFix, yFix);
 	    }
 	}
@@ -0,0 +1,15 @@
+/*  Inconnuclear: A Dungeon-Diving RPG
+Copyleft (C) 2024-present RetroPipes
+Licensed under MIT. See the LICENSE file for details.
+
+All support is handled via the GitHub repository: https://github.com/retropipes/inconnuclear
+ */
+package org.retropipes.inconnuclear.files;
+
+import java.io.File;
+import java.io.IOException;
+
+public interface AbstractSourceIO {
+    // Copies the archived file named like target into target; false if the archive doesn't have it
+    boolean restoreFile(File target) throws IOException;
+}
@@ -0,0 +1,53 @@
+/*  Inconnuclear: A Dungeon-Diving RPG
+Copyleft (C) 2024-present RetroPipes
+Licensed under MIT. See the LICENSE file for details.
+
+All support is handled via the GitHub repository: https://github.com/retropipes/inconnuclear
+ */
+package org.retropipes.inconnuclear.files;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+// A plain header followed by data shifted by a repeating key, which keeps any byte decodable from its position
+final class ArchiveCipher {
+    static final ArchiveCipher PLAIN = new ArchiveCipher(new byte[0], null);
+
+    // Fields
+    private final byte[] header;
+    private final DungeonProtectionWrapper.KeyStream key;
+
+    // Constructors
+    ArchiveCipher(final byte[] plainHeader, final char[] transform) {
+	this.header = plainHeader;
+	this.key = transform == null ? null : new DungeonProtectionWrapper.KeyStream(transform);
+    }
+
+    // Position counts from the end of the header
+    void decode(final byte[] b, final int off, final int len, final long position) {
+	if (this.key != null) {
+	    this.key.apply(b, off, len, position, true);
+	}
+    }
+
+    InputStream decoder(final InputStream in) throws IOException {
+	in.skipNBytes(this.header.length);
+	if (this.key == null) {
+	    return in;
+	}
+	return DungeonProtectionWrapper.unprotect(in, this.key);
+    }
+
+    OutputStream encoder(final OutputStream out) throws IOException {
+	out.write(this.header);
+	if (this.key == null) {
+	    return out;
+	}
+	return DungeonProtectionWrapper.protect(out, this.key);
+    }
+
+    int getHeaderLength() {
+	return this.header.length;
+    }
+}
@@ -0,0 +1,147 @@
+/*  Inconnuclear: A Dungeon-Diving RPG
+Copyleft (C) 2024-present RetroPipes
+Licensed under MIT. See the LICENSE file for details.
+
+All support is handled via the GitHub repository: https://github.com/retropipes/inconnuclear
+ */
+package org.retropipes.inconnuclear.files;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.zip.ZipException;
+import java.util.zip.ZipInputStream;
+
+import org.retropipes.inconnuclear.dungeon.base.DungeonBase;
+import org.retropipes.inconnuclear.locale.ErrorString;
+import org.retropipes.inconnuclear.locale.Strings;
+
+public final class DungeonArchive {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    static final String PART_SUFFIX = ".part";
+    private static long lastSaveNanos = 0L;
+    private static long lastSaveBytes = 0L;
+    private static long lastLoadNanos = 0L;
+    private static long lastLoadBytes = 0L;
+
+    static void commit(final File part, final File dst) throws IOException {
+	try {
+	    Files.move(part.toPath(), dst.toPath(), StandardCopyOption.REPLACE_EXISTING,
+		    StandardCopyOption.ATOMIC_MOVE);
+	} catch (final AtomicMoveNotSupportedException amnse) {
+	    Files.move(part.toPath(), dst.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+    }
+
+    private static void extract(final ZipInputStream zip, final File folder) throws IOException {
+	final var root = folder.getCanonicalFile().toPath();
+	var entries = 0;
+	for (var entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+	    final var target = root.resolve(entry.getName()).normalize();
+	    if (!target.startsWith(root)) {
+		throw new ZipException(Strings.error(ErrorString.UNKNOWN_FILE_FORMAT));
+	    }
+	    if (entry.isDirectory()) {
+		Files.createDirectories(target);
+	    } else {
+		Files.createDirectories(target.getParent());
+		Files.copy(zip, target, StandardCopyOption.REPLACE_EXISTING);
+		entries++;
+	    }
+	}
+	if (entries == 0) {
+	    // A wrong protection key turns the archive into noise without a single entry
+	    throw new ZipException(Strings.error(ErrorString.UNKNOWN_FILE_FORMAT));
+	}
+    }
+
+    public static synchronized long getLastLoadBytes() {
+	return DungeonArchive.lastLoadBytes;
+    }
+
+    public static synchronized long getLastLoadNanos() {
+	return DungeonArchive.lastLoadNanos;
+    }
+
+    public static synchronized long getLastSaveBytes() {
+	return DungeonArchive.lastSaveBytes;
+    }
+
+    public static synchronized long getLastSaveNanos() {
+	return DungeonArchive.lastSaveNanos;
+    }
+
+    // Containers are read lazily; older zip archives are unpacked into the dungeon's folder in one pass
+    static DungeonBase load(final File src, final DungeonBase dungeon, final ArchiveCipher cipher)
+	    throws IOException {
+	final var start = System.nanoTime();
+	if (DungeonContainer.isContainer(src, cipher)) {
+	    // Files stay in the container until the dungeon asks for them
+	    dungeon.setSourceHandler(DungeonContainer.open(src, cipher));
+	} else {
+	    try (var file = new FileInputStream(src);
+		    var zip = new ZipInputStream(
+			    cipher.decoder(new BufferedInputStream(file, DungeonArchive.BUFFER_SIZE)))) {
+		DungeonArchive.extract(zip, new File(dungeon.getBasePath()));
+	    }
+	}
+	final var loaded = dungeon.readDungeonBase();
+	DungeonArchive.record(false, System.nanoTime() - start, src.length());
+	return loaded;
+    }
+
+    private static synchronized void record(final boolean save, final long nanos, final long bytes) {
+	if (save) {
+	    DungeonArchive.lastSaveNanos = nanos;
+	    DungeonArchive.lastSaveBytes = bytes;
+	} else {
+	    DungeonArchive.lastLoadNanos = nanos;
+	    DungeonArchive.lastLoadBytes = bytes;
+	}
+    }
+
+    // Writes the dungeon, then packs its folder and anything still only in the archive it came from
+    // into a container at dst in one pass; dst is only replaced once complete
+    static void save(final DungeonBase dungeon, final File dst, final ArchiveCipher cipher) throws IOException {
+	final var start = System.nanoTime();
+	dungeon.writeDungeon();
+	final var files = new File(dungeon.getBasePath()).listFiles(File::isFile);
+	if (files == null) {
+	    throw new FileNotFoundException(dungeon.getBasePath());
+	}
+	Arrays.sort(files);
+	final var previous = dungeon.getSourceHandler() instanceof final DungeonContainer container ? container
+		: null;
+	final var part = new File(dst.getPath() + DungeonArchive.PART_SUFFIX);
+	var committed = false;
+	try {
+	    try (var file = new FileOutputStream(part);
+		    var out = cipher.encoder(new BufferedOutputStream(file, DungeonArchive.BUFFER_SIZE))) {
+		DungeonContainer.write(out, files, previous);
+	    }
+	    DungeonArchive.commit(part, dst);
+	    committed = true;
+	} finally {
+	    if (!committed) {
+		part.delete();
+	    }
+	}
+	if (previous != null) {
+	    // Files never restored now live at their new offsets in dst
+	    dungeon.setSourceHandler(DungeonContainer.open(dst, cipher));
+	}
+	DungeonArchive.record(true, System.nanoTime() - start, dst.length());
+    }
+
+    private DungeonArchive() {
+	// Do nothing
+    }
+}
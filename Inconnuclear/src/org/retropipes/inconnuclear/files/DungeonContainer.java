@@ -0,0 +1,288 @@
+/*  Inconnuclear: A Dungeon-Diving RPG
+Copyleft (C) 2024-present RetroPipes
+Licensed under MIT. See the LICENSE file for details.
+
+All support is handled via the GitHub repository: https://github.com/retropipes/inconnuclear
+ */
+package org.retropipes.inconnuclear.files;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.zip.ZipException;
+
+import org.retropipes.inconnuclear.locale.ErrorString;
+import org.retropipes.inconnuclear.locale.Strings;
+
+// Layout after the cipher header: magic, version, slot count, then a hash table of
+// (name hash, blob offset, blob length) slots, then each blob as name length, name, data.
+// Any file is found by probing a slot or two, so opening and reading one level is O(1) in I/O.
+final class DungeonContainer implements AbstractSourceIO {
+    private static final class Entry {
+	// Fields
+	private final String name;
+	private final byte[] nameBytes;
+	private final long length;
+	private final File file;
+	private long offset;
+
+	// Constructors
+	Entry(final String entryName, final long entryLength, final File source) {
+	    this.name = entryName;
+	    this.nameBytes = entryName.getBytes(StandardCharsets.UTF_8);
+	    this.length = entryLength;
+	    this.file = source;
+	}
+    }
+
+    // "INCD"
+    private static final int MAGIC = 0x494E4344;
+    private static final byte VERSION = 1;
+    private static final int HEADER_SIZE = Integer.BYTES + 1 + Integer.BYTES;
+    private static final int SLOT_SIZE = 3 * Long.BYTES;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_NAME_LENGTH = 4096;
+    private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    private static long hashOf(final byte[] name) {
+	var hash = DungeonContainer.FNV_OFFSET;
+	for (final byte b : name) {
+	    hash ^= b & 0xFF;
+	    hash *= DungeonContainer.FNV_PRIME;
+	}
+	return hash;
+    }
+
+    static boolean isContainer(final File file, final ArchiveCipher cipher) throws IOException {
+	try (var channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+	    final var magic = new byte[Integer.BYTES];
+	    if (!DungeonContainer.readFully(channel, cipher, magic, 0L)) {
+		return false;
+	    }
+	    return ByteBuffer.wrap(magic).getInt() == DungeonContainer.MAGIC;
+	}
+    }
+
+    static DungeonContainer open(final File file, final ArchiveCipher cipher) throws IOException {
+	try (var channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+	    final var header = new byte[DungeonContainer.HEADER_SIZE];
+	    if (!DungeonContainer.readFully(channel, cipher, header, 0L)) {
+		throw new ZipException(Strings.error(ErrorString.UNKNOWN_FILE_FORMAT));
+	    }
+	    final var buf = ByteBuffer.wrap(header);
+	    final var slots = buf.getInt(Integer.BYTES + 1);
+	    if (buf.getInt() != DungeonContainer.MAGIC || buf.get() != DungeonContainer.VERSION || slots <= 0
+		    || Integer.bitCount(slots) != 1) {
+		throw new ZipException(Strings.error(ErrorString.UNKNOWN_FILE_FORMAT));
+	    }
+	    return new DungeonContainer(file, cipher, slots);
+	}
+    }
+
+    // Reads dst.length bytes at a position counted from the end of the cipher header
+    private static boolean readFully(final FileChannel channel, final ArchiveCipher cipher, final byte[] dst,
+	    final long position) throws IOException {
+	final var buf = ByteBuffer.wrap(dst);
+	final var base = cipher.getHeaderLength() + position;
+	while (buf.hasRemaining()) {
+	    if (channel.read(buf, base + buf.position()) < 0) {
+		return false;
+	    }
+	}
+	cipher.decode(dst, 0, dst.length, position);
+	return true;
+    }
+
+    // Writes files, plus anything previous holds that files doesn't, to out, which the caller has already encoded
+    static void write(final OutputStream out, final File[] files, final DungeonContainer previous)
+	    throws IOException {
+	final var entries = new ArrayList<Entry>();
+	final var names = new HashSet<String>();
+	for (final File file : files) {
+	    entries.add(new Entry(file.getName(), file.length(), file));
+	    names.add(file.getName());
+	}
+	if (previous != null) {
+	    for (final Entry entry : previous.list()) {
+		if (!names.contains(entry.name)) {
+		    entries.add(entry);
+		}
+	    }
+	}
+	// Keep the table at most half full so probes stay short
+	final var slots = Integer.highestOneBit(Math.max(1, entries.size()) * 2 - 1) << 1;
+	final var table = new long[slots * 3];
+	var offset = (long) DungeonContainer.HEADER_SIZE + (long) slots * DungeonContainer.SLOT_SIZE;
+	for (final Entry entry : entries) {
+	    // Carried entries keep their old offset, which is where copy reads them from
+	    final var hash = DungeonContainer.hashOf(entry.nameBytes);
+	    var slot = (int) hash & slots - 1;
+	    while (table[slot * 3 + 1] != 0L) {
+		slot = slot + 1 & slots - 1;
+	    }
+	    table[slot * 3] = hash;
+	    table[slot * 3 + 1] = offset;
+	    table[slot * 3 + 2] = entry.length;
+	    offset += Integer.BYTES + entry.nameBytes.length + entry.length;
+	}
+	final var data = new DataOutputStream(out);
+	data.writeInt(DungeonContainer.MAGIC);
+	data.writeByte(DungeonContainer.VERSION);
+	data.writeInt(slots);
+	for (final long value : table) {
+	    data.writeLong(value);
+	}
+	for (final Entry entry : entries) {
+	    data.writeInt(entry.nameBytes.length);
+	    data.write(entry.nameBytes);
+	    if (entry.file != null) {
+		Files.copy(entry.file.toPath(), data);
+	    } else {
+		previous.copy(entry, data);
+	    }
+	}
+	data.flush();
+    }
+
+    // Fields
+    private final File source;
+    private final ArchiveCipher cipher;
+    private final int slotCount;
+
+    // Constructors
+    private DungeonContainer(final File file, final ArchiveCipher archiveCipher, final int slots) {
+	this.source = file;
+	this.cipher = archiveCipher;
+	this.slotCount = slots;
+    }
+
+    private void copy(final Entry entry, final OutputStream out) throws IOException {
+	try (var channel = FileChannel.open(this.source.toPath(), StandardOpenOption.READ)) {
+	    this.transfer(channel, entry, out);
+	}
+    }
+
+    private Entry find(final FileChannel channel, final String name) throws IOException {
+	final var nameBytes = name.getBytes(StandardCharsets.UTF_8);
+	final var hash = DungeonContainer.hashOf(nameBytes);
+	final var slot = new byte[DungeonContainer.SLOT_SIZE];
+	for (var i = 0; i < this.slotCount; i++) {
+	    final var index = (int) (hash + i) & this.slotCount - 1;
+	    final var slotPos = DungeonContainer.HEADER_SIZE + (long) index * DungeonContainer.SLOT_SIZE;
+	    if (!DungeonContainer.readFully(channel, this.cipher, slot, slotPos)) {
+		throw new ZipException(Strings.error(ErrorString.UNKNOWN_FILE_FORMAT));
+	    }
+	    final var buf = ByteBuffer.wrap(slot);
+	    final var slotHash = buf.getLong();
+	    final var offset = buf.getLong();
+	    final var length = buf.getLong();
+	    if (offset == 0L) {
+		return null;
+	    }
+	    if (slotHash == hash) {
+		final var stored = this.readName(channel, offset);
+		if (Arrays.equals(stored, nameBytes)) {
+		    final var entry = new Entry(name, length, null);
+		    entry.offset = offset;
+		    return entry;
+		}
+	    }
+	}
+	return null;
+    }
+
+    private ArrayList<Entry> list() throws IOException {
+	final var entries = new ArrayList<Entry>();
+	try (var channel = FileChannel.open(this.source.toPath(), StandardOpenOption.READ)) {
+	    final var slot = new byte[DungeonContainer.SLOT_SIZE];
+	    for (var index = 0; index < this.slotCount; index++) {
+		final var slotPos = DungeonContainer.HEADER_SIZE + (long) index * DungeonContainer.SLOT_SIZE;
+		if (!DungeonContainer.readFully(channel, this.cipher, slot, slotPos)) {
+		    throw new ZipException(Strings.error(ErrorString.UNKNOWN_FILE_FORMAT));
+		}
+		final var buf = ByteBuffer.wrap(slot);
+		buf.getLong();
+		final var offset = buf.getLong();
+		final var length = buf.getLong();
+		if (offset != 0L) {
+		    final var entry = new Entry(new String(this.readName(channel, offset), StandardCharsets.UTF_8),
+			    length, null);
+		    entry.offset = offset;
+		    entries.add(entry);
+		}
+	    }
+	}
+	return entries;
+    }
+
+    private byte[] readName(final FileChannel channel, final long offset) throws IOException {
+	final var size = new byte[Integer.BYTES];
+	if (!DungeonContainer.readFully(channel, this.cipher, size, offset)) {
+	    throw new ZipException(Strings.error(ErrorString.UNKNOWN_FILE_FORMAT));
+	}
+	final var length = ByteBuffer.wrap(size).getInt();
+	if (length < 0 || length > DungeonContainer.MAX_NAME_LENGTH) {
+	    throw new ZipException(Strings.error(ErrorString.UNKNOWN_FILE_FORMAT));
+	}
+	final var name = new byte[length];
+	if (!DungeonContainer.readFully(channel, this.cipher, name, offset + Integer.BYTES)) {
+	    throw new ZipException(Strings.error(ErrorString.UNKNOWN_FILE_FORMAT));
+	}
+	return name;
+    }
+
+    @Override
+    public synchronized boolean restoreFile(final File target) throws IOException {
+	try (var channel = FileChannel.open(this.source.toPath(), StandardOpenOption.READ)) {
+	    final var entry = this.find(channel, target.getName());
+	    if (entry == null) {
+		return false;
+	    }
+	    // A failed restore must not leave a torn file where the dungeon will look for one
+	    final var part = new File(target.getPath() + DungeonArchive.PART_SUFFIX);
+	    var committed = false;
+	    try {
+		try (var out = Files.newOutputStream(part.toPath())) {
+		    this.transfer(channel, entry, out);
+		}
+		DungeonArchive.commit(part, target);
+		committed = true;
+	    } finally {
+		if (!committed) {
+		    part.delete();
+		}
+	    }
+	    return true;
+	}
+    }
+
+    // Maps just the blob's data, so only its pages are read
+    private void transfer(final FileChannel channel, final Entry entry, final OutputStream out) throws IOException {
+	final var dataPos = entry.offset + Integer.BYTES + entry.nameBytes.length;
+	final var chunk = new byte[DungeonContainer.BUFFER_SIZE];
+	var done = 0L;
+	while (done < entry.length) {
+	    final var size = Math.min(entry.length - done, Integer.MAX_VALUE);
+	    final var mapped = channel.map(FileChannel.MapMode.READ_ONLY,
+		    this.cipher.getHeaderLength() + dataPos + done, size);
+	    while (mapped.hasRemaining()) {
+		final var count = Math.min(mapped.remaining(), chunk.length);
+		final var position = dataPos + done;
+		mapped.get(chunk, 0, count);
+		this.cipher.decode(chunk, 0, count, position);
+		out.write(chunk, 0, count);
+		done += count;
+	    }
+	}
+    }
+}
@@ -26,7 +26,9 @@ public class DungeonFileSuffixHandler implements AbstractSuffixIO {
 	    Inconnuclear.getStuffBag().getGame().loadGameHookG4(reader);
 	} else if (FileFormats.isFormatVersionValidGeneration5(formatVersion)) {
 	    Inconnuclear.getStuffBag().getGame().loadGameHookG5(reader);
-	} else if (FileFormats.isFormatVersionValidGeneration6(formatVersion)) {
+	} else if (FileFormats.isFormatVersionValidGeneration6(formatVersion)
+		|| FileFormats.isFormatVersionValidGeneration7(formatVersion)
+		|| FileFormats.isFormatVersionValidGeneration8(formatVersion)) {
 	    Inconnuclear.getStuffBag().getGame().loadGameHookG6(reader);
 	}
     }
@@ -13,12 +13,10 @@ import java.util.zip.ZipException;
 
 import javax.swing.JProgressBar;
 
-import org.retropipes.diane.fileio.utility.ZipUtilities;
 import org.retropipes.diane.gui.MainContent;
 import org.retropipes.diane.gui.MainWindow;
 import org.retropipes.diane.gui.dialog.CommonDialogs;
 import org.retropipes.inconnuclear.Inconnuclear;
-import org.retropipes.inconnuclear.dungeon.base.DungeonBase;
 import org.retropipes.inconnuclear.dungeon.manager.DungeonManager;
 import org.retropipes.inconnuclear.loader.extmusic.ExternalMusicLoader;
 import org.retropipes.inconnuclear.locale.DialogString;
@@ -60,35 +58,31 @@ public class DungeonLoadTask extends Thread {
 	}
 	try {
 	    final var dungeonFile = new File(this.filename);
-	    final var tempLock = new File(DungeonBase.getDungeonTempFolder() + "lock.tmp");
 	    var gameDungeon = DungeonManager.createDungeonBase();
+	    // Set prefix handler
+	    gameDungeon.setPrefixHandler(new DungeonFilePrefixHandler());
+	    // Set suffix handler
+	    if (this.isSavedGame) {
+		gameDungeon.setSuffixHandler(new DungeonFileSuffixHandler());
+	    } else {
+		gameDungeon.setSuffixHandler(null);
+	    }
 	    if (this.dungeonProtected) {
-		// Attempt to unprotect the file
-		DungeonProtectionWrapper.unprotect(dungeonFile, tempLock);
 		try {
-		    ZipUtilities.unzipDirectory(tempLock, new File(gameDungeon.getBasePath()));
+		    // Attempt to unprotect the file
+		    gameDungeon = DungeonArchive.load(dungeonFile, gameDungeon,
+			    DungeonProtectionWrapper.promptCipher());
 		    app.getDungeonManager().setDungeonProtected(true);
 		} catch (final ZipException ze) {
 		    CommonDialogs.showErrorDialog(Strings.error(ErrorString.BAD_PROTECTION_KEY),
 			    Strings.dialog(DialogString.PROTECTION_TITLE));
 		    app.getDungeonManager().handleDeferredSuccess(false, false, null);
 		    return;
-		} finally {
-		    tempLock.delete();
 		}
 	    } else {
-		ZipUtilities.unzipDirectory(dungeonFile, new File(gameDungeon.getBasePath()));
+		gameDungeon = DungeonArchive.load(dungeonFile, gameDungeon, ArchiveCipher.PLAIN);
 		app.getDungeonManager().setDungeonProtected(false);
 	    }
-	    // Set prefix handler
-	    gameDungeon.setPrefixHandler(new DungeonFilePrefixHandler());
-	    // Set suffix handler
-	    if (this.isSavedGame) {
-		gameDungeon.setSuffixHandler(new DungeonFileSuffixHandler());
-	    } else {
-		gameDungeon.setSuffixHandler(null);
-	    }
-	    gameDungeon = gameDungeon.readDungeonBase();
 	    if (gameDungeon == null) {
 		throw new InvalidDungeonException(Strings.error(ErrorString.UNKNOWN_OBJECT));
 	    }
@@ -6,60 +6,165 @@ All support is handled via the GitHub repository: https://github.com/retropipes/
  */
 package org.retropipes.inconnuclear.files;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 
 import org.retropipes.diane.gui.dialog.CommonDialogs;
 import org.retropipes.inconnuclear.locale.DialogString;
 import org.retropipes.inconnuclear.locale.Strings;
 
 public class DungeonProtectionWrapper {
-    // Constants
-    private static final int BLOCK_MULTIPLIER = 16;
-
-    private static char[] getTransform() {
-	return CommonDialogs.showPasswordInputDialog(Strings.dialog(DialogString.PROTECTION_PROMPT),
-		Strings.dialog(DialogString.PROTECTION_TITLE));
-    }
+    // The key repeated out to a full buffer past one period, so any run of up to BUFFER_SIZE bytes
+    // lines up with a contiguous slice of it and the transform is a plain array add
+    static final class KeyStream {
+	// Fields
+	private final byte[] bytes;
+	private final int period;
 
-    public static void protect(final File src, final File dst) throws IOException {
-	try (var in = new FileInputStream(src); var out = new FileOutputStream(dst)) {
-	    final var transform = DungeonProtectionWrapper.getTransform();
-	    if (transform == null) {
-		throw new ProtectionCancelException();
+	// Constructors
+	KeyStream(final char[] transform) {
+	    this.period = transform.length;
+	    this.bytes = new byte[this.period + DungeonProtectionWrapper.BUFFER_SIZE];
+	    for (var x = 0; x < this.bytes.length; x++) {
+		this.bytes[x] = (byte) transform[x % this.period];
 	    }
-	    final var buf = new byte[transform.length * DungeonProtectionWrapper.BLOCK_MULTIPLIER];
-	    int len;
-	    while ((len = in.read(buf)) > 0) {
-		for (var x = 0; x < buf.length; x++) {
-		    buf[x] += transform[x % transform.length];
+	}
+
+	// Transforms len bytes that sit at position onwards in the protected stream
+	void apply(final byte[] b, final int off, final int len, final long position, final boolean undo) {
+	    var phase = (int) (position % this.period);
+	    var done = 0;
+	    while (done < len) {
+		final var count = Math.min(len - done, DungeonProtectionWrapper.BUFFER_SIZE);
+		final var start = off + done;
+		if (undo) {
+		    for (var x = 0; x < count; x++) {
+			b[start + x] -= this.bytes[phase + x];
+		    }
+		} else {
+		    for (var x = 0; x < count; x++) {
+			b[start + x] += this.bytes[phase + x];
+		    }
 		}
-		out.write(buf, 0, len);
+		done += count;
+		phase = (phase + count) % this.period;
 	    }
-	} catch (final IOException ioe) {
-	    throw ioe;
+	}
+
+	byte at(final long position) {
+	    return this.bytes[(int) (position % this.period)];
 	}
     }
 
-    public static void unprotect(final File src, final File dst) throws IOException {
-	try (var in = new FileInputStream(src); var out = new FileOutputStream(dst)) {
-	    final var transform = DungeonProtectionWrapper.getTransform();
-	    if (transform == null) {
-		throw new ProtectionCancelException();
+    private static final class ProtectOutputStream extends FilterOutputStream {
+	// Fields
+	private final KeyStream key;
+	private final byte[] scratch;
+	private long position;
+
+	// Constructors
+	ProtectOutputStream(final OutputStream out, final KeyStream keyStream) {
+	    super(out);
+	    this.key = keyStream;
+	    this.scratch = new byte[DungeonProtectionWrapper.BUFFER_SIZE];
+	    this.position = 0L;
+	}
+
+	@Override
+	public void write(final byte[] b, final int off, final int len) throws IOException {
+	    var done = 0;
+	    while (done < len) {
+		// Never touch the caller's bytes
+		final var count = Math.min(len - done, this.scratch.length);
+		System.arraycopy(b, off + done, this.scratch, 0, count);
+		this.key.apply(this.scratch, 0, count, this.position, false);
+		this.out.write(this.scratch, 0, count);
+		this.position += count;
+		done += count;
 	    }
-	    final var buf = new byte[transform.length * DungeonProtectionWrapper.BLOCK_MULTIPLIER];
-	    int len;
-	    while ((len = in.read(buf)) > 0) {
-		for (var x = 0; x < buf.length; x++) {
-		    buf[x] -= transform[x % transform.length];
-		}
-		out.write(buf, 0, len);
+	}
+
+	@Override
+	public void write(final int b) throws IOException {
+	    this.out.write(b + this.key.at(this.position));
+	    this.position++;
+	}
+    }
+
+    private static final class UnprotectInputStream extends FilterInputStream {
+	// Fields
+	private final KeyStream key;
+	private long position;
+
+	// Constructors
+	UnprotectInputStream(final InputStream in, final KeyStream keyStream) {
+	    super(in);
+	    this.key = keyStream;
+	    this.position = 0L;
+	}
+
+	@Override
+	public boolean markSupported() {
+	    // The key position can't be rewound
+	    return false;
+	}
+
+	@Override
+	public int read() throws IOException {
+	    final var b = this.in.read();
+	    if (b < 0) {
+		return b;
+	    }
+	    final var res = b - this.key.at(this.position) & 0xFF;
+	    this.position++;
+	    return res;
+	}
+
+	@Override
+	public int read(final byte[] b, final int off, final int len) throws IOException {
+	    final var count = this.in.read(b, off, len);
+	    if (count > 0) {
+		this.key.apply(b, off, count, this.position, true);
+		this.position += count;
 	    }
-	} catch (final IOException ioe) {
-	    throw ioe;
+	    return count;
 	}
+
+	@Override
+	public long skip(final long n) throws IOException {
+	    // The key is addressed by position, so skipped bytes need no decoding
+	    final var skipped = this.in.skip(n);
+	    this.position += skipped;
+	    return skipped;
+	}
+    }
+
+    // Constants
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static char[] getTransform() {
+	return CommonDialogs.showPasswordInputDialog(Strings.dialog(DialogString.PROTECTION_PROMPT),
+		Strings.dialog(DialogString.PROTECTION_TITLE));
+    }
+
+    // Prompts for the key
+    static ArchiveCipher promptCipher() {
+	final var transform = DungeonProtectionWrapper.getTransform();
+	if (transform == null || transform.length == 0) {
+	    throw new ProtectionCancelException();
+	}
+	return new ArchiveCipher(new byte[0], transform);
+    }
+
+    static OutputStream protect(final OutputStream out, final KeyStream key) {
+	return new ProtectOutputStream(out, key);
+    }
+
+    static InputStream unprotect(final InputStream in, final KeyStream key) {
+	return new UnprotectInputStream(in, key);
     }
 
     private DungeonProtectionWrapper() {
@@ -9,10 +9,8 @@ package org.retropipes.inconnuclear.files;
 import java.io.File;
 import java.io.FileNotFoundException;
 
-import org.retropipes.diane.fileio.utility.ZipUtilities;
 import org.retropipes.diane.gui.dialog.CommonDialogs;
 import org.retropipes.inconnuclear.Inconnuclear;
-import org.retropipes.inconnuclear.dungeon.base.DungeonBase;
 import org.retropipes.inconnuclear.locale.DialogString;
 import org.retropipes.inconnuclear.locale.FileExtension;
 import org.retropipes.inconnuclear.locale.Strings;
@@ -58,7 +56,6 @@ public class DungeonSaveTask extends Thread {
 	    }
 	}
 	final var dungeonFile = new File(this.filename);
-	final var tempLock = new File(DungeonBase.getDungeonTempFolder() + "lock.tmp");
 	try {
 	    // Set prefix handler
 	    app.getDungeonManager().getDungeonBase().setPrefixHandler(new DungeonFilePrefixHandler());
@@ -68,16 +65,13 @@ public class DungeonSaveTask extends Thread {
 	    } else {
 		app.getDungeonManager().getDungeonBase().setSuffixHandler(null);
 	    }
-	    app.getDungeonManager().getDungeonBase().writeDungeon();
 	    if (this.saveProtected) {
-		ZipUtilities.zipDirectory(new File(app.getDungeonManager().getDungeonBase().getBasePath()), tempLock);
 		// Protect the dungeon
-		DungeonProtectionWrapper.protect(tempLock, dungeonFile);
-		tempLock.delete();
+		DungeonArchive.save(app.getDungeonManager().getDungeonBase(), dungeonFile,
+			DungeonProtectionWrapper.promptCipher());
 		app.getDungeonManager().setDungeonProtected(true);
 	    } else {
-		ZipUtilities.zipDirectory(new File(app.getDungeonManager().getDungeonBase().getBasePath()),
-			dungeonFile);
+		DungeonArchive.save(app.getDungeonManager().getDungeonBase(), dungeonFile, ArchiveCipher.PLAIN);
 		app.getDungeonManager().setDungeonProtected(false);
 	    }
 	} catch (final FileNotFoundException fnfe) {
@@ -6,44 +6,28 @@ All support is handled via the GitHub repository: https://github.com/retropipes/
  */
 package org.retropipes.inconnuclear.files;
 
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 
 import org.retropipes.diane.random.RandomRange;
 
 class GameFileManager {
-    public static void load(final File src, final File dst) throws IOException {
-	try (var in = new FileInputStream(src); var out = new FileOutputStream(dst)) {
-	    final var buf = new byte[1024];
-	    int len;
-	    final var transform = (byte) in.read();
-	    while ((len = in.read(buf)) > 0) {
-		for (var x = 0; x < buf.length; x++) {
-		    buf[x] -= transform;
-		}
-		out.write(buf, 0, len);
-	    }
-	} catch (final IOException ioe) {
-	    throw ioe;
-	}
+    // The transform byte leads the file in the clear. It is deliberately not drawn from GameRandom: saving must not
+    // shift the seeded game's rolls, and a repeatable key would buy nothing
+    static ArchiveCipher newCipher() {
+	final var transform = (byte) new RandomRange(1, 250).generate();
+	return new ArchiveCipher(new byte[] { transform }, new char[] { (char) (transform & 0xFF) });
     }
 
-    public static void save(final File src, final File dst) throws IOException {
-	try (var in = new FileInputStream(src); var out = new FileOutputStream(dst)) {
-	    final var buf = new byte[1024];
-	    int len;
-	    final var transform = (byte) new RandomRange(1, 250).generate();
-	    out.write(transform);
-	    while ((len = in.read(buf)) > 0) {
-		for (var x = 0; x < buf.length; x++) {
-		    buf[x] += transform;
-		}
-		out.write(buf, 0, len);
+    static ArchiveCipher readCipher(final File src) throws IOException {
+	try (var in = new FileInputStream(src)) {
+	    final var transform = in.read();
+	    if (transform < 0) {
+		throw new EOFException();
 	    }
-	} catch (final IOException ioe) {
-	    throw ioe;
+	    return new ArchiveCipher(new byte[] { (byte) transform }, new char[] { (char) transform });
 	}
     }
 
@@ -12,14 +12,12 @@ import java.io.IOException;
 
 import javax.swing.JProgressBar;
 
-import org.retropipes.diane.fileio.utility.ZipUtilities;
 import org.retropipes.diane.gui.MainContent;
 import org.retropipes.diane.gui.MainWindow;
 import org.retropipes.diane.gui.dialog.CommonDialogs;
 import org.retropipes.inconnuclear.Inconnuclear;
 import org.retropipes.inconnuclear.VersionException;
 import org.retropipes.inconnuclear.dungeon.Dungeon;
-import org.retropipes.inconnuclear.dungeon.base.DungeonBase;
 import org.retropipes.inconnuclear.locale.DialogString;
 import org.retropipes.inconnuclear.locale.Strings;
 
@@ -49,20 +47,13 @@ public class GameLoadTask extends Thread {
 	    final var app = Inconnuclear.getStuffBag();
 	    int startW;
 	    app.getGame().setSavedGameFlag(false);
-	    final var tempLock = new File(DungeonBase.getDungeonTempFolder() + "lock.tmp");
-	    var gameDungeon = new Dungeon();
-	    // Unlock the file
-	    GameFileManager.load(mazeFile, tempLock);
-	    ZipUtilities.unzipDirectory(tempLock, new File(gameDungeon.getBasePath()));
-	    final var success = tempLock.delete();
-	    if (!success) {
-		throw new IOException("Failed to delete temporary file!");
-	    }
+	    final var newDungeon = new Dungeon();
 	    // Set prefix handler
-	    gameDungeon.setPrefixHandler(new PrefixHandler());
+	    newDungeon.setPrefixHandler(new PrefixHandler());
 	    // Set suffix handler
-	    gameDungeon.setSuffixHandler(new SuffixHandler());
-	    gameDungeon = gameDungeon.readDungeonBase();
+	    newDungeon.setSuffixHandler(new SuffixHandler());
+	    // Unlock the file
+	    final var gameDungeon = DungeonArchive.load(mazeFile, newDungeon, GameFileManager.readCipher(mazeFile));
 	    if (gameDungeon == null) {
 		throw new IOException("Unknown object encountered.");
 	    }
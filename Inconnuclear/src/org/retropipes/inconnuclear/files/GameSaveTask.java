@@ -8,12 +8,9 @@ package org.retropipes.inconnuclear.files;
 
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.IOException;
 
-import org.retropipes.diane.fileio.utility.ZipUtilities;
 import org.retropipes.diane.gui.dialog.CommonDialogs;
 import org.retropipes.inconnuclear.Inconnuclear;
-import org.retropipes.inconnuclear.dungeon.base.DungeonBase;
 import org.retropipes.inconnuclear.locale.FileExtension;
 import org.retropipes.inconnuclear.locale.Strings;
 
@@ -51,19 +48,13 @@ public class GameSaveTask extends Thread {
 		this.filename += Strings.fileExtension(FileExtension.SUSPEND);
 	    }
 	    final var mazeFile = new File(this.filename);
-	    final var tempLock = new File(DungeonBase.getDungeonTempFolder() + "lock.tmp");
 	    // Set prefix handler
 	    app.getDungeonManager().getDungeonBase().setPrefixHandler(new PrefixHandler());
 	    // Set suffix handler
 	    app.getDungeonManager().getDungeonBase().setSuffixHandler(new SuffixHandler());
-	    app.getDungeonManager().getDungeonBase().writeDungeon();
-	    ZipUtilities.zipDirectory(new File(app.getDungeonManager().getDungeonBase().getBasePath()), tempLock);
 	    // Lock the file
-	    GameFileManager.save(tempLock, mazeFile);
-	    final var delSuccess = tempLock.delete();
-	    if (!delSuccess) {
-		throw new IOException("Failed to delete temporary file!");
-	    }
+	    DungeonArchive.save(app.getDungeonManager().getDungeonBase(), mazeFile,
+		    GameFileManager.newCipher());
 	    app.showMessage(sg + " saved.");
 	} catch (final FileNotFoundException fnfe) {
 	    CommonDialogs.showDialog("Writing the " + sg.toLowerCase()
@@ -6,13 +6,40 @@ All support is handled via the GitHub repository: https://github.com/retropipes/
  */
 package org.retropipes.inconnuclear.game;
 
+import java.util.ArrayList;
+
 import org.retropipes.inconnuclear.Inconnuclear;
 import org.retropipes.inconnuclear.dungeon.DungeonData;
-import org.retropipes.inconnuclear.locale.Layer;
+import org.retropipes.inconnuclear.dungeon.base.DungeonBase;
 import org.retropipes.inconnuclear.locale.Strings;
 import org.retropipes.inconnuclear.locale.Untranslated;
 
 class AnimationTask extends Thread {
+    private static boolean isInWindow(final int value, final int low, final int high, final int extent,
+	    final boolean wraps) {
+	if (value >= low && value <= high) {
+	    return true;
+	}
+	// The window may sit over a wrapped copy of the cell
+	return wraps && (value + extent >= low && value + extent <= high || value - extent >= low
+		&& value - extent <= high);
+    }
+
+    // Only the player's floor is animated, so cells are checked for sight on that floor
+    private static boolean isOnScreen(final DungeonBase a, final GameViewingWindowManager vwMgr, final int[] cell,
+	    final int floor) {
+	final var row = cell[0];
+	final var col = cell[1];
+	if (!AnimationTask.isInWindow(row, vwMgr.getViewingWindowLocationY(),
+		vwMgr.getLowerRightViewingWindowLocationY(), a.getRows(), a.isHorizontalWraparoundEnabled())
+		|| !AnimationTask.isInWindow(col, vwMgr.getViewingWindowLocationX(),
+			vwMgr.getLowerRightViewingWindowLocationX(), a.getColumns(),
+			a.isVerticalWraparoundEnabled())) {
+	    return false;
+	}
+	return a.isSquareVisible(a.getPlayerLocationX(0), a.getPlayerLocationY(0), row, col, floor);
+    }
+
     // Fields
     private boolean stop = false;
 
@@ -27,25 +54,19 @@ class AnimationTask extends Thread {
 	try {
 	    final var a = Inconnuclear.getStuffBag().getDungeonManager().getDungeonBase();
 	    while (!this.stop) {
-		final var pz = Inconnuclear.getStuffBag().getGame().getPlayerManager().getPlayerLocationZ();
-		final var maxX = a.getRows();
-		final var maxY = a.getColumns();
-		final var maxW = Layer.values().length;
-		for (var x = 0; x < maxX; x++) {
-		    for (var y = 0; y < maxY; y++) {
-			for (var w = 0; w < maxW; w++) {
-			    synchronized (DungeonData.LOCK_OBJECT) {
-				final var oldFN = a.getCell(x, y, pz, w).getFrameNumber();
-				a.getCell(x, y, pz, w).toggleFrameNumber();
-				final var newFN = a.getCell(x, y, pz, w).getFrameNumber();
-				if (oldFN != newFN) {
-				    a.markAsDirty(x, y, pz);
-				}
-			    }
-			}
+		final var game = Inconnuclear.getStuffBag().getGame();
+		final var pz = game.getPlayerManager().getPlayerLocationZ();
+		final ArrayList<int[]> changed;
+		synchronized (DungeonData.LOCK_OBJECT) {
+		    changed = a.animateFloor(pz);
+		}
+		final var vwMgr = game.getViewManager();
+		for (final int[] cell : changed) {
+		    if (AnimationTask.isOnScreen(a, vwMgr, cell, pz)) {
+			game.redrawDungeon();
+			break;
 		    }
 		}
-		Inconnuclear.getStuffBag().getGame().redrawDungeon();
 		try {
 		    Thread.sleep(200);
 		} catch (final InterruptedException ie) {
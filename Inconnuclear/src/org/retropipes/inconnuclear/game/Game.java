@@ -44,6 +44,7 @@ import org.retropipes.inconnuclear.locale.Untranslated;
 import org.retropipes.inconnuclear.settings.Settings;
 import org.retropipes.inconnuclear.utility.AlreadyDeadException;
 import org.retropipes.inconnuclear.utility.CustomDialogs;
+import org.retropipes.inconnuclear.utility.GameRandom;
 import org.retropipes.inconnuclear.utility.InvalidDungeonException;
 import org.retropipes.inconnuclear.utility.PartyInventory;
 
@@ -120,15 +121,6 @@ public final class Game implements MenuSection {
 	}
     }
 
-    private static void updateRedo(final boolean las, final boolean mis, final boolean stu, final boolean boo,
-	    final boolean mag, final boolean blu, final boolean dis, final boolean bom, final boolean hbm,
-	    final boolean ibm) {
-	final var app = Inconnuclear.getStuffBag();
-	final var a = app.getDungeonManager().getDungeonBase();
-	a.updateRedoHistory(new HistoryStatus(las, mis, stu, boo, mag, blu, dis, bom, hbm, ibm));
-	Game.checkMenus();
-    }
-
     static void updateUndo(final boolean las, final boolean mis, final boolean stu, final boolean boo,
 	    final boolean mag, final boolean blu, final boolean dis, final boolean bom, final boolean hbm,
 	    final boolean ibm) {
@@ -662,6 +654,7 @@ public final class Game implements MenuSection {
 	final var app = Inconnuclear.getStuffBag();
 	final var m = app.getDungeonManager().getDungeonBase();
 	if (app.getDungeonManager().getLoaded()) {
+	    GameRandom.seed(m.getGameSeed());
 	    this.gui.initViewManager();
 	    app.getGUIManager().hideGUI();
 	    if (this.stateChanged) {
@@ -712,6 +705,7 @@ public final class Game implements MenuSection {
 		    this.animator = new AnimationTask();
 		    this.animator.start();
 		}
+		m.prefetchNextLevel(GameGUI.getEnabledDifficulties());
 	    } else {
 		CommonDialogs.showDialog(Strings.game(GameString.NO_LEVEL_WITH_DIFFICULTY));
 		Inconnuclear.getStuffBag().getGUIManager().showGUI();
@@ -762,6 +756,8 @@ public final class Game implements MenuSection {
 	this.updateInfo();
 	this.redrawDungeon();
 	this.resumeAnimator();
+	// Have the level after this one decoded by the time it's solved
+	app.getDungeonManager().getDungeonBase().prefetchNextLevel(GameGUI.getEnabledDifficulties());
     }
 
     private boolean readSolution() {
@@ -831,7 +827,6 @@ public final class Game implements MenuSection {
 		return;
 	    }
 	    this.updatePlayer();
-	    Game.updateUndo(laser, missile, stunner, boost, magnet, blue, disrupt, bomb, heatBomb, iceBomb);
 	}
 	Game.checkMenus();
 	this.updateScoreText();
@@ -1146,7 +1141,6 @@ public final class Game implements MenuSection {
 		return;
 	    }
 	    this.updatePlayer();
-	    Game.updateRedo(laser, missile, stunner, boost, magnet, blue, disrupt, bomb, heatBomb, iceBomb);
 	}
 	Game.checkMenus();
 	this.updateScoreText();
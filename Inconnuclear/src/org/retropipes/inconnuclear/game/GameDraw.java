@@ -8,6 +8,7 @@ package org.retropipes.inconnuclear.game;
 
 import java.awt.Dimension;
 import java.awt.Graphics;
+import java.awt.image.BufferedImage;
 
 import org.retropipes.diane.drawgrid.DrawGrid;
 import org.retropipes.diane.gui.MainContent;
@@ -16,6 +17,7 @@ import org.retropipes.inconnuclear.asset.ImageConstants;
 public class GameDraw extends MainContent {
     private static final long serialVersionUID = 35935343464625L;
     private final DrawGrid drawGrid;
+    private transient BufferedImage buffer;
 
     public GameDraw() {
 	final var vSize = GameViewingWindowManager.getFixedViewingWindowSize();
@@ -38,7 +40,10 @@ public class GameDraw extends MainContent {
     @Override
     public void paintComponent(final Graphics g) {
 	super.paintComponent(g);
-	if (this.drawGrid != null) {
+	if (this.buffer != null) {
+	    // Only the clipped region is copied, so tile repaints stay cheap
+	    g.drawImage(this.buffer, 0, 0, null);
+	} else if (this.drawGrid != null) {
 	    final var gSize = ImageConstants.SIZE;
 	    final var vSize = GameViewingWindowManager.getFixedViewingWindowSize();
 	    for (var x = 0; x < vSize; x++) {
@@ -48,4 +53,8 @@ public class GameDraw extends MainContent {
 	    }
 	}
     }
+
+    void setBuffer(final BufferedImage image) {
+	this.buffer = image;
+    }
 }
@@ -17,8 +17,6 @@ import javax.swing.JList;
 import javax.swing.JMenu;
 
 import org.retropipes.diane.LocaleUtils;
-import org.retropipes.diane.asset.image.ImageCompositor;
-import org.retropipes.diane.drawgrid.DrawGrid;
 import org.retropipes.diane.gui.MainContent;
 import org.retropipes.diane.gui.MainWindow;
 import org.retropipes.diane.integration.Integration;
@@ -28,12 +26,10 @@ import org.retropipes.inconnuclear.creature.party.PartyManager;
 import org.retropipes.inconnuclear.dungeon.base.DungeonBase;
 import org.retropipes.inconnuclear.dungeon.gameobject.GameObject;
 import org.retropipes.inconnuclear.loader.image.gameobject.ObjectImageId;
-import org.retropipes.inconnuclear.loader.image.gameobject.ObjectImageLoader;
 import org.retropipes.inconnuclear.loader.music.MusicLoader;
 import org.retropipes.inconnuclear.locale.DialogString;
 import org.retropipes.inconnuclear.locale.Difficulty;
 import org.retropipes.inconnuclear.locale.GameString;
-import org.retropipes.inconnuclear.locale.Layer;
 import org.retropipes.inconnuclear.locale.Music;
 import org.retropipes.inconnuclear.locale.Strings;
 import org.retropipes.inconnuclear.locale.Untranslated;
@@ -41,7 +37,9 @@ import org.retropipes.inconnuclear.settings.Settings;
 import org.retropipes.inconnuclear.utility.RCLGenerator;
 
 class GameGUI {
-    private static GameObject DARK = new GameObject(ObjectImageId.DARKNESS);
+    private static GameObject DARK = GameObject.shared(ObjectImageId.DARKNESS);
+    private static GameObject PLAYER = new GameObject(ObjectImageId.PLAYER);
+    private static GameObject WALL = GameObject.shared(ObjectImageId.WALL);
 
     private static void checkMenus() {
 	GameMenuGUI.checkMenus();
@@ -90,8 +88,8 @@ class GameGUI {
     private GameViewingWindowManager vwMgr = null;
     private JList<String> difficultyList;
     private final StatGUI sg;
-    private DrawGrid drawGrid;
     private GameDraw outputPane;
+    private final GameTileRenderer renderer;
     private boolean knm;
     private boolean deferredRedraw;
     boolean eventFlag;
@@ -104,6 +102,7 @@ class GameGUI {
 	this.eventFlag = true;
 	this.newGameResult = false;
 	this.sg = new StatGUI();
+	this.renderer = new GameTileRenderer(GameGUI.DARK, GameGUI.PLAYER, GameGUI.WALL);
 	this.menuGUI = new GameMenuGUI();
     }
 
@@ -238,52 +237,12 @@ class GameGUI {
 	// Draw the maze
 	final var app = Inconnuclear.getStuffBag();
 	final var m = app.getDungeonManager().getDungeonBase();
-	int x, y, u, v;
-	int xFix, yFix;
-	boolean visible;
-	u = m.getPlayerLocationX(0);
-	v = m.getPlayerLocationY(0);
-	final GameObject wall = new GameObject(ObjectImageId.WALL);
-	for (x = this.vwMgr.getViewingWindowLocationX(); x <= this.vwMgr.getLowerRightViewingWindowLocationX(); x++) {
-	    for (y = this.vwMgr.getViewingWindowLocationY(); y <= this.vwMgr
-		    .getLowerRightViewingWindowLocationY(); y++) {
-		xFix = x - this.vwMgr.getViewingWindowLocationX();
-		yFix = y - this.vwMgr.getViewingWindowLocationY();
-		visible = app.getDungeonManager().getDungeonBase().isSquareVisible(u, v, y, x, 0);
-		try {
-		    if (visible) {
-			final var obj1 = m.getCell(y, x, 0, Layer.GROUND.ordinal());
-			final var obj2 = m.getCell(y, x, 0, Layer.STATUS.ordinal());
-			final var img1 = obj1.getImage();
-			final var img2 = obj2.getImage();
-			if (u == y && v == x) {
-			    final GameObject obj3 = new GameObject(ObjectImageId.PLAYER);
-			    final var img3 = obj3.getImage();
-			    final var cacheName = Strings.compositeCacheName(obj1.getCacheName(), obj2.getCacheName(),
-				    obj3.getCacheName());
-			    final var img = ImageCompositor.composite(cacheName, img1, img2, img3);
-			    this.drawGrid.setImageCell(img, xFix, yFix);
-			} else {
-			    final var cacheName = Strings.compositeCacheName(obj1.getCacheName(), obj2.getCacheName());
-			    final var img = ImageCompositor.composite(cacheName, img1, img2);
-			    this.drawGrid.setImageCell(img, xFix, yFix);
-			}
-		    } else {
-			this.drawGrid.setImageCell(
-				ObjectImageLoader.load(GameGUI.DARK.getCacheName(), GameGUI.DARK.getIdValue()), xFix,
-				yFix);
-		    }
-		} catch (final ArrayIndexOutOfBoundsException ae) {
-		    this.drawGrid.setImageCell(wall.getImage(), xFix, yFix);
-		}
-	    }
-	}
+	this.renderer.render(m, this.vwMgr, this.outputPane);
 	if (this.knm) {
 	    this.knm = false;
 	} else {
 	    this.setStatusMessage(" ");
 	}
-	this.outputPane.repaint();
 	this.showOutputAndKeepMusic();
     }
 
@@ -345,8 +304,6 @@ class GameGUI {
 	this.borderPane.setLayout(new BorderLayout());
 	this.messageLabel = new JLabel(" ");
 	this.messageLabel.setOpaque(true);
-	this.drawGrid = new DrawGrid(Settings.getViewingWindowSize());
-	this.outputPane = new GameDraw(this.drawGrid);
 	// Pasted code
 	this.borderPane = MainWindow.createContent();
 	this.borderPane.setLayout(new BorderLayout());
@@ -0,0 +1,202 @@
+/*  Inconnuclear: A Dungeon-Diving RPG
+Copyleft (C) 2024-present RetroPipes
+Licensed under MIT. See the LICENSE file for details.
+
+All support is handled via the GitHub repository: https://github.com/retropipes/inconnuclear
+ */
+package org.retropipes.inconnuclear.game;
+
+import java.awt.AlphaComposite;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+
+import org.retropipes.inconnuclear.Inconnuclear;
+import org.retropipes.inconnuclear.asset.ImageConstants;
+import org.retropipes.inconnuclear.dungeon.base.DungeonBase;
+import org.retropipes.inconnuclear.dungeon.base.DungeonDataBase;
+import org.retropipes.inconnuclear.dungeon.gameobject.CompositeTileCache;
+import org.retropipes.inconnuclear.dungeon.gameobject.GameObject;
+import org.retropipes.inconnuclear.locale.Layer;
+import org.retropipes.inconnuclear.settings.Settings;
+
+final class GameTileRenderer {
+    // Frames between render statistics lines, when those are logged
+    private static final int STATS_INTERVAL = 600;
+
+    private static boolean isCellDirty(final DungeonBase m, final int row, final int col, final int floor) {
+	// Off the edge of the dungeon never changes
+	return m.isInBounds(row, col, floor) && m.isCellDirty(row, col, floor);
+    }
+
+    // Fields
+    private final GameObject dark;
+    private final GameObject player;
+    private final GameObject wall;
+    private BufferedImage buffer;
+    private GameDraw target;
+    private long[] tileKeys;
+    private boolean[] tileVisible;
+    private DungeonBase dungeon;
+    private DungeonDataBase data;
+    private int level;
+    private int era;
+    private int floor;
+    private int size;
+    private int windowX, windowY;
+    private int playerX, playerY;
+    private long frames;
+    private long frameNanos;
+    private long tilesComposited;
+
+    // Constructors
+    GameTileRenderer(final GameObject darkObj, final GameObject playerObj, final GameObject wallObj) {
+	this.dark = darkObj;
+	this.player = playerObj;
+	this.wall = wallObj;
+    }
+
+    synchronized long getAverageFrameNanos() {
+	if (this.frames == 0) {
+	    return 0;
+	}
+	return this.frameNanos / this.frames;
+    }
+
+    synchronized long getFrameCount() {
+	return this.frames;
+    }
+
+    synchronized long getTilesComposited() {
+	return this.tilesComposited;
+    }
+
+    synchronized void render(final DungeonBase m, final GameViewingWindowManager vwMgr, final GameDraw pane) {
+	final var start = System.nanoTime();
+	final var gSize = ImageConstants.SIZE;
+	final var vSize = Settings.getViewingWindowSize();
+	final var wx = vwMgr.getViewingWindowLocationX();
+	final var wy = vwMgr.getViewingWindowLocationY();
+	final var u = m.getPlayerLocationX(0);
+	final var v = m.getPlayerLocationY(0);
+	// The player's floor is the one animated and marked dirty
+	final var z = m.getPlayerLocationZ(0);
+	if (this.buffer == null || this.size != vSize) {
+	    this.size = vSize;
+	    this.buffer = new BufferedImage(vSize * gSize, vSize * gSize, BufferedImage.TYPE_INT_ARGB);
+	    this.target = null;
+	}
+	if (this.target != pane) {
+	    this.target = pane;
+	    this.tileKeys = null;
+	    pane.setBuffer(this.buffer);
+	}
+	// Dirty flags belong to the level data, so flags from data since replaced say nothing about the tiles
+	if (this.dungeon != m || this.data != m.getData() || this.level != m.getActiveLevel()
+		|| this.era != m.getActiveEra() || this.floor != z) {
+	    this.dungeon = m;
+	    this.data = m.getData();
+	    this.level = m.getActiveLevel();
+	    this.era = m.getActiveEra();
+	    this.floor = z;
+	    this.tileKeys = null;
+	}
+	final var g = this.buffer.createGraphics();
+	Rectangle damage = null;
+	try {
+	    g.setComposite(AlphaComposite.Src);
+	    var full = this.tileKeys == null;
+	    if (full) {
+		this.tileKeys = new long[vSize * vSize];
+		this.tileVisible = new boolean[vSize * vSize];
+	    } else {
+		final var dx = wx - this.windowX;
+		final var dy = wy - this.windowY;
+		if (Math.abs(dx) > 1 || Math.abs(dy) > 1) {
+		    full = true;
+		    this.tileKeys = new long[vSize * vSize];
+		    this.tileVisible = new boolean[vSize * vSize];
+		} else if (dx != 0 || dy != 0) {
+		    // Window moved by one tile: blit what is still on screen, draw the new edge
+		    g.copyArea(0, 0, vSize * gSize, vSize * gSize, -dy * gSize, -dx * gSize);
+		    this.scrollTiles(dx, dy);
+		    damage = new Rectangle(0, 0, vSize * gSize, vSize * gSize);
+		}
+	    }
+	    for (var xFix = 0; xFix < vSize; xFix++) {
+		for (var yFix = 0; yFix < vSize; yFix++) {
+		    final var x = wx + xFix;
+		    final var y = wy + yFix;
+		    final var tile = xFix * vSize + yFix;
+		    final var visible = m.isSquareVisible(u, v, y, x, z);
+		    final var isPlayer = u == y && v == x;
+		    final var wasPlayer = this.playerX == y && this.playerY == x;
+		    if (!full && this.tileKeys[tile] != 0L && visible == this.tileVisible[tile]
+			    && isPlayer == wasPlayer && !GameTileRenderer.isCellDirty(m, y, x, z)) {
+			continue;
+		    }
+		    this.tileVisible[tile] = visible;
+		    GameObject[] layers;
+		    if (!visible) {
+			layers = new GameObject[] { this.dark };
+		    } else if (!m.isInBounds(y, x, z)) {
+			layers = new GameObject[] { this.wall };
+		    } else if (isPlayer) {
+			layers = new GameObject[] { m.getCell(y, x, z, Layer.GROUND.ordinal()),
+				m.getCell(y, x, z, Layer.STATUS.ordinal()), this.player };
+		    } else {
+			layers = new GameObject[] { m.getCell(y, x, z, Layer.GROUND.ordinal()),
+				m.getCell(y, x, z, Layer.STATUS.ordinal()) };
+		    }
+		    final var key = CompositeTileCache.keyOf(layers);
+		    if (key != CompositeTileCache.UNCACHEABLE && key == this.tileKeys[tile]) {
+			continue;
+		    }
+		    final var img = CompositeTileCache.composite(layers);
+		    this.tileKeys[tile] = key;
+		    g.drawImage(img, yFix * gSize, xFix * gSize, gSize, gSize, null);
+		    this.tilesComposited++;
+		    final var changed = new Rectangle(yFix * gSize, xFix * gSize, gSize, gSize);
+		    if (damage == null) {
+			damage = changed;
+		    } else {
+			damage.add(changed);
+		    }
+		}
+	    }
+	} finally {
+	    g.dispose();
+	}
+	m.clearDirtyFlags(z);
+	this.windowX = wx;
+	this.windowY = wy;
+	this.playerX = u;
+	this.playerY = v;
+	if (damage != null) {
+	    pane.repaint(damage);
+	}
+	this.frames++;
+	this.frameNanos += System.nanoTime() - start;
+	if (this.frames % GameTileRenderer.STATS_INTERVAL == 0 && Settings.logRenderStats()) {
+	    Inconnuclear.logDebugDirectly("Rendered " + this.frames + " frames, " + this.getAverageFrameNanos()
+		    + " ns each on average, " + this.tilesComposited + " tiles composited");
+	}
+    }
+
+    private void scrollTiles(final int dx, final int dy) {
+	final var oldKeys = this.tileKeys;
+	final var oldVisible = this.tileVisible;
+	final var vSize = this.size;
+	this.tileKeys = new long[vSize * vSize];
+	this.tileVisible = new boolean[vSize * vSize];
+	for (var xFix = 0; xFix < vSize; xFix++) {
+	    for (var yFix = 0; yFix < vSize; yFix++) {
+		final var oldX = xFix + dx;
+		final var oldY = yFix + dy;
+		if (oldX >= 0 && oldX < vSize && oldY >= 0 && oldY < vSize) {
+		    this.tileKeys[xFix * vSize + yFix] = oldKeys[oldX * vSize + oldY];
+		    this.tileVisible[xFix * vSize + yFix] = oldVisible[oldX * vSize + oldY];
+		}
+	    }
+	}
+    }
+}
@@ -71,7 +71,7 @@ final class MovementTask extends Thread {
 	this.setName("Movement Handler");
 	this.vwMgr = view;
 	this.gui = gameGUI;
-	this.saved = new GameObject(ObjectImageId.EMPTY);
+	this.saved = GameObject.shared(ObjectImageId.EMPTY);
     }
 
     private boolean checkLoopCondition(final GameObject below, final GameObject nextBelow, final GameObject nextAbove) {
@@ -131,33 +131,25 @@ final class MovementTask extends Thread {
     private void updatePositionAbsolute(final int x, final int y) {
 	final var app = Inconnuclear.getStuffBag();
 	final var m = app.getDungeonManager().getDungeonBase();
-	try {
-	    m.getCell(x, y, 0, Layer.STATUS.ordinal()).preMoveAction(true, x, y);
-	} catch (final ArrayIndexOutOfBoundsException ae) {
-	    // Ignore
+	if (!m.isInBounds(x, y, 0)) {
+	    app.showMessage("Can't go outside the maze");
+	    return;
 	}
+	m.getCell(x, y, 0, Layer.STATUS.ordinal()).preMoveAction(true, x, y);
 	m.savePlayerLocation();
 	this.vwMgr.saveViewingWindow();
-	try {
-	    if (!m.getCell(x, y, 0, Layer.STATUS.ordinal()).isSolid()) {
-		m.setPlayerLocationX(x, 0);
-		m.setPlayerLocationY(y, 0);
-		this.vwMgr.setViewingWindowLocationX(
-			m.getPlayerLocationY(0) - GameViewingWindowManager.getOffsetFactorX());
-		this.vwMgr.setViewingWindowLocationY(
-			m.getPlayerLocationX(0) - GameViewingWindowManager.getOffsetFactorY());
-		this.saved = m.getCell(m.getPlayerLocationX(0), m.getPlayerLocationY(0), 0, Layer.STATUS.ordinal());
-		app.getDungeonManager().setDirty(true);
-		this.saved.postMoveAction(x, y, 0);
-		final var px = m.getPlayerLocationX(0);
-		final var py = m.getPlayerLocationY(0);
-		m.updateVisibleSquares(px, py, 0);
-		this.redrawDungeon();
-	    }
-	} catch (final ArrayIndexOutOfBoundsException ae) {
-	    m.restorePlayerLocation();
-	    this.vwMgr.restoreViewingWindow();
-	    app.showMessage("Can't go outside the maze");
+	if (!m.getCell(x, y, 0, Layer.STATUS.ordinal()).isSolid()) {
+	    m.setPlayerLocationX(0, x);
+	    m.setPlayerLocationY(0, y);
+	    this.vwMgr.setViewingWindowLocationX(m.getPlayerLocationY(0) - GameViewingWindowManager.getOffsetFactorX());
+	    this.vwMgr.setViewingWindowLocationY(m.getPlayerLocationX(0) - GameViewingWindowManager.getOffsetFactorY());
+	    this.saved = m.getCell(m.getPlayerLocationX(0), m.getPlayerLocationY(0), 0, Layer.STATUS.ordinal());
+	    app.getDungeonManager().setDirty(true);
+	    this.saved.postMoveAction(x, y, 0);
+	    final var px = m.getPlayerLocationX(0);
+	    final var py = m.getPlayerLocationY(0);
+	    m.updateVisibleSquares(px, py, 0);
+	    this.redrawDungeon();
 	}
     }
 
@@ -172,62 +164,39 @@ final class MovementTask extends Thread {
 	this.proceed = false;
 	GameObject below = null;
 	GameObject nextBelow = null;
-	GameObject nextAbove = new GameObject(ObjectImageId.WALL);
+	GameObject nextAbove = GameObject.shared(ObjectImageId.WALL);
 	do {
-	    try {
-		below = m.getCell(px, py, 0, Layer.GROUND.ordinal());
-	    } catch (final ArrayIndexOutOfBoundsException ae) {
-		below = new GameObject(ObjectImageId.EMPTY);
-	    }
-	    try {
-		nextBelow = m.getCell(px + fX, py + fY, 0, Layer.GROUND.ordinal());
-	    } catch (final ArrayIndexOutOfBoundsException ae) {
-		nextBelow = new GameObject(ObjectImageId.EMPTY);
-	    }
-	    try {
-		nextAbove = m.getCell(px + fX, py + fY, 0, Layer.STATUS.ordinal());
-	    } catch (final ArrayIndexOutOfBoundsException ae) {
-		nextAbove = new GameObject(ObjectImageId.WALL);
-	    }
-	    try {
-		this.proceed = nextAbove.preMoveAction(true, px + fX, py + fY);
-	    } catch (final ArrayIndexOutOfBoundsException ae) {
-		this.proceed = true;
-	    }
+	    below = m.getCellOrDefault(px, py, pz, Layer.GROUND.ordinal(), GameObject.shared(ObjectImageId.EMPTY));
+	    nextBelow = m.getCellOrDefault(px + fX, py + fY, pz, Layer.GROUND.ordinal(),
+		    GameObject.shared(ObjectImageId.EMPTY));
+	    nextAbove = m.getCellOrDefault(px + fX, py + fY, pz, Layer.STATUS.ordinal(),
+		    GameObject.shared(ObjectImageId.WALL));
+	    this.proceed = nextAbove.preMoveAction(true, px + fX, py + fY);
 	    if (this.proceed) {
 		m.savePlayerLocation();
 		this.vwMgr.saveViewingWindow();
-		try {
-		    if (MovementTask.checkSolid(this.saved, below, nextBelow, nextAbove)) {
-			m.offsetPlayerLocationX(fX, 0);
-			m.offsetPlayerLocationY(fY, 0);
-			px += fX;
-			py += fY;
-			this.vwMgr.offsetViewingWindowLocationX(fY);
-			this.vwMgr.offsetViewingWindowLocationY(fX);
-			app.getDungeonManager().setDirty(true);
-			app.saveFormerMode();
-			this.fireStepActions();
-			this.redrawDungeon();
-			if (app.modeChanged()) {
-			    this.proceed = false;
-			}
-			if (this.proceed) {
-			    this.saved = m.getCell(px, py, 0, Layer.STATUS.ordinal());
-			}
-		    } else {
-			// Move failed - object is solid in that direction
-			MovementTask.fireMoveFailedActions(px + fX, py + fY, this.saved, below, nextBelow, nextAbove);
-			this.fireStepActions();
+		// Past the edge of the maze reads as wall, so the move fails like any other
+		if (MovementTask.checkSolid(this.saved, below, nextBelow, nextAbove)) {
+		    m.offsetPlayerLocationX(0, fX);
+		    m.offsetPlayerLocationY(0, fY);
+		    px += fX;
+		    py += fY;
+		    this.vwMgr.offsetViewingWindowLocationX(fY);
+		    this.vwMgr.offsetViewingWindowLocationY(fX);
+		    app.getDungeonManager().setDirty(true);
+		    app.saveFormerMode();
+		    this.fireStepActions();
+		    this.redrawDungeon();
+		    if (app.modeChanged()) {
+			this.proceed = false;
+		    }
+		    if (this.proceed) {
+			this.saved = m.getCell(px, py, pz, Layer.STATUS.ordinal());
 		    }
-		} catch (final ArrayIndexOutOfBoundsException ae) {
-		    this.vwMgr.restoreViewingWindow();
-		    m.restorePlayerLocation();
-		    // Move failed - attempted to go outside the maze
-		    nextAbove.moveFailedAction(px, py, pz);
-		    app.showMessage("Can't go that way");
-		    nextAbove = new GameObject(ObjectImageId.EMPTY);
-		    this.proceed = false;
+		} else {
+		    // Move failed - object is solid in that direction
+		    MovementTask.fireMoveFailedActions(px + fX, py + fY, this.saved, below, nextBelow, nextAbove);
+		    this.fireStepActions();
 		}
 		this.fireStepActions();
 	    } else {
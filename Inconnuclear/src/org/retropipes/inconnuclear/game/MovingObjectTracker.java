@@ -60,85 +60,88 @@ final class MovingObjectTracker {
 	final var m = app.getDungeonManager().getDungeonBase();
 	final var gm = app.getGame();
 	final var pz = gm.getPlayerManager().getPlayerLocationZ();
-	try {
-	    if (gm.isDelayedDecayActive() && gm.isRemoteDecayActive()) {
-		gm.doRemoteDelayedDecay(this.movingObj);
-	    }
-	    final var oldSave = this.movingObj.getSavedObject();
-	    final var saved = m.getCell(this.objCumX + this.objIncX * this.objMultX,
+	if (gm.isDelayedDecayActive() && gm.isRemoteDecayActive()) {
+	    gm.doRemoteDelayedDecay(this.movingObj);
+	}
+	if (!m.isInBounds(this.objCumX + this.objIncX * this.objMultX, this.objCumY + this.objIncY * this.objMultY,
+		pz)) {
+	    // Stop at the edge of the maze
+	    this.objectMoving = false;
+	    this.objectCheck = false;
+	    gm.redrawDungeon();
+	    return;
+	}
+	final var oldSave = this.movingObj.getSavedObject();
+	final var saved = m.getCell(this.objCumX + this.objIncX * this.objMultX,
+		this.objCumY + this.objIncY * this.objMultY, pz, this.movingObj.getLayer());
+	this.belowUpper = Inconnuclear.getStuffBag().getDungeonManager().getDungeonBase().getCell(
+		this.objCumX + this.objIncX * this.objMultX, this.objCumY + this.objIncY * this.objMultY, pz,
+		Layer.OBJECT.ordinal());
+	this.belowLower = Inconnuclear.getStuffBag().getDungeonManager().getDungeonBase().getCell(
+		this.objCumX + this.objIncX * this.objMultX, this.objCumY + this.objIncY * this.objMultY, pz,
+		Layer.GROUND.ordinal());
+	if (MovingObjectTracker.checkSolid(saved)) {
+	    this.belowLower.pushOutAction(this.movingObj, this.objCumX, this.objCumY, pz);
+	    this.belowUpper.pushOutAction(this.movingObj, this.objCumX, this.objCumY, pz);
+	    oldSave.pushOutAction(this.movingObj, this.objCumX, this.objCumY, pz);
+	    m.setCell(oldSave, this.objCumX, this.objCumY, pz, this.movingObj.getLayer());
+	    this.movingObj.setSavedObject(saved);
+	    m.setCell(this.movingObj, this.objCumX + this.objIncX * this.objMultX,
 		    this.objCumY + this.objIncY * this.objMultY, pz, this.movingObj.getLayer());
-	    this.belowUpper = Inconnuclear.getStuffBag().getDungeonManager().getDungeonBase().getCell(
-		    this.objCumX + this.objIncX * this.objMultX, this.objCumY + this.objIncY * this.objMultY, pz,
-		    Layer.OBJECT.ordinal());
-	    this.belowLower = Inconnuclear.getStuffBag().getDungeonManager().getDungeonBase().getCell(
-		    this.objCumX + this.objIncX * this.objMultX, this.objCumY + this.objIncY * this.objMultY, pz,
-		    Layer.GROUND.ordinal());
-	    if (MovingObjectTracker.checkSolid(saved)) {
-		this.belowLower.pushOutAction(this.movingObj, this.objCumX, this.objCumY, pz);
-		this.belowUpper.pushOutAction(this.movingObj, this.objCumX, this.objCumY, pz);
-		oldSave.pushOutAction(this.movingObj, this.objCumX, this.objCumY, pz);
-		m.setCell(oldSave, this.objCumX, this.objCumY, pz, this.movingObj.getLayer());
-		this.movingObj.setSavedObject(saved);
-		m.setCell(this.movingObj, this.objCumX + this.objIncX * this.objMultX,
-			this.objCumY + this.objIncY * this.objMultY, pz, this.movingObj.getLayer());
-		var stopObj = this.belowLower.pushIntoAction(this.movingObj,
-			this.objCumX + this.objIncX * this.objMultX, this.objCumY + this.objIncY * this.objMultY, pz);
-		final var temp1 = this.belowUpper.pushIntoAction(this.movingObj,
-			this.objCumX + this.objIncX * this.objMultX, this.objCumY + this.objIncY * this.objMultY, pz);
-		if (!temp1) {
-		    stopObj = false;
-		}
-		final var temp2 = saved.pushIntoAction(this.movingObj, this.objCumX + this.objIncX * this.objMultX,
-			this.objCumY + this.objIncY * this.objMultY, pz);
-		if (!temp2) {
-		    stopObj = false;
-		}
-		this.objectMoving = stopObj;
-		this.objectCheck = stopObj;
-		final var oldObjIncX = this.objIncX;
-		final var oldObjIncY = this.objIncY;
-		if (this.belowUpper == null || this.belowLower == null) {
-		    this.objectCheck = false;
-		} else if (!this.movingObj.hasFriction()) {
-		    // Handle icy objects
-		    this.objectCheck = true;
-		} else if (this.belowUpper.canMoveBoxes() && this.movingObj.canMove()) {
-		    // Handle box on box mover
-		    final var dir = this.belowUpper.getDirection();
-		    final var unres = DirectionResolver.unresolve(dir);
-		    this.objIncX = unres[0];
-		    this.objIncY = unres[1];
-		    this.objectCheck = true;
-		} else if (this.belowUpper.canMoveMirrors() && this.movingObj.canMove()) {
-		    // Handle mirror on mirror mover
-		    final var dir = this.belowUpper.getDirection();
-		    final var unres = DirectionResolver.unresolve(dir);
-		    this.objIncX = unres[0];
-		    this.objIncY = unres[1];
-		    this.objectCheck = true;
-		} else {
-		    this.objectCheck = !this.belowLower.hasFriction() || !this.belowUpper.hasFriction();
-		}
-		if (this.objIncX != oldObjIncX || this.objIncY != oldObjIncY) {
-		    this.objCumX += oldObjIncX;
-		    this.objCumY += oldObjIncY;
-		} else {
-		    this.objCumX += this.objIncX;
-		    this.objCumY += this.objIncY;
-		}
-		app.getDungeonManager().setDirty(true);
-	    } else {
-		// Movement failed
-		this.belowLower.pushIntoAction(this.movingObj, this.objCumX, this.objCumY, pz);
-		this.belowUpper.pushIntoAction(this.movingObj, this.objCumX, this.objCumY, pz);
-		oldSave.pushIntoAction(this.movingObj, this.objCumX, this.objCumY, pz);
-		this.movingObj.pushCollideAction(this.movingObj, this.objCumX, this.objCumY, pz);
-		saved.pushCollideAction(this.movingObj, this.objCumX + this.objIncX * this.objMultX,
-			this.objCumY + this.objIncY * this.objMultY, pz);
-		this.objectMoving = false;
+	    var stopObj = this.belowLower.pushIntoAction(this.movingObj,
+		    this.objCumX + this.objIncX * this.objMultX, this.objCumY + this.objIncY * this.objMultY, pz);
+	    final var temp1 = this.belowUpper.pushIntoAction(this.movingObj,
+		    this.objCumX + this.objIncX * this.objMultX, this.objCumY + this.objIncY * this.objMultY, pz);
+	    if (!temp1) {
+		stopObj = false;
+	    }
+	    final var temp2 = saved.pushIntoAction(this.movingObj, this.objCumX + this.objIncX * this.objMultX,
+		    this.objCumY + this.objIncY * this.objMultY, pz);
+	    if (!temp2) {
+		stopObj = false;
+	    }
+	    this.objectMoving = stopObj;
+	    this.objectCheck = stopObj;
+	    final var oldObjIncX = this.objIncX;
+	    final var oldObjIncY = this.objIncY;
+	    if (this.belowUpper == null || this.belowLower == null) {
 		this.objectCheck = false;
+	    } else if (!this.movingObj.hasFriction()) {
+		// Handle icy objects
+		this.objectCheck = true;
+	    } else if (this.belowUpper.canMoveBoxes() && this.movingObj.canMove()) {
+		// Handle box on box mover
+		final var dir = this.belowUpper.getDirection();
+		final var unres = DirectionResolver.unresolve(dir);
+		this.objIncX = unres[0];
+		this.objIncY = unres[1];
+		this.objectCheck = true;
+	    } else if (this.belowUpper.canMoveMirrors() && this.movingObj.canMove()) {
+		// Handle mirror on mirror mover
+		final var dir = this.belowUpper.getDirection();
+		final var unres = DirectionResolver.unresolve(dir);
+		this.objIncX = unres[0];
+		this.objIncY = unres[1];
+		this.objectCheck = true;
+	    } else {
+		this.objectCheck = !this.belowLower.hasFriction() || !this.belowUpper.hasFriction();
+	    }
+	    if (this.objIncX != oldObjIncX || this.objIncY != oldObjIncY) {
+		this.objCumX += oldObjIncX;
+		this.objCumY += oldObjIncY;
+	    } else {
+		this.objCumX += this.objIncX;
+		this.objCumY += this.objIncY;
 	    }
-	} catch (final ArrayIndexOutOfBoundsException ae) {
+	    app.getDungeonManager().setDirty(true);
+	} else {
+	    // Movement failed
+	    this.belowLower.pushIntoAction(this.movingObj, this.objCumX, this.objCumY, pz);
+	    this.belowUpper.pushIntoAction(this.movingObj, this.objCumX, this.objCumY, pz);
+	    oldSave.pushIntoAction(this.movingObj, this.objCumX, this.objCumY, pz);
+	    this.movingObj.pushCollideAction(this.movingObj, this.objCumX, this.objCumY, pz);
+	    saved.pushCollideAction(this.movingObj, this.objCumX + this.objIncX * this.objMultX,
+		    this.objCumY + this.objIncY * this.objMultY, pz);
 	    this.objectMoving = false;
 	    this.objectCheck = false;
 	}
@@ -172,30 +175,24 @@ final class MovingObjectTracker {
     }
 
     void trackPart2() {
-	try {
-	    final var gm = Inconnuclear.getStuffBag().getGame();
-	    final var plMgr = gm.getPlayerManager();
-	    final var pz = plMgr.getPlayerLocationZ();
-	    if (this.objectMoving) {
-		// Make objects pushed into ice move 2 squares first time
-		if (this.objectCheck && this.objectNewlyActivated
-			&& (!this.belowLower.hasFriction() || !this.belowUpper.hasFriction())) {
-		    this.doObjectOnce();
-		    this.objectCheck = !this.belowLower.hasFriction() || !this.belowUpper.hasFriction();
-		}
-	    } else {
-		this.objectCheck = false;
-		// Check for moving object stopped on thin ice
-		if (this.movingObj != null && gm.isDelayedDecayActive() && gm.isRemoteDecayActive()) {
-		    gm.doRemoteDelayedDecay(this.movingObj);
-		    this.belowUpper.pushIntoAction(this.movingObj, this.objCumX, this.objCumY, pz);
-		    this.belowLower.pushIntoAction(this.movingObj, this.objCumX, this.objCumY, pz);
-		}
+	final var gm = Inconnuclear.getStuffBag().getGame();
+	final var plMgr = gm.getPlayerManager();
+	final var pz = plMgr.getPlayerLocationZ();
+	if (this.objectMoving) {
+	    // Make objects pushed into ice move 2 squares first time
+	    if (this.objectCheck && this.objectNewlyActivated
+		    && (!this.belowLower.hasFriction() || !this.belowUpper.hasFriction())) {
+		this.doObjectOnce();
+		this.objectCheck = !this.belowLower.hasFriction() || !this.belowUpper.hasFriction();
 	    }
-	} catch (final ArrayIndexOutOfBoundsException aioobe) {
-	    // Stop object
-	    this.objectMoving = false;
+	} else {
 	    this.objectCheck = false;
+	    // Check for moving object stopped on thin ice
+	    if (this.movingObj != null && gm.isDelayedDecayActive() && gm.isRemoteDecayActive()) {
+		gm.doRemoteDelayedDecay(this.movingObj);
+		this.belowUpper.pushIntoAction(this.movingObj, this.objCumX, this.objCumY, pz);
+		this.belowLower.pushIntoAction(this.movingObj, this.objCumX, this.objCumY, pz);
+	    }
 	}
     }
 
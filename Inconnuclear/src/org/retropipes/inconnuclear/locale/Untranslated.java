@@ -41,5 +41,7 @@ public enum Untranslated {
     HALO_IMAGE_LOAD_PATH,
     EDITOR_INDICATOR_IMAGE_LOAD_PATH,
     GAME_INDICATOR_IMAGE_LOAD_PATH,
-    FLAG_IMAGE_LOAD_PATH
+    FLAG_IMAGE_LOAD_PATH,
+    LEVEL_WRITER_NAME,
+    BATTLE_CLOCK_NAME
 }
\ No newline at end of file
@@ -36,6 +36,12 @@ public class Settings {
     private static final GameDifficulty DEFAULT_DIFFICULTY = GameDifficulty.NORMAL;
     private static final BattleMechanic DEFAULT_BATTLE_MECHANIC = BattleMechanic.TAKE_TURNS;
     private static final BattleStyle DEFAULT_BATTLE_STYLE = BattleStyle.MAP;
+    // Undo history memory budget, in KiB
+    private static final int DEFAULT_UNDO_MEMORY_BUDGET = 16384;
+    // Composited tile image cache budget, in KiB
+    private static final int DEFAULT_TILE_CACHE_BUDGET = 8192;
+    // Decoded level cache budget, in KiB
+    private static final int DEFAULT_LEVEL_CACHE_BUDGET = 32768;
 
     public static void activeLanguageChanged() {
 	Settings.gui.activeLanguageChanged();
@@ -97,6 +103,11 @@ public class Settings {
 	return Settings.file.getString(Strings.settingKey(SettingKey.LAST_FOLDER_SAVE), Strings.EMPTY);
     }
 
+    public static int getLevelCacheBudget() {
+	return Settings.file.getInteger(Strings.settingKey(SettingKey.LEVEL_CACHE_BUDGET),
+		Settings.DEFAULT_LEVEL_CACHE_BUDGET);
+    }
+
     public static boolean getMusicEnabled() {
 	return Settings.file.getBoolean(Strings.settingKey(SettingKey.ENABLE_MUSIC), true);
     }
@@ -161,6 +172,16 @@ public class Settings {
 	return Settings.file.getBoolean(Strings.settingKey(SettingKey.ENABLE_SOUNDS), true);
     }
 
+    public static int getTileCacheBudget() {
+	return Settings.file.getInteger(Strings.settingKey(SettingKey.TILE_CACHE_BUDGET),
+		Settings.DEFAULT_TILE_CACHE_BUDGET);
+    }
+
+    public static int getUndoMemoryBudget() {
+	return Settings.file.getInteger(Strings.settingKey(SettingKey.UNDO_MEMORY_BUDGET),
+		Settings.DEFAULT_UNDO_MEMORY_BUDGET);
+    }
+
     public static int getViewingWindowSize() {
 	return Settings.VIEWING_WINDOW_SIZE;
     }
@@ -194,6 +215,11 @@ public class Settings {
 	return Settings.file.getBoolean(Strings.settingKey(SettingKey.ONE_MOVE), true);
     }
 
+    // Off by default; a debugging aid for the dirty-region renderer
+    public static boolean logRenderStats() {
+	return Settings.file.getBoolean(Strings.settingKey(SettingKey.LOG_RENDER_STATS), false);
+    }
+
     public static void readPrefs() {
 	try (var buf = new BufferedInputStream(new FileInputStream(Settings.getPrefsFile()))) {
 	    // Read new preferences
@@ -317,6 +343,10 @@ public class Settings {
 	Settings.gui.showPrefs();
     }
 
+    public static boolean usePackedDungeonStorage() {
+	return Settings.file.getBoolean(Strings.settingKey(SettingKey.PACKED_DUNGEON_STORAGE), false);
+    }
+
     public static boolean useClassicAccelerators() {
 	return Settings.file.getBoolean(Strings.settingKey(SettingKey.ACCELERATOR_MODEL), false);
     }
@@ -19,7 +19,11 @@ public class FileFormats {
     private static final int DUNGEON_16 = 16;
     private static final int DUNGEON_17 = 17;
     private static final int DUNGEON_18 = 18;
-    public static final int DUNGEON_LATEST = 18;
+    private static final int DUNGEON_19 = 19;
+    private static final int DUNGEON_20 = 20;
+    public static final int DUNGEON_LATEST = 20;
+    // Newest generation whose level files are XML; later ones use the compact binary layout
+    public static final int DUNGEON_XML_LATEST = 18;
 
     public static final boolean isFormatVersionValidGeneration1(final int ver) {
 	return ver == FileFormats.DUNGEON_5 || ver == FileFormats.DUNGEON_6;
@@ -49,6 +53,14 @@ public class FileFormats {
 	return ver == FileFormats.DUNGEON_18;
     }
 
+    public static final boolean isFormatVersionValidGeneration8(final int ver) {
+	return ver == FileFormats.DUNGEON_19 || ver == FileFormats.DUNGEON_20;
+    }
+
+    public static final boolean isGameSeedStored(final int ver) {
+	return ver >= FileFormats.DUNGEON_20;
+    }
+
     public static final boolean isLevelListStored(final int ver) {
 	return ver >= FileFormats.DUNGEON_17;
     }
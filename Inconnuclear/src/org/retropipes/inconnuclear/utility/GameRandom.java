@@ -0,0 +1,113 @@
+/*  Inconnuclear: A Dungeon-Diving RPG
+Copyleft (C) 2024-present RetroPipes
+Licensed under MIT. See the LICENSE file for details.
+
+All support is handled via the GitHub repository: https://github.com/retropipes/inconnuclear
+ */
+package org.retropipes.inconnuclear.utility;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+// Game rolls draw from the calling thread's generator, which is split off the game seed by the thread's name;
+// the same seed gives every named thread the same rolls, and no roll allocates
+public final class GameRandom {
+    // One per call to seed, so threads can tell a reseed with an unchanged value from no reseed at all
+    private static final class GameSeed {
+	// Fields
+	private final long value;
+
+	// Constructors
+	GameSeed(final long seedValue) {
+	    this.value = seedValue;
+	}
+    }
+
+    // Spreads the stream names' hashes across all the seed bits
+    private static final long STREAM_MIX = 0x9E3779B97F4A7C15L;
+    // Only draws the seeds of new games
+    private static final SplittableRandom ROOT = new SplittableRandom();
+    private static volatile GameSeed gameSeed = new GameSeed(GameRandom.newGameSeed());
+    private static final ThreadLocal<GameRandom> CURRENT = ThreadLocal.withInitial(GameRandom::derive);
+
+    public static GameRandom current() {
+	var random = GameRandom.CURRENT.get();
+	if (random.origin != null && random.origin != GameRandom.gameSeed) {
+	    // The game was seeded again since this thread last rolled
+	    random = GameRandom.derive();
+	    GameRandom.CURRENT.set(random);
+	}
+	return random;
+    }
+
+    private static GameRandom derive() {
+	final var seed = GameRandom.gameSeed;
+	final var stream = Thread.currentThread().getName().hashCode() * GameRandom.STREAM_MIX;
+	return new GameRandom(new SplittableRandom(seed.value ^ stream), seed);
+    }
+
+    // Makes random the calling thread's generator, and returns the one it replaces so it can be put back;
+    // an installed generator stays put when the game is seeded
+    public static GameRandom install(final GameRandom random) {
+	final var previous = GameRandom.current();
+	GameRandom.CURRENT.set(random);
+	return previous;
+    }
+
+    // A fresh seed for a new game, independent of the current one
+    public static long newGameSeed() {
+	synchronized (GameRandom.ROOT) {
+	    return GameRandom.ROOT.nextLong();
+	}
+    }
+
+    // Restarts every thread's generator from seed, as on starting or loading a game
+    public static void seed(final long seed) {
+	GameRandom.gameSeed = new GameSeed(seed);
+    }
+
+    // Fields
+    private final SplittableRandom source;
+    private final GameSeed origin;
+
+    // Constructors
+    public GameRandom(final long seed) {
+	this(new SplittableRandom(seed), null);
+    }
+
+    private GameRandom(final SplittableRandom random, final GameSeed seed) {
+	this.source = random;
+	this.origin = seed;
+    }
+
+    // For code written against the standard generator API; its draws come from this stream
+    public RandomGenerator asGenerator() {
+	return this.source;
+    }
+
+    // Both ends are inclusive, as with RandomRange; an empty range gives min
+    public int nextInt(final int min, final int max) {
+	if (max <= min) {
+	    return min;
+	}
+	return (int) this.source.nextLong(min, max + 1L);
+    }
+
+    public long nextLong() {
+	return this.source.nextLong();
+    }
+
+    // Both ends are inclusive; an empty range gives min
+    public long nextLong(final long min, final long max) {
+	if (max <= min) {
+	    return min;
+	}
+	if (max < Long.MAX_VALUE) {
+	    return this.source.nextLong(min, max + 1L);
+	}
+	if (min > Long.MIN_VALUE) {
+	    return this.source.nextLong(min - 1L, max) + 1L;
+	}
+	return this.source.nextLong();
+    }
+}
@@ -6,6 +6,8 @@ All support is handled via the GitHub repository: https://github.com/retropipes/
  */
 package org.retropipes.inconnuclear.utility;
 
+import java.util.random.RandomGenerator;
+
 import org.retropipes.inconnuclear.dungeon.base.DungeonBase;
 
 public interface RandomGenerationRule {
@@ -18,4 +20,10 @@ public interface RandomGenerationRule {
     boolean isRequired(DungeonBase dungeonBase);
 
     boolean shouldGenerateObject(DungeonBase dungeonBase, int row, int col, int level, int layer);
+
+    // Seeded generators pass their own source, so the same seed places the same objects
+    default boolean shouldGenerateObject(final DungeonBase dungeonBase, final int row, final int col,
+	    final int level, final int layer, final RandomGenerator random) {
+	return this.shouldGenerateObject(dungeonBase, row, col, level, layer);
+    }
 }